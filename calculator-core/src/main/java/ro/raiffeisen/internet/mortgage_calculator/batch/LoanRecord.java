@@ -0,0 +1,13 @@
+package ro.raiffeisen.internet.mortgage_calculator.batch;
+
+import lombok.Value;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+
+/**
+ * One loan of the book: its identifier and the request used to reprice it.
+ */
+@Value
+public class LoanRecord {
+    String loanId;
+    MortgageCalculationRequest request;
+}
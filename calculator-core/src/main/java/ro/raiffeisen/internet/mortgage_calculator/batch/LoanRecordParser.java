@@ -0,0 +1,78 @@
+package ro.raiffeisen.internet.mortgage_calculator.batch;
+
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+import ro.raiffeisen.internet.mortgage_calculator.model.Area;
+import ro.raiffeisen.internet.mortgage_calculator.model.Income;
+import ro.raiffeisen.internet.mortgage_calculator.model.InstallmentType;
+import ro.raiffeisen.internet.mortgage_calculator.model.InterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.model.MixedInterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.SpecialOfferRequirements;
+import ro.raiffeisen.internet.mortgage_calculator.model.VariableInterestRateType;
+
+import java.math.BigDecimal;
+
+/**
+ * Parses one line of the loan book CSV into a calculation request.
+ * Columns follow {@link #HEADER}; the tenor is given in years, as in the API request.
+ */
+public class LoanRecordParser {
+
+    public static final String HEADER = "loanId,productCode,currency,amount,tenor,age,owner,city,county,currentIncome,"
+            + "otherInstallments,downPayment,interestRateType,interestRate,fixedPeriod,hasInsurance,installmentType,"
+            + "hasSalaryInTheBank,casaVerde";
+
+    private static final int COLUMNS = 19;
+    private static final String SEPARATOR = ",";
+
+    public boolean isHeader(String line) {
+        return line.startsWith("loanId" + SEPARATOR);
+    }
+
+    public LoanRecord parse(String line) {
+        // A single-character separator takes the non-regex fast path of String.split
+        String[] columns = line.split(SEPARATOR, -1);
+        if (columns.length != COLUMNS) {
+            throw new BadRequestException(String.format("Expected %d columns but found %d", COLUMNS, columns.length));
+        }
+
+        MortgageCalculationRequest request = MortgageCalculationRequest.builder()
+                .productCode(columns[1])
+                .loanAmount(new Amount(columns[2], new BigDecimal(columns[3])))
+                .tenor(Integer.parseInt(columns[4]))
+                .age(Integer.parseInt(columns[5]))
+                .owner(Boolean.parseBoolean(columns[6]))
+                .area(new Area(columns[7], columns[8]))
+                .income(new Income(new BigDecimal(columns[9]), new BigDecimal(columns[10])))
+                .downPayment(columns[11].isEmpty() ? null : new BigDecimal(columns[11]))
+                .interestRateType(parseInterestRateType(columns[12], columns[13], columns[14]))
+                .hasInsurance(Boolean.parseBoolean(columns[15]))
+                .installmentType(InstallmentType.fromValue(columns[16]))
+                .specialOfferRequirements(new SpecialOfferRequirements(
+                        Boolean.parseBoolean(columns[17]),
+                        Boolean.parseBoolean(columns[18])))
+                .build();
+
+        return new LoanRecord(columns[0], request);
+    }
+
+    /**
+     * Extracts the loan id without parsing the rest of the line, so failed lines can still be reported.
+     */
+    public String loanId(String line) {
+        int separator = line.indexOf(SEPARATOR);
+        return separator < 0 ? line : line.substring(0, separator);
+    }
+
+    private InterestRateType parseInterestRateType(String type, String interestRate, String fixedPeriod) {
+        double rate = interestRate.isEmpty() ? 0 : Double.parseDouble(interestRate);
+        if (MixedInterestRateType.Type.MIXED.getValue().equals(type)) {
+            return new MixedInterestRateType(MixedInterestRateType.Type.MIXED, rate,
+                    fixedPeriod.isEmpty() ? 0 : Integer.parseInt(fixedPeriod));
+        } else if (VariableInterestRateType.Type.VARIABLE.getValue().equals(type)) {
+            return new VariableInterestRateType(VariableInterestRateType.Type.VARIABLE, rate);
+        }
+        throw new BadRequestException("Unknown interest rate type: " + type);
+    }
+}
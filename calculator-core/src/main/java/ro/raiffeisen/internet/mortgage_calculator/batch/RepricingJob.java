@@ -0,0 +1,149 @@
+package ro.raiffeisen.internet.mortgage_calculator.batch;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataSnapshot;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.SnapshotReferenceDataProvider;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offline repricing of a loan book, e.g. after a quarterly IRCC change.
+ * <p>
+ * The input CSV (see {@link LoanRecordParser#HEADER}) is memory-mapped in segments of at most
+ * {@link #MAX_SEGMENT_BYTES}, each cut at a line break. Every segment is split recursively across
+ * a {@link ForkJoinPool}, and each loan is calculated by the engine against a reference data
+ * snapshot held in memory, so no remote call is made. Results go to a CSV written through a
+ * {@link FileChannel}; progress and throughput are printed periodically.
+ * <pre>
+ * java -cp calculator-core.jar:... ro.raiffeisen.internet.mortgage_calculator.batch.RepricingJob \
+ *     --input loans.csv --output repriced.csv --reference-data snapshot.json [--parallelism 16]
+ * </pre>
+ */
+public class RepricingJob {
+
+    static final int MAX_SEGMENT_BYTES = 1 << 30;
+    static final int DEFAULT_LEAF_BYTES = 256 * 1024;
+
+    private final CalculatorEngine engine;
+    private final ForkJoinPool pool;
+    private final int leafBytes;
+    private final Duration progressInterval;
+    private final PrintStream console;
+
+    public RepricingJob(CalculatorEngine engine, ForkJoinPool pool, int leafBytes, Duration progressInterval, PrintStream console) {
+        this.engine = engine;
+        this.pool = pool;
+        this.leafBytes = leafBytes;
+        this.progressInterval = progressInterval;
+        this.console = console;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        if (!options.containsKey("input") || !options.containsKey("output") || !options.containsKey("reference-data")) {
+            System.err.println("Usage: RepricingJob --input <loans.csv> --output <results.csv> --reference-data <snapshot.json>"
+                    + " [--parallelism <threads>] [--progress-seconds <seconds>]");
+            System.exit(2);
+        }
+
+        ReferenceDataSnapshot snapshot = readSnapshot(Path.of(options.get("reference-data")));
+        CalculatorEngine engine = CalculatorEngine.create(new SnapshotReferenceDataProvider(snapshot));
+        int parallelism = Integer.parseInt(options.getOrDefault("parallelism",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        Duration progressInterval = Duration.ofSeconds(Long.parseLong(options.getOrDefault("progress-seconds", "10")));
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            RepricingProgress progress = new RepricingJob(engine, pool, DEFAULT_LEAF_BYTES, progressInterval, System.out)
+                    .run(Path.of(options.get("input")), Path.of(options.get("output")));
+            System.exit(progress.getFailed() == 0 ? 0 : 1);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Reprices every loan of {@code input} and writes one result line per loan to {@code output}.
+     *
+     * @return the final counters of the run
+     */
+    public RepricingProgress run(Path input, Path output) throws IOException {
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "repricing-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try (FileChannel inputChannel = FileChannel.open(input, StandardOpenOption.READ);
+             RepricingResultWriter writer = new RepricingResultWriter(output)) {
+            long size = inputChannel.size();
+            RepricingProgress progress = new RepricingProgress(size);
+            RepricingTask.Settings settings = new RepricingTask.Settings(engine, new LoanRecordParser(), writer, progress, leafBytes);
+
+            long intervalMillis = progressInterval.toMillis();
+            reporter.scheduleAtFixedRate(() -> console.println(progress), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+
+            long position = 0;
+            while (position < size) {
+                int mappedLength = (int) Math.min(size - position, MAX_SEGMENT_BYTES);
+                MappedByteBuffer segment = inputChannel.map(FileChannel.MapMode.READ_ONLY, position, mappedLength);
+                int segmentLength = segmentLength(segment, mappedLength, position + mappedLength == size);
+
+                pool.invoke(new RepricingTask(segment, 0, segmentLength, settings));
+                position += segmentLength;
+            }
+
+            console.println("Repricing finished: " + progress);
+            return progress;
+        } finally {
+            reporter.shutdownNow();
+        }
+    }
+
+    /**
+     * Cuts the segment after its last complete line, unless it reaches the end of the file.
+     */
+    private static int segmentLength(MappedByteBuffer segment, int mappedLength, boolean lastSegment) {
+        if (lastSegment) {
+            return mappedLength;
+        }
+        for (int i = mappedLength - 1; i >= 0; i--) {
+            if (segment.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        throw new IllegalStateException("Input line longer than " + MAX_SEGMENT_BYTES + " bytes");
+    }
+
+    static ReferenceDataSnapshot readSnapshot(Path path) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return objectMapper.readValue(path.toFile(), ReferenceDataSnapshot.class);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (args[i].startsWith("--")) {
+                options.put(args[i].substring(2), args[i + 1]);
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,50 @@
+package ro.raiffeisen.internet.mortgage_calculator.batch;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Progress and throughput counters of a repricing run.
+ * Workers update {@link LongAdder}s, so counting does not contend across threads.
+ */
+public class RepricingProgress {
+
+    private final long totalBytes;
+    private final long startNanos = System.nanoTime();
+    private final LongAdder repriced = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+
+    public RepricingProgress(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    void recordRange(long loansRepriced, long loansFailed, long bytes) {
+        repriced.add(loansRepriced);
+        failed.add(loansFailed);
+        bytesRead.add(bytes);
+    }
+
+    public long getRepriced() {
+        return repriced.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public double getLoansPerSecond() {
+        long elapsedNanos = Math.max(System.nanoTime() - startNanos, 1);
+        return (getRepriced() + getFailed()) * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    public double getPercentDone() {
+        return totalBytes == 0 ? 100 : bytesRead.sum() * 100.0 / totalBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.1f%% done, %d loans repriced, %d failed, %.0f loans/s (%.0f loans/h)",
+                getPercentDone(), getRepriced(), getFailed(), getLoansPerSecond(), getLoansPerSecond() * 3600);
+    }
+}
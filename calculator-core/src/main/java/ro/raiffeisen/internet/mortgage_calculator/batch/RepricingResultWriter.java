@@ -0,0 +1,102 @@
+package ro.raiffeisen.internet.mortgage_calculator.batch;
+
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+import ro.raiffeisen.internet.mortgage_calculator.model.MonthlyInstallment;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes repricing results as CSV to a {@link FileChannel} shared by all worker threads.
+ * Workers format their lines into a private buffer and hand over whole chunks,
+ * so the channel sees few large writes and the lock is only held for the copy.
+ * Lines are written in completion order, not input order; each one carries its loan id.
+ * Fields are quoted as RFC 4180 requires, so loan ids and error messages may contain any character.
+ */
+public class RepricingResultWriter implements Closeable {
+
+    public static final String HEADER = "loanId,status,loanAmount,currency,tenor,nominalInterestRate,"
+            + "monthlyInstallmentFixed,monthlyInstallmentVariable,annualPercentageRate,totalPaymentAmount,error";
+
+    static final String STATUS_OK = "OK";
+    static final String STATUS_FAILED = "FAILED";
+
+    private final FileChannel channel;
+
+    public RepricingResultWriter(Path output) throws IOException {
+        this.channel = FileChannel.open(output,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        write(new StringBuilder(HEADER).append('\n'));
+    }
+
+    public void appendResult(StringBuilder line, String loanId, MortgageCalculationResponse response) {
+        Amount loanAmount = response.getLoanAmount();
+        MonthlyInstallment installment = response.getMonthlyInstallment();
+        Amount totalPayment = response.getTotalPaymentAmount();
+
+        appendField(line, loanId).append(',');
+        appendField(line, STATUS_OK).append(',');
+        appendField(line, loanAmount != null ? loanAmount.getAmount() : null).append(',');
+        appendField(line, loanAmount != null ? loanAmount.getCurrency() : null).append(',');
+        appendField(line, response.getTenor()).append(',');
+        appendField(line, response.getNominalInterestRate()).append(',');
+        appendField(line, installment != null ? installment.getAmountFixedInterest() : null).append(',');
+        appendField(line, installment != null ? installment.getAmountVariableInterest() : null).append(',');
+        appendField(line, response.getAnnualPercentageRate()).append(',');
+        appendField(line, totalPayment != null ? totalPayment.getAmount() : null).append(",\n");
+    }
+
+    public void appendFailure(StringBuilder line, String loanId, Exception e) {
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        appendField(line, loanId).append(',');
+        appendField(line, STATUS_FAILED).append(",,,,,,,,,");
+        appendField(line, message).append('\n');
+    }
+
+    /**
+     * Writes a chunk of complete lines. The chunk is encoded outside the lock.
+     */
+    public void write(CharSequence lines) {
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        try {
+            synchronized (channel) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.force(false);
+        channel.close();
+    }
+
+    /**
+     * Appends the value, enclosed in double quotes with its quotes doubled when it contains a comma,
+     * a double quote or a line break; null is written as an empty field.
+     */
+    static StringBuilder appendField(StringBuilder line, Object value) {
+        if (value == null) {
+            return line;
+        }
+        String text = value.toString();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return line.append('"').append(text.replace("\"", "\"\"")).append('"');
+            }
+        }
+        return line.append(text);
+    }
+}
@@ -0,0 +1,133 @@
+package ro.raiffeisen.internet.mortgage_calculator.batch;
+
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Reprices the loans in a byte range of a memory-mapped input file.
+ * Ranges larger than the leaf size are halved at the nearest line break and forked,
+ * so the pool balances work by stealing halves instead of by a fixed partition.
+ * The mapped buffer is only read with absolute gets and is safely shared by all tasks.
+ */
+class RepricingTask extends RecursiveAction {
+
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+    private final ByteBuffer input;
+    private final int start;
+    private final int end;
+    private final Settings settings;
+
+    RepricingTask(ByteBuffer input, int start, int end, Settings settings) {
+        this.input = input;
+        this.start = start;
+        this.end = end;
+        this.settings = settings;
+    }
+
+    @Override
+    protected void compute() {
+        if (end - start > settings.leafBytes()) {
+            int middle = nextLineStart(input, start + (end - start) / 2, end);
+            if (middle < end) {
+                invokeAll(new RepricingTask(input, start, middle, settings),
+                        new RepricingTask(input, middle, end, settings));
+                return;
+            }
+        }
+        repriceRange();
+    }
+
+    private void repriceRange() {
+        StringBuilder output = new StringBuilder(FLUSH_THRESHOLD + 1024);
+        byte[] lineBytes = new byte[256];
+        long repriced = 0;
+        long failed = 0;
+        int flushedPosition = start;
+        int position = start;
+
+        while (position < end) {
+            int lineEnd = lineEnd(input, position, end);
+            int length = lineEnd - position;
+            if (length > 0 && input.get(lineEnd - 1) == '\r') {
+                length--;
+            }
+            if (length > 0) {
+                if (lineBytes.length < length) {
+                    lineBytes = new byte[Math.max(length, lineBytes.length * 2)];
+                }
+                input.get(position, lineBytes, 0, length);
+                String line = new String(lineBytes, 0, length, StandardCharsets.UTF_8);
+
+                if (!settings.parser().isHeader(line)) {
+                    if (reprice(line, output)) {
+                        repriced++;
+                    } else {
+                        failed++;
+                    }
+                }
+            }
+            position = lineEnd + 1;
+
+            if (output.length() >= FLUSH_THRESHOLD) {
+                flush(output, repriced, failed, Math.min(position, end) - flushedPosition);
+                flushedPosition = Math.min(position, end);
+                repriced = 0;
+                failed = 0;
+            }
+        }
+        flush(output, repriced, failed, end - flushedPosition);
+    }
+
+    private boolean reprice(String line, StringBuilder output) {
+        String loanId = settings.parser().loanId(line);
+        try {
+            LoanRecord loanRecord = settings.parser().parse(line);
+            MortgageCalculationResponse response = settings.engine().calculate(loanRecord.getRequest());
+            settings.writer().appendResult(output, loanId, response);
+            return true;
+        } catch (RuntimeException e) {
+            settings.writer().appendFailure(output, loanId, e);
+            return false;
+        }
+    }
+
+    private void flush(StringBuilder output, long repriced, long failed, long bytes) {
+        if (!output.isEmpty()) {
+            settings.writer().write(output);
+            output.setLength(0);
+        }
+        settings.progress().recordRange(repriced, failed, bytes);
+    }
+
+    /**
+     * Index of the first byte of the line following {@code from}, or {@code end} if there is none.
+     */
+    static int nextLineStart(ByteBuffer buffer, int from, int end) {
+        int lineEnd = lineEnd(buffer, from, end);
+        return lineEnd < end ? lineEnd + 1 : end;
+    }
+
+    private static int lineEnd(ByteBuffer buffer, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * State shared by all tasks of a run.
+     */
+    record Settings(CalculatorEngine engine,
+                    LoanRecordParser parser,
+                    RepricingResultWriter writer,
+                    RepricingProgress progress,
+                    int leafBytes) {
+    }
+}
@@ -1,19 +1,28 @@
 package ro.raiffeisen.internet.mortgage_calculator.helper;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Component;
+import ro.raiffeisen.internet.mortgage_calculator.model.CommissionDescription;
 import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanAllParameters;
 import ro.raiffeisen.internet.mortgage_calculator.model.utils.AdditionalCalculationInfo;
 
 import java.math.BigDecimal;
 
-@Component
 @Slf4j
 public class MortgageCalculatorMapper {
 
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            // Trees keep the scale of amounts, so they are written as the objects would be
+            .configure(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES, false);
+    // ObjectWriter is immutable and thread-safe, so one instance serves every call
+    private static final ObjectWriter JSON_WRITER = JSON_MAPPER.writer();
+
     public AdditionalCalculationInfo buildAllAdditionalInfo(LoanAllParameters loanAllParameters, Integer ltv) {
         return AdditionalCalculationInfo.builder()
                 .lifeInsurance(loanAllParameters.getLifeInsurance())
@@ -22,21 +31,44 @@ public class MortgageCalculatorMapper {
                 .feeCommission(BigDecimal.valueOf(loanAllParameters.getAssessmentFee()))
                 .paymentOrderCommission(BigDecimal.valueOf(loanAllParameters.getPaymentOrderCommission()))
                 .postGrantCommission(BigDecimal.valueOf(loanAllParameters.getPostGrantCommission()))
+                .earlyRepaymentCommission(BigDecimal.valueOf(loanAllParameters.getEarlyRepaymentCommissionVariableInterest()))
                 .buildingPADInsurancePremiumRate(loanAllParameters.getBuildingPADInsurancePremiumRateEuro())
                 .buildingInsurancePremiumRate(BigDecimal.valueOf(loanAllParameters.getCompulsoryPremiumInsuranceRate()))
                 .oneTimeInsuranceCostCalculationFormula(loanAllParameters.getOneTimeInsuranceCostCalculationFormula())
                 .monthlyInsuranceCostCalculationFormula(loanAllParameters.getMonthlyInsuranceCostCalculationFormula())
                 .ltv(ltv)
                 .ircc(loanAllParameters.getIrcc())
+                .commissionDescription(buildCommissionDescription(loanAllParameters))
                 .build();
     }
 
+    private CommissionDescription buildCommissionDescription(LoanAllParameters loanAllParameters) {
+        return loanAllParameters.getEarlyRepaymentCommissionDescription() == null ?
+                null
+                :
+                CommissionDescription.builder()
+                        .earlyRepaymentCommission(loanAllParameters.getEarlyRepaymentCommissionDescription())
+                        .build();
+    }
+
+
+    /**
+     * Copies the object into a JSON tree that shares nothing with it, so later changes of the object
+     * do not show in the tree. The tree is written by {@link #mapToJson} exactly as the object would be.
+     */
+    public JsonNode mapToTree(Object obj) {
+        try {
+            return JSON_MAPPER.valueToTree(obj);
+        } catch (IllegalArgumentException e) {
+            log.error("Exception occurred while mapping java object to json", e);
+            return JSON_MAPPER.createObjectNode();
+        }
+    }
 
     public String mapToJson(Object obj) {
         String defaultMap = "{}";
-        ObjectMapper objectMapper = new ObjectMapper();
         try {
-            return objectMapper.registerModule(new JavaTimeModule()).writeValueAsString(obj);
+            return JSON_WRITER.writeValueAsString(obj);
         } catch (JsonProcessingException e) {
             log.error("Exception occurred while mapping java object to json", e);
             return defaultMap;
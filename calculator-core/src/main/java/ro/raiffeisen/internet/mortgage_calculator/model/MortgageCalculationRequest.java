@@ -11,7 +11,7 @@ import lombok.Data;
 import java.math.BigDecimal;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class MortgageCalculationRequest {
 
     @Schema(description = "A product's unique identification code", maxLength = 128, example = "275000", required = true)
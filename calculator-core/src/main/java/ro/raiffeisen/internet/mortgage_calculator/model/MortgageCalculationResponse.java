@@ -1,18 +1,22 @@
 package ro.raiffeisen.internet.mortgage_calculator.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.ColumnarRepaymentPlan;
 
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class MortgageCalculationResponse {
 
     @JsonTypeInfo(
@@ -128,4 +132,14 @@ public class MortgageCalculationResponse {
     @Schema(description = "The set of properties related to commission descriptions.")
     @JsonProperty
     private CommissionDescription commissionDescription;
+
+    /**
+     * Graficul de rambursare complet, pastrat in cache impreuna cu rezultatul
+     * pentru a servi cererile paginate fara recalculare. Nu face parte din raspuns.
+     * */
+    @JsonIgnore
+    @Schema(hidden = true)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private ColumnarRepaymentPlan repaymentPlan;
 }
@@ -0,0 +1,26 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.comparison;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductComparisonRequest {
+
+    @Schema(description = "The loan, as sent to the calculation endpoint. Its product code is ignored", required = true)
+    @JsonProperty
+    private MortgageCalculationRequest calculationRequest;
+
+    @Schema(description = "The products to compare, all products when missing", example = "[\"CasaTa\", \"CreditVenit\"]")
+    @JsonProperty
+    private List<String> productCodes;
+}
@@ -0,0 +1,21 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.comparison;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductComparisonResponse {
+
+    @Schema(description = "One entry per compared product, in the order of the request")
+    @JsonProperty
+    private List<ProductQuote> products;
+}
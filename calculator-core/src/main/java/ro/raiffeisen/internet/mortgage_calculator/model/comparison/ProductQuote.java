@@ -0,0 +1,58 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.comparison;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+import ro.raiffeisen.internet.mortgage_calculator.model.ErrorReason;
+import ro.raiffeisen.internet.mortgage_calculator.model.MonthlyInstallment;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The loan priced with one product, or the reasons it could not be priced.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductQuote {
+
+    @Schema(description = "The product code", example = "CasaTa")
+    @JsonProperty
+    private String productCode;
+
+    @Schema(description = "Loan amount, analysis commission included")
+    @JsonProperty
+    private Amount loanAmount;
+
+    @Schema(description = "The tenor in years", example = "25")
+    @JsonProperty
+    private Integer tenor;
+
+    @Schema(description = "The interest rate of the product", example = "6.05")
+    @JsonProperty
+    private BigDecimal nominalInterestRate;
+
+    @Schema(description = "Monthly installment of the product")
+    @JsonProperty
+    private MonthlyInstallment monthlyInstallment;
+
+    @Schema(description = "DAE of the product", example = "7.12")
+    @JsonProperty
+    private BigDecimal annualPercentageRate;
+
+    @Schema(description = "Total amount paid over the loan life-time, life insurance included")
+    @JsonProperty
+    private Amount totalPaymentAmount;
+
+    @Schema(description = "Why the product could not be priced for this loan; missing when it was")
+    @JsonProperty
+    private List<ErrorReason> errors;
+}
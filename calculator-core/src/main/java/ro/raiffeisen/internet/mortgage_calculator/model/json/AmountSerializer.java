@@ -0,0 +1,56 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.json;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Writes an {@link Amount} field by field, with the same output as the bean serializer.
+ * Amounts are the most frequent object of every response, so they skip the property introspection.
+ * <p>
+ * The amount is written through {@link JsonGenerator#writeNumber(BigDecimal)}, which uses
+ * {@link BigDecimal#toString()}; BigDecimal caches that string, so responses served from the
+ * result cache format every amount only once. Mappers that configure BigDecimal with the string shape,
+ * like the Protobuf one, get it as a string.
+ */
+public class AmountSerializer extends StdSerializer<Amount> implements ContextualSerializer {
+
+    private final boolean amountAsString;
+
+    public AmountSerializer() {
+        this(false);
+    }
+
+    private AmountSerializer(boolean amountAsString) {
+        super(Amount.class);
+        this.amountAsString = amountAsString;
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) {
+        boolean asString = provider.getConfig().getDefaultPropertyFormat(BigDecimal.class).getShape() == JsonFormat.Shape.STRING;
+        return asString == amountAsString ? this : new AmountSerializer(asString);
+    }
+
+    @Override
+    public void serialize(Amount value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(value);
+        generator.writeStringField("currency", value.getCurrency());
+        if (value.getAmount() == null) {
+            generator.writeNullField("amount");
+        } else if (amountAsString) {
+            generator.writeStringField("amount", value.getAmount().toString());
+        } else {
+            generator.writeNumberField("amount", value.getAmount());
+        }
+        generator.writeEndObject();
+    }
+}
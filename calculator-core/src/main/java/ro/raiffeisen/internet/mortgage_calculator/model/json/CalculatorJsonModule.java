@@ -0,0 +1,15 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+
+/**
+ * Hand-written serializers of the calculation models.
+ */
+public class CalculatorJsonModule extends SimpleModule {
+
+    public CalculatorJsonModule() {
+        super(CalculatorJsonModule.class.getSimpleName());
+        addSerializer(Amount.class, new AmountSerializer());
+    }
+}
@@ -0,0 +1,36 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.offer;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BestOfferRequest {
+
+    @Schema(description = "The loan, as sent to the calculation endpoint. Options that are not considered keep its values", required = true)
+    @JsonProperty
+    private MortgageCalculationRequest calculationRequest;
+
+    @Schema(description = "The criterion of the ranking, TOTAL_PAYMENT_AMOUNT when missing", example = "TOTAL_PAYMENT_AMOUNT")
+    @JsonProperty
+    private OfferRanking rankBy;
+
+    @Schema(description = "Whether the client could move the salary to the bank", example = "true")
+    @JsonProperty
+    private boolean considerSalaryInTheBank;
+
+    @Schema(description = "Whether the property qualifies as a green house", example = "false")
+    @JsonProperty
+    private boolean considerCasaVerde;
+
+    @Schema(description = "Whether offers with and without life insurance are compared", example = "true")
+    @JsonProperty
+    private boolean considerInsurance;
+}
@@ -0,0 +1,25 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.offer;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BestOfferResponse {
+
+    @Schema(description = "The criterion of the ranking", example = "TOTAL_PAYMENT_AMOUNT")
+    @JsonProperty
+    private OfferRanking rankBy;
+
+    @Schema(description = "All evaluated discount combinations, best first")
+    @JsonProperty
+    private List<DiscountOffer> offers;
+}
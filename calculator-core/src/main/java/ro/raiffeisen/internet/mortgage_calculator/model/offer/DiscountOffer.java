@@ -0,0 +1,58 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.offer;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+import ro.raiffeisen.internet.mortgage_calculator.model.MonthlyInstallment;
+
+import java.math.BigDecimal;
+
+/**
+ * The loan under one combination of discounts.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiscountOffer {
+
+    @Schema(description = "Position in the ranking, 1 being the best offer", example = "1")
+    @JsonProperty
+    private int rank;
+
+    @Schema(description = "Whether this is the combination of the calculation request", example = "false")
+    @JsonProperty
+    private boolean requested;
+
+    @Schema(description = "Salary in the bank", example = "true")
+    @JsonProperty
+    private boolean hasSalaryInTheBank;
+
+    @Schema(description = "Green house", example = "false")
+    @JsonProperty
+    private boolean casaVerde;
+
+    @Schema(description = "Life insurance", example = "true")
+    @JsonProperty
+    private boolean hasInsurance;
+
+    @Schema(description = "The interest rate of the offer", example = "6.05")
+    @JsonProperty
+    private BigDecimal nominalInterestRate;
+
+    @Schema(description = "Monthly installment of the offer")
+    @JsonProperty
+    private MonthlyInstallment monthlyInstallment;
+
+    @Schema(description = "DAE of the offer", example = "7.12")
+    @JsonProperty
+    private BigDecimal annualPercentageRate;
+
+    @Schema(description = "Total amount paid over the loan life-time, life insurance included")
+    @JsonProperty
+    private Amount totalPaymentAmount;
+}
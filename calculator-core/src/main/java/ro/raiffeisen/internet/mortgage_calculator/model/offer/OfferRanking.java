@@ -0,0 +1,32 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.offer;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+public enum OfferRanking {
+
+    TOTAL_PAYMENT_AMOUNT("TOTAL_PAYMENT_AMOUNT"),
+    ANNUAL_PERCENTAGE_RATE("ANNUAL_PERCENTAGE_RATE");
+
+    @Getter
+    @JsonValue
+    private final String value;
+
+    @Override
+    public String toString() {
+        return String.valueOf(value);
+    }
+
+    @JsonCreator
+    public static OfferRanking fromValue(String input) {
+        for (OfferRanking b : OfferRanking.values()) {
+            if (b.value.equals(input)) {
+                return b;
+            }
+        }
+        return null;
+    }
+}
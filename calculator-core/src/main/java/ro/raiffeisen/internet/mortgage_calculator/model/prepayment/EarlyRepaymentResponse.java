@@ -0,0 +1,51 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.prepayment;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EarlyRepaymentResponse {
+
+    @Schema(description = "The loan after each early repayment, in month order")
+    @JsonProperty
+    private List<PrepaymentResult> prepayments;
+
+    @Schema(description = "Total amount paid over the loan life-time without early repayments")
+    @JsonProperty
+    private Amount baselineTotalPaymentAmount;
+
+    @Schema(description = "Total amount paid over the loan life-time, early repayments and their commissions included")
+    @JsonProperty
+    private Amount totalPaymentAmount;
+
+    @Schema(description = "Interest no longer paid because of the early repayments", example = "48210.77")
+    @JsonProperty
+    private BigDecimal interestSaved;
+
+    @Schema(description = "Sum of the early repayment commissions", example = "500")
+    @JsonProperty
+    private BigDecimal totalCommission;
+
+    @Schema(description = "Baseline total payment minus total payment: interest, fees and insurance saved, net of commissions", example = "51930.12")
+    @JsonProperty
+    private BigDecimal netSavings;
+
+    @Schema(description = "The last month of the repayment plan after all early repayments", example = "251")
+    @JsonProperty
+    private int lastMonth;
+
+    @Schema(description = "The early repayment commission terms of the product")
+    @JsonProperty
+    private String earlyRepaymentCommissionDescription;
+}
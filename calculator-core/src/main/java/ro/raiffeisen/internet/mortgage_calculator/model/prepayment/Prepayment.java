@@ -0,0 +1,29 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.prepayment;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Prepayment {
+
+    @Schema(description = "The month of the repayment plan after whose installment the amount is repaid", example = "36", required = true)
+    @JsonProperty
+    private Integer month;
+
+    @Schema(description = "The amount repaid; the whole remaining loan amount when missing", example = "50000")
+    @JsonProperty
+    private BigDecimal amount;
+
+    @Schema(description = "What a partial repayment lowers, REDUCE_INSTALLMENT when missing", example = "REDUCE_TENOR")
+    @JsonProperty
+    private PrepaymentStrategy strategy;
+}
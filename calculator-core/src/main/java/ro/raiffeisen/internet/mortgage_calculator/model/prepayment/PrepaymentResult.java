@@ -0,0 +1,44 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.prepayment;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * The loan right after one early repayment.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrepaymentResult {
+
+    @Schema(description = "The month of the repayment", example = "36")
+    @JsonProperty
+    private int month;
+
+    @Schema(description = "The amount actually repaid, at most the remaining loan amount", example = "50000")
+    @JsonProperty
+    private BigDecimal amount;
+
+    @Schema(description = "The early repayment commission charged on the amount", example = "500")
+    @JsonProperty
+    private BigDecimal commission;
+
+    @Schema(description = "The remaining loan amount after the repayment", example = "187250.40")
+    @JsonProperty
+    private BigDecimal remainingLoanAmount;
+
+    @Schema(description = "The installment of the next month, 0 when the loan is repaid", example = "1512.33")
+    @JsonProperty
+    private BigDecimal nextInstallment;
+
+    @Schema(description = "The last month of the repayment plan after the repayment", example = "251")
+    @JsonProperty
+    private int lastMonth;
+}
@@ -0,0 +1,32 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.prepayment;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+public enum PrepaymentStrategy {
+
+    REDUCE_INSTALLMENT("REDUCE_INSTALLMENT"),
+    REDUCE_TENOR("REDUCE_TENOR");
+
+    @Getter
+    @JsonValue
+    private final String value;
+
+    @Override
+    public String toString() {
+        return String.valueOf(value);
+    }
+
+    @JsonCreator
+    public static PrepaymentStrategy fromValue(String input) {
+        for (PrepaymentStrategy b : PrepaymentStrategy.values()) {
+            if (b.value.equals(input)) {
+                return b;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,256 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.repayment;
+
+import lombok.Getter;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Compact, immutable repayment plan: one {@code long[]} per column holding amounts in minor units
+ * (cents) and a single currency. The month is the array index, so entry {@code i} is month {@code i}.
+ * {@link RepaymentPlanEntry} objects are only created on demand, when a month is read.
+ */
+public final class ColumnarRepaymentPlan {
+
+    private static final int SCALE = 2;
+
+    @Getter
+    private final String currency;
+    private final int size;
+    private final long[] reimbursedCapitalAmounts;
+    private final long[] interestAmounts;
+    private final long[] feeAmounts;
+    private final long[] installmentAmounts;
+    private final long[] totalPaymentAmounts;
+    private final long[] remainingLoanAmounts;
+
+    private ColumnarRepaymentPlan(Builder builder) {
+        this.currency = builder.currency;
+        this.size = builder.size;
+        this.reimbursedCapitalAmounts = Arrays.copyOf(builder.reimbursedCapitalAmounts, size);
+        this.interestAmounts = Arrays.copyOf(builder.interestAmounts, size);
+        this.feeAmounts = Arrays.copyOf(builder.feeAmounts, size);
+        this.installmentAmounts = Arrays.copyOf(builder.installmentAmounts, size);
+        this.totalPaymentAmounts = Arrays.copyOf(builder.totalPaymentAmounts, size);
+        this.remainingLoanAmounts = Arrays.copyOf(builder.remainingLoanAmounts, size);
+    }
+
+    private ColumnarRepaymentPlan(ColumnarRepaymentPlan plan, long[] totalPaymentAmounts) {
+        this.currency = plan.currency;
+        this.size = plan.size;
+        this.reimbursedCapitalAmounts = plan.reimbursedCapitalAmounts;
+        this.interestAmounts = plan.interestAmounts;
+        this.feeAmounts = plan.feeAmounts;
+        this.installmentAmounts = plan.installmentAmounts;
+        this.totalPaymentAmounts = totalPaymentAmounts;
+        this.remainingLoanAmounts = plan.remainingLoanAmounts;
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    /**
+     * Number of entries, including month 0.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getLastMonth() {
+        return size - 1;
+    }
+
+    public BigDecimal getTotalPaymentAmount(int month) {
+        checkMonth(month);
+        return toBigDecimal(totalPaymentAmounts[month]);
+    }
+
+    /**
+     * The total payment of every month, in order, as used for the DAE and the total payment amount.
+     */
+    public List<BigDecimal> getTotalPaymentAmounts() {
+        List<BigDecimal> amounts = new ArrayList<>(size);
+        for (int month = 0; month < size; month++) {
+            amounts.add(toBigDecimal(totalPaymentAmounts[month]));
+        }
+        return amounts;
+    }
+
+    /**
+     * Fees and insurance paid in the month on top of the installment, as a primitive value for simulations.
+     */
+    public double getCostsExcludingInstallment(int month) {
+        checkMonth(month);
+        return (totalPaymentAmounts[month] - installmentAmounts[month]) / 100d;
+    }
+
+    public BigDecimal getRemainingLoanAmount(int month) {
+        checkMonth(month);
+        return toBigDecimal(remainingLoanAmounts[month]);
+    }
+
+    /**
+     * Sum of the total payments of the months {@code fromMonth} to {@code toMonth}, both inclusive.
+     */
+    public BigDecimal sumTotalPaymentAmounts(int fromMonth, int toMonth) {
+        return sum(totalPaymentAmounts, fromMonth, toMonth);
+    }
+
+    /**
+     * Sum of the interest of the months {@code fromMonth} to {@code toMonth}, both inclusive.
+     */
+    public BigDecimal sumInterestAmounts(int fromMonth, int toMonth) {
+        return sum(interestAmounts, fromMonth, toMonth);
+    }
+
+    /**
+     * Returns a plan with {@code delta} added to the total payment of the months {@code fromMonth} to
+     * {@code toMonth}, both inclusive, e.g. when a monthly cost is added or removed.
+     * The other columns are shared with this plan, which stays unchanged.
+     */
+    public ColumnarRepaymentPlan withTotalPaymentAdjustment(int fromMonth, int toMonth, BigDecimal delta) {
+        checkMonth(fromMonth);
+        checkMonth(toMonth);
+        long deltaMinorUnits = delta.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        long[] adjusted = totalPaymentAmounts.clone();
+        for (int month = fromMonth; month <= toMonth; month++) {
+            adjusted[month] += deltaMinorUnits;
+        }
+        return new ColumnarRepaymentPlan(this, adjusted);
+    }
+
+    public RepaymentPlanEntry getEntry(int month) {
+        checkMonth(month);
+        return RepaymentPlanEntry.builder()
+                .month(month)
+                .reimbursedCapitalAmount(toAmount(reimbursedCapitalAmounts[month]))
+                .interestAmount(toAmount(interestAmounts[month]))
+                .feeAmount(toAmount(feeAmounts[month]))
+                .installmentAmount(toAmount(installmentAmounts[month]))
+                .totalPaymentAmount(toAmount(totalPaymentAmounts[month]))
+                .remainingLoanAmount(toAmount(remainingLoanAmounts[month]))
+                .build();
+    }
+
+    /**
+     * Iterates over the months {@code fromMonth} to {@code toMonth}, both inclusive.
+     * The entries are materialised one at a time, while iterating.
+     */
+    public Iterator<RepaymentPlanEntry> iterator(int fromMonth, int toMonth) {
+        checkMonth(fromMonth);
+        checkMonth(toMonth);
+
+        return new Iterator<>() {
+            private int month = fromMonth;
+
+            @Override
+            public boolean hasNext() {
+                return month <= toMonth;
+            }
+
+            @Override
+            public RepaymentPlanEntry next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Repayment plan slice ends at month " + toMonth);
+                }
+                return getEntry(month++);
+            }
+        };
+    }
+
+    public Iterator<RepaymentPlanEntry> iterator() {
+        return iterator(0, getLastMonth());
+    }
+
+    private BigDecimal sum(long[] column, int fromMonth, int toMonth) {
+        checkMonth(fromMonth);
+        checkMonth(toMonth);
+        long total = 0;
+        for (int month = fromMonth; month <= toMonth; month++) {
+            total += column[month];
+        }
+        return toBigDecimal(total);
+    }
+
+    private void checkMonth(int month) {
+        if (month < 0 || month >= size) {
+            throw new IndexOutOfBoundsException("Month " + month + " is outside the repayment plan [0, " + getLastMonth() + "]");
+        }
+    }
+
+    private Amount toAmount(long minorUnits) {
+        return new Amount(currency, toBigDecimal(minorUnits));
+    }
+
+    private static BigDecimal toBigDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    private static long toMinorUnits(Amount amount) {
+        return amount.getAmount().setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Appends entries in month order. The currency is taken from the first entry.
+     */
+    public static final class Builder {
+        private String currency;
+        private int size;
+        private long[] reimbursedCapitalAmounts;
+        private long[] interestAmounts;
+        private long[] feeAmounts;
+        private long[] installmentAmounts;
+        private long[] totalPaymentAmounts;
+        private long[] remainingLoanAmounts;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 1);
+            reimbursedCapitalAmounts = new long[capacity];
+            interestAmounts = new long[capacity];
+            feeAmounts = new long[capacity];
+            installmentAmounts = new long[capacity];
+            totalPaymentAmounts = new long[capacity];
+            remainingLoanAmounts = new long[capacity];
+        }
+
+        public Builder add(RepaymentPlanEntry entry) {
+            if (size == reimbursedCapitalAmounts.length) {
+                grow();
+            }
+            if (currency == null) {
+                currency = entry.getTotalPaymentAmount().getCurrency();
+            }
+
+            reimbursedCapitalAmounts[size] = toMinorUnits(entry.getReimbursedCapitalAmount());
+            interestAmounts[size] = toMinorUnits(entry.getInterestAmount());
+            feeAmounts[size] = toMinorUnits(entry.getFeeAmount());
+            installmentAmounts[size] = toMinorUnits(entry.getInstallmentAmount());
+            totalPaymentAmounts[size] = toMinorUnits(entry.getTotalPaymentAmount());
+            remainingLoanAmounts[size] = toMinorUnits(entry.getRemainingLoanAmount());
+            size++;
+
+            return this;
+        }
+
+        public ColumnarRepaymentPlan build() {
+            return new ColumnarRepaymentPlan(this);
+        }
+
+        private void grow() {
+            int capacity = reimbursedCapitalAmounts.length * 2;
+            reimbursedCapitalAmounts = Arrays.copyOf(reimbursedCapitalAmounts, capacity);
+            interestAmounts = Arrays.copyOf(interestAmounts, capacity);
+            feeAmounts = Arrays.copyOf(feeAmounts, capacity);
+            installmentAmounts = Arrays.copyOf(installmentAmounts, capacity);
+            totalPaymentAmounts = Arrays.copyOf(totalPaymentAmounts, capacity);
+            remainingLoanAmounts = Arrays.copyOf(remainingLoanAmounts, capacity);
+        }
+    }
+}
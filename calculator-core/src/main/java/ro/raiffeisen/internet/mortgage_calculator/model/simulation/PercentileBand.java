@@ -0,0 +1,36 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.simulation;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Distribution of one result over all simulated paths.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PercentileBand {
+
+    @Schema(description = "5th percentile", example = "2050.10")
+    @JsonProperty
+    private BigDecimal p5;
+
+    @Schema(description = "Median", example = "2210.45")
+    @JsonProperty
+    private BigDecimal p50;
+
+    @Schema(description = "95th percentile", example = "2630.80")
+    @JsonProperty
+    private BigDecimal p95;
+
+    @Schema(description = "Mean over all paths", example = "2260.30")
+    @JsonProperty
+    private BigDecimal mean;
+}
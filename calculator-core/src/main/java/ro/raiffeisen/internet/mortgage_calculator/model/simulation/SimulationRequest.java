@@ -0,0 +1,40 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.simulation;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationRequest {
+
+    @Schema(description = "The loan to simulate, as sent to the calculation endpoint", required = true)
+    @JsonProperty
+    private MortgageCalculationRequest calculationRequest;
+
+    @Schema(description = "Number of simulated IRCC paths; the configured default is used when missing", example = "10000")
+    @JsonProperty
+    private Integer paths;
+
+    @Schema(description = "Seed of the random generator, to reproduce a simulation; random when missing", example = "42")
+    @JsonProperty
+    private Long seed;
+
+    @Schema(description = "Speed at which IRCC reverts to its long-term mean, per year", example = "0.5")
+    @JsonProperty
+    private Double meanReversionSpeed;
+
+    @Schema(description = "Long-term mean of IRCC, in percent", example = "4.5")
+    @JsonProperty
+    private Double longTermMean;
+
+    @Schema(description = "Annual volatility of IRCC, in percentage points", example = "1")
+    @JsonProperty
+    private Double volatility;
+}
@@ -0,0 +1,40 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.simulation;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationResponse {
+
+    @Schema(description = "The calculation with IRCC flat at its current value")
+    @JsonProperty
+    private MortgageCalculationResponse baseline;
+
+    @Schema(description = "Number of simulated IRCC paths", example = "10000")
+    @JsonProperty
+    private int paths;
+
+    @Schema(description = "Seed of the simulation, to reproduce it", example = "42")
+    @JsonProperty
+    private long seed;
+
+    @Schema(description = "Highest monthly installment (principal and interest) reached on a path")
+    @JsonProperty
+    private PercentileBand maxMonthlyInstallment;
+
+    @Schema(description = "Total amount paid over the loan life-time, fees and insurance included")
+    @JsonProperty
+    private PercentileBand totalPaymentAmount;
+
+    @Schema(description = "DAE of a path")
+    @JsonProperty
+    private PercentileBand annualPercentageRate;
+}
@@ -0,0 +1,58 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.stress;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+import ro.raiffeisen.internet.mortgage_calculator.model.MonthlyInstallment;
+
+import java.math.BigDecimal;
+
+/**
+ * Outcome of the loan under one IRCC shock, with the differences to the unshocked calculation.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateShockScenario {
+
+    @Schema(description = "The simulated IRCC increase, in percentage points", example = "2")
+    @JsonProperty
+    private BigDecimal irccShock;
+
+    @Schema(description = "The IRCC value of the scenario", example = "7.55")
+    @JsonProperty
+    private BigDecimal irccRate;
+
+    @Schema(description = "The interest rate of the variable period in the scenario", example = "9.5")
+    @JsonProperty
+    private BigDecimal variableInterestRate;
+
+    @Schema(description = "Monthly installment in the scenario")
+    @JsonProperty
+    private MonthlyInstallment monthlyInstallment;
+
+    @Schema(description = "Increase of the variable-rate installment compared to the current IRCC", example = "185.20")
+    @JsonProperty
+    private BigDecimal monthlyInstallmentDelta;
+
+    @Schema(description = "DAE in the scenario", example = "10.12")
+    @JsonProperty
+    private BigDecimal annualPercentageRate;
+
+    @Schema(description = "Increase of the DAE compared to the current IRCC, in percentage points", example = "2.1")
+    @JsonProperty
+    private BigDecimal annualPercentageRateDelta;
+
+    @Schema(description = "Total amount paid over the loan life-time in the scenario")
+    @JsonProperty
+    private Amount totalPaymentAmount;
+
+    @Schema(description = "Increase of the total amount paid compared to the current IRCC", example = "55560")
+    @JsonProperty
+    private BigDecimal totalPaymentAmountDelta;
+}
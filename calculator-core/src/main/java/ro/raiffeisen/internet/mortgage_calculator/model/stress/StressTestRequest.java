@@ -0,0 +1,30 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.stress;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StressTestRequest {
+
+    @Schema(description = "The loan to stress, as sent to the calculation endpoint", required = true)
+    @JsonProperty
+    private MortgageCalculationRequest calculationRequest;
+
+    @ArraySchema(
+            arraySchema = @Schema(description = "IRCC increases to simulate, in percentage points, e.g. [1, 2, 3]", required = true),
+            schema = @Schema(example = "2"))
+    @JsonProperty
+    private List<BigDecimal> irccShocks;
+}
@@ -0,0 +1,26 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.stress;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StressTestResponse {
+
+    @Schema(description = "The calculation at the current IRCC")
+    @JsonProperty
+    private MortgageCalculationResponse baseline;
+
+    @Schema(description = "One scenario per requested IRCC shock, in request order")
+    @JsonProperty
+    private List<RateShockScenario> scenarios;
+}
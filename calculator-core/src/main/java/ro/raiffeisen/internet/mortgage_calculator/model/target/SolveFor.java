@@ -0,0 +1,32 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.target;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+public enum SolveFor {
+
+    LOAN_AMOUNT("LOAN_AMOUNT"),
+    TENOR("TENOR");
+
+    @Getter
+    @JsonValue
+    private final String value;
+
+    @Override
+    public String toString() {
+        return String.valueOf(value);
+    }
+
+    @JsonCreator
+    public static SolveFor fromValue(String input) {
+        for (SolveFor b : SolveFor.values()) {
+            if (b.value.equals(input)) {
+                return b;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,31 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.target;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TargetInstallmentRequest {
+
+    @Schema(description = "The loan, as sent to the calculation endpoint. When solving for the loan amount, "
+            + "its loan amount is the starting point of the search; when solving for the tenor, its tenor is ignored", required = true)
+    @JsonProperty
+    private MortgageCalculationRequest calculationRequest;
+
+    @Schema(description = "The monthly installment the customer can afford", example = "2500", required = true)
+    @JsonProperty
+    private BigDecimal targetInstallment;
+
+    @Schema(description = "The value to solve for: LOAN_AMOUNT keeps the tenor, TENOR keeps the loan amount", example = "LOAN_AMOUNT", required = true)
+    @JsonProperty
+    private SolveFor solveFor;
+}
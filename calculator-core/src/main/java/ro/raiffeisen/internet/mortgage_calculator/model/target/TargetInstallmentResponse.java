@@ -0,0 +1,38 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.target;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TargetInstallmentResponse {
+
+    @Schema(description = "The value that was solved for", example = "LOAN_AMOUNT")
+    @JsonProperty
+    private SolveFor solveFor;
+
+    @Schema(description = "The loan amount to send to the calculation endpoint, before the down payment", example = "412350.25")
+    @JsonProperty
+    private BigDecimal loanAmount;
+
+    @Schema(description = "The tenor in years", example = "25")
+    @JsonProperty
+    private int tenor;
+
+    @Schema(description = "The highest monthly installment of the solution, at most the target", example = "2499.87")
+    @JsonProperty
+    private BigDecimal monthlyInstallment;
+
+    @Schema(description = "The full calculation of the solution")
+    @JsonProperty
+    private MortgageCalculationResponse calculation;
+}
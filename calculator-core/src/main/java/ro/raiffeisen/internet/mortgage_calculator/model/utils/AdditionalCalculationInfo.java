@@ -11,7 +11,7 @@ import ro.raiffeisen.internet.mortgage_calculator.model.LifeInsurance;
 import java.math.BigDecimal;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
 public class AdditionalCalculationInfo {
@@ -43,6 +43,9 @@ public class AdditionalCalculationInfo {
     /** Comision OPC */
     @JsonProperty private BigDecimal postGrantCommission;
 
+    /** Comision rambursare anticipata, procent din suma rambursata */
+    @JsonProperty private BigDecimal earlyRepaymentCommission;
+
     @JsonProperty private BigDecimal principal;
 
     @JsonProperty private BigDecimal interest;
@@ -84,6 +87,8 @@ public class AdditionalCalculationInfo {
     @JsonProperty private Float fngcimmPercent;
 
     @JsonProperty private Integer ltv;
+    /** Zona de finantare a imobilului, pentru LTV */
+    @JsonProperty private Integer financingZone;
     // pentru a obtine restul de informatii
     @JsonProperty private Integer productId;
     @JsonProperty private LifeInsurance monthlyLifeInsurance;
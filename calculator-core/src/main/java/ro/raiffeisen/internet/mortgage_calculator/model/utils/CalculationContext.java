@@ -0,0 +1,36 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import ro.raiffeisen.internet.mortgage_calculator.model.LoanCosts;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+
+/**
+ * Everything resolved for a calculation before the repayment plan is generated:
+ * reference data, the final interest rates and the discount values.
+ */
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+public class CalculationContext {
+    private MortgageCalculationRequest request;
+    private AdditionalCalculationInfo additionalInfo;
+    private InterestRateAdditionalInfo interestRateAdditionalInfo;
+    private InterestRateTypeFormula rateTypeFormula;
+    private LoanCosts loanCosts;
+
+    /**
+     * Copies the mutable parts of the context, so that several repayment plans can be generated
+     * from one prepared calculation at the same time. The request is shared and must not be modified.
+     */
+    public CalculationContext copy() {
+        return toBuilder()
+                .additionalInfo(additionalInfo.toBuilder().build())
+                .interestRateAdditionalInfo(interestRateAdditionalInfo.toBuilder().build())
+                .rateTypeFormula(rateTypeFormula.toBuilder().build())
+                .loanCosts(new LoanCosts(loanCosts.getFees(), loanCosts.getLifeInsurance(),
+                        loanCosts.getDiscounts(), loanCosts.getTotalDiscountsValues()))
+                .build();
+    }
+}
@@ -7,7 +7,7 @@ import ro.raiffeisen.internet.mortgage_calculator.model.client.Discount;
 
 import java.util.List;
 
-@Builder
+@Builder(toBuilder = true)
 @Data
 public class InterestRateAdditionalInfo {
     /** Dobanda fixa */
@@ -0,0 +1,36 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.whatif;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Inputs to change in a what-if session. Missing values keep their current value.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WhatIfChanges {
+
+    @Schema(description = "Whether the client has the salary in the bank", example = "true")
+    @JsonProperty
+    private Boolean hasSalaryInTheBank;
+
+    @Schema(description = "Whether the property qualifies as a green house", example = "false")
+    @JsonProperty
+    private Boolean casaVerde;
+
+    @Schema(description = "Whether the life insurance is included", example = "true")
+    @JsonProperty
+    private Boolean hasInsurance;
+
+    @Schema(description = "Down payment", example = "60000")
+    @JsonProperty
+    private BigDecimal downPayment;
+}
@@ -0,0 +1,50 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.whatif;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The stages of the calculation that were run again to answer a what-if change.
+ */
+@AllArgsConstructor
+public enum WhatIfRecomputation {
+
+    /**
+     * Reference data retrieved and the whole calculation run, when the session starts or the reference data it was
+     * calculated from has changed since.
+     */
+    FULL("FULL"),
+    /**
+     * Rates, amounts and repayment plan recalculated for inputs that change them.
+     */
+    REPAYMENT_PLAN("REPAYMENT_PLAN"),
+    /**
+     * Only the life insurance cost added to or removed from the existing repayment plan.
+     */
+    INSURANCE_COSTS("INSURANCE_COSTS"),
+    /**
+     * Nothing changed.
+     */
+    NONE("NONE");
+
+    @Getter
+    @JsonValue
+    private final String value;
+
+    @Override
+    public String toString() {
+        return String.valueOf(value);
+    }
+
+    @JsonCreator
+    public static WhatIfRecomputation fromValue(String input) {
+        for (WhatIfRecomputation b : WhatIfRecomputation.values()) {
+            if (b.value.equals(input)) {
+                return b;
+            }
+        }
+        return null;
+    }
+}
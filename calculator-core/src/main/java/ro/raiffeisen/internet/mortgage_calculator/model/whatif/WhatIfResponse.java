@@ -0,0 +1,28 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.whatif;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WhatIfResponse {
+
+    @Schema(description = "Identifier of the session, to be sent with the next changes", example = "5f0c6a4e-2b1d-4c8e-9a57-0d3f1b7e6c21")
+    @JsonProperty
+    private String sessionId;
+
+    @Schema(description = "The stages recomputed for this answer", example = "INSURANCE_COSTS")
+    @JsonProperty
+    private WhatIfRecomputation recomputation;
+
+    @Schema(description = "The calculation with the current inputs of the session")
+    @JsonProperty
+    private MortgageCalculationResponse calculation;
+}
@@ -0,0 +1,123 @@
+package ro.raiffeisen.internet.mortgage_calculator.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ro.raiffeisen.internet.mortgage_calculator.helper.MortgageCalculatorMapper;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.RepaymentPlanEntry;
+import ro.raiffeisen.internet.mortgage_calculator.service.affordability.AffordabilityGate;
+import ro.raiffeisen.internet.mortgage_calculator.service.calculator.CasaTaCalculator;
+import ro.raiffeisen.internet.mortgage_calculator.service.calculator.ConstructieCalculator;
+import ro.raiffeisen.internet.mortgage_calculator.service.calculator.CreditVenitCalculator;
+import ro.raiffeisen.internet.mortgage_calculator.service.calculator.FlexiIntegralCalculator;
+import ro.raiffeisen.internet.mortgage_calculator.service.calculator.MortgageCalculator;
+import ro.raiffeisen.internet.mortgage_calculator.service.calculator.MortgageCalculatorFactory;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataProvider;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Entry point of the calculation engine: validates the request, resolves the tenor and
+ * delegates to the calculator of the requested product.
+ * It has no framework dependency, so it can be embedded in batch jobs and benchmarks
+ * with only a {@link ReferenceDataProvider}.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CalculatorEngine {
+
+    private final ServiceUtil serviceUtil;
+    private final ValidationService validationService;
+    private final MortgageCalculatorFactory calculatorFactory;
+    /**
+     * Optional; when present, clearly unaffordable requests are rejected before any reference data is retrieved.
+     */
+    private final AffordabilityGate affordabilityGate;
+
+    public CalculatorEngine(ServiceUtil serviceUtil, ValidationService validationService, MortgageCalculatorFactory calculatorFactory) {
+        this(serviceUtil, validationService, calculatorFactory, null);
+    }
+
+    /**
+     * Assembles an engine with all product calculators over the given reference data.
+     */
+    public static CalculatorEngine create(ReferenceDataProvider referenceDataProvider) {
+        ServiceUtil serviceUtil = new ServiceUtil(referenceDataProvider, new MortgageCalculatorMapper());
+        MortgageCalculatorFactory calculatorFactory = new MortgageCalculatorFactory(List.of(
+                new CasaTaCalculator(serviceUtil),
+                new ConstructieCalculator(serviceUtil),
+                new CreditVenitCalculator(serviceUtil),
+                new FlexiIntegralCalculator(serviceUtil)));
+
+        return new CalculatorEngine(serviceUtil, new ValidationService(), calculatorFactory);
+    }
+
+    /**
+     * Runs the full calculation. The request is adjusted in place (tenor in months, final loan amount).
+     *
+     * @param request the mortgage calculation request
+     * @return the calculated mortgage response
+     */
+    public MortgageCalculationResponse calculate(MortgageCalculationRequest request) {
+        MortgageCalculationResponse response = initializeCalculation(request);
+
+        // Get the appropriate calculator and perform calculation
+        MortgageCalculator calculator = calculatorFactory.getCalculator(request.getProductCode());
+        checkAffordability(calculator, request);
+        calculator.calculate(request, response);
+
+        return response;
+    }
+
+    /**
+     * Prepares the calculation and returns its repayment plan as a lazy iterator.
+     * All reference data is retrieved before returning; the entries themselves are only
+     * computed while the caller iterates, so the full plan is never held in memory.
+     *
+     * @param request the mortgage calculation request
+     * @return the repayment plan entries, starting with month 0
+     */
+    public Iterator<RepaymentPlanEntry> createRepaymentPlan(MortgageCalculationRequest request) {
+        MortgageCalculationResponse response = initializeCalculation(request);
+
+        MortgageCalculator calculator = calculatorFactory.getCalculator(request.getProductCode());
+        checkAffordability(calculator, request);
+        return calculator.createRepaymentPlan(request, response);
+    }
+
+    /**
+     * Resolves reference data, rates and discounts once, so that several variants of the same loan
+     * can be completed from copies of the returned context.
+     *
+     * @param request the mortgage calculation request
+     * @return the prepared calculation
+     */
+    public PreparedCalculation prepare(MortgageCalculationRequest request) {
+        MortgageCalculationResponse response = initializeCalculation(request);
+
+        MortgageCalculator calculator = calculatorFactory.getCalculator(request.getProductCode());
+        checkAffordability(calculator, request);
+        return new PreparedCalculation(calculator, calculator.prepareCalculation(request, response), response);
+    }
+
+    private void checkAffordability(MortgageCalculator calculator, MortgageCalculationRequest request) {
+        if (affordabilityGate != null) {
+            affordabilityGate.check(calculator, request);
+        }
+    }
+
+    private MortgageCalculationResponse initializeCalculation(MortgageCalculationRequest request) {
+        validationService.validateRequest(request);
+
+        // Calculate maximum tenor based on age
+        int maxTenor = serviceUtil.calculateMaxPeriod(request.getAge(), request.getTenor());
+        request.setTenor(maxTenor * 12);
+
+        // Initialize response
+        return MortgageCalculationResponse.builder()
+                .tenor(maxTenor)
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package ro.raiffeisen.internet.mortgage_calculator.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.ColumnarRepaymentPlan;
+import ro.raiffeisen.internet.mortgage_calculator.model.utils.CalculationContext;
+import ro.raiffeisen.internet.mortgage_calculator.service.calculator.MortgageCalculator;
+
+/**
+ * A calculation whose reference data and rates are resolved but whose repayment plan is not generated yet.
+ * Variants (other rates, other discounts) are computed by completing copies of the context,
+ * without retrieving the reference data again.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PreparedCalculation {
+
+    private final MortgageCalculator calculator;
+    private final CalculationContext context;
+    private final MortgageCalculationResponse response;
+
+    /**
+     * Returns an independent copy of the context, to be adjusted and passed to {@link #complete}.
+     * Copies must be taken before the original context is completed.
+     */
+    public CalculationContext copyContext() {
+        return context.copy();
+    }
+
+    /**
+     * Generates the repayment plan of {@code variant} into a copy of the prepared response.
+     * Safe to call concurrently for distinct contexts.
+     */
+    public MortgageCalculationResponse complete(CalculationContext variant) {
+        MortgageCalculationResponse variantResponse = response.toBuilder().build();
+        calculator.completeCalculation(variant, variantResponse);
+        return variantResponse;
+    }
+
+    /**
+     * Summarises {@code repaymentPlan}, already generated for {@code variant}, into a copy of the prepared response.
+     */
+    public MortgageCalculationResponse complete(CalculationContext variant, ColumnarRepaymentPlan repaymentPlan) {
+        MortgageCalculationResponse variantResponse = response.toBuilder().build();
+        calculator.completeCalculation(variant, repaymentPlan, variantResponse);
+        return variantResponse;
+    }
+}
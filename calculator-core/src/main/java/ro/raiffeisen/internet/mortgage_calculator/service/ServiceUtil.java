@@ -3,28 +3,27 @@ package ro.raiffeisen.internet.mortgage_calculator.service;
 import lombok.RequiredArgsConstructor;
 import org.apache.poi.ss.formula.functions.Finance;
 import org.apache.poi.ss.formula.functions.Irr;
-import org.springframework.stereotype.Service;
 import ro.raiffeisen.internet.mortgage_calculator.exception.InternalServerException;
 import ro.raiffeisen.internet.mortgage_calculator.helper.MortgageCalculatorMapper;
 import ro.raiffeisen.internet.mortgage_calculator.model.*;
 import ro.raiffeisen.internet.mortgage_calculator.model.client.*;
 import ro.raiffeisen.internet.mortgage_calculator.model.utils.AdditionalCalculationInfo;
 import ro.raiffeisen.internet.mortgage_calculator.model.utils.InterestRateAdditionalInfo;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.ColumnarRepaymentPlan;
 import ro.raiffeisen.internet.mortgage_calculator.model.repayment.RepaymentPlanEntry;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataProvider;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.List;
 import java.util.Objects;
 
-@Service
 @RequiredArgsConstructor
 public class ServiceUtil {
     private static final String CURRENCY_RON = "RON";
     private static final String CURRENCY_EUR = "EUR";
     private static final String CURRENCY_PAIR = "EURRON";
-    private final RetrieveService retrieveClient;
-    private final FxClientRetrieve fxClientRetrieve;
+    private final ReferenceDataProvider referenceDataProvider;
     private final MortgageCalculatorMapper calculatorMapper;
 
 
@@ -91,7 +90,7 @@ public class ServiceUtil {
     }
 
     public BigDecimal calculateBuildingInsurancePremiumRate(String currency, Amount loanAmount, BigDecimal analysisCommission, Integer ltv, BigDecimal buildingInsurancePremiumRate) {
-        ExchangeRate exchangeRate = fxClientRetrieve.getExchangeRates(CURRENCY_EUR).stream()
+        ExchangeRate exchangeRate = referenceDataProvider.getExchangeRates(CURRENCY_EUR).stream()
                 .filter(rate -> CURRENCY_PAIR.equals(rate.getCurrencyPair()))
                 .findFirst()
                 .orElseThrow(() -> new InternalServerException("No exchange rate found"));
@@ -115,40 +114,49 @@ public class ServiceUtil {
         String currency = request.getLoanAmount() != null ? request.getLoanAmount().getCurrency() : "RON";
 
         LoanProduct loanProduct = retrieveLoanProduct(request.getProductCode());
-        LoanAllParameters loanAllParameters = retrieveClient.getLoanAllParametersByMultipleArguments(loanProduct.getIdLoan(),
+        LoanAllParameters loanAllParameters = referenceDataProvider.getLoanAllParameters(loanProduct.getIdLoan(),
                 request.getSpecialOfferRequirements().isHasSalaryInTheBank(),
                 currency,
                 getBackEndValue(request.getInterestRateType()), false);
-        List<NomenclatureDistrict> districts = retrieveClient.getDistricts();
+        List<NomenclatureDistrict> districts = referenceDataProvider.getDistricts();
         Integer zone = districts.stream()
                 .filter(district -> district.getCity().equals(request.getArea().getCity()) && district.getCounty().equals(request.getArea().getCounty()))
                 .findFirst().orElseThrow().getZone();
 
-        Integer ltv = retrieveClient.getLtvByAreaOwnerAndSum(request.getLoanAmount().getAmount().doubleValue(), request.isOwner(), zone, loanProduct.getIdLoan());
+        // Without a loan amount the LTV is resolved by the calculator, once the amount is known
+        Integer ltv = request.getLoanAmount() != null ?
+                retrieveLtv(request.getLoanAmount().getAmount().doubleValue(), request, zone, loanProduct.getIdLoan())
+                :
+                null;
 
         AdditionalCalculationInfo additionalInfo = calculatorMapper.buildAllAdditionalInfo(loanAllParameters, ltv);
 
         additionalInfo.setCurrency(currency);
         additionalInfo.setProductId(loanProduct.getIdLoan());
+        additionalInfo.setFinancingZone(zone);
 
         return additionalInfo;
     }
 
+    public Integer retrieveLtv(double amount, MortgageCalculationRequest request, Integer financingZone, Integer productId) {
+        return referenceDataProvider.getLtv(amount, request.isOwner(), financingZone, productId);
+    }
+
     public LoanProduct retrieveLoanProduct(String productCode) {
-        return retrieveClient.getLoanProduct(productCode);
+        return referenceDataProvider.getLoanProduct(productCode);
     }
 
 
     public InterestRateAdditionalInfo retrieveInterestRate(MortgageCalculationRequest request, Integer productId) {
         InterestRateAdditionalInfo additionalInfo = InterestRateAdditionalInfo.builder()
                 .build();
-        List<LoanInterestRate> loanInterestRates = retrieveClient
-                .getAllLoanInterestRatesByLoanProduct(productId, false, false); // merg cu false pentru a prelua standardul
+        List<LoanInterestRate> loanInterestRates = referenceDataProvider
+                .getLoanInterestRates(productId, false, false); // merg cu false pentru a prelua standardul
         setInterestRateDetails(loanInterestRates, request.getInterestRateType(), additionalInfo);
 
         additionalInfo.setYearsWithFixedInterest(request.getInterestRateType() instanceof MixedInterestRateType interestRateType ?
                 interestRateType.getFixedPeriod() * 12 : 0);
-        additionalInfo.setDiscounts(retrieveClient.getDiscounts(productId));
+        additionalInfo.setDiscounts(referenceDataProvider.getDiscounts(productId));
 
         return additionalInfo;
     }
@@ -356,17 +364,11 @@ public class ServiceUtil {
         return BigDecimal.valueOf(Finance.ppmt(interestRate, currentMonth, period, amountDouble));
     }
 
-    public MonthlyInstallment calculateMonthlyInstallment(boolean hasInsurance, List<RepaymentPlanEntry> repaymentPlanEntries, InterestRateType rateType, BigDecimal lifeInsurance) {
-        BigDecimal installment = repaymentPlanEntries
-                .get(1)
-                .getTotalPaymentAmount()
-                .getAmount();
-
-        if (rateType instanceof MixedInterestRateType mixedInterestRateType && repaymentPlanEntries.size() > 37) {
-            BigDecimal variableInstallment = repaymentPlanEntries
-                    .get(mixedInterestRateType.getFixedPeriod() * 12 + 2)
-                    .getTotalPaymentAmount()
-                    .getAmount();
+    public MonthlyInstallment calculateMonthlyInstallment(boolean hasInsurance, ColumnarRepaymentPlan repaymentPlan, InterestRateType rateType, BigDecimal lifeInsurance) {
+        BigDecimal installment = repaymentPlan.getTotalPaymentAmount(1);
+
+        if (rateType instanceof MixedInterestRateType mixedInterestRateType && repaymentPlan.size() > 37) {
+            BigDecimal variableInstallment = repaymentPlan.getTotalPaymentAmount(mixedInterestRateType.getFixedPeriod() * 12 + 2);
 
             return hasInsurance ?
                     new MonthlyInstallment(
@@ -1,11 +1,9 @@
 package ro.raiffeisen.internet.mortgage_calculator.service;
 
-import org.springframework.stereotype.Service;
 import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
 import ro.raiffeisen.internet.mortgage_calculator.model.MixedInterestRateType;
 import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
 
-@Service
 public class ValidationService {
     public void validateRequest(MortgageCalculationRequest request) {
         if (request.getProductCode() == null || request.getProductCode().isBlank())
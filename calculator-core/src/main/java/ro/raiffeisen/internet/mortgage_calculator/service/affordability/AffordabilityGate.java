@@ -0,0 +1,173 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.affordability;
+
+import ro.raiffeisen.internet.mortgage_calculator.exception.UnprocessableEntityException;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.Discount;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanInterestRate;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanProduct;
+import ro.raiffeisen.internet.mortgage_calculator.service.ServiceUtil;
+import ro.raiffeisen.internet.mortgage_calculator.service.calculator.MortgageCalculator;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataProvider;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Rejects requests the client clearly cannot afford before any reference data is retrieved for them.
+ * <p>
+ * The maximum affordable amount only grows when the rate falls, so it is bounded from above by the present value
+ * of the available rate at the lowest plausible rate of the product: the lowest rate of its grid minus all of its
+ * discounts and a safety margin. This rate is kept per product for the configured time. The gate rejects only when
+ * this bound is below the lowest amount the product can check it against, so every rejected request would also
+ * fail the precise check of {@code AbstractMortgageCalculator#calculateMaxAmount}, which stays in place.
+ * Requests the gate cannot bound are let through.
+ * <p>
+ * The gate cannot know the precise maximum amount, which the precise check returns as the displayed value of its
+ * error and in its message. Unless enforcing, the gate therefore only counts the clearly unaffordable requests and
+ * lets them through to the precise check, so clients keep getting the amount to suggest. Enforcing rejects them
+ * with an error without that amount, which changes the API for the clients that show it.
+ */
+public class AffordabilityGate {
+
+    private final ReferenceDataProvider referenceDataProvider;
+    private final ServiceUtil serviceUtil;
+    private final long rateTtlNanos;
+    private final double rateMargin;
+    private final int minimumLtv;
+    private final boolean enforce;
+    private final LongSupplier nanoTime;
+
+    private final Map<String, LowestRate> lowestRates = new ConcurrentHashMap<>();
+    private final LongAdder checked = new LongAdder();
+    private final LongAdder unaffordable = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param rateTtl how long the lowest rate of a product is kept before it is retrieved again
+     * @param rateMargin percentage points subtracted from the lowest rate, against rate cuts within {@code rateTtl}
+     * @param minimumLtv the lowest LTV, in percent, any product grants
+     * @param enforce whether clearly unaffordable requests are rejected instead of only counted
+     */
+    public AffordabilityGate(ReferenceDataProvider referenceDataProvider, ServiceUtil serviceUtil,
+                             Duration rateTtl, double rateMargin, int minimumLtv, boolean enforce) {
+        this(referenceDataProvider, serviceUtil, rateTtl, rateMargin, minimumLtv, enforce, System::nanoTime);
+    }
+
+    AffordabilityGate(ReferenceDataProvider referenceDataProvider, ServiceUtil serviceUtil,
+                      Duration rateTtl, double rateMargin, int minimumLtv, boolean enforce, LongSupplier nanoTime) {
+        this.referenceDataProvider = referenceDataProvider;
+        this.serviceUtil = serviceUtil;
+        this.rateTtlNanos = rateTtl.toNanos();
+        this.rateMargin = rateMargin;
+        this.minimumLtv = minimumLtv;
+        this.enforce = enforce;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Counts the request when it is clearly unaffordable and, when enforcing, throws.
+     *
+     * @param calculator the calculator of the requested product
+     * @param request a validated request, with the tenor already in months
+     */
+    public void check(MortgageCalculator calculator, MortgageCalculationRequest request) {
+        checked.increment();
+
+        BigDecimal assessedAmount = calculator.minimumAssessedAmount(request, minimumLtv);
+        if (assessedAmount == null || assessedAmount.signum() <= 0) {
+            return;
+        }
+
+        Double lowestRate = lowestRate(request.getProductCode());
+        if (lowestRate == null) {
+            return;
+        }
+
+        BigDecimal maxAmountBound = BigDecimal.valueOf(maxAmountBound(lowestRate, request.getTenor(),
+                serviceUtil.calculateAvailableRate(request.getIncome()).doubleValue())).setScale(2, RoundingMode.HALF_DOWN);
+        if (maxAmountBound.compareTo(assessedAmount) < 0) {
+            unaffordable.increment();
+            if (!enforce) {
+                return;
+            }
+            rejected.increment();
+            throw new UnprocessableEntityException("Ne pare rau! ☹️\n" +
+                    "Valoarea creditului este prea mare pentru venitul si cheltuielile tale! Te rugam sa incerci o suma mai mica", null);
+        }
+    }
+
+    public long getChecked() {
+        return checked.sum();
+    }
+
+    public long getUnaffordable() {
+        return unaffordable.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    private double maxAmountBound(double rate, int months, double availableRate) {
+        if (availableRate <= 0) {
+            return 0;
+        }
+        return rate > 0 ? serviceUtil.calculatePV(rate, months, availableRate) : availableRate * months;
+    }
+
+    /**
+     * The cached lowest plausible rate of the product, or {@code null} when it cannot be determined.
+     * Retrieval failures are not cached; the calculation reports them.
+     */
+    private Double lowestRate(String productCode) {
+        long now = nanoTime.getAsLong();
+        LowestRate cached = lowestRates.get(productCode);
+        if (cached != null && now - cached.retrievedAtNanos() < rateTtlNanos) {
+            return cached.rate();
+        }
+
+        Double rate;
+        try {
+            rate = retrieveLowestRate(productCode);
+        } catch (RuntimeException e) {
+            return null;
+        }
+        lowestRates.put(productCode, new LowestRate(rate, now));
+        return rate;
+    }
+
+    private Double retrieveLowestRate(String productCode) {
+        LoanProduct product = referenceDataProvider.getLoanProduct(productCode);
+        if (product == null) {
+            return null;
+        }
+
+        // The calculators always read the standard grid
+        List<LoanInterestRate> rates = referenceDataProvider.getLoanInterestRates(product.getIdLoan(), false, false);
+        double lowestGridRate = rates == null ? Double.NaN : rates.stream()
+                .mapToDouble(LoanInterestRate::getInterestRate)
+                .min()
+                .orElse(Double.NaN);
+        if (Double.isNaN(lowestGridRate)) {
+            return null;
+        }
+
+        List<Discount> discounts = referenceDataProvider.getDiscounts(product.getIdLoan());
+        double allDiscounts = discounts == null ? 0 : discounts.stream()
+                .map(Discount::getDiscountValue)
+                .filter(value -> value != null && value > 0)
+                .mapToDouble(Double::doubleValue)
+                .sum();
+
+        return lowestGridRate - allDiscounts - rateMargin;
+    }
+
+    private record LowestRate(Double rate, long retrievedAtNanos) {
+    }
+}
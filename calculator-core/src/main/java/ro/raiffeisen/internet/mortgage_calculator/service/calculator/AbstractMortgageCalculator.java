@@ -4,9 +4,11 @@ import lombok.RequiredArgsConstructor;
 import ro.raiffeisen.internet.mortgage_calculator.exception.UnprocessableEntityException;
 import ro.raiffeisen.internet.mortgage_calculator.model.*;
 import ro.raiffeisen.internet.mortgage_calculator.model.client.Discount;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.ColumnarRepaymentPlan;
 import ro.raiffeisen.internet.mortgage_calculator.model.repayment.RepaymentPlanEntry;
 import ro.raiffeisen.internet.mortgage_calculator.model.utils.AdditionalCalculationInfo;
 import ro.raiffeisen.internet.mortgage_calculator.model.utils.CalculatedValues;
+import ro.raiffeisen.internet.mortgage_calculator.model.utils.CalculationContext;
 import ro.raiffeisen.internet.mortgage_calculator.model.utils.InterestRateAdditionalInfo;
 import ro.raiffeisen.internet.mortgage_calculator.model.utils.InterestRateTypeFormula;
 import ro.raiffeisen.internet.mortgage_calculator.service.ServiceUtil;
@@ -15,6 +17,7 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -34,6 +37,27 @@ public abstract class AbstractMortgageCalculator implements MortgageCalculator {
      */
     @Override
     public void calculate(MortgageCalculationRequest request, MortgageCalculationResponse response) {
+        CalculationContext context = prepareCalculation(request, response);
+
+        // Calculate common details (repayment plan, installments, etc.)
+        completeCalculation(context, response);
+    }
+
+    /**
+     * Runs the same preparation as {@link #calculate} but hands back the repayment plan
+     * as a lazy iterator instead of summarising it into the response.
+     */
+    @Override
+    public Iterator<RepaymentPlanEntry> createRepaymentPlan(MortgageCalculationRequest request, MortgageCalculationResponse response) {
+        return new RepaymentPlanIterator(serviceUtil, prepareCalculation(request, response));
+    }
+
+    /**
+     * Retrieves reference data and resolves rates, product-specific amounts and discounts.
+     * Everything after this step only depends on the returned context.
+     */
+    @Override
+    public CalculationContext prepareCalculation(MortgageCalculationRequest request, MortgageCalculationResponse response) {
         // Retrieve common data
         AdditionalCalculationInfo additionalInfo = retrieveAdditionalInfo(request);
         InterestRateAdditionalInfo interestRateAdditionalInfo = retrieveInterestRate(request, additionalInfo.getProductId());
@@ -46,9 +70,9 @@ public abstract class AbstractMortgageCalculator implements MortgageCalculator {
         
         // Execute product-specific calculation logic
         calculateProductSpecificDetails(request, response, additionalInfo, interestRateAdditionalInfo, rateTypeFormula, availableRate);
-        
-        // Calculate common details (repayment plan, installments, etc.)
-        calculateCommonDetails(request, additionalInfo, response, interestRateAdditionalInfo, rateTypeFormula, shouldApplyGuaranteeDiscount(request, additionalInfo));
+
+        return prepareCommonDetails(request, additionalInfo, interestRateAdditionalInfo, rateTypeFormula,
+                shouldApplyGuaranteeDiscount(request, additionalInfo));
     }
 
     /**
@@ -145,9 +169,13 @@ public abstract class AbstractMortgageCalculator implements MortgageCalculator {
     }
 
     protected BigDecimal calculateGuaranteeAmount(AdditionalCalculationInfo additionalInfo, double maxLoanAmount) {
+        return calculateGuaranteeAmount(additionalInfo.getLtv(), additionalInfo.getAnalysisCommission(), maxLoanAmount);
+    }
+
+    protected BigDecimal calculateGuaranteeAmount(Integer ltv, BigDecimal analysisCommission, double maxLoanAmount) {
         return BigDecimal.valueOf(100)
-                .divide(BigDecimal.valueOf(additionalInfo.getLtv()), 10, RoundingMode.HALF_UP)
-                .multiply(BigDecimal.valueOf(maxLoanAmount).add(additionalInfo.getAnalysisCommission()));
+                .divide(BigDecimal.valueOf(ltv), 10, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(maxLoanAmount).add(analysisCommission));
     }
 
     protected BigDecimal calculateNoDocAmount(BigDecimal valoareCredit) {
@@ -160,10 +188,9 @@ public abstract class AbstractMortgageCalculator implements MortgageCalculator {
         }
     }
 
-    private void calculateCommonDetails(
+    private CalculationContext prepareCommonDetails(
             MortgageCalculationRequest request,
             AdditionalCalculationInfo additionalInfo,
-            MortgageCalculationResponse response,
             InterestRateAdditionalInfo interestRateAdditionalInfo,
             InterestRateTypeFormula rateTypeFormula,
             boolean shouldApplyDownPaymentDiscount) {
@@ -183,20 +210,43 @@ public abstract class AbstractMortgageCalculator implements MortgageCalculator {
         interestRateAdditionalInfo.setVariableInterestAfterFixedInterest(rateTypeFormula.getVariableInterestAfterFixedInterest());
         interestRateAdditionalInfo.setBankMarginRate(rateTypeFormula.getBankMarginRate());
 
-        List<RepaymentPlanEntry> repaymentPlanEntries = createRepaymentPlanEntries(request, additionalInfo, interestRateAdditionalInfo);
+        return CalculationContext.builder()
+                .request(request)
+                .additionalInfo(additionalInfo)
+                .interestRateAdditionalInfo(interestRateAdditionalInfo)
+                .rateTypeFormula(rateTypeFormula)
+                .loanCosts(loanCosts)
+                .build();
+    }
+
+    /**
+     * Generates the repayment plan of a prepared context and fills in installments, DAE and total payment.
+     */
+    @Override
+    public void completeCalculation(CalculationContext context, MortgageCalculationResponse response) {
+        completeCalculation(context, createColumnarRepaymentPlan(context), response);
+    }
+
+    /**
+     * Fills in installments, DAE and total payment from a repayment plan already generated for the context.
+     */
+    @Override
+    public void completeCalculation(CalculationContext context, ColumnarRepaymentPlan repaymentPlan, MortgageCalculationResponse response) {
+        MortgageCalculationRequest request = context.getRequest();
+        AdditionalCalculationInfo additionalInfo = context.getAdditionalInfo();
+        InterestRateAdditionalInfo interestRateAdditionalInfo = context.getInterestRateAdditionalInfo();
+        LoanCosts loanCosts = context.getLoanCosts();
 
         response.setMonthlyInstallment(serviceUtil.calculateMonthlyInstallment(
                 request.isHasInsurance(),
-                repaymentPlanEntries,
+                repaymentPlan,
                 request.getInterestRateType(),
                 additionalInfo.getMonthlyLifeInsurance().getValue().getAmount()));
         response.setInterestRateType(request.getInterestRateType());
         response.setInterestRateFormula(getInterestRateFormattedFormula(interestRateAdditionalInfo.getBankMarginRate(), additionalInfo.getIrcc()));
         response.setNominalInterestRate(BigDecimal.valueOf(interestRateAdditionalInfo.getInterestRate()).setScale(2, RoundingMode.HALF_DOWN));
 
-        List<BigDecimal> cashFlows = repaymentPlanEntries.stream()
-                .map(repaymentPlanEntry -> repaymentPlanEntry.getTotalPaymentAmount().getAmount())
-                .collect(Collectors.toList());
+        List<BigDecimal> cashFlows = repaymentPlan.getTotalPaymentAmounts();
 
         BigDecimal amountWithAnalysisCommission = serviceUtil.getAmountWithAnalysisCommission(
                 request.getLoanAmount().getAmount(),
@@ -209,6 +259,7 @@ public abstract class AbstractMortgageCalculator implements MortgageCalculator {
         response.setAnnualPercentageRate(dae);
         response.setTotalPaymentAmount(serviceUtil.calculateTotalPayment(cashFlows, additionalInfo));
         response.setCommissionDescription(additionalInfo.getCommissionDescription());
+        response.setRepaymentPlan(repaymentPlan);
     }
 
     private InterestRateFormula getInterestRateFormattedFormula(double bankMarginRate, Float ircc) {
@@ -222,19 +273,19 @@ public abstract class AbstractMortgageCalculator implements MortgageCalculator {
                 .build();
     }
 
-    private List<RepaymentPlanEntry> createRepaymentPlanEntries(
-            MortgageCalculationRequest request,
-            AdditionalCalculationInfo additionalInfo,
-            InterestRateAdditionalInfo interestRateAdditionalInfo) {
-        int tenor = request.getTenor();
-        // Pre-allocate capacity to avoid resizing during adds
-        List<RepaymentPlanEntry> repaymentPlanEntries = new ArrayList<>(tenor + 1);
-        
-        for (int i = 0; i <= tenor; i++) {
-            repaymentPlanEntries.add(serviceUtil.createRepaymentPlanEntry(i, request, additionalInfo, interestRateAdditionalInfo));
+    /**
+     * Folds each generated entry into the columnar plan as soon as it is produced,
+     * so only one {@link RepaymentPlanEntry} is alive at a time.
+     */
+    private ColumnarRepaymentPlan createColumnarRepaymentPlan(CalculationContext context) {
+        ColumnarRepaymentPlan.Builder builder = ColumnarRepaymentPlan.builder(context.getRequest().getTenor() + 1);
+        RepaymentPlanIterator iterator = new RepaymentPlanIterator(serviceUtil, context);
+
+        while (iterator.hasNext()) {
+            builder.add(iterator.next());
         }
-        
-        return repaymentPlanEntries;
+
+        return builder.build();
     }
 
     private void calculateTotalDiscounts(
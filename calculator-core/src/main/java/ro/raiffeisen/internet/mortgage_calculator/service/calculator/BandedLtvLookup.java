@@ -0,0 +1,39 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.calculator;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.DoubleFunction;
+
+/**
+ * LTV lookups of one calculation. The LTV is a step function of the amount, so once two probed
+ * amounts fall in the same band every amount between them is answered without another lookup.
+ */
+class BandedLtvLookup {
+
+    private final DoubleFunction<Integer> lookup;
+    private final TreeMap<Double, Integer> probes = new TreeMap<>();
+
+    BandedLtvLookup(DoubleFunction<Integer> lookup) {
+        this.lookup = lookup;
+    }
+
+    Integer getLtv(double amount) {
+        Map.Entry<Double, Integer> floor = probes.floorEntry(amount);
+        if (floor != null && floor.getKey() == amount) {
+            return floor.getValue();
+        }
+        Map.Entry<Double, Integer> ceiling = probes.ceilingEntry(amount);
+        if (floor != null && ceiling != null && Objects.equals(floor.getValue(), ceiling.getValue())) {
+            return floor.getValue();
+        }
+
+        Integer ltv = lookup.apply(amount);
+        probes.put(amount, ltv);
+        return ltv;
+    }
+
+    int getLookups() {
+        return probes.size();
+    }
+}
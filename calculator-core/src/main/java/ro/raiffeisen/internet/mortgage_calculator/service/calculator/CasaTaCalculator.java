@@ -1,6 +1,5 @@
 package ro.raiffeisen.internet.mortgage_calculator.service.calculator;
 
-import org.springframework.stereotype.Component;
 import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
 import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
 import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
@@ -15,16 +14,28 @@ import java.math.RoundingMode;
 /**
  * Calculator implementation for "Casa Ta" credit product.
  */
-@Component
 public class CasaTaCalculator extends AbstractMortgageCalculator {
 
     public CasaTaCalculator(ServiceUtil serviceUtil) {
         super(serviceUtil);
     }
 
+    @Override
+    public String getProductCode() {
+        return "CasaTa";
+    }
+
     @Override
     public boolean supports(String productCode) {
-        return "CasaTa".equals(productCode);
+        return getProductCode().equals(productCode);
+    }
+
+    /**
+     * The LTV share of the amount is checked, and the LTV is not known before the reference data is retrieved.
+     */
+    @Override
+    public BigDecimal minimumAssessedAmount(MortgageCalculationRequest request, int minimumLtv) {
+        return request.getLoanAmount() == null ? null : serviceUtil.calculateCreditAmount(request.getLoanAmount().getAmount(), minimumLtv);
     }
 
     @Override
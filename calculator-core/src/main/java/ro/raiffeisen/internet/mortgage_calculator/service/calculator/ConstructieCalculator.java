@@ -1,6 +1,5 @@
 package ro.raiffeisen.internet.mortgage_calculator.service.calculator;
 
-import org.springframework.stereotype.Component;
 import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
 import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
 import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
@@ -14,16 +13,29 @@ import java.math.BigDecimal;
 /**
  * Calculator implementation for "Constructie" (Construction) credit product.
  */
-@Component
 public class ConstructieCalculator extends AbstractMortgageCalculator {
 
     public ConstructieCalculator(ServiceUtil serviceUtil) {
         super(serviceUtil);
     }
 
+    @Override
+    public String getProductCode() {
+        return "Constructie";
+    }
+
     @Override
     public boolean supports(String productCode) {
-        return "Constructie".equals(productCode);
+        return getProductCode().equals(productCode);
+    }
+
+    @Override
+    public BigDecimal minimumAssessedAmount(MortgageCalculationRequest request, int minimumLtv) {
+        if (request.getLoanAmount() == null) {
+            return null;
+        }
+        BigDecimal contributieProprie = request.getDownPayment() == null ? BigDecimal.ZERO : request.getDownPayment();
+        return request.getLoanAmount().getAmount().subtract(contributieProprie);
     }
 
     @Override
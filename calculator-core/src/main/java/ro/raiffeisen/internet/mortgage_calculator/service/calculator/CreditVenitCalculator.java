@@ -1,17 +1,17 @@
 package ro.raiffeisen.internet.mortgage_calculator.service.calculator;
 
-import org.springframework.stereotype.Component;
 import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
 import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
 import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
-import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanProduct;
 import ro.raiffeisen.internet.mortgage_calculator.model.utils.AdditionalCalculationInfo;
 import ro.raiffeisen.internet.mortgage_calculator.model.utils.InterestRateAdditionalInfo;
 import ro.raiffeisen.internet.mortgage_calculator.model.utils.InterestRateTypeFormula;
 import ro.raiffeisen.internet.mortgage_calculator.service.ServiceUtil;
+import ro.raiffeisen.internet.mortgage_calculator.service.solver.Bisection;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.function.LongPredicate;
 
 /**
  * Calculator implementation for "Credit Venit" (Income-based credit) product.
@@ -19,16 +19,25 @@ import java.math.RoundingMode;
  * 1. Client provides loan amount
  * 2. Calculate maximum loan amount based on income
  */
-@Component
 public class CreditVenitCalculator extends AbstractMortgageCalculator {
 
     public CreditVenitCalculator(ServiceUtil serviceUtil) {
         super(serviceUtil);
     }
 
+    @Override
+    public String getProductCode() {
+        return "CreditVenit";
+    }
+
     @Override
     public boolean supports(String productCode) {
-        return "CreditVenit".equals(productCode);
+        return getProductCode().equals(productCode);
+    }
+
+    @Override
+    public BigDecimal minimumAssessedAmount(MortgageCalculationRequest request, int minimumLtv) {
+        return request.getLoanAmount() == null ? null : request.getLoanAmount().getAmount();
     }
 
     @Override
@@ -84,15 +93,16 @@ public class CreditVenitCalculator extends AbstractMortgageCalculator {
             InterestRateTypeFormula rateTypeFormula,
             BigDecimal availableRate) {
 
-        LoanProduct loanProduct = serviceUtil.retrieveLoanProduct(request.getProductCode());
-        
-        double maxLoanAmount = serviceUtil.calculatePV(rateTypeFormula.getInterestRate(), request.getTenor(), availableRate.doubleValue());
-        request.setLoanAmount(new Amount("RON", BigDecimal.valueOf(maxLoanAmount)));
+        AffordableAmount affordable = findMaxLoanAmount(request, additionalInfo, interestRateAdditionalInfo, rateTypeFormula, availableRate);
+        double maxLoanAmount = affordable.amount();
 
-        // Recalculate additional info with the calculated loan amount
-        additionalInfo = retrieveAdditionalInfo(request);
+        // The LTV and the discount are those of the final amount, so the rest of the calculation agrees with it
+        additionalInfo.setLtv(affordable.ltv());
+        if (affordable.downPaymentDiscount()) {
+            applyDiscount(interestRateAdditionalInfo, "avans", rateTypeFormula);
+        }
 
-        request.setLoanAmount(new Amount(additionalInfo.getCurrency(), 
+        request.setLoanAmount(new Amount(additionalInfo.getCurrency(),
                 BigDecimal.valueOf(maxLoanAmount).subtract(additionalInfo.getAnalysisCommission())));
         response.setMaxAmount(new Amount(additionalInfo.getCurrency(),
                 BigDecimal.valueOf(maxLoanAmount).setScale(2, RoundingMode.HALF_DOWN)));
@@ -100,11 +110,6 @@ public class CreditVenitCalculator extends AbstractMortgageCalculator {
         BigDecimal garantie = calculateGuaranteeAmount(additionalInfo, maxLoanAmount);
         BigDecimal downPayment = garantie.subtract(BigDecimal.valueOf(maxLoanAmount));
 
-        boolean shouldApplyDownPaymentDiscount = shouldApplyDownPaymentDiscount(downPayment, request.getLoanAmount().getAmount());
-        if (shouldApplyDownPaymentDiscount) {
-            applyDiscount(interestRateAdditionalInfo, "avans", rateTypeFormula);
-        }
-
         response.setHousePrice(new Amount(additionalInfo.getCurrency(), BigDecimal.valueOf(maxLoanAmount).add(downPayment)));
         response.setDownPayment(new Amount(additionalInfo.getCurrency(), downPayment));
         response.setLoanAmount(new Amount(additionalInfo.getCurrency(), BigDecimal.valueOf(maxLoanAmount)));
@@ -112,6 +117,67 @@ public class CreditVenitCalculator extends AbstractMortgageCalculator {
         response.setMinGuaranteeAmount(garantie);
     }
 
+    /**
+     * Finds the highest amount (analysis commission included) whose installment fits the available rate.
+     * The down payment discount lowers the rate, but only applies when the LTV band of the amount requires
+     * a large enough guarantee, so the answer is either the amount affordable without the discount, the one
+     * affordable with it, or the band edge between the two, found by bisection to the cent.
+     * LTV lookups are memoized per band, so only amounts near an edge cost a lookup.
+     */
+    AffordableAmount findMaxLoanAmount(
+            MortgageCalculationRequest request,
+            AdditionalCalculationInfo additionalInfo,
+            InterestRateAdditionalInfo interestRateAdditionalInfo,
+            InterestRateTypeFormula rateTypeFormula,
+            BigDecimal availableRate) {
+        BigDecimal analysisCommission = additionalInfo.getAnalysisCommission();
+        BandedLtvLookup ltvLookup = new BandedLtvLookup(amount -> serviceUtil.retrieveLtv(amount, request,
+                additionalInfo.getFinancingZone(), additionalInfo.getProductId()));
+        LongPredicate qualifiesForDiscount = cents -> qualifiesForDownPaymentDiscount(cents, analysisCommission, ltvLookup);
+
+        double interestRate = rateTypeFormula.getInterestRate();
+        double discountedRate = interestRate - getDiscountValue(interestRateAdditionalInfo, "avans");
+        long withoutDiscount = toCents(serviceUtil.calculatePV(interestRate, request.getTenor(), availableRate.doubleValue()));
+        long withDiscount = toCents(serviceUtil.calculatePV(discountedRate, request.getTenor(), availableRate.doubleValue()));
+
+        long amount = withoutDiscount;
+        boolean discount = qualifiesForDiscount.test(withoutDiscount);
+        if (withDiscount > withoutDiscount) {
+            if (qualifiesForDiscount.test(withDiscount)) {
+                amount = withDiscount;
+                discount = true;
+            } else if (discount) {
+                amount = Bisection.lastSatisfying(qualifiesForDiscount, withoutDiscount, withDiscount);
+            }
+        }
+
+        return new AffordableAmount(amount / 100.0, ltvLookup.getLtv(loanAmount(amount, analysisCommission)), discount);
+    }
+
+    private boolean qualifiesForDownPaymentDiscount(long cents, BigDecimal analysisCommission, BandedLtvLookup ltvLookup) {
+        double maxLoanAmount = cents / 100.0;
+        Integer ltv = ltvLookup.getLtv(loanAmount(cents, analysisCommission));
+        BigDecimal downPayment = calculateGuaranteeAmount(ltv, analysisCommission, maxLoanAmount).subtract(BigDecimal.valueOf(maxLoanAmount));
+
+        return shouldApplyDownPaymentDiscount(downPayment, BigDecimal.valueOf(maxLoanAmount).subtract(analysisCommission));
+    }
+
+    private static double loanAmount(long cents, BigDecimal analysisCommission) {
+        return BigDecimal.valueOf(cents, 2).subtract(analysisCommission).doubleValue();
+    }
+
+    private static long toCents(double amount) {
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.DOWN).unscaledValue().longValueExact();
+    }
+
+    /**
+     * @param amount              the maximum loan amount, analysis commission included
+     * @param ltv                 the LTV of the amount
+     * @param downPaymentDiscount whether the amount qualifies for the down payment discount
+     */
+    record AffordableAmount(double amount, Integer ltv, boolean downPaymentDiscount) {
+    }
+
     @Override
     protected boolean shouldApplyGuaranteeDiscount(MortgageCalculationRequest request, AdditionalCalculationInfo additionalInfo) {
         if (request.getLoanAmount() != null && request.getDownPayment() != null) {
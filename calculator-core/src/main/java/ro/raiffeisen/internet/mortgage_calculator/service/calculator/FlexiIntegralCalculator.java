@@ -1,6 +1,5 @@
 package ro.raiffeisen.internet.mortgage_calculator.service.calculator;
 
-import org.springframework.stereotype.Component;
 import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
 import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
 import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
@@ -14,16 +13,25 @@ import java.math.BigDecimal;
 /**
  * Calculator implementation for "Flexi Integral" credit product.
  */
-@Component
 public class FlexiIntegralCalculator extends AbstractMortgageCalculator {
 
     public FlexiIntegralCalculator(ServiceUtil serviceUtil) {
         super(serviceUtil);
     }
 
+    @Override
+    public String getProductCode() {
+        return "FlexiIntegral";
+    }
+
     @Override
     public boolean supports(String productCode) {
-        return "FlexiIntegral".equals(productCode);
+        return getProductCode().equals(productCode);
+    }
+
+    @Override
+    public BigDecimal minimumAssessedAmount(MortgageCalculationRequest request, int minimumLtv) {
+        return request.getLoanAmount() == null ? null : request.getLoanAmount().getAmount();
     }
 
     @Override
@@ -0,0 +1,90 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.calculator;
+
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.ColumnarRepaymentPlan;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.RepaymentPlanEntry;
+import ro.raiffeisen.internet.mortgage_calculator.model.utils.CalculationContext;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+
+/**
+ * Interface for mortgage calculation strategies.
+ * Each credit product type will have its own implementation.
+ */
+public interface MortgageCalculator {
+    
+    /**
+     * Returns the product code this calculator handles.
+     *
+     * @return the product code, as sent in the request
+     */
+    String getProductCode();
+
+    /**
+     * Checks if this calculator can handle the given product code.
+     * 
+     * @param productCode the product code from the request
+     * @return true if this calculator supports the product code
+     */
+    boolean supports(String productCode);
+    
+    /**
+     * Lower bound of the amount checked against the client's maximum affordable amount, known from the request
+     * alone, before any reference data is retrieved.
+     *
+     * @param request the mortgage calculation request
+     * @param minimumLtv the lowest LTV, in percent, a loan can be granted with
+     * @return the lower bound, or {@code null} when the product cannot bound it from the request
+     */
+    default BigDecimal minimumAssessedAmount(MortgageCalculationRequest request, int minimumLtv) {
+        return null;
+    }
+
+    /**
+     * Calculates the mortgage details for the given request.
+     * 
+     * @param request the mortgage calculation request
+     * @param response the response object to be populated
+     */
+    void calculate(MortgageCalculationRequest request, MortgageCalculationResponse response);
+
+    /**
+     * Prepares the calculation and returns its repayment plan, generated month by month while iterating.
+     *
+     * @param request the mortgage calculation request
+     * @param response the response object to be populated with the product-specific amounts
+     * @return a lazy iterator over the repayment plan entries, starting with month 0
+     */
+    Iterator<RepaymentPlanEntry> createRepaymentPlan(MortgageCalculationRequest request, MortgageCalculationResponse response);
+
+    /**
+     * First step of {@link #calculate}: retrieves reference data and resolves rates, discounts and
+     * product-specific amounts, without generating the repayment plan.
+     *
+     * @param request the mortgage calculation request
+     * @param response the response object to be populated with the product-specific amounts
+     * @return the context the repayment plan is generated from
+     */
+    CalculationContext prepareCalculation(MortgageCalculationRequest request, MortgageCalculationResponse response);
+
+    /**
+     * Second step of {@link #calculate}: generates the repayment plan of the context and
+     * populates installments, DAE and total payment in the response.
+     *
+     * @param context a context returned by {@link #prepareCalculation}
+     * @param response the response object to be populated
+     */
+    void completeCalculation(CalculationContext context, MortgageCalculationResponse response);
+
+    /**
+     * Populates installments, DAE and total payment in the response from a repayment plan
+     * already generated for the context, without generating it again.
+     *
+     * @param context a context returned by {@link #prepareCalculation}
+     * @param repaymentPlan the repayment plan of the context
+     * @param response the response object to be populated
+     */
+    void completeCalculation(CalculationContext context, ColumnarRepaymentPlan repaymentPlan, MortgageCalculationResponse response);
+}
@@ -1,16 +1,15 @@
 package ro.raiffeisen.internet.mortgage_calculator.service.calculator;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.stereotype.Component;
 import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
 
 import java.util.List;
 
 /**
  * Factory for creating the appropriate mortgage calculator based on product code.
- * Uses Spring's dependency injection to automatically collect all MortgageCalculator implementations.
+ * The calculators are passed in by the caller: the Spring configuration in the web application
+ * or {@link ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine#create} when embedded.
  */
-@Component
 @RequiredArgsConstructor
 public class MortgageCalculatorFactory {
 
@@ -30,5 +29,13 @@ public class MortgageCalculatorFactory {
                 .orElseThrow(() -> new BadRequestException(
                         "Unsupported product code: " + productCode));
     }
-}
 
+    /**
+     * Returns the product codes of all registered calculators, in registration order.
+     */
+    public List<String> getProductCodes() {
+        return calculators.stream()
+                .map(MortgageCalculator::getProductCode)
+                .toList();
+    }
+}
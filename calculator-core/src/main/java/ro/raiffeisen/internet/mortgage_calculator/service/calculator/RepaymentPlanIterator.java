@@ -0,0 +1,40 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.calculator;
+
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.RepaymentPlanEntry;
+import ro.raiffeisen.internet.mortgage_calculator.model.utils.CalculationContext;
+import ro.raiffeisen.internet.mortgage_calculator.service.ServiceUtil;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily generates the repayment plan, one month per call to {@link #next()}.
+ * The running balance lives in the context, so entries must be consumed in order and only once.
+ */
+public class RepaymentPlanIterator implements Iterator<RepaymentPlanEntry> {
+
+    private final ServiceUtil serviceUtil;
+    private final CalculationContext context;
+    private int currentMonth;
+
+    public RepaymentPlanIterator(ServiceUtil serviceUtil, CalculationContext context) {
+        this.serviceUtil = serviceUtil;
+        this.context = context;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return currentMonth <= context.getRequest().getTenor();
+    }
+
+    @Override
+    public RepaymentPlanEntry next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("Repayment plan has only " + currentMonth + " entries");
+        }
+        return serviceUtil.createRepaymentPlanEntry(currentMonth++,
+                context.getRequest(),
+                context.getAdditionalInfo(),
+                context.getInterestRateAdditionalInfo());
+    }
+}
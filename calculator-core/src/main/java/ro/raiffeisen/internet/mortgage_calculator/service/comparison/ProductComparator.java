@@ -0,0 +1,117 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.comparison;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+import ro.raiffeisen.internet.mortgage_calculator.exception.InternalServerException;
+import ro.raiffeisen.internet.mortgage_calculator.exception.NotFoundException;
+import ro.raiffeisen.internet.mortgage_calculator.exception.UnprocessableEntityException;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+import ro.raiffeisen.internet.mortgage_calculator.model.ErrorReason;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.comparison.ProductComparisonResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.comparison.ProductQuote;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.MemoizingReferenceDataProvider;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Prices one loan with several products at once.
+ * <p>
+ * All products are priced by the given engine. When its reference data is memoized per request (a
+ * {@link MemoizingReferenceDataProvider}), the data the products have in common (districts, FX rates,
+ * parameters of a shared product id) is retrieved once for all of them. Products are calculated concurrently
+ * on the given executor; a product that cannot price the loan is reported with its errors instead of failing
+ * the comparison.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ProductComparator {
+
+    static final String COMMON_INVALID_PARAMETER = "COMMON_INVALID_PARAMETER";
+    static final String COMMON_NOT_FOUND = "COMMON_NOT_FOUND";
+    static final String COMMON_INTERNAL_ERROR = "COMMON_INTERNAL_ERROR";
+
+    private final CalculatorEngine calculatorEngine;
+
+    /**
+     * @param productCodes the products to compare, all registered products when null or empty
+     */
+    public ProductComparisonResponse compare(MortgageCalculationRequest request, List<String> productCodes, Executor executor) {
+        List<String> comparedProducts = productCodes == null || productCodes.isEmpty() ?
+                calculatorEngine.getCalculatorFactory().getProductCodes()
+                :
+                productCodes;
+
+        List<CompletableFuture<ProductQuote>> futures = comparedProducts.stream()
+                .map(productCode -> CompletableFuture.supplyAsync(() -> quote(request, productCode), executor))
+                .toList();
+
+        return ProductComparisonResponse.builder()
+                .products(futures.stream().map(CompletableFuture::join).toList())
+                .build();
+    }
+
+    private ProductQuote quote(MortgageCalculationRequest request, String productCode) {
+        try {
+            MortgageCalculationResponse calculation = calculatorEngine.calculate(productRequest(request, productCode));
+            return ProductQuote.builder()
+                    .productCode(productCode)
+                    .loanAmount(calculation.getLoanAmount())
+                    .tenor(calculation.getTenor())
+                    .nominalInterestRate(calculation.getNominalInterestRate())
+                    .monthlyInstallment(calculation.getMonthlyInstallment())
+                    .annualPercentageRate(calculation.getAnnualPercentageRate())
+                    .totalPaymentAmount(calculation.getTotalPaymentAmount())
+                    .build();
+        } catch (RuntimeException e) {
+            return ProductQuote.builder()
+                    .productCode(productCode)
+                    .errors(errorReasons(productCode, e))
+                    .build();
+        }
+    }
+
+    /**
+     * The engine adjusts the request in place, so every product gets its own copy.
+     */
+    private static MortgageCalculationRequest productRequest(MortgageCalculationRequest request, String productCode) {
+        Amount loanAmount = request.getLoanAmount();
+        return request.toBuilder()
+                .productCode(productCode)
+                .loanAmount(loanAmount != null ? new Amount(loanAmount.getCurrency(), loanAmount.getAmount()) : null)
+                .build();
+    }
+
+    private static List<ErrorReason> errorReasons(String productCode, RuntimeException e) {
+        List<ErrorReason> reasons;
+        String code;
+        if (e instanceof BadRequestException exception) {
+            reasons = exception.getErrorReasons();
+            code = COMMON_INVALID_PARAMETER;
+        } else if (e instanceof UnprocessableEntityException exception) {
+            reasons = exception.getErrorReasons();
+            code = COMMON_INVALID_PARAMETER;
+        } else if (e instanceof NotFoundException exception) {
+            reasons = exception.getErrorReasons();
+            code = COMMON_NOT_FOUND;
+        } else {
+            log.error("Comparison failed for product {}", productCode, e);
+            reasons = e instanceof InternalServerException exception ? exception.getErrorReasons() : null;
+            code = COMMON_INTERNAL_ERROR;
+        }
+
+        if (reasons != null && !reasons.isEmpty()) {
+            return reasons;
+        }
+        return List.of(ErrorReason.builder()
+                .code(code)
+                .message(e.getMessage())
+                .severity(ErrorReason.SeverityType.ERROR)
+                .build());
+    }
+}
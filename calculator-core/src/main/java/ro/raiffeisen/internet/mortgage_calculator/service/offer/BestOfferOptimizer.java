@@ -0,0 +1,151 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.offer;
+
+import lombok.RequiredArgsConstructor;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.SpecialOfferRequirements;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.Discount;
+import ro.raiffeisen.internet.mortgage_calculator.model.offer.BestOfferRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.offer.BestOfferResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.offer.DiscountOffer;
+import ro.raiffeisen.internet.mortgage_calculator.model.offer.OfferRanking;
+import ro.raiffeisen.internet.mortgage_calculator.model.utils.CalculationContext;
+import ro.raiffeisen.internet.mortgage_calculator.model.utils.InterestRateAdditionalInfo;
+import ro.raiffeisen.internet.mortgage_calculator.model.utils.InterestRateTypeFormula;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+import ro.raiffeisen.internet.mortgage_calculator.service.PreparedCalculation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Ranks the combinations of the discounts a client can choose: salary in the bank, green house and life insurance.
+ * <p>
+ * The salary in the bank changes the loan parameters, so the loan is prepared once per salary option.
+ * Green house and insurance only lower the rate by their discount (insurance also adds its monthly cost),
+ * so their combinations are completed from copies of the prepared context, in parallel on the given executor.
+ * The down payment discount is not a choice: it applies to every combination when the loan qualifies.
+ * Offers carry the installment, DAE and total payment only; the loan costs of a combination come from the calculation endpoint.
+ */
+@RequiredArgsConstructor
+public class BestOfferOptimizer {
+
+    static final String DISCOUNT_GREEN_HOUSE = "green house";
+    static final String DISCOUNT_INSURANCE = "asigurare";
+
+    private final CalculatorEngine calculatorEngine;
+
+    public BestOfferResponse optimize(BestOfferRequest request, Executor executor) {
+        MortgageCalculationRequest calculationRequest = request.getCalculationRequest();
+        SpecialOfferRequirements requested = calculationRequest.getSpecialOfferRequirements();
+        OfferRanking rankBy = request.getRankBy() != null ? request.getRankBy() : OfferRanking.TOTAL_PAYMENT_AMOUNT;
+
+        List<DiscountOffer> offers = new ArrayList<>();
+        List<CompletableFuture<MortgageCalculationResponse>> futures = new ArrayList<>();
+
+        for (boolean salary : options(request.isConsiderSalaryInTheBank(), requested.isHasSalaryInTheBank())) {
+            boolean baseCasaVerde = !request.isConsiderCasaVerde() && requested.isCasaVerde();
+            boolean baseInsurance = !request.isConsiderInsurance() && calculationRequest.isHasInsurance();
+            PreparedCalculation prepared = calculatorEngine.prepare(calculationRequest.toBuilder()
+                    .specialOfferRequirements(new SpecialOfferRequirements(salary, baseCasaVerde))
+                    .hasInsurance(baseInsurance)
+                    .build());
+            List<Discount> discounts = prepared.getContext().getInterestRateAdditionalInfo().getDiscounts();
+
+            for (boolean casaVerde : options(request.isConsiderCasaVerde(), requested.isCasaVerde())) {
+                for (boolean insurance : options(request.isConsiderInsurance(), calculationRequest.isHasInsurance())) {
+                    double rateDiscount = (casaVerde && !baseCasaVerde ? discountValue(discounts, DISCOUNT_GREEN_HOUSE) : 0)
+                            + (insurance && !baseInsurance ? discountValue(discounts, DISCOUNT_INSURANCE) : 0);
+                    CalculationContext variant = applyChoices(prepared.copyContext(), salary, casaVerde, insurance, rateDiscount);
+
+                    offers.add(DiscountOffer.builder()
+                            .hasSalaryInTheBank(salary)
+                            .casaVerde(casaVerde)
+                            .hasInsurance(insurance)
+                            .requested(salary == requested.isHasSalaryInTheBank()
+                                    && casaVerde == requested.isCasaVerde()
+                                    && insurance == calculationRequest.isHasInsurance())
+                            .build());
+                    futures.add(CompletableFuture.supplyAsync(() -> prepared.complete(variant), executor));
+                }
+            }
+        }
+
+        for (int i = 0; i < offers.size(); i++) {
+            MortgageCalculationResponse calculation = join(futures.get(i));
+            DiscountOffer offer = offers.get(i);
+            offer.setNominalInterestRate(calculation.getNominalInterestRate());
+            offer.setMonthlyInstallment(calculation.getMonthlyInstallment());
+            offer.setAnnualPercentageRate(calculation.getAnnualPercentageRate());
+            offer.setTotalPaymentAmount(calculation.getTotalPaymentAmount());
+        }
+
+        offers.sort(comparator(rankBy));
+        for (int i = 0; i < offers.size(); i++) {
+            offers.get(i).setRank(i + 1);
+        }
+
+        return BestOfferResponse.builder()
+                .rankBy(rankBy)
+                .offers(offers)
+                .build();
+    }
+
+    /**
+     * Sets the chosen options on a copy of the request and lowers every rate of the context by the discount.
+     */
+    static CalculationContext applyChoices(CalculationContext context, boolean salary, boolean casaVerde, boolean insurance, double rateDiscount) {
+        context.setRequest(context.getRequest().toBuilder()
+                .specialOfferRequirements(new SpecialOfferRequirements(salary, casaVerde))
+                .hasInsurance(insurance)
+                .build());
+
+        InterestRateAdditionalInfo rates = context.getInterestRateAdditionalInfo();
+        rates.setInterestRate(rates.getInterestRate() - rateDiscount);
+        rates.setVariableInterestAfterFixedInterest(rates.getVariableInterestAfterFixedInterest() - rateDiscount);
+        rates.setBankMarginRate(rates.getBankMarginRate() - rateDiscount);
+
+        InterestRateTypeFormula formula = context.getRateTypeFormula();
+        formula.setInterestRate(rates.getInterestRate());
+        formula.setVariableInterestAfterFixedInterest(rates.getVariableInterestAfterFixedInterest());
+        formula.setBankMarginRate(rates.getBankMarginRate());
+        return context;
+    }
+
+    private static Comparator<DiscountOffer> comparator(OfferRanking rankBy) {
+        Comparator<DiscountOffer> byTotalPayment = Comparator.comparing(offer -> offer.getTotalPaymentAmount().getAmount());
+        Comparator<DiscountOffer> byDae = Comparator.comparing(DiscountOffer::getAnnualPercentageRate);
+
+        return rankBy == OfferRanking.ANNUAL_PERCENTAGE_RATE ?
+                byDae.thenComparing(byTotalPayment)
+                :
+                byTotalPayment.thenComparing(byDae);
+    }
+
+    private static boolean[] options(boolean considered, boolean requested) {
+        return considered ? new boolean[]{false, true} : new boolean[]{requested};
+    }
+
+    private static double discountValue(List<Discount> discounts, String name) {
+        return discounts.stream()
+                .filter(discount -> name.equals(discount.getDiscountName()))
+                .mapToDouble(Discount::getDiscountValue)
+                .findFirst()
+                .orElse(0d);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
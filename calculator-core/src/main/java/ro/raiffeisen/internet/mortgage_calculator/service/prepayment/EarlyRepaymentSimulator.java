@@ -0,0 +1,138 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.prepayment;
+
+import lombok.RequiredArgsConstructor;
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+import ro.raiffeisen.internet.mortgage_calculator.model.InstallmentType;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.prepayment.EarlyRepaymentResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.prepayment.Prepayment;
+import ro.raiffeisen.internet.mortgage_calculator.model.prepayment.PrepaymentResult;
+import ro.raiffeisen.internet.mortgage_calculator.model.prepayment.PrepaymentStrategy;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.ColumnarRepaymentPlan;
+import ro.raiffeisen.internet.mortgage_calculator.model.utils.AdditionalCalculationInfo;
+import ro.raiffeisen.internet.mortgage_calculator.model.utils.CalculationContext;
+import ro.raiffeisen.internet.mortgage_calculator.model.utils.InterestRateAdditionalInfo;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+import ro.raiffeisen.internet.mortgage_calculator.service.PreparedCalculation;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Simulates partial or full early repayments of a loan.
+ * <p>
+ * The loan is calculated once; each repayment then re-amortizes only the months after it
+ * (see {@link SuffixAmortization}), lowering either the installment or the tenor. Savings are
+ * reported against the plan without early repayments and net of the product's early repayment commission.
+ */
+@RequiredArgsConstructor
+public class EarlyRepaymentSimulator {
+
+    private final CalculatorEngine calculatorEngine;
+
+    public EarlyRepaymentResponse simulate(MortgageCalculationRequest request, List<Prepayment> prepayments) {
+        PreparedCalculation prepared = calculatorEngine.prepare(request);
+        CalculationContext context = prepared.getContext();
+        MortgageCalculationResponse baseline = prepared.complete(context);
+        ColumnarRepaymentPlan plan = baseline.getRepaymentPlan();
+        AdditionalCalculationInfo additionalInfo = context.getAdditionalInfo();
+        InterestRateAdditionalInfo rates = context.getInterestRateAdditionalInfo();
+
+        validate(prepayments, plan.getLastMonth());
+
+        int firstMonth = prepayments.get(0).getMonth();
+        int fixedMonths = rates.getYearsWithFixedInterest() != null ? rates.getYearsWithFixedInterest() : 0;
+        SuffixAmortization amortization = new SuffixAmortization(plan, firstMonth, fixedMonths,
+                rates.getInterestRate(),
+                fixedMonths > 0 ? rates.getVariableInterestAfterFixedInterest() : rates.getInterestRate(),
+                context.getRequest().getInstallmentType() == InstallmentType.DECREASING_INSTALLMENTS);
+        BigDecimal commissionRate = additionalInfo.getEarlyRepaymentCommission() != null ?
+                additionalInfo.getEarlyRepaymentCommission()
+                :
+                BigDecimal.ZERO;
+
+        List<PrepaymentResult> results = new ArrayList<>(prepayments.size());
+        BigDecimal totalRepaid = BigDecimal.ZERO;
+        BigDecimal totalCommission = BigDecimal.ZERO;
+        for (Prepayment prepayment : prepayments) {
+            amortization.amortizeUntil(prepayment.getMonth());
+            if (amortization.getMonth() >= amortization.getLastMonth()) {
+                throw new BadRequestException("The loan is already repaid at month " + prepayment.getMonth());
+            }
+
+            double requested = prepayment.getAmount() != null ? prepayment.getAmount().doubleValue() : Double.MAX_VALUE;
+            BigDecimal repaid = toMoney(amortization.prepay(requested, strategy(prepayment)));
+            BigDecimal commission = repaid.multiply(commissionRate)
+                    .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+            totalRepaid = totalRepaid.add(repaid);
+            totalCommission = totalCommission.add(commission);
+
+            results.add(PrepaymentResult.builder()
+                    .month(prepayment.getMonth())
+                    .amount(repaid)
+                    .commission(commission)
+                    .remainingLoanAmount(toMoney(amortization.getBalance()))
+                    .nextInstallment(toMoney(amortization.nextInstallment()))
+                    .lastMonth(amortization.getLastMonth())
+                    .build());
+        }
+        amortization.amortizeUntil(plan.getLastMonth());
+
+        BigDecimal baselineTotal = baseline.getTotalPaymentAmount().getAmount();
+        BigDecimal suffixTotal = BigDecimal.valueOf(amortization.getTotalPaymentCents(), 2)
+                .add(totalRepaid)
+                .add(totalCommission);
+        BigDecimal totalPayment = baselineTotal
+                .subtract(plan.sumTotalPaymentAmounts(firstMonth + 1, plan.getLastMonth()))
+                .add(suffixTotal);
+        BigDecimal interestSaved = plan.sumInterestAmounts(firstMonth + 1, plan.getLastMonth())
+                .subtract(BigDecimal.valueOf(amortization.getInterestCents(), 2));
+
+        return EarlyRepaymentResponse.builder()
+                .prepayments(results)
+                .baselineTotalPaymentAmount(baseline.getTotalPaymentAmount())
+                .totalPaymentAmount(new Amount(plan.getCurrency(), totalPayment))
+                .interestSaved(interestSaved)
+                .totalCommission(totalCommission)
+                .netSavings(baselineTotal.subtract(totalPayment))
+                .lastMonth(amortization.getLastMonth())
+                .earlyRepaymentCommissionDescription(additionalInfo.getCommissionDescription() != null ?
+                        additionalInfo.getCommissionDescription().getEarlyRepaymentCommission()
+                        :
+                        null)
+                .build();
+    }
+
+    private static void validate(List<Prepayment> prepayments, int lastMonth) {
+        if (prepayments == null || prepayments.isEmpty()) {
+            throw new BadRequestException("Prepayments should not be null or empty");
+        }
+
+        int previousMonth = 0;
+        for (Prepayment prepayment : prepayments) {
+            Integer month = prepayment.getMonth();
+            if (month == null || month < 1 || month >= lastMonth) {
+                throw new BadRequestException("Prepayment month should be between 1 and " + (lastMonth - 1));
+            }
+            if (month <= previousMonth) {
+                throw new BadRequestException("Prepayments should be in increasing month order, one per month");
+            }
+            if (prepayment.getAmount() != null && prepayment.getAmount().signum() <= 0) {
+                throw new BadRequestException("Prepayment amount should be positive");
+            }
+            previousMonth = month;
+        }
+    }
+
+    private static PrepaymentStrategy strategy(Prepayment prepayment) {
+        return prepayment.getStrategy() != null ? prepayment.getStrategy() : PrepaymentStrategy.REDUCE_INSTALLMENT;
+    }
+
+    private static BigDecimal toMoney(double amount) {
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,170 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.prepayment;
+
+import ro.raiffeisen.internet.mortgage_calculator.model.prepayment.PrepaymentStrategy;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.ColumnarRepaymentPlan;
+
+/**
+ * Re-amortizes a repayment plan from the month of an early repayment onwards.
+ * <p>
+ * The months before the first repayment are those of the baseline plan and are never recomputed:
+ * the amortization starts from the baseline remaining balance and only walks the months after it,
+ * so the cost of a simulation grows with the remaining months. Amounts are primitives rounded to
+ * cents per month, like the columns of {@link ColumnarRepaymentPlan}; fees and insurance do not depend
+ * on the balance and are read from the baseline plan for the months the loan still runs.
+ */
+class SuffixAmortization {
+
+    private static final double HALF_CENT = 0.005;
+
+    private final ColumnarRepaymentPlan baseline;
+    private final int fixedMonths;
+    private final double fixedRate;
+    private final double variableRate;
+    private final boolean decreasing;
+
+    private int month;
+    private int lastMonth;
+    private double balance;
+    /** Installment for equal installments, principal for decreasing installments. */
+    private double payment;
+
+    private long totalPaymentCents;
+    private long interestCents;
+
+    /**
+     * @param startMonth   the month after whose installment the first early repayment is made
+     * @param fixedRate    annual rate of the fixed period, in percent
+     * @param variableRate annual rate after the fixed period, in percent
+     */
+    SuffixAmortization(ColumnarRepaymentPlan baseline, int startMonth, int fixedMonths,
+                       double fixedRate, double variableRate, boolean decreasing) {
+        this.baseline = baseline;
+        this.fixedMonths = fixedMonths;
+        this.fixedRate = fixedRate;
+        this.variableRate = variableRate;
+        this.decreasing = decreasing;
+        this.month = startMonth;
+        this.lastMonth = baseline.getLastMonth();
+        this.balance = baseline.getRemainingLoanAmount(startMonth).doubleValue();
+    }
+
+    /**
+     * Amortizes up to {@code toMonth} (inclusive) or the end of the loan, whichever comes first.
+     */
+    void amortizeUntil(int toMonth) {
+        int until = Math.min(toMonth, lastMonth);
+        for (int current = month + 1; current <= until; current++) {
+            double monthlyRate = monthlyRate(current);
+            if (!decreasing && current == fixedMonths + 1 && fixedMonths > 0) {
+                payment = annuity(balance, monthlyRate, lastMonth - current + 1);
+            }
+
+            double interest = balance * monthlyRate;
+            double repaid = current == lastMonth ?
+                    balance
+                    :
+                    decreasing ? payment : payment - interest;
+            balance -= repaid;
+
+            long installment = toCents(repaid + interest);
+            interestCents += toCents(interest);
+            totalPaymentCents += installment + toCents(baseline.getCostsExcludingInstallment(current));
+        }
+        month = Math.max(month, toMonth);
+    }
+
+    /**
+     * Repays {@code amount} after the installment of the current month, capped at the remaining balance.
+     *
+     * @return the amount actually repaid
+     */
+    double prepay(double amount, PrepaymentStrategy strategy) {
+        double repaid = Math.min(amount, balance);
+        double monthlyRate = monthlyRate(month + 1);
+        double currentPayment = decreasing ?
+                balance / (lastMonth - month)
+                :
+                annuity(balance, monthlyRate, lastMonth - month);
+        balance -= repaid;
+
+        if (balance < HALF_CENT) {
+            balance = 0;
+            lastMonth = month;
+            payment = 0;
+            return repaid;
+        }
+
+        if (strategy == PrepaymentStrategy.REDUCE_TENOR) {
+            lastMonth = month + Math.min(remainingMonths(currentPayment, monthlyRate), lastMonth - month);
+        }
+        payment = decreasing ?
+                balance / (lastMonth - month)
+                :
+                annuity(balance, monthlyRate, lastMonth - month);
+        return repaid;
+    }
+
+    /**
+     * The installment (principal and interest) of the month after the current one, 0 once the loan is repaid.
+     */
+    double nextInstallment() {
+        if (month >= lastMonth) {
+            return 0;
+        }
+        double monthlyRate = monthlyRate(month + 1);
+        double installment = decreasing ?
+                payment + balance * monthlyRate
+                :
+                payment;
+        return month + 1 == lastMonth ? balance * (1 + monthlyRate) : installment;
+    }
+
+    int getMonth() {
+        return month;
+    }
+
+    int getLastMonth() {
+        return lastMonth;
+    }
+
+    double getBalance() {
+        return balance;
+    }
+
+    long getTotalPaymentCents() {
+        return totalPaymentCents;
+    }
+
+    long getInterestCents() {
+        return interestCents;
+    }
+
+    /**
+     * Months needed to repay the balance while keeping the current installment (or principal).
+     */
+    private int remainingMonths(double currentPayment, double monthlyRate) {
+        double months;
+        if (decreasing || monthlyRate == 0) {
+            months = balance / currentPayment;
+        } else {
+            months = Math.log(currentPayment / (currentPayment - balance * monthlyRate)) / Math.log(1 + monthlyRate);
+        }
+        return Math.max(1, (int) Math.ceil(months - 1e-9));
+    }
+
+    private double monthlyRate(int forMonth) {
+        double annualRate = forMonth <= fixedMonths ? fixedRate : variableRate;
+        return annualRate / (12 * 100);
+    }
+
+    private static double annuity(double balance, double monthlyRate, int months) {
+        return monthlyRate == 0 ?
+                balance / months
+                :
+                balance * monthlyRate / (1 - Math.pow(1 + monthlyRate, -months));
+    }
+
+    private static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+}
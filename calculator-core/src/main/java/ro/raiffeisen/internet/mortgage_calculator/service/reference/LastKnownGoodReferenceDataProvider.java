@@ -0,0 +1,454 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.reference;
+
+import lombok.extern.slf4j.Slf4j;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.Discount;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.ExchangeRate;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanAllParameters;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanInterestRate;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanProduct;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.NomenclatureDistrict;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the last good answer of the delegate for every lookup and answers from it when the delegate fails,
+ * so calculations keep working while the admin or FX service is down.
+ * <p>
+ * The recorded answers can be exported as a {@link ReferenceDataSnapshot} and seeded back after a restart.
+ * Until the seeded answers have been {@link #revalidate revalidated} against the delegate they are served
+ * first, without a remote call, so a new instance starts fast even when the delegate is slow or down;
+ * afterwards the delegate is always asked first and the recorded answer is only the fallback.
+ * <p>
+ * LTVs are recorded as bands: per product, ownership and zone, the largest amount asked for with each LTV.
+ * As the LTV does not grow with the amount, an amount answered with the same LTV as the next larger recorded
+ * one adds nothing, so the bands stay as few as the distinct LTVs however many amounts are asked for; they are
+ * also capped, dropping the smallest. When an amount was never asked for, the fallback uses the LTV of the
+ * next larger band, which never grants more than the admin service would.
+ * <p>
+ * Every product has a {@link #getContentVersion content version} that changes when an answer its
+ * calculations depend on changes, so results calculated from older data can be told apart and evicted.
+ */
+@Slf4j
+public class LastKnownGoodReferenceDataProvider implements ReferenceDataProvider {
+
+    private static final String DISTRICTS = "districts";
+    static final int MAX_LTV_BANDS = 64;
+
+    private final ReferenceDataProvider delegate;
+
+    private final Map<String, LoanProduct> products = new ConcurrentHashMap<>();
+    private final Map<ParametersKey, LoanAllParameters> loanParameters = new ConcurrentHashMap<>();
+    private final Map<InterestRatesKey, List<LoanInterestRate>> interestRates = new ConcurrentHashMap<>();
+    private final Map<Integer, List<Discount>> discounts = new ConcurrentHashMap<>();
+    private final Map<String, List<ExchangeRate>> exchangeRates = new ConcurrentHashMap<>();
+    private final Map<LtvKey, LtvPoints> ltvPoints = new ConcurrentHashMap<>();
+    private volatile List<NomenclatureDistrict> districts;
+
+    private volatile boolean preferRecorded;
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong sharedChanges = new AtomicLong();
+    private final Map<String, AtomicLong> productCodeChanges = new ConcurrentHashMap<>();
+    private final Map<Integer, AtomicLong> productIdChanges = new ConcurrentHashMap<>();
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public LastKnownGoodReferenceDataProvider(ReferenceDataProvider delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public LoanProduct getLoanProduct(String productCode) {
+        return lookup(() -> products.get(productCode),
+                () -> delegate.getLoanProduct(productCode),
+                value -> record(products, productCode, value, () -> changed(productCodeChanges, productCode)));
+    }
+
+    @Override
+    public LoanAllParameters getLoanAllParameters(Integer loanProductId,
+                                                  boolean ourClient,
+                                                  String currency,
+                                                  String interestRateType,
+                                                  boolean isDigital) {
+        ParametersKey key = new ParametersKey(loanProductId, ourClient, currency, interestRateType, isDigital);
+        return lookup(() -> loanParameters.get(key),
+                () -> delegate.getLoanAllParameters(loanProductId, ourClient, currency, interestRateType, isDigital),
+                value -> record(loanParameters, key, value, () -> changed(productIdChanges, loanProductId)));
+    }
+
+    @Override
+    public List<LoanInterestRate> getLoanInterestRates(Integer loanProductId, boolean ourClient, boolean isDigital) {
+        InterestRatesKey key = new InterestRatesKey(loanProductId, ourClient, isDigital);
+        return lookup(() -> interestRates.get(key),
+                () -> delegate.getLoanInterestRates(loanProductId, ourClient, isDigital),
+                value -> record(interestRates, key, value, () -> changed(productIdChanges, loanProductId)));
+    }
+
+    @Override
+    public List<NomenclatureDistrict> getDistricts() {
+        return lookup(() -> districts, delegate::getDistricts, this::recordDistricts);
+    }
+
+    @Override
+    public Integer getLtv(Double amount, Boolean isOwner, Integer financingZone, Integer loanProductId) {
+        LtvKey key = new LtvKey(loanProductId, Boolean.TRUE.equals(isOwner), financingZone);
+        return lookup(() -> exactLtv(key, amount),
+                () -> delegate.getLtv(amount, isOwner, financingZone, loanProductId),
+                () -> recordedLtv(key, amount),
+                value -> {
+                    if (amount != null) {
+                        recordLtv(key, ltvPoints.computeIfAbsent(key, k -> new LtvPoints()), amount, value);
+                    }
+                });
+    }
+
+    @Override
+    public List<Discount> getDiscounts(Integer loanProductId) {
+        return lookup(() -> discounts.get(loanProductId),
+                () -> delegate.getDiscounts(loanProductId),
+                value -> record(discounts, loanProductId, value, () -> changed(productIdChanges, loanProductId)));
+    }
+
+    @Override
+    public List<ExchangeRate> getExchangeRates(String currency) {
+        return lookup(() -> exchangeRates.get(currency),
+                () -> delegate.getExchangeRates(currency),
+                value -> record(exchangeRates, currency, value, this::sharedChanged));
+    }
+
+    /**
+     * Adds the answers of {@code snapshot} to the recorded ones and serves them first until the next
+     * successful {@link #revalidate}.
+     */
+    public void seed(ReferenceDataSnapshot snapshot) {
+        nullToEmpty(snapshot.getProducts()).forEach(product -> products.put(product.getProductLoan(), product));
+        nullToEmpty(snapshot.getLoanParameters()).forEach(entry -> loanParameters.put(
+                new ParametersKey(entry.getLoanProductId(), entry.isOurClient(), entry.getCurrency(),
+                        entry.getInterestRateType(), entry.isDigital()),
+                entry.getParameters()));
+        nullToEmpty(snapshot.getInterestRates()).forEach(entry -> interestRates.put(
+                new InterestRatesKey(entry.getLoanProductId(), entry.isOurClient(), entry.isDigital()),
+                List.copyOf(entry.getRates())));
+        nullToEmpty(snapshot.getLtvBands()).forEach(band -> {
+            LtvPoints points = ltvPoints.computeIfAbsent(
+                    new LtvKey(band.getLoanProductId(), band.isOwner(), band.getFinancingZone()), k -> new LtvPoints());
+            if (band.getMaxAmount() == null) {
+                points.unbounded = band.getLtv();
+            } else {
+                points.bounded.put(band.getMaxAmount(), band.getLtv());
+            }
+        });
+        if (snapshot.getDistricts() != null) {
+            districts = List.copyOf(snapshot.getDistricts());
+        }
+        if (snapshot.getDiscounts() != null) {
+            discounts.putAll(snapshot.getDiscounts());
+        }
+        if (snapshot.getExchangeRates() != null) {
+            exchangeRates.putAll(snapshot.getExchangeRates());
+        }
+        preferRecorded = true;
+    }
+
+    /**
+     * Asks the delegate again for every recorded lookup and records the answers. When all of them succeed,
+     * the delegate is asked first again from then on.
+     *
+     * @return the number of lookups that failed
+     */
+    public int revalidate() {
+        int failures = 0;
+        failures += refresh(products.keySet(), delegate::getLoanProduct,
+                (key, value) -> record(products, key, value, () -> changed(productCodeChanges, key)));
+        failures += refresh(loanParameters.keySet(),
+                key -> delegate.getLoanAllParameters(key.loanProductId(), key.ourClient(), key.currency(), key.interestRateType(), key.digital()),
+                (key, value) -> record(loanParameters, key, value, () -> changed(productIdChanges, key.loanProductId())));
+        failures += refresh(interestRates.keySet(),
+                key -> delegate.getLoanInterestRates(key.loanProductId(), key.ourClient(), key.digital()),
+                (key, value) -> record(interestRates, key, value, () -> changed(productIdChanges, key.loanProductId())));
+        failures += refresh(discounts.keySet(), delegate::getDiscounts,
+                (key, value) -> record(discounts, key, value, () -> changed(productIdChanges, key)));
+        failures += refresh(exchangeRates.keySet(), delegate::getExchangeRates,
+                (key, value) -> record(exchangeRates, key, value, this::sharedChanged));
+        if (districts != null) {
+            failures += refresh(List.of(DISTRICTS), key -> delegate.getDistricts(), (key, value) -> recordDistricts(value));
+        }
+        for (Map.Entry<LtvKey, LtvPoints> entry : ltvPoints.entrySet()) {
+            LtvKey key = entry.getKey();
+            failures += refresh(entry.getValue().bounded.keySet(),
+                    amount -> delegate.getLtv(amount, key.owner(), key.financingZone(), key.loanProductId()),
+                    (amount, value) -> recordLtv(key, entry.getValue(), amount, value));
+        }
+
+        if (failures == 0) {
+            preferRecorded = false;
+        }
+        return failures;
+    }
+
+    /**
+     * The recorded answers as a snapshot, e.g. to be written to disk.
+     */
+    public ReferenceDataSnapshot toSnapshot() {
+        List<ReferenceDataSnapshot.LoanParametersEntry> parameters = new ArrayList<>();
+        loanParameters.forEach((key, value) -> parameters.add(ReferenceDataSnapshot.LoanParametersEntry.builder()
+                .loanProductId(key.loanProductId())
+                .ourClient(key.ourClient())
+                .currency(key.currency())
+                .interestRateType(key.interestRateType())
+                .digital(key.digital())
+                .parameters(value)
+                .build()));
+
+        List<ReferenceDataSnapshot.InterestRatesEntry> rates = new ArrayList<>();
+        interestRates.forEach((key, value) -> rates.add(ReferenceDataSnapshot.InterestRatesEntry.builder()
+                .loanProductId(key.loanProductId())
+                .ourClient(key.ourClient())
+                .digital(key.digital())
+                .rates(value)
+                .build()));
+
+        List<ReferenceDataSnapshot.LtvBand> bands = new ArrayList<>();
+        ltvPoints.forEach((key, points) -> {
+            points.bounded.forEach((amount, ltv) -> bands.add(ltvBand(key, amount, ltv)));
+            if (points.unbounded != null) {
+                bands.add(ltvBand(key, null, points.unbounded));
+            }
+        });
+
+        return ReferenceDataSnapshot.builder()
+                .createdAt(LocalDateTime.now())
+                .products(List.copyOf(products.values()))
+                .loanParameters(parameters)
+                .interestRates(rates)
+                .districts(districts)
+                .ltvBands(bands)
+                .discounts(Map.copyOf(discounts))
+                .exchangeRates(Map.copyOf(exchangeRates))
+                .build();
+    }
+
+    /**
+     * Changes whenever a recorded answer is added or changed, so callers can tell whether a new snapshot is worth writing.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Changes whenever a recorded answer that calculations of the product depend on is replaced by a different one:
+     * the product itself, its parameters, interest rates, discounts and LTVs, and the districts and exchange rates
+     * shared by all products. Recording answers to new lookups leaves it unchanged, as no earlier calculation used them.
+     */
+    public long getContentVersion(String productCode) {
+        // A sum of counters that only grow changes whenever one of them does
+        long contentVersion = sharedChanges.get() + changes(productCodeChanges, productCode);
+        LoanProduct product = products.get(productCode);
+        return product == null ? contentVersion : contentVersion + changes(productIdChanges, product.getIdLoan());
+    }
+
+    /**
+     * Registers a listener called, on the thread that recorded it, whenever a content version changes.
+     */
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Number of lookups answered from the recorded data because the delegate failed.
+     */
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    public boolean isRevalidated() {
+        return !preferRecorded;
+    }
+
+    private <T> T lookup(Supplier<T> recorded, Supplier<T> live, Consumer<T> recorder) {
+        return lookup(recorded, live, recorded, recorder);
+    }
+
+    /**
+     * @param recorded the recorded answer to exactly this lookup, served first until revalidation
+     * @param fallback the recorded answer used when the delegate fails
+     */
+    private <T> T lookup(Supplier<T> recorded, Supplier<T> live, Supplier<T> fallback, Consumer<T> recorder) {
+        if (preferRecorded) {
+            T value = recorded.get();
+            if (value != null) {
+                return value;
+            }
+        }
+        T value;
+        try {
+            value = live.get();
+        } catch (RuntimeException e) {
+            T fallbackValue = fallback.get();
+            if (fallbackValue == null) {
+                throw e;
+            }
+            fallbacks.increment();
+            log.warn("Reference data lookup failed, using the last known good answer: {}", e.getMessage());
+            return fallbackValue;
+        }
+        if (value != null) {
+            recorder.accept(value);
+        }
+        return value;
+    }
+
+    /**
+     * @param onChange called when the answer replaces a different one recorded before
+     */
+    private <K, T> void record(Map<K, T> answers, K key, T value, Runnable onChange) {
+        T previous = answers.put(key, value);
+        if (!value.equals(previous)) {
+            version.incrementAndGet();
+            if (previous != null) {
+                onChange.run();
+            }
+        }
+    }
+
+    private void recordDistricts(List<NomenclatureDistrict> value) {
+        List<NomenclatureDistrict> previous = districts;
+        if (!value.equals(previous)) {
+            districts = value;
+            version.incrementAndGet();
+            if (previous != null) {
+                sharedChanged();
+            }
+        }
+    }
+
+    private void recordLtv(LtvKey key, LtvPoints points, Double amount, Integer value) {
+        Integer previous;
+        synchronized (points) {
+            previous = points.bounded.get(amount);
+            if (value.equals(previous)) {
+                return;
+            }
+            Map.Entry<Double, Integer> above = points.bounded.higherEntry(amount);
+            if (above != null && value.equals(above.getValue())) {
+                // Covered by the larger band with the same LTV
+                points.bounded.remove(amount);
+            } else {
+                points.bounded.put(amount, value);
+            }
+            // Smaller bands with the same LTV are covered by this one
+            Map.Entry<Double, Integer> below;
+            while ((below = points.bounded.lowerEntry(amount)) != null && value.equals(below.getValue())) {
+                points.bounded.remove(below.getKey());
+            }
+            while (points.bounded.size() > MAX_LTV_BANDS) {
+                // The next larger band answers for the smallest amounts with an LTV that is at most theirs
+                points.bounded.pollFirstEntry();
+            }
+        }
+        version.incrementAndGet();
+        if (previous != null) {
+            changed(productIdChanges, key.loanProductId());
+        }
+    }
+
+    private <K> void changed(Map<K, AtomicLong> changes, K key) {
+        if (key != null) {
+            changes.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+            notifyChangeListeners();
+        }
+    }
+
+    private void sharedChanged() {
+        sharedChanges.incrementAndGet();
+        notifyChangeListeners();
+    }
+
+    private void notifyChangeListeners() {
+        for (Runnable listener : changeListeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                log.warn("Reference data change listener failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private static <K> long changes(Map<K, AtomicLong> changes, K key) {
+        AtomicLong counter = key != null ? changes.get(key) : null;
+        return counter != null ? counter.get() : 0;
+    }
+
+    private Integer exactLtv(LtvKey key, Double amount) {
+        LtvPoints points = ltvPoints.get(key);
+        return points == null || amount == null ? null : points.bounded.get(amount);
+    }
+
+    private Integer recordedLtv(LtvKey key, Double amount) {
+        LtvPoints points = ltvPoints.get(key);
+        if (points == null || amount == null) {
+            return null;
+        }
+        Map.Entry<Double, Integer> atOrAbove = points.bounded.ceilingEntry(amount);
+        return atOrAbove != null ? atOrAbove.getValue() : points.unbounded;
+    }
+
+    private static <K, T> int refresh(Collection<K> keys, Function<K, T> loader, BiConsumer<K, T> recorder) {
+        int failures = 0;
+        for (K key : List.copyOf(keys)) {
+            try {
+                T value = loader.apply(key);
+                if (value != null) {
+                    recorder.accept(key, value);
+                }
+            } catch (RuntimeException e) {
+                log.debug("Revalidation of reference data {} failed: {}", key, e.getMessage());
+                failures++;
+            }
+        }
+        return failures;
+    }
+
+    private static ReferenceDataSnapshot.LtvBand ltvBand(LtvKey key, Double maxAmount, Integer ltv) {
+        return ReferenceDataSnapshot.LtvBand.builder()
+                .loanProductId(key.loanProductId())
+                .owner(key.owner())
+                .financingZone(key.financingZone())
+                .maxAmount(maxAmount)
+                .ltv(ltv)
+                .build();
+    }
+
+    private static <T> List<T> nullToEmpty(List<T> list) {
+        return list != null ? list : List.of();
+    }
+
+    private record ParametersKey(Integer loanProductId, boolean ourClient, String currency, String interestRateType, boolean digital) {
+    }
+
+    private record InterestRatesKey(Integer loanProductId, boolean ourClient, boolean digital) {
+    }
+
+    private record LtvKey(Integer loanProductId, boolean owner, Integer financingZone) {
+    }
+
+    /**
+     * LTV bands by their largest amount, plus the LTV of a snapshot band without an upper bound.
+     */
+    private static final class LtvPoints {
+        private final ConcurrentSkipListMap<Double, Integer> bounded = new ConcurrentSkipListMap<>();
+        private volatile Integer unbounded;
+    }
+}
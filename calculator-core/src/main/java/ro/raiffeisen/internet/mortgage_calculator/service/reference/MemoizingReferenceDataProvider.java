@@ -0,0 +1,153 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.reference;
+
+import ro.raiffeisen.internet.mortgage_calculator.model.client.Discount;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.ExchangeRate;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanAllParameters;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanInterestRate;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanProduct;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.NomenclatureDistrict;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Remembers every answer of the delegate for its own lifetime, so calculations sharing an instance
+ * retrieve each piece of reference data once. Meant to be short-lived (one incoming request):
+ * nothing is ever evicted, and it is not a substitute for a cache with expiry.
+ * <p>
+ * Concurrent lookups of the same key wait for the first one instead of calling the delegate again. The
+ * delegate is called outside of any map operation, so a slow lookup never blocks lookups of other keys.
+ * Failures are passed to the lookups waiting for them but not remembered, so a later lookup retries. Returned objects are shared by all callers
+ * and must be treated as read-only.
+ * <p>
+ * Lookups answered from memory are counted per kind of lookup, so callers can report how many
+ * round-trips the calculation would otherwise have repeated.
+ */
+public class MemoizingReferenceDataProvider implements ReferenceDataProvider {
+
+    private final ReferenceDataProvider delegate;
+    private final Map<Object, CompletableFuture<Object>> values = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> duplicates = new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+
+    public MemoizingReferenceDataProvider(ReferenceDataProvider delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public LoanProduct getLoanProduct(String productCode) {
+        return memoize("product", new ProductKey(productCode), () -> delegate.getLoanProduct(productCode));
+    }
+
+    @Override
+    public LoanAllParameters getLoanAllParameters(Integer loanProductId,
+                                                  boolean ourClient,
+                                                  String currency,
+                                                  String interestRateType,
+                                                  boolean isDigital) {
+        return memoize("parameters", new ParametersKey(loanProductId, ourClient, currency, interestRateType, isDigital),
+                () -> delegate.getLoanAllParameters(loanProductId, ourClient, currency, interestRateType, isDigital));
+    }
+
+    @Override
+    public List<LoanInterestRate> getLoanInterestRates(Integer loanProductId, boolean ourClient, boolean isDigital) {
+        return memoize("interestRates", new InterestRatesKey(loanProductId, ourClient, isDigital),
+                () -> delegate.getLoanInterestRates(loanProductId, ourClient, isDigital));
+    }
+
+    @Override
+    public List<NomenclatureDistrict> getDistricts() {
+        return memoize("districts", DistrictsKey.INSTANCE, delegate::getDistricts);
+    }
+
+    @Override
+    public Integer getLtv(Double amount, Boolean isOwner, Integer financingZone, Integer loanProductId) {
+        return memoize("ltv", new LtvKey(amount, isOwner, financingZone, loanProductId),
+                () -> delegate.getLtv(amount, isOwner, financingZone, loanProductId));
+    }
+
+    @Override
+    public List<Discount> getDiscounts(Integer loanProductId) {
+        return memoize("discounts", new DiscountsKey(loanProductId), () -> delegate.getDiscounts(loanProductId));
+    }
+
+    @Override
+    public List<ExchangeRate> getExchangeRates(String currency) {
+        return memoize("exchangeRates", new ExchangeRatesKey(currency), () -> delegate.getExchangeRates(currency));
+    }
+
+    /**
+     * Number of lookups that reached the delegate.
+     */
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    /**
+     * Number of lookups answered from memory, by kind of lookup (product, parameters, interestRates,
+     * districts, ltv, discounts, exchangeRates); kinds without duplicates are absent.
+     */
+    public Map<String, Long> getDuplicates() {
+        Map<String, Long> counts = new TreeMap<>();
+        duplicates.forEach((lookup, count) -> counts.put(lookup, count.sum()));
+        return counts;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T memoize(String lookup, Object key, Supplier<T> loader) {
+        CompletableFuture<Object> loading = new CompletableFuture<>();
+        CompletableFuture<Object> present = values.putIfAbsent(key, loading);
+        if (present == null) {
+            loads.increment();
+            try {
+                T result = loader.get();
+                loading.complete(result);
+                return result;
+            } catch (RuntimeException | Error e) {
+                values.remove(key, loading);
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        duplicates.computeIfAbsent(lookup, l -> new LongAdder()).increment();
+        try {
+            return (T) present.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record ProductKey(String productCode) {
+    }
+
+    private record ParametersKey(Integer loanProductId, boolean ourClient, String currency, String interestRateType, boolean digital) {
+    }
+
+    private record InterestRatesKey(Integer loanProductId, boolean ourClient, boolean digital) {
+    }
+
+    private enum DistrictsKey {
+        INSTANCE
+    }
+
+    private record LtvKey(Double amount, Boolean owner, Integer financingZone, Integer loanProductId) {
+    }
+
+    private record DiscountsKey(Integer loanProductId) {
+    }
+
+    private record ExchangeRatesKey(String currency) {
+    }
+}
@@ -0,0 +1,36 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.reference;
+
+import ro.raiffeisen.internet.mortgage_calculator.model.client.Discount;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.ExchangeRate;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanAllParameters;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanInterestRate;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanProduct;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.NomenclatureDistrict;
+
+import java.util.List;
+
+/**
+ * Source of all reference data the calculation engine needs: products, parameters, rates, discounts,
+ * LTVs, districts and FX rates. The web application implements it over the admin and FX services;
+ * batch jobs and benchmarks can back it with in-memory data.
+ */
+public interface ReferenceDataProvider {
+
+    LoanProduct getLoanProduct(String productCode);
+
+    LoanAllParameters getLoanAllParameters(Integer loanProductId,
+                                           boolean ourClient,
+                                           String currency,
+                                           String interestRateType,
+                                           boolean isDigital);
+
+    List<LoanInterestRate> getLoanInterestRates(Integer loanProductId, boolean ourClient, boolean isDigital);
+
+    List<NomenclatureDistrict> getDistricts();
+
+    Integer getLtv(Double amount, Boolean isOwner, Integer financingZone, Integer loanProductId);
+
+    List<Discount> getDiscounts(Integer loanProductId);
+
+    List<ExchangeRate> getExchangeRates(String currency);
+}
@@ -0,0 +1,98 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.reference;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.Discount;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.ExchangeRate;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanAllParameters;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanInterestRate;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanProduct;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.NomenclatureDistrict;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Point-in-time copy of all reference data, exported once from the admin and FX services
+ * so that batch jobs can run the engine without any remote call.
+ * Lookups keyed by request arguments are stored as lists of entries carrying those arguments.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReferenceDataSnapshot {
+
+    @JsonProperty
+    private LocalDateTime createdAt;
+
+    @JsonProperty
+    private List<LoanProduct> products;
+
+    @JsonProperty
+    private List<LoanParametersEntry> loanParameters;
+
+    @JsonProperty
+    private List<InterestRatesEntry> interestRates;
+
+    @JsonProperty
+    private List<NomenclatureDistrict> districts;
+
+    @JsonProperty
+    private List<LtvBand> ltvBands;
+
+    /**
+     * Discounts by loan product id.
+     */
+    @JsonProperty
+    private Map<Integer, List<Discount>> discounts;
+
+    /**
+     * Exchange rates by base currency.
+     */
+    @JsonProperty
+    private Map<String, List<ExchangeRate>> exchangeRates;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LoanParametersEntry {
+        @JsonProperty private Integer loanProductId;
+        @JsonProperty private boolean ourClient;
+        @JsonProperty private String currency;
+        @JsonProperty private String interestRateType;
+        @JsonProperty private boolean digital;
+        @JsonProperty private LoanAllParameters parameters;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class InterestRatesEntry {
+        @JsonProperty private Integer loanProductId;
+        @JsonProperty private boolean ourClient;
+        @JsonProperty private boolean digital;
+        @JsonProperty private List<LoanInterestRate> rates;
+    }
+
+    /**
+     * LTV granted for amounts up to {@code maxAmount} (inclusive); a null {@code maxAmount} has no upper bound.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LtvBand {
+        @JsonProperty private Integer loanProductId;
+        @JsonProperty private boolean owner;
+        @JsonProperty private Integer financingZone;
+        @JsonProperty private Double maxAmount;
+        @JsonProperty private Integer ltv;
+    }
+}
@@ -0,0 +1,153 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.reference;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Reads and writes a {@link ReferenceDataSnapshot} as a compact, versioned binary file.
+ * <p>
+ * Layout (big-endian): magic {@code RDSN}, format version (int), payload length (int), uncompressed length (int),
+ * CRC32 of the payload (long), then the payload: the snapshot as JSON, deflated. The file is read through a
+ * read-only memory mapping and the checksum is verified before anything is decoded, so a truncated or
+ * corrupted file is rejected instead of yielding partial reference data. Files are written to a temporary
+ * file first and moved into place, so readers never see a half-written snapshot.
+ */
+public class ReferenceDataSnapshotCodec {
+
+    static final int MAGIC = 0x5244534E;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 4 + 4 + 4 + 4 + 8;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    public void write(ReferenceDataSnapshot snapshot, Path path) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(snapshot);
+        byte[] payload = deflate(json);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.BIG_ENDIAN)
+                .putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putInt(payload.length)
+                .putInt(json.length)
+                .putLong(crc.getValue())
+                .flip();
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer body = ByteBuffer.wrap(payload);
+                while (header.hasRemaining() || body.hasRemaining()) {
+                    channel.write(new ByteBuffer[]{header, body});
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * @throws IOException when the file cannot be read, is not a snapshot, has an unsupported format version
+     *                     or fails its checksum
+     */
+    public ReferenceDataSnapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException("Reference data snapshot " + path + " is truncated");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.BIG_ENDIAN);
+
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException(path + " is not a reference data snapshot");
+            }
+            int version = buffer.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported reference data snapshot format version " + version + " in " + path);
+            }
+            int payloadLength = buffer.getInt();
+            int jsonLength = buffer.getInt();
+            long checksum = buffer.getLong();
+            if (payloadLength < 0 || jsonLength < 0 || payloadLength != size - HEADER_BYTES) {
+                throw new IOException("Reference data snapshot " + path + " is truncated");
+            }
+
+            ByteBuffer payload = buffer.slice(HEADER_BYTES, payloadLength);
+            CRC32 crc = new CRC32();
+            crc.update(payload.duplicate());
+            if (crc.getValue() != checksum) {
+                throw new IOException("Reference data snapshot " + path + " failed its checksum");
+            }
+            return objectMapper.readValue(inflate(payload, jsonLength), ReferenceDataSnapshot.class);
+        }
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteBuffer output = ByteBuffer.allocate(Math.max(64, input.length / 2));
+            while (!deflater.finished()) {
+                if (!output.hasRemaining()) {
+                    output = ByteBuffer.allocate(output.capacity() * 2).put(output.flip());
+                }
+                deflater.deflate(output);
+            }
+            byte[] bytes = new byte[output.position()];
+            output.flip().get(bytes);
+            return bytes;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(ByteBuffer input, int length) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            byte[] output = new byte[length];
+            int inflated = 0;
+            while (inflated < length && !inflater.finished()) {
+                int count = inflater.inflate(output, inflated, length - inflated);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflated += count;
+            }
+            if (inflated != length || !inflater.finished()) {
+                throw new IOException("Reference data snapshot payload is corrupted");
+            }
+            return output;
+        } catch (DataFormatException e) {
+            throw new IOException("Reference data snapshot payload is corrupted", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
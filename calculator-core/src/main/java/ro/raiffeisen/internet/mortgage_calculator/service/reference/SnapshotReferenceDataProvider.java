@@ -0,0 +1,138 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.reference;
+
+import lombok.Getter;
+import ro.raiffeisen.internet.mortgage_calculator.exception.InternalServerException;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.Discount;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.ExchangeRate;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanAllParameters;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanInterestRate;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanProduct;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.NomenclatureDistrict;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Serves reference data from a {@link ReferenceDataSnapshot} held in memory.
+ * All lookups are hash map reads over immutable maps built once in the constructor,
+ * so a single instance can be shared by any number of calculation threads.
+ * Returned objects are shared as well and must be treated as read-only.
+ */
+public class SnapshotReferenceDataProvider implements ReferenceDataProvider {
+
+    @Getter
+    private final ReferenceDataSnapshot snapshot;
+
+    private final Map<String, LoanProduct> products;
+    private final Map<ParametersKey, LoanAllParameters> loanParameters;
+    private final Map<InterestRatesKey, List<LoanInterestRate>> interestRates;
+    private final List<NomenclatureDistrict> districts;
+    private final Map<LtvKey, List<ReferenceDataSnapshot.LtvBand>> ltvBands;
+    private final Map<Integer, List<Discount>> discounts;
+    private final Map<String, List<ExchangeRate>> exchangeRates;
+
+    public SnapshotReferenceDataProvider(ReferenceDataSnapshot snapshot) {
+        this.snapshot = snapshot;
+        this.products = nullToEmpty(snapshot.getProducts()).stream()
+                .collect(Collectors.toUnmodifiableMap(LoanProduct::getProductLoan, product -> product));
+        this.loanParameters = nullToEmpty(snapshot.getLoanParameters()).stream()
+                .collect(Collectors.toUnmodifiableMap(
+                        entry -> new ParametersKey(entry.getLoanProductId(), entry.isOurClient(), entry.getCurrency(),
+                                entry.getInterestRateType(), entry.isDigital()),
+                        ReferenceDataSnapshot.LoanParametersEntry::getParameters));
+        this.interestRates = nullToEmpty(snapshot.getInterestRates()).stream()
+                .collect(Collectors.toUnmodifiableMap(
+                        entry -> new InterestRatesKey(entry.getLoanProductId(), entry.isOurClient(), entry.isDigital()),
+                        entry -> List.copyOf(entry.getRates())));
+        this.districts = List.copyOf(nullToEmpty(snapshot.getDistricts()));
+        this.ltvBands = groupLtvBands(nullToEmpty(snapshot.getLtvBands()));
+        this.discounts = snapshot.getDiscounts() != null ? Map.copyOf(snapshot.getDiscounts()) : Map.of();
+        this.exchangeRates = snapshot.getExchangeRates() != null ? Map.copyOf(snapshot.getExchangeRates()) : Map.of();
+    }
+
+    @Override
+    public LoanProduct getLoanProduct(String productCode) {
+        return require(products.get(productCode), "loan product " + productCode);
+    }
+
+    @Override
+    public LoanAllParameters getLoanAllParameters(Integer loanProductId,
+                                                  boolean ourClient,
+                                                  String currency,
+                                                  String interestRateType,
+                                                  boolean isDigital) {
+        ParametersKey key = new ParametersKey(loanProductId, ourClient, currency, interestRateType, isDigital);
+        return require(loanParameters.get(key), "loan parameters " + key);
+    }
+
+    @Override
+    public List<LoanInterestRate> getLoanInterestRates(Integer loanProductId, boolean ourClient, boolean isDigital) {
+        InterestRatesKey key = new InterestRatesKey(loanProductId, ourClient, isDigital);
+        return require(interestRates.get(key), "interest rates " + key);
+    }
+
+    @Override
+    public List<NomenclatureDistrict> getDistricts() {
+        return districts;
+    }
+
+    @Override
+    public Integer getLtv(Double amount, Boolean isOwner, Integer financingZone, Integer loanProductId) {
+        LtvKey key = new LtvKey(loanProductId, Boolean.TRUE.equals(isOwner), financingZone);
+        return require(ltvBands.get(key), "LTV bands " + key).stream()
+                .filter(band -> band.getMaxAmount() == null || amount <= band.getMaxAmount())
+                .map(ReferenceDataSnapshot.LtvBand::getLtv)
+                .findFirst()
+                .orElseThrow(() -> new InternalServerException("No LTV band in reference data snapshot for " + key + " and amount " + amount));
+    }
+
+    @Override
+    public List<Discount> getDiscounts(Integer loanProductId) {
+        return discounts.getOrDefault(loanProductId, List.of());
+    }
+
+    @Override
+    public List<ExchangeRate> getExchangeRates(String currency) {
+        return require(exchangeRates.get(currency), "exchange rates for " + currency);
+    }
+
+    private static Map<LtvKey, List<ReferenceDataSnapshot.LtvBand>> groupLtvBands(List<ReferenceDataSnapshot.LtvBand> bands) {
+        Comparator<ReferenceDataSnapshot.LtvBand> byMaxAmount = Comparator.comparing(
+                ReferenceDataSnapshot.LtvBand::getMaxAmount, Comparator.nullsLast(Comparator.naturalOrder()));
+
+        Map<LtvKey, List<ReferenceDataSnapshot.LtvBand>> grouped = new HashMap<>();
+        bands.stream()
+                .sorted(byMaxAmount)
+                .forEach(band -> grouped.computeIfAbsent(
+                                new LtvKey(band.getLoanProductId(), band.isOwner(), band.getFinancingZone()),
+                                key -> new ArrayList<>())
+                        .add(band));
+        grouped.replaceAll((key, value) -> List.copyOf(value));
+        return Map.copyOf(grouped);
+    }
+
+    private static <T> T require(T value, String description) {
+        if (value == null) {
+            throw new InternalServerException("No " + description + " in reference data snapshot");
+        }
+        return value;
+    }
+
+    private static <T> List<T> nullToEmpty(List<T> list) {
+        return Objects.requireNonNullElse(list, List.of());
+    }
+
+    private record ParametersKey(Integer loanProductId, boolean ourClient, String currency, String interestRateType, boolean digital) {
+    }
+
+    private record InterestRatesKey(Integer loanProductId, boolean ourClient, boolean digital) {
+    }
+
+    private record LtvKey(Integer loanProductId, boolean owner, Integer financingZone) {
+    }
+}
@@ -0,0 +1,44 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.simulation;
+
+import lombok.Getter;
+
+/**
+ * Mean-reverting (Ornstein-Uhlenbeck) model of IRCC, sampled once per quarter, when IRCC is republished.
+ * The step is the exact discretisation of the process, so it does not drift with the step size.
+ */
+@Getter
+public class IrccModel {
+
+    static final double QUARTER = 0.25;
+
+    /** Speed of reversion to the long-term mean, per year. */
+    private final double meanReversionSpeed;
+    /** Long-term mean, in percent. */
+    private final double longTermMean;
+    /** Annual volatility, in percentage points. */
+    private final double volatility;
+
+    private final double decay;
+    private final double stepDeviation;
+
+    public IrccModel(double meanReversionSpeed, double longTermMean, double volatility) {
+        if (meanReversionSpeed < 0 || volatility < 0) {
+            throw new IllegalArgumentException("Mean reversion speed and volatility must not be negative");
+        }
+        this.meanReversionSpeed = meanReversionSpeed;
+        this.longTermMean = longTermMean;
+        this.volatility = volatility;
+        this.decay = Math.exp(-meanReversionSpeed * QUARTER);
+        this.stepDeviation = meanReversionSpeed == 0 ?
+                volatility * Math.sqrt(QUARTER)
+                :
+                volatility * Math.sqrt((1 - decay * decay) / (2 * meanReversionSpeed));
+    }
+
+    /**
+     * IRCC of the next quarter, given the current one and a standard normal draw.
+     */
+    double nextQuarter(double ircc, double gaussian) {
+        return longTermMean + (ircc - longTermMean) * decay + stepDeviation * gaussian;
+    }
+}
@@ -0,0 +1,30 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.simulation;
+
+/**
+ * The terms of a calculated loan reduced to primitives, so paths are amortized without {@code BigDecimal}s.
+ * Fees and insurance do not depend on IRCC and are taken as-is from the baseline repayment plan.
+ *
+ * @param principal          loan amount including the analysis commission
+ * @param tenor              number of monthly installments
+ * @param fixedMonths        months at the fixed rate before the variable period, 0 for variable-rate loans
+ * @param fixedRate          annual rate of the fixed period, in percent
+ * @param variableRate       annual rate of the variable period at the current IRCC, in percent
+ * @param ircc               the current IRCC, in percent
+ * @param decreasing         whether the principal is repaid in equal parts instead of equal installments
+ * @param monthlyCosts       fees and insurance of each month, indexed by month
+ * @param firstCashFlow      month 0 cash flow of the DAE: the amount received net of the month 0 and one-off costs
+ * @param upfrontCosts       one-off costs added to the total payment amount
+ * @param irrGuess           monthly IRR of the baseline, used as starting point for each path
+ */
+record LoanTerms(double principal,
+                 int tenor,
+                 int fixedMonths,
+                 double fixedRate,
+                 double variableRate,
+                 double ircc,
+                 boolean decreasing,
+                 double[] monthlyCosts,
+                 double firstCashFlow,
+                 double upfrontCosts,
+                 double irrGuess) {
+}
@@ -0,0 +1,119 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.simulation;
+
+import lombok.RequiredArgsConstructor;
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+import ro.raiffeisen.internet.mortgage_calculator.model.InstallmentType;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.ColumnarRepaymentPlan;
+import ro.raiffeisen.internet.mortgage_calculator.model.simulation.PercentileBand;
+import ro.raiffeisen.internet.mortgage_calculator.model.simulation.SimulationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.utils.AdditionalCalculationInfo;
+import ro.raiffeisen.internet.mortgage_calculator.model.utils.CalculationContext;
+import ro.raiffeisen.internet.mortgage_calculator.model.utils.InterestRateAdditionalInfo;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+import ro.raiffeisen.internet.mortgage_calculator.service.PreparedCalculation;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Distribution of installment, total cost and DAE over stochastic IRCC paths.
+ * The loan is calculated once at the current IRCC; its terms are then reduced to primitives and every
+ * path is amortized by {@link PathSimulationTask} on the given pool. Results are reported as P5/P50/P95.
+ */
+@RequiredArgsConstructor
+public class MonteCarloSimulator {
+
+    static final int LEAF_PATHS = 1024;
+
+    private final CalculatorEngine calculatorEngine;
+
+    public SimulationResponse simulate(MortgageCalculationRequest request, int paths, long seed, IrccModel model, ForkJoinPool pool) {
+        PreparedCalculation prepared = calculatorEngine.prepare(request);
+        if (prepared.getContext().getAdditionalInfo().getIrcc() == null) {
+            throw new BadRequestException("The product " + request.getProductCode() + " is not indexed to IRCC");
+        }
+
+        MortgageCalculationResponse baseline = prepared.complete(prepared.getContext());
+        LoanTerms terms = toLoanTerms(prepared.getContext(), baseline);
+
+        PathSimulationTask.Settings settings = new PathSimulationTask.Settings(terms, model,
+                new double[paths], new double[paths], new double[paths], LEAF_PATHS);
+        PathSimulationTask task = new PathSimulationTask(settings, new SplittableRandom(seed), 0, paths);
+        pool.invoke(task);
+
+        return SimulationResponse.builder()
+                .baseline(baseline)
+                .paths(paths)
+                .seed(seed)
+                .maxMonthlyInstallment(toBand(settings.maxInstallments(), task.maxInstallmentSum))
+                .totalPaymentAmount(toBand(settings.totalPayments(), task.totalPaymentSum))
+                .annualPercentageRate(toBand(settings.annualPercentageRates(), task.annualPercentageRateSum))
+                .build();
+    }
+
+    static LoanTerms toLoanTerms(CalculationContext context, MortgageCalculationResponse baseline) {
+        MortgageCalculationRequest request = context.getRequest();
+        AdditionalCalculationInfo additionalInfo = context.getAdditionalInfo();
+        InterestRateAdditionalInfo rates = context.getInterestRateAdditionalInfo();
+        ColumnarRepaymentPlan plan = baseline.getRepaymentPlan();
+
+        int fixedMonths = rates.getYearsWithFixedInterest() != null ? rates.getYearsWithFixedInterest() : 0;
+        double principal = request.getLoanAmount().getAmount()
+                .add(additionalInfo.getAnalysisCommission())
+                .setScale(2, RoundingMode.HALF_DOWN)
+                .doubleValue();
+        double upfrontCosts = additionalInfo.getFeeCommission()
+                .add(additionalInfo.getPaymentOrderCommission())
+                .add(additionalInfo.getBuildingInsurancePremiumRate())
+                .add(additionalInfo.getBuildingPADInsurancePremiumRate())
+                .add(additionalInfo.getPostGrantCommission())
+                .doubleValue();
+
+        int tenor = plan.getLastMonth();
+        double[] monthlyCosts = new double[tenor + 1];
+        for (int month = 1; month <= tenor; month++) {
+            monthlyCosts[month] = plan.getCostsExcludingInstallment(month);
+        }
+
+        double baselineDae = baseline.getAnnualPercentageRate().doubleValue();
+
+        return new LoanTerms(principal,
+                tenor,
+                fixedMonths,
+                rates.getInterestRate(),
+                fixedMonths > 0 ? rates.getVariableInterestAfterFixedInterest() : rates.getInterestRate(),
+                additionalInfo.getIrcc(),
+                request.getInstallmentType() == InstallmentType.DECREASING_INSTALLMENTS,
+                monthlyCosts,
+                plan.getTotalPaymentAmount(0).doubleValue() - principal + upfrontCosts,
+                upfrontCosts,
+                Math.pow(1 + baselineDae / 100, 1.0 / 12) - 1);
+    }
+
+    /**
+     * Sorts {@code values} in place and reads the percentiles by nearest rank.
+     */
+    static PercentileBand toBand(double[] values, double sum) {
+        Arrays.sort(values);
+        return PercentileBand.builder()
+                .p5(percentile(values, 5))
+                .p50(percentile(values, 50))
+                .p95(percentile(values, 95))
+                .mean(scale(sum / values.length))
+                .build();
+    }
+
+    private static BigDecimal percentile(double[] sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return scale(sorted[Math.max(rank - 1, 0)]);
+    }
+
+    private static BigDecimal scale(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
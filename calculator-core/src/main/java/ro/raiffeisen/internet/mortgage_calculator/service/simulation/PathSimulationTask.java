@@ -0,0 +1,129 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.simulation;
+
+import org.apache.poi.ss.formula.functions.Irr;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Simulates a range of IRCC paths and writes the result of path {@code i} at index {@code i} of the result arrays.
+ * Ranges larger than the leaf size are halved and forked; each half gets its own generator split from
+ * the parent's, so the outcome depends on the seed only and not on how the pool schedules the halves.
+ * A leaf reuses one cash-flow buffer for all its paths and sums its results into primitive fields,
+ * which the parent adds up after joining, so nothing is allocated per path.
+ */
+class PathSimulationTask extends RecursiveAction {
+
+    private final Settings settings;
+    private final SplittableRandom random;
+    private final int from;
+    private final int to;
+
+    double maxInstallmentSum;
+    double totalPaymentSum;
+    double annualPercentageRateSum;
+
+    PathSimulationTask(Settings settings, SplittableRandom random, int from, int to) {
+        this.settings = settings;
+        this.random = random;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from > settings.leafPaths()) {
+            int middle = from + (to - from) / 2;
+            PathSimulationTask left = new PathSimulationTask(settings, random.split(), from, middle);
+            PathSimulationTask right = new PathSimulationTask(settings, random.split(), middle, to);
+            invokeAll(left, right);
+
+            maxInstallmentSum = left.maxInstallmentSum + right.maxInstallmentSum;
+            totalPaymentSum = left.totalPaymentSum + right.totalPaymentSum;
+            annualPercentageRateSum = left.annualPercentageRateSum + right.annualPercentageRateSum;
+            return;
+        }
+
+        LoanTerms terms = settings.terms();
+        double[] cashFlows = new double[terms.tenor() + 1];
+        cashFlows[0] = terms.firstCashFlow();
+
+        for (int path = from; path < to; path++) {
+            double maxInstallment = amortize(terms, settings.model(), random, cashFlows);
+
+            double totalPayment = terms.upfrontCosts();
+            for (int month = 1; month < cashFlows.length; month++) {
+                totalPayment += cashFlows[month];
+            }
+            double annualPercentageRate = (Math.pow(1 + Irr.irr(cashFlows, terms.irrGuess()), 12) - 1) * 100;
+
+            settings.maxInstallments()[path] = maxInstallment;
+            settings.totalPayments()[path] = totalPayment;
+            settings.annualPercentageRates()[path] = annualPercentageRate;
+            maxInstallmentSum += maxInstallment;
+            totalPaymentSum += totalPayment;
+            annualPercentageRateSum += annualPercentageRate;
+        }
+    }
+
+    /**
+     * Draws one IRCC path and fills {@code cashFlows} from month 1 with the installment plus the month's costs.
+     * The installment is recomputed on the remaining balance and months whenever the rate changes,
+     * like the variable period of the repayment plan.
+     *
+     * @return the highest installment (principal and interest) of the path
+     */
+    static double amortize(LoanTerms terms, IrccModel model, SplittableRandom random, double[] cashFlows) {
+        int tenor = terms.tenor();
+        double balance = terms.principal();
+        double equalPrincipal = terms.principal() / tenor;
+        double ircc = terms.ircc();
+        double monthlyRate = 0;
+        double installment = 0;
+        double maxInstallment = 0;
+
+        for (int month = 1; month <= tenor; month++) {
+            boolean quarterStart = (month - 1) % 3 == 0;
+            if (quarterStart && month > 1) {
+                ircc = model.nextQuarter(ircc, random.nextGaussian());
+            }
+
+            boolean variable = month > terms.fixedMonths();
+            if (month == 1 || (variable && (quarterStart || month == terms.fixedMonths() + 1))) {
+                double annualRate = variable ?
+                        terms.variableRate() + Math.max(ircc, 0) - terms.ircc()
+                        :
+                        terms.fixedRate();
+                monthlyRate = Math.max(annualRate, 0) / (12 * 100);
+                installment = annuity(balance, monthlyRate, tenor - month + 1);
+            }
+
+            double interest = balance * monthlyRate;
+            double repaid = terms.decreasing() ? equalPrincipal : installment - interest;
+            double payment = repaid + interest;
+            balance -= repaid;
+
+            maxInstallment = Math.max(maxInstallment, payment);
+            cashFlows[month] = payment + terms.monthlyCosts()[month];
+        }
+        return maxInstallment;
+    }
+
+    private static double annuity(double balance, double monthlyRate, int months) {
+        return monthlyRate == 0 ?
+                balance / months
+                :
+                balance * monthlyRate / (1 - Math.pow(1 + monthlyRate, -months));
+    }
+
+    /**
+     * State shared by all tasks of a simulation; each task only writes its own range of the result arrays.
+     */
+    record Settings(LoanTerms terms,
+                    IrccModel model,
+                    double[] maxInstallments,
+                    double[] totalPayments,
+                    double[] annualPercentageRates,
+                    int leafPaths) {
+    }
+}
@@ -0,0 +1,35 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.solver;
+
+import java.util.function.LongPredicate;
+
+/**
+ * Bisection over integer domains (amounts in minor units, months), so a search ends on an exact
+ * value instead of a floating-point tolerance.
+ */
+public final class Bisection {
+
+    private Bisection() {
+    }
+
+    /**
+     * Finds the boundary of {@code predicate} between a value where it holds and one where it does not,
+     * in either order. The predicate is assumed to change only once between the two.
+     *
+     * @param satisfied   a value for which the predicate holds
+     * @param unsatisfied a value for which the predicate does not hold
+     * @return the value closest to {@code unsatisfied} for which the predicate holds
+     */
+    public static long lastSatisfying(LongPredicate predicate, long satisfied, long unsatisfied) {
+        long good = satisfied;
+        long bad = unsatisfied;
+        while (Math.abs(bad - good) > 1) {
+            long middle = good + (bad - good) / 2;
+            if (predicate.test(middle)) {
+                good = middle;
+            } else {
+                bad = middle;
+            }
+        }
+        return good;
+    }
+}
@@ -0,0 +1,113 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.stress;
+
+import lombok.RequiredArgsConstructor;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.stress.RateShockScenario;
+import ro.raiffeisen.internet.mortgage_calculator.model.stress.StressTestResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.utils.AdditionalCalculationInfo;
+import ro.raiffeisen.internet.mortgage_calculator.model.utils.CalculationContext;
+import ro.raiffeisen.internet.mortgage_calculator.model.utils.InterestRateAdditionalInfo;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+import ro.raiffeisen.internet.mortgage_calculator.service.PreparedCalculation;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Computes how installment, DAE and total cost change when IRCC rises.
+ * Reference data is retrieved once; each shock is applied to a copy of the prepared context
+ * and its repayment plan is generated in parallel on the given executor.
+ */
+@RequiredArgsConstructor
+public class RateShockCalculator {
+
+    private final CalculatorEngine calculatorEngine;
+
+    public StressTestResponse calculate(MortgageCalculationRequest request, List<BigDecimal> irccShocks, Executor executor) {
+        PreparedCalculation prepared = calculatorEngine.prepare(request);
+
+        // Copies are taken before the baseline is completed, which advances the running balances of the context
+        List<CalculationContext> variants = new ArrayList<>(irccShocks.size());
+        List<CompletableFuture<MortgageCalculationResponse>> futures = new ArrayList<>(irccShocks.size());
+        for (BigDecimal shock : irccShocks) {
+            CalculationContext variant = applyIrccShock(prepared.copyContext(), shock);
+            variants.add(variant);
+            futures.add(CompletableFuture.supplyAsync(() -> prepared.complete(variant), executor));
+        }
+
+        MortgageCalculationResponse baseline = prepared.complete(prepared.getContext());
+
+        List<RateShockScenario> scenarios = new ArrayList<>(irccShocks.size());
+        for (int i = 0; i < irccShocks.size(); i++) {
+            scenarios.add(toScenario(irccShocks.get(i), variants.get(i), join(futures.get(i)), baseline));
+        }
+
+        return StressTestResponse.builder()
+                .baseline(baseline)
+                .scenarios(scenarios)
+                .build();
+    }
+
+    /**
+     * Raises the rate of the variable period by the shock: the whole tenor for variable-rate loans,
+     * the period after the fixed years for mixed-rate loans. The bank margin is unchanged.
+     */
+    static CalculationContext applyIrccShock(CalculationContext context, BigDecimal shock) {
+        InterestRateAdditionalInfo rates = context.getInterestRateAdditionalInfo();
+        if (hasFixedPeriod(rates)) {
+            rates.setVariableInterestAfterFixedInterest(rates.getVariableInterestAfterFixedInterest() + shock.doubleValue());
+        } else {
+            rates.setInterestRate(rates.getInterestRate() + shock.doubleValue());
+        }
+
+        AdditionalCalculationInfo additionalInfo = context.getAdditionalInfo();
+        if (additionalInfo.getIrcc() != null) {
+            additionalInfo.setIrcc(additionalInfo.getIrcc() + shock.floatValue());
+        }
+        return context;
+    }
+
+    private static RateShockScenario toScenario(BigDecimal shock,
+                                                CalculationContext variant,
+                                                MortgageCalculationResponse scenario,
+                                                MortgageCalculationResponse baseline) {
+        InterestRateAdditionalInfo rates = variant.getInterestRateAdditionalInfo();
+        double variableRate = hasFixedPeriod(rates) ? rates.getVariableInterestAfterFixedInterest() : rates.getInterestRate();
+        Float ircc = variant.getAdditionalInfo().getIrcc();
+
+        return RateShockScenario.builder()
+                .irccShock(shock)
+                .irccRate(ircc != null ? BigDecimal.valueOf(ircc).setScale(2, RoundingMode.HALF_UP) : null)
+                .variableInterestRate(BigDecimal.valueOf(variableRate).setScale(2, RoundingMode.HALF_UP))
+                .monthlyInstallment(scenario.getMonthlyInstallment())
+                .monthlyInstallmentDelta(scenario.getMonthlyInstallment().getAmountVariableInterest()
+                        .subtract(baseline.getMonthlyInstallment().getAmountVariableInterest()))
+                .annualPercentageRate(scenario.getAnnualPercentageRate())
+                .annualPercentageRateDelta(scenario.getAnnualPercentageRate().subtract(baseline.getAnnualPercentageRate()))
+                .totalPaymentAmount(scenario.getTotalPaymentAmount())
+                .totalPaymentAmountDelta(scenario.getTotalPaymentAmount().getAmount()
+                        .subtract(baseline.getTotalPaymentAmount().getAmount()))
+                .build();
+    }
+
+    private static boolean hasFixedPeriod(InterestRateAdditionalInfo rates) {
+        return rates.getYearsWithFixedInterest() != null && rates.getYearsWithFixedInterest() > 0;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
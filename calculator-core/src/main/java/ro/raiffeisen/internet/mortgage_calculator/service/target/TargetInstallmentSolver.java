@@ -0,0 +1,211 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.target;
+
+import lombok.RequiredArgsConstructor;
+import ro.raiffeisen.internet.mortgage_calculator.exception.UnprocessableEntityException;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+import ro.raiffeisen.internet.mortgage_calculator.model.MixedInterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.model.MonthlyInstallment;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.target.SolveFor;
+import ro.raiffeisen.internet.mortgage_calculator.model.target.TargetInstallmentResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.utils.CalculationContext;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+import ro.raiffeisen.internet.mortgage_calculator.service.PreparedCalculation;
+import ro.raiffeisen.internet.mortgage_calculator.service.solver.Bisection;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds the loan amount (for a given tenor) or the tenor (for a given amount) whose highest monthly
+ * installment does not exceed a target. The reference data is retrieved once and every candidate is
+ * completed from a copy of the prepared context, so a search costs no remote call per step.
+ * The solution is then calculated in full, exactly as the calculation endpoint would.
+ */
+@RequiredArgsConstructor
+public class TargetInstallmentSolver {
+
+    /**
+     * Most reference data preparations when solving for the amount. The rate can depend on the amount
+     * (LTV band, down payment discount), so every candidate is checked against a context prepared at it,
+     * until one fits and a cent more does not. Candidates usually settle within two or three rounds; the
+     * bound only stops candidates alternating between rate bands.
+     */
+    static final int MAX_AMOUNT_ROUNDS = 10;
+
+    private static final long MIN_AMOUNT_CENTS = 100;
+    private static final int MAX_BRACKET_STEPS = 30;
+
+    private final CalculatorEngine calculatorEngine;
+
+    public TargetInstallmentResponse solve(MortgageCalculationRequest request, BigDecimal targetInstallment, SolveFor solveFor) {
+        return solveFor == SolveFor.TENOR ?
+                solveTenor(request, targetInstallment)
+                :
+                solveLoanAmount(request, targetInstallment);
+    }
+
+    private TargetInstallmentResponse solveLoanAmount(MortgageCalculationRequest request, BigDecimal targetInstallment) {
+        long amount = toCents(request.getLoanAmount().getAmount());
+        Set<Long> candidates = new HashSet<>(List.of(amount));
+        Solution feasible = null;
+        long feasibleAmount = 0;
+
+        for (int round = 1; ; round++) {
+            MortgageCalculationRequest attempt = withLoanAmount(request, amount);
+            PreparedCalculation prepared = calculatorEngine.prepare(attempt.toBuilder().build());
+            AmountSearch search = new AmountSearch(prepared, attempt, targetInstallment);
+
+            MortgageCalculationResponse calculation = prepared.complete(prepared.copyContext());
+            if (fits(calculation, targetInstallment)) {
+                if (feasible == null || amount > feasibleAmount) {
+                    feasible = new Solution(attempt, calculation);
+                    feasibleAmount = amount;
+                }
+                if (!search.fits(amount + 1)) {
+                    break;
+                }
+            }
+            if (round == MAX_AMOUNT_ROUNDS) {
+                break;
+            }
+            amount = search.solve(amount, calculation);
+            if (!candidates.add(amount)) {
+                // Alternating between rate bands: every candidate was already checked
+                break;
+            }
+        }
+
+        if (feasible == null) {
+            throw new UnprocessableEntityException("Ne pare rau! Nu am gasit o suma pentru rata dorita", targetInstallment);
+        }
+        return toResponse(SolveFor.LOAN_AMOUNT, feasible);
+    }
+
+    private TargetInstallmentResponse solveTenor(MortgageCalculationRequest request, BigDecimal targetInstallment) {
+        // Tenor 0 prepares the longest tenor allowed for the customer's age
+        PreparedCalculation prepared = calculatorEngine.prepare(withTenor(request, 0));
+        int maxYears = prepared.getResponse().getTenor();
+        int minYears = request.getInterestRateType() instanceof MixedInterestRateType mixed ? mixed.getFixedPeriod() + 1 : 1;
+
+        MortgageCalculationResponse longest = prepared.complete(prepared.copyContext());
+        if (maxYears < minYears || !fits(longest, targetInstallment)) {
+            throw new UnprocessableEntityException("Ne pare rau! Rata dorita este prea mica pentru suma solicitata", highestInstallment(longest));
+        }
+
+        long years = Bisection.lastSatisfying(
+                candidate -> fits(complete(prepared, withTenor(prepared.getContext().getRequest(), (int) candidate * 12)), targetInstallment),
+                maxYears, minYears - 1L);
+
+        MortgageCalculationRequest solution = withTenor(request, (int) years);
+        return toResponse(SolveFor.TENOR, new Solution(solution, calculatorEngine.calculate(solution.toBuilder().build())));
+    }
+
+    /**
+     * Bisection over the requested amount on one prepared context. The context holds the financed amount,
+     * i.e. the requested amount minus the down payment, so candidates are translated the same way.
+     */
+    private final class AmountSearch {
+
+        private final PreparedCalculation prepared;
+        private final BigDecimal targetInstallment;
+        private final BigDecimal requestedAmount;
+        private final BigDecimal financedAmount;
+        private final BigDecimal downPayment;
+
+        AmountSearch(PreparedCalculation prepared, MortgageCalculationRequest attempt, BigDecimal targetInstallment) {
+            this.prepared = prepared;
+            this.targetInstallment = targetInstallment;
+            this.requestedAmount = attempt.getLoanAmount().getAmount();
+            this.financedAmount = prepared.getContext().getRequest().getLoanAmount().getAmount();
+            this.downPayment = attempt.getDownPayment();
+        }
+
+        long solve(long amount, MortgageCalculationResponse calculation) {
+            // The installment is close to linear in the amount, so the first bracket is usually tight
+            double guess = amount * targetInstallment.doubleValue() / highestInstallment(calculation).doubleValue();
+            long low = Math.max((long) (guess * 0.95), MIN_AMOUNT_CENTS);
+            long high = Math.max((long) (guess * 1.05), low + 1);
+
+            for (int step = 0; step < MAX_BRACKET_STEPS && !fits(low); step++) {
+                if (low == MIN_AMOUNT_CENTS) {
+                    throw new UnprocessableEntityException("Ne pare rau! Rata dorita nu acopera costurile lunare ale creditului", targetInstallment);
+                }
+                high = low;
+                low = Math.max(low / 2, MIN_AMOUNT_CENTS);
+            }
+            for (int step = 0; step < MAX_BRACKET_STEPS && fits(high); step++) {
+                low = high;
+                high *= 2;
+            }
+            return Bisection.lastSatisfying(this::fits, low, high);
+        }
+
+        boolean fits(long amount) {
+            MortgageCalculationRequest variant = prepared.getContext().getRequest().toBuilder()
+                    .loanAmount(new Amount(prepared.getContext().getRequest().getLoanAmount().getCurrency(), financed(BigDecimal.valueOf(amount, 2))))
+                    .build();
+            return TargetInstallmentSolver.fits(complete(prepared, variant), targetInstallment);
+        }
+
+        private BigDecimal financed(BigDecimal amount) {
+            if (downPayment != null || requestedAmount.signum() == 0) {
+                return amount.subtract(requestedAmount.subtract(financedAmount));
+            }
+            // Down payment derived from the LTV: the financed share stays the same within the band
+            return amount.multiply(financedAmount).divide(requestedAmount, 2, RoundingMode.HALF_DOWN);
+        }
+    }
+
+    private static MortgageCalculationResponse complete(PreparedCalculation prepared, MortgageCalculationRequest variant) {
+        CalculationContext context = prepared.copyContext();
+        context.setRequest(variant);
+        return prepared.complete(context);
+    }
+
+    private static boolean fits(MortgageCalculationResponse calculation, BigDecimal targetInstallment) {
+        return highestInstallment(calculation).compareTo(targetInstallment) <= 0;
+    }
+
+    /**
+     * The installment the customer must be able to afford: the higher of the fixed and variable period ones.
+     */
+    static BigDecimal highestInstallment(MortgageCalculationResponse calculation) {
+        MonthlyInstallment installment = calculation.getMonthlyInstallment();
+        return installment.getAmountFixedInterest() == null ?
+                installment.getAmountVariableInterest()
+                :
+                installment.getAmountFixedInterest().max(installment.getAmountVariableInterest());
+    }
+
+    private static MortgageCalculationRequest withLoanAmount(MortgageCalculationRequest request, long cents) {
+        return request.toBuilder()
+                .loanAmount(new Amount(request.getLoanAmount().getCurrency(), BigDecimal.valueOf(cents, 2)))
+                .build();
+    }
+
+    private static MortgageCalculationRequest withTenor(MortgageCalculationRequest request, int tenor) {
+        return request.toBuilder().tenor(tenor).build();
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_DOWN).unscaledValue().longValueExact();
+    }
+
+    private static TargetInstallmentResponse toResponse(SolveFor solveFor, Solution solution) {
+        return TargetInstallmentResponse.builder()
+                .solveFor(solveFor)
+                .loanAmount(solution.request().getLoanAmount().getAmount())
+                .tenor(solution.calculation().getTenor())
+                .monthlyInstallment(highestInstallment(solution.calculation()))
+                .calculation(solution.calculation())
+                .build();
+    }
+
+    private record Solution(MortgageCalculationRequest request, MortgageCalculationResponse calculation) {
+    }
+}
@@ -0,0 +1,153 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.whatif;
+
+import lombok.Getter;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.SpecialOfferRequirements;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.Discount;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.ColumnarRepaymentPlan;
+import ro.raiffeisen.internet.mortgage_calculator.model.utils.CalculationContext;
+import ro.raiffeisen.internet.mortgage_calculator.model.whatif.WhatIfChanges;
+import ro.raiffeisen.internet.mortgage_calculator.model.whatif.WhatIfRecomputation;
+import ro.raiffeisen.internet.mortgage_calculator.model.whatif.WhatIfResponse;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+import ro.raiffeisen.internet.mortgage_calculator.service.PreparedCalculation;
+
+import java.math.BigDecimal;
+import java.util.function.ToLongFunction;
+
+/**
+ * A calculation kept server-side while the client changes one input at a time.
+ * <p>
+ * Changes are recomputed from what is already resolved, as long as the reference data of the product is still
+ * at the version the session was calculated from; otherwise the next change is calculated in full again:
+ * <ul>
+ *     <li>salary in the bank, green house and down payment change rates or amounts: the calculation is prepared
+ *     again and the repayment plan regenerated;</li>
+ *     <li>the life insurance alone, when the product has no insurance discount, only adds or removes its monthly
+ *     cost: principal and interest of the current plan are kept, and only the monthly totals, the installment,
+ *     the DAE and the total payment are updated. With an insurance discount it changes the rate, as above.</li>
+ * </ul>
+ * Changes to one session are applied one at a time. A change that fails leaves the session as it was.
+ */
+public class WhatIfSession {
+
+    static final String DISCOUNT_INSURANCE = "asigurare";
+
+    @Getter
+    private final String id;
+    private final CalculatorEngine calculatorEngine;
+    private final ToLongFunction<String> referenceDataVersion;
+
+    private MortgageCalculationRequest request;
+    private long preparedVersion;
+    private PreparedCalculation prepared;
+    private CalculationContext context;
+    private MortgageCalculationResponse calculation;
+    private WhatIfRecomputation recomputation;
+
+    WhatIfSession(String id, CalculatorEngine calculatorEngine, ToLongFunction<String> referenceDataVersion,
+                  MortgageCalculationRequest request) {
+        this.id = id;
+        this.calculatorEngine = calculatorEngine;
+        this.referenceDataVersion = referenceDataVersion;
+        recalculate(request.toBuilder().build());
+        this.recomputation = WhatIfRecomputation.FULL;
+    }
+
+    /**
+     * The calculation with the current inputs and the stages recomputed by the last change.
+     */
+    public synchronized WhatIfResponse getResponse() {
+        return WhatIfResponse.builder()
+                .sessionId(id)
+                .recomputation(recomputation)
+                .calculation(calculation)
+                .build();
+    }
+
+    /**
+     * Applies the changes and recomputes only the stages they affect.
+     */
+    public synchronized WhatIfResponse apply(WhatIfChanges changes) {
+        MortgageCalculationRequest changed = changedRequest(changes);
+        if (referenceDataVersion.applyAsLong(request.getProductCode()) != preparedVersion) {
+            recalculate(changed);
+            recomputation = WhatIfRecomputation.FULL;
+            return getResponse();
+        }
+
+        boolean insuranceChanged = changed.isHasInsurance() != request.isHasInsurance();
+        boolean ratesOrAmountsChanged = !changed.getSpecialOfferRequirements().equals(request.getSpecialOfferRequirements())
+                || !sameAmount(changed.getDownPayment(), request.getDownPayment())
+                || insuranceChanged && discountValue(DISCOUNT_INSURANCE) != 0;
+
+        if (ratesOrAmountsChanged) {
+            recalculate(changed);
+            recomputation = WhatIfRecomputation.REPAYMENT_PLAN;
+        } else if (insuranceChanged) {
+            updateInsuranceCosts(changed);
+            recomputation = WhatIfRecomputation.INSURANCE_COSTS;
+        } else {
+            recomputation = WhatIfRecomputation.NONE;
+        }
+        return getResponse();
+    }
+
+    private void recalculate(MortgageCalculationRequest changed) {
+        // Read before preparing, so that data changing meanwhile is picked up by the next change
+        long version = referenceDataVersion.applyAsLong(changed.getProductCode());
+        PreparedCalculation preparedCalculation = calculatorEngine.prepare(changed.toBuilder().build());
+        MortgageCalculationResponse response = preparedCalculation.complete(preparedCalculation.getContext());
+
+        request = changed;
+        preparedVersion = version;
+        prepared = preparedCalculation;
+        context = preparedCalculation.getContext();
+        calculation = response;
+    }
+
+    /**
+     * Adds or removes the monthly life insurance of every month of the current plan and summarises it again.
+     */
+    private void updateInsuranceCosts(MortgageCalculationRequest changed) {
+        CalculationContext variant = context.copy();
+        variant.setRequest(context.getRequest().toBuilder().hasInsurance(changed.isHasInsurance()).build());
+
+        BigDecimal lifeInsurance = context.getAdditionalInfo().getMonthlyLifeInsurance().getValue().getAmount();
+        ColumnarRepaymentPlan plan = calculation.getRepaymentPlan();
+        int lastInsuredMonth = Math.min(variant.getRequest().getTenor(), plan.getLastMonth());
+        ColumnarRepaymentPlan adjusted = plan.withTotalPaymentAdjustment(1, lastInsuredMonth,
+                changed.isHasInsurance() ? lifeInsurance : lifeInsurance.negate());
+
+        MortgageCalculationResponse response = prepared.complete(variant, adjusted);
+
+        request = changed;
+        context = variant;
+        calculation = response;
+    }
+
+    private MortgageCalculationRequest changedRequest(WhatIfChanges changes) {
+        SpecialOfferRequirements requirements = request.getSpecialOfferRequirements();
+
+        return request.toBuilder()
+                .specialOfferRequirements(new SpecialOfferRequirements(
+                        changes.getHasSalaryInTheBank() != null ? changes.getHasSalaryInTheBank() : requirements.isHasSalaryInTheBank(),
+                        changes.getCasaVerde() != null ? changes.getCasaVerde() : requirements.isCasaVerde()))
+                .hasInsurance(changes.getHasInsurance() != null ? changes.getHasInsurance() : request.isHasInsurance())
+                .downPayment(changes.getDownPayment() != null ? changes.getDownPayment() : request.getDownPayment())
+                .build();
+    }
+
+    private double discountValue(String name) {
+        return context.getInterestRateAdditionalInfo().getDiscounts().stream()
+                .filter(discount -> name.equals(discount.getDiscountName()))
+                .mapToDouble(Discount::getDiscountValue)
+                .findFirst()
+                .orElse(0d);
+    }
+
+    private static boolean sameAmount(BigDecimal first, BigDecimal second) {
+        return first == null ? second == null : second != null && first.compareTo(second) == 0;
+    }
+}
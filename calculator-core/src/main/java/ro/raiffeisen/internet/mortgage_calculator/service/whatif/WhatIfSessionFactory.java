@@ -0,0 +1,29 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.whatif;
+
+import lombok.RequiredArgsConstructor;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+
+import java.util.UUID;
+import java.util.function.ToLongFunction;
+
+/**
+ * Starts {@link WhatIfSession}s, all calculated by the given engine. Keeping sessions and expiring them is left
+ * to the caller.
+ */
+@RequiredArgsConstructor
+public class WhatIfSessionFactory {
+
+    private final CalculatorEngine calculatorEngine;
+    /**
+     * Version of the reference data of a product code, changing whenever that data changes.
+     */
+    private final ToLongFunction<String> referenceDataVersion;
+
+    /**
+     * Runs the full calculation of the request and keeps it in a new session.
+     */
+    public WhatIfSession start(MortgageCalculationRequest request) {
+        return new WhatIfSession(UUID.randomUUID().toString(), calculatorEngine, referenceDataVersion, request);
+    }
+}
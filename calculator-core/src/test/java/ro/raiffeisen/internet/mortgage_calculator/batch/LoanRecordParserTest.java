@@ -0,0 +1,52 @@
+package ro.raiffeisen.internet.mortgage_calculator.batch;
+
+import org.junit.jupiter.api.Test;
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+import ro.raiffeisen.internet.mortgage_calculator.model.InstallmentType;
+import ro.raiffeisen.internet.mortgage_calculator.model.MixedInterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoanRecordParserTest {
+
+    private final LoanRecordParser parser = new LoanRecordParser();
+
+    @Test
+    void parse_mapsAllColumns() {
+        LoanRecord loanRecord = parser.parse(
+                "L-1,CasaTa,RON,350000,25,35,false,Bucuresti,Bucuresti,15000,1000,70000,MIXED,5.5,3,true,EQUAL_INSTALLMENTS,true,false");
+
+        MortgageCalculationRequest request = loanRecord.getRequest();
+        assertThat(loanRecord.getLoanId()).isEqualTo("L-1");
+        assertThat(request.getProductCode()).isEqualTo("CasaTa");
+        assertThat(request.getLoanAmount().getAmount()).isEqualByComparingTo("350000");
+        assertThat(request.getTenor()).isEqualTo(25);
+        assertThat(request.getAge()).isEqualTo(35);
+        assertThat(request.getArea().getCounty()).isEqualTo("Bucuresti");
+        assertThat(request.getIncome().getOtherInstallments()).isEqualByComparingTo(BigDecimal.valueOf(1000));
+        assertThat(request.getDownPayment()).isEqualByComparingTo("70000");
+        assertThat(request.getInterestRateType()).isInstanceOf(MixedInterestRateType.class);
+        assertThat(((MixedInterestRateType) request.getInterestRateType()).getFixedPeriod()).isEqualTo(3);
+        assertThat(request.isHasInsurance()).isTrue();
+        assertThat(request.getInstallmentType()).isEqualTo(InstallmentType.EQUAL_INSTALLMENTS);
+        assertThat(request.getSpecialOfferRequirements().isHasSalaryInTheBank()).isTrue();
+        assertThat(request.getSpecialOfferRequirements().isCasaVerde()).isFalse();
+    }
+
+    @Test
+    void parse_withMissingColumns_throwsBadRequest() {
+        assertThatThrownBy(() -> parser.parse("L-2,CasaTa,RON"))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(parser.loanId("L-2,CasaTa,RON")).isEqualTo("L-2");
+    }
+
+    @Test
+    void isHeader_recognisesHeaderLine() {
+        assertThat(parser.isHeader(LoanRecordParser.HEADER)).isTrue();
+        assertThat(parser.isHeader("L-1,CasaTa")).isFalse();
+    }
+}
@@ -0,0 +1,80 @@
+package ro.raiffeisen.internet.mortgage_calculator.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataSnapshot;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataSnapshots;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.SnapshotReferenceDataProvider;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepricingJobTest {
+
+    private static final String LOAN = ",CasaTa,RON,300000,25,35,false,Bucuresti,Bucuresti,20000,1000,60000,VARIABLE,0,,false,EQUAL_INSTALLMENTS,false,false";
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void run_repricesEveryLoanAcrossSplitRanges() throws Exception {
+        List<String> lines = new ArrayList<>();
+        lines.add(LoanRecordParser.HEADER);
+        for (int i = 0; i < 50; i++) {
+            lines.add("L-" + i + LOAN);
+        }
+        lines.add("L-bad,CasaTa,RON");
+        Path input = Files.write(tempDir.resolve("loans.csv"), lines);
+        Path output = tempDir.resolve("repriced.csv");
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+
+        // A tiny leaf size forces the range to be split many times
+        RepricingJob job = new RepricingJob(CalculatorEngine.create(new SnapshotReferenceDataProvider(ReferenceDataSnapshots.casaTa())),
+                pool, 512, Duration.ofMinutes(1), new PrintStream(console));
+        RepricingProgress progress = job.run(input, output);
+
+        List<String> results = Files.readAllLines(output);
+        assertThat(results.get(0)).isEqualTo(RepricingResultWriter.HEADER);
+        assertThat(results).hasSize(52);
+        assertThat(results.stream().filter(line -> line.contains(",OK,"))).hasSize(50);
+        assertThat(results).anyMatch(line -> line.startsWith("L-bad,FAILED,"));
+        assertThat(progress.getRepriced()).isEqualTo(50);
+        assertThat(progress.getFailed()).isEqualTo(1);
+        assertThat(progress.getPercentDone()).isEqualTo(100.0);
+        assertThat(console.toString()).contains("Repricing finished");
+    }
+
+    @Test
+    void snapshot_roundTripsThroughJson() throws Exception {
+        Path file = tempDir.resolve("snapshot.json");
+        new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .writeValue(file.toFile(), ReferenceDataSnapshots.casaTa());
+
+        ReferenceDataSnapshot snapshot = RepricingJob.readSnapshot(file);
+
+        SnapshotReferenceDataProvider provider = new SnapshotReferenceDataProvider(snapshot);
+        assertThat(provider.getLoanProduct("CasaTa").getIdLoan()).isEqualTo(1);
+        assertThat(provider.getLtv(100000d, false, 1, 1)).isEqualTo(85);
+        assertThat(provider.getLtv(900000d, false, 1, 1)).isEqualTo(75);
+    }
+}
@@ -0,0 +1,54 @@
+package ro.raiffeisen.internet.mortgage_calculator.batch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepricingResultWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void appendField_quotesValuesWithSeparatorsQuotesOrLineBreaks() {
+        assertThat(field("L-1")).isEqualTo("L-1");
+        assertThat(field(new BigDecimal("1500.25"))).isEqualTo("1500.25");
+        assertThat(field(null)).isEmpty();
+        assertThat(field("L,1")).isEqualTo("\"L,1\"");
+        assertThat(field("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"");
+        assertThat(field("first\nsecond")).isEqualTo("\"first\nsecond\"");
+        assertThat(field("first\r\nsecond")).isEqualTo("\"first\r\nsecond\"");
+    }
+
+    @Test
+    void results_areWrittenAsRfc4180Fields() throws IOException {
+        Path output = tempDir.resolve("results.csv");
+        StringBuilder lines = new StringBuilder();
+
+        try (RepricingResultWriter writer = new RepricingResultWriter(output)) {
+            writer.appendResult(lines, "L,1", MortgageCalculationResponse.builder()
+                    .loanAmount(new Amount("RON", new BigDecimal("240000.00")))
+                    .tenor(25)
+                    .build());
+            writer.appendFailure(lines, "L-2", new IllegalStateException("Suma \"minima\",\nnu a fost atinsa"));
+            writer.write(lines);
+        }
+
+        assertThat(Files.readString(output, StandardCharsets.UTF_8)).isEqualTo(RepricingResultWriter.HEADER + "\n"
+                + "\"L,1\",OK,240000.00,RON,25,,,,,,\n"
+                + "L-2,FAILED,,,,,,,,,\"Suma \"\"minima\"\",\nnu a fost atinsa\"\n");
+    }
+
+    private static String field(Object value) {
+        return RepricingResultWriter.appendField(new StringBuilder(), value).toString();
+    }
+}
@@ -0,0 +1,39 @@
+package ro.raiffeisen.internet.mortgage_calculator.model.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+import ro.raiffeisen.internet.mortgage_calculator.model.Frequency;
+import ro.raiffeisen.internet.mortgage_calculator.model.LifeInsurance;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AmountSerializerTest {
+
+    private final ObjectMapper beanMapper = new ObjectMapper();
+    private final ObjectMapper moduleMapper = new ObjectMapper().registerModule(new CalculatorJsonModule());
+
+    @Test
+    void serialize_writesTheSameJsonAsTheBeanSerializer() throws JsonProcessingException {
+        List<Amount> amounts = List.of(
+                new Amount("RON", new BigDecimal("240500.00")),
+                new Amount("EUR", new BigDecimal("-0.015")),
+                new Amount("RON", new BigDecimal("1E+3")),
+                new Amount(null, null));
+
+        for (Amount amount : amounts) {
+            assertThat(moduleMapper.writeValueAsString(amount)).isEqualTo(beanMapper.writeValueAsString(amount));
+        }
+    }
+
+    @Test
+    void serialize_nestedAmount_writesTheSameJsonAsTheBeanSerializer() throws JsonProcessingException {
+        LifeInsurance lifeInsurance = new LifeInsurance(new Amount("RON", new BigDecimal("72.15")), Frequency.MONTHLY);
+
+        assertThat(moduleMapper.writeValueAsString(lifeInsurance)).isEqualTo(beanMapper.writeValueAsString(lifeInsurance));
+    }
+}
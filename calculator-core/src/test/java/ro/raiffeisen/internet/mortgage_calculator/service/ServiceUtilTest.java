@@ -12,10 +12,13 @@ import ro.raiffeisen.internet.mortgage_calculator.model.client.*;
 import ro.raiffeisen.internet.mortgage_calculator.model.repayment.RepaymentPlanEntry;
 import ro.raiffeisen.internet.mortgage_calculator.model.utils.AdditionalCalculationInfo;
 import ro.raiffeisen.internet.mortgage_calculator.model.utils.InterestRateAdditionalInfo;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataProvider;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
@@ -28,9 +31,7 @@ import java.util.List;
 public class ServiceUtilTest {
 
     @Mock
-    private RetrieveService retrieveClient;
-    @Mock
-    private FxClientRetrieve fxClientRetrieve;
+    private ReferenceDataProvider referenceDataProvider;
     @Mock
     private MortgageCalculatorMapper calculatorMapper;
     @InjectMocks
@@ -116,7 +117,7 @@ public class ServiceUtilTest {
         Amount loanAmount = new Amount("RON", BigDecimal.valueOf(100000));
         BigDecimal analysisCommission = BigDecimal.valueOf(1000);
         Integer ltv = 80;
-        when(fxClientRetrieve.getExchangeRates(anyString())).thenReturn(List.of(ExchangeRate.builder().currencyPair("EURRON").referenceRate("4.97").build()));
+        when(referenceDataProvider.getExchangeRates(anyString())).thenReturn(List.of(ExchangeRate.builder().currencyPair("EURRON").referenceRate("4.97").build()));
         BigDecimal result = serviceUtil.calculateBuildingInsurancePremiumRate("RON", loanAmount, analysisCommission, ltv, new BigDecimal("0.11"));
 
         assertEquals(BigDecimal.valueOf(138.87).setScale(2, RoundingMode.HALF_UP), result.setScale(2, RoundingMode.HALF_UP));
@@ -128,7 +129,7 @@ public class ServiceUtilTest {
         BigDecimal analysisCommission = BigDecimal.valueOf(1000);
         Integer ltv = 80;
 
-        when(fxClientRetrieve.getExchangeRates("EUR")).thenReturn(Collections.emptyList());
+        when(referenceDataProvider.getExchangeRates("EUR")).thenReturn(Collections.emptyList());
 
         InternalServerException exception = assertThrows(InternalServerException.class, () ->
                 serviceUtil.calculateBuildingInsurancePremiumRate("RON", loanAmount, analysisCommission, ltv, any()));
@@ -159,9 +160,9 @@ public class ServiceUtilTest {
         AdditionalCalculationInfo additionalCalculationInfo = new AdditionalCalculationInfo();
 
         when(serviceUtil.retrieveLoanProduct(anyString())).thenReturn(loanProduct);
-        when(retrieveClient.getLoanAllParametersByMultipleArguments(anyInt(), anyBoolean(), anyString(), anyString(), anyBoolean())).thenReturn(loanAllParameters);
-        when(retrieveClient.getDistricts()).thenReturn(List.of(district));
-        when(retrieveClient.getLtvByAreaOwnerAndSum(anyDouble(), anyBoolean(), anyInt(), anyInt())).thenReturn(80);
+        when(referenceDataProvider.getLoanAllParameters(anyInt(), anyBoolean(), anyString(), anyString(), anyBoolean())).thenReturn(loanAllParameters);
+        when(referenceDataProvider.getDistricts()).thenReturn(List.of(district));
+        when(referenceDataProvider.getLtv(anyDouble(), anyBoolean(), anyInt(), anyInt())).thenReturn(80);
         when(calculatorMapper.buildAllAdditionalInfo(any(), anyInt())).thenReturn(additionalCalculationInfo);
 
         AdditionalCalculationInfo result = serviceUtil.retrieveAdditionalInfo(request);
@@ -170,6 +171,30 @@ public class ServiceUtilTest {
         assertEquals(1, result.getProductId());
     }
 
+    @Test
+    void testRetrieveAdditionalInfo_WithoutLoanAmount_LeavesLtvToCalculator() {
+        MortgageCalculationRequest request = MortgageCalculationRequest.builder()
+                .installmentType(InstallmentType.EQUAL_INSTALLMENTS)
+                .productCode("CreditVenit")
+                .specialOfferRequirements(new SpecialOfferRequirements(false, false))
+                .interestRateType(VariableInterestRateType.builder().build())
+                .age(43)
+                .income(new Income(BigDecimal.valueOf(10000), BigDecimal.valueOf(2500)))
+                .area(new Area("Bucuresti", "Bucuresti"))
+                .build();
+
+        when(referenceDataProvider.getLoanProduct(anyString())).thenReturn(LoanProduct.builder().idLoan(40).build());
+        when(referenceDataProvider.getLoanAllParameters(anyInt(), anyBoolean(), anyString(), anyString(), anyBoolean())).thenReturn(new LoanAllParameters());
+        when(referenceDataProvider.getDistricts()).thenReturn(List.of(NomenclatureDistrict.builder().city("Bucuresti").county("Bucuresti").zone(2).build()));
+        when(calculatorMapper.buildAllAdditionalInfo(any(), isNull())).thenReturn(new AdditionalCalculationInfo());
+
+        AdditionalCalculationInfo result = serviceUtil.retrieveAdditionalInfo(request);
+
+        assertNull(result.getLtv());
+        assertEquals(2, result.getFinancingZone());
+        verify(referenceDataProvider, never()).getLtv(any(), any(), any(), any());
+    }
+
     @Test
     void testRetrieveInterestRate_MixedInterestRateType() {
         MortgageCalculationRequest request = MortgageCalculationRequest.builder()
@@ -183,8 +208,8 @@ public class ServiceUtilTest {
                 LoanInterestRate.builder().interestRateType("Dobanda fixa").interestRate(5).margin(2).year(3).build(),
                 LoanInterestRate.builder().interestRateType("Dobanda variabila").interestRate(9).margin(2).year(3).build());
 
-        when(retrieveClient.getAllLoanInterestRatesByLoanProduct(anyInt(), anyBoolean(), anyBoolean())).thenReturn(loanInterestRates);
-        when(retrieveClient.getDiscounts(anyInt())).thenReturn(List.of(Discount.builder().discountName("client").discountValue(0.2).build()));
+        when(referenceDataProvider.getLoanInterestRates(anyInt(), anyBoolean(), anyBoolean())).thenReturn(loanInterestRates);
+        when(referenceDataProvider.getDiscounts(anyInt())).thenReturn(List.of(Discount.builder().discountName("client").discountValue(0.2).build()));
 
         InterestRateAdditionalInfo additionalInfo = serviceUtil.retrieveInterestRate(request, 1);
 
@@ -0,0 +1,131 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.affordability;
+
+import org.junit.jupiter.api.Test;
+import ro.raiffeisen.internet.mortgage_calculator.exception.InternalServerException;
+import ro.raiffeisen.internet.mortgage_calculator.exception.UnprocessableEntityException;
+import ro.raiffeisen.internet.mortgage_calculator.model.Income;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.VariableInterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataProvider;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataSnapshots;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.SnapshotReferenceDataProvider;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class AffordabilityGateTest {
+
+    private final ReferenceDataProvider provider = spy(new SnapshotReferenceDataProvider(ReferenceDataSnapshots.casaTa()));
+    private final CalculatorEngine plainEngine = CalculatorEngine.create(provider);
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final AffordabilityGate gate = new AffordabilityGate(provider, plainEngine.getServiceUtil(),
+            Duration.ofHours(1), 0.5, 60, true, nanoTime::get);
+    private final CalculatorEngine gatedEngine = new CalculatorEngine(plainEngine.getServiceUtil(),
+            plainEngine.getValidationService(), plainEngine.getCalculatorFactory(), gate);
+
+    @Test
+    void calculate_clearlyUnaffordable_rejectedWithoutRetrievingReferenceData() {
+        assertThatThrownBy(() -> gatedEngine.calculate(requestWithIncome(2500)))
+                .isInstanceOf(UnprocessableEntityException.class);
+        clearInvocations(provider);
+
+        assertThatThrownBy(() -> gatedEngine.calculate(requestWithIncome(2500)))
+                .isInstanceOf(UnprocessableEntityException.class)
+                .hasMessageContaining("prea mare");
+
+        verifyNoInteractions(provider);
+        assertThat(gate.getChecked()).isEqualTo(2);
+        assertThat(gate.getRejected()).isEqualTo(2);
+    }
+
+    @Test
+    void calculate_clearlyUnaffordableNotEnforced_getsThePreciseMaxAmount() {
+        AffordabilityGate shadowGate = new AffordabilityGate(provider, plainEngine.getServiceUtil(),
+                Duration.ofHours(1), 0.5, 60, false, nanoTime::get);
+        CalculatorEngine shadowEngine = new CalculatorEngine(plainEngine.getServiceUtil(),
+                plainEngine.getValidationService(), plainEngine.getCalculatorFactory(), shadowGate);
+
+        assertThatThrownBy(() -> shadowEngine.calculate(requestWithIncome(2500)))
+                .isInstanceOfSatisfying(UnprocessableEntityException.class, e -> {
+                    assertThat(e.getDisplayedValue()).isNotNull();
+                    assertThat(e.getMessage()).contains("mai mica decat");
+                });
+        assertThat(shadowGate.getUnaffordable()).isEqualTo(1);
+        assertThat(shadowGate.getRejected()).isZero();
+    }
+
+    @Test
+    void calculate_notClearlyUnaffordable_keepsPreciseCheck() {
+        assertThatThrownBy(() -> gatedEngine.calculate(requestWithIncome(3500)))
+                .isInstanceOfSatisfying(UnprocessableEntityException.class,
+                        e -> assertThat(e.getDisplayedValue()).isNotNull());
+
+        assertThat(gate.getChecked()).isEqualTo(1);
+        assertThat(gate.getRejected()).isZero();
+    }
+
+    @Test
+    void calculate_neverRejectsWhatPreciseCheckAccepts() {
+        for (int income = 1000; income <= 10000; income += 250) {
+            boolean plainAccepts = accepts(plainEngine, requestWithIncome(income));
+            boolean gatedAccepts = accepts(gatedEngine, requestWithIncome(income));
+
+            assertThat(gatedAccepts).as("income %d", income).isEqualTo(plainAccepts);
+        }
+        assertThat(gate.getRejected()).isPositive();
+    }
+
+    @Test
+    void check_lowestRateExpired_retrievedAgain() {
+        gate.check(plainEngine.getCalculatorFactory().getCalculator("CasaTa"), monthsRequest(10000));
+        gate.check(plainEngine.getCalculatorFactory().getCalculator("CasaTa"), monthsRequest(10000));
+        nanoTime.addAndGet(Duration.ofHours(2).toNanos());
+        gate.check(plainEngine.getCalculatorFactory().getCalculator("CasaTa"), monthsRequest(10000));
+
+        verify(provider, times(2)).getLoanInterestRates(1, false, false);
+    }
+
+    @Test
+    void check_lowestRateNotAvailable_letsRequestThrough() {
+        doThrow(new InternalServerException("admin service unavailable")).when(provider).getLoanInterestRates(anyInt(), anyBoolean(), anyBoolean());
+
+        assertThatCode(() -> gate.check(plainEngine.getCalculatorFactory().getCalculator("CasaTa"), monthsRequest(1000)))
+                .doesNotThrowAnyException();
+        assertThat(gate.getRejected()).isZero();
+    }
+
+    private static boolean accepts(CalculatorEngine engine, MortgageCalculationRequest request) {
+        try {
+            engine.calculate(request);
+            return true;
+        } catch (UnprocessableEntityException e) {
+            return false;
+        }
+    }
+
+    private static MortgageCalculationRequest monthsRequest(int income) {
+        MortgageCalculationRequest request = requestWithIncome(income);
+        request.setTenor(request.getTenor() * 12);
+        return request;
+    }
+
+    private static MortgageCalculationRequest requestWithIncome(int income) {
+        return ReferenceDataSnapshots.casaTaRequest(new VariableInterestRateType(VariableInterestRateType.Type.VARIABLE, 0)).toBuilder()
+                .income(new Income(BigDecimal.valueOf(income), BigDecimal.ZERO))
+                .build();
+    }
+}
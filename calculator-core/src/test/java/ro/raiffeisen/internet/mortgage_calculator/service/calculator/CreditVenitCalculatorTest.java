@@ -127,24 +127,67 @@ class CreditVenitCalculatorTest {
         assertThat(response.getDownPayment()).isNotNull();
         assertThat(response.getHousePrice()).isNotNull();
         assertThat(response.getMinGuaranteeAmount()).isNotNull();
-        
-        // Verify PV calculation was called
-        verify(serviceUtil).calculatePV(anyDouble(), anyInt(), anyDouble());
+
+        // Verify PV calculation was called, with and without the down payment discount
+        verify(serviceUtil, times(2)).calculatePV(anyDouble(), anyInt(), anyDouble());
+    }
+
+    @Test
+    void calculate_withoutLoanAmount_retrievesReferenceDataOnce() {
+        // Given
+        MortgageCalculationRequest request = createRequestWithoutLoanAmount(22);
+        MortgageCalculationResponse response = MortgageCalculationResponse.builder().build();
+
+        setupMocksForIncomeBasedCalculation();
+
+        // When
+        calculator.calculate(request, response);
+
+        // Then - the LTV of the computed amount is looked up, but not the whole additional info again
+        verify(serviceUtil, times(1)).retrieveAdditionalInfo(any());
+        verify(serviceUtil, never()).retrieveLoanProduct(any());
+        verify(serviceUtil, times(1)).retrieveLtv(anyDouble(), any(), any(), any());
+    }
+
+    @Test
+    void calculate_withoutLoanAmount_stopsAtLtvBandEdgeWhereDiscountEnds() {
+        // Given - LTV 75 qualifies for the down payment discount, LTV 85 above 155000 does not
+        MortgageCalculationRequest request = createRequestWithoutLoanAmount(22);
+        MortgageCalculationResponse response = MortgageCalculationResponse.builder().build();
+
+        setupMocksForIncomeBasedCalculation();
+        when(serviceUtil.calculatePV(anyDouble(), anyInt(), anyDouble()))
+                .thenAnswer(invocation -> (double) invocation.getArgument(0) < 6.75 ? 160000.0 : 150000.0);
+        when(serviceUtil.retrieveLtv(anyDouble(), any(), any(), any()))
+                .thenAnswer(invocation -> (double) invocation.getArgument(0) <= 155000 ? 75 : 85);
+
+        // When
+        calculator.calculate(request, response);
+
+        // Then - the highest amount still in the discounted band, at the discounted rate
+        assertThat(response.getMaxAmount().getAmount()).isEqualByComparingTo("155500.00");
+        assertThat(request.getLoanAmount().getAmount()).isEqualByComparingTo("155000.00");
+        assertThat(response.getNominalInterestRate()).isEqualByComparingTo("6.55");
+        verify(serviceUtil, atMost(25)).retrieveLtv(anyDouble(), any(), any(), any());
     }
 
     @Test
-    void calculate_withoutLoanAmount_retrievesLoanProduct() {
+    void calculate_withoutLoanAmount_andNoBandQualifiesForDiscount_keepsUndiscountedAmount() {
         // Given
         MortgageCalculationRequest request = createRequestWithoutLoanAmount(22);
         MortgageCalculationResponse response = MortgageCalculationResponse.builder().build();
 
         setupMocksForIncomeBasedCalculation();
+        when(serviceUtil.calculatePV(anyDouble(), anyInt(), anyDouble()))
+                .thenAnswer(invocation -> (double) invocation.getArgument(0) < 6.75 ? 160000.0 : 150000.0);
+        when(serviceUtil.retrieveLtv(anyDouble(), any(), any(), any())).thenReturn(85);
 
         // When
         calculator.calculate(request, response);
 
         // Then
-        verify(serviceUtil).retrieveLoanProduct("CreditVenit");
+        assertThat(response.getMaxAmount().getAmount()).isEqualByComparingTo("150000.00");
+        assertThat(response.getNominalInterestRate()).isEqualByComparingTo("6.75");
     }
 
     @Test
@@ -319,6 +362,7 @@ class CreditVenitCalculatorTest {
         
         // Core mocks - always needed
         lenient().when(serviceUtil.retrieveLoanProduct("CreditVenit")).thenReturn(loanProduct);
+        lenient().when(serviceUtil.retrieveLtv(anyDouble(), any(), any(), any())).thenReturn(80);
         lenient().when(serviceUtil.retrieveAdditionalInfo(any())).thenReturn(additionalInfo);
         lenient().when(serviceUtil.retrieveInterestRate(any(), anyInt())).thenReturn(rateInfo);
         
@@ -0,0 +1,105 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.comparison;
+
+import org.junit.jupiter.api.Test;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.VariableInterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanProduct;
+import ro.raiffeisen.internet.mortgage_calculator.model.comparison.ProductComparisonResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.comparison.ProductQuote;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.MemoizingReferenceDataProvider;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataSnapshot;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataSnapshots;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.SnapshotReferenceDataProvider;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ProductComparatorTest {
+
+    private final SnapshotReferenceDataProvider referenceDataProvider = spy(new SnapshotReferenceDataProvider(casaTaAndConstructie()));
+    private final ProductComparator comparator = new ProductComparator(
+            CalculatorEngine.create(new MemoizingReferenceDataProvider(referenceDataProvider)));
+
+    @Test
+    void compare_allProducts_quotesEveryRegisteredProductInOrder() {
+        ProductComparisonResponse response = comparator.compare(request(), null, ForkJoinPool.commonPool());
+
+        assertThat(response.getProducts()).extracting(ProductQuote::getProductCode)
+                .containsExactly("CasaTa", "Constructie", "CreditVenit", "FlexiIntegral");
+    }
+
+    @Test
+    void compare_pricedProduct_matchesPlainCalculation() {
+        ProductComparisonResponse response = comparator.compare(request(), List.of("CasaTa"), Runnable::run);
+
+        MortgageCalculationResponse plain = CalculatorEngine.create(new SnapshotReferenceDataProvider(casaTaAndConstructie()))
+                .calculate(request());
+        ProductQuote quote = response.getProducts().get(0);
+        assertThat(quote.getErrors()).isNull();
+        assertThat(quote.getLoanAmount()).isEqualTo(plain.getLoanAmount());
+        assertThat(quote.getTenor()).isEqualTo(25);
+        assertThat(quote.getMonthlyInstallment()).isEqualTo(plain.getMonthlyInstallment());
+        assertThat(quote.getAnnualPercentageRate()).isEqualByComparingTo(plain.getAnnualPercentageRate());
+        assertThat(quote.getTotalPaymentAmount()).isEqualTo(plain.getTotalPaymentAmount());
+    }
+
+    @Test
+    void compare_productsWithoutReferenceData_reportErrorsWithoutFailingOthers() {
+        ProductComparisonResponse response = comparator.compare(request(), List.of("CasaTa", "CreditVenit", "Unknown"), ForkJoinPool.commonPool());
+
+        List<ProductQuote> quotes = response.getProducts();
+        assertThat(quotes.get(0).getErrors()).isNull();
+        assertThat(quotes.get(0).getMonthlyInstallment()).isNotNull();
+        assertThat(quotes.get(1).getErrors()).singleElement()
+                .satisfies(reason -> assertThat(reason.getCode()).isEqualTo(ProductComparator.COMMON_INTERNAL_ERROR));
+        assertThat(quotes.get(1).getMonthlyInstallment()).isNull();
+        assertThat(quotes.get(2).getErrors()).singleElement()
+                .satisfies(reason -> {
+                    assertThat(reason.getCode()).isEqualTo(ProductComparator.COMMON_INVALID_PARAMETER);
+                    assertThat(reason.getMessage()).contains("Unknown");
+                });
+    }
+
+    @Test
+    void compare_sharedReferenceData_isRetrievedOnce() {
+        ProductComparisonResponse response = comparator.compare(request(), List.of("CasaTa", "Constructie"), ForkJoinPool.commonPool());
+
+        assertThat(response.getProducts()).allSatisfy(quote -> assertThat(quote.getErrors()).isNull());
+        verify(referenceDataProvider, times(1)).getDistricts();
+        verify(referenceDataProvider, times(1)).getDiscounts(1);
+        verify(referenceDataProvider, atMost(1)).getExchangeRates(anyString());
+    }
+
+    @Test
+    void compare_leavesRequestUnchanged() {
+        MortgageCalculationRequest request = request();
+
+        comparator.compare(request, List.of("CasaTa", "Constructie"), Runnable::run);
+
+        assertThat(request.getTenor()).isEqualTo(25);
+        assertThat(request.getProductCode()).isEqualTo("CasaTa");
+        assertThat(request.getLoanAmount().getAmount()).isEqualByComparingTo(BigDecimal.valueOf(300000));
+    }
+
+    private static MortgageCalculationRequest request() {
+        return ReferenceDataSnapshots.casaTaRequest(new VariableInterestRateType(VariableInterestRateType.Type.VARIABLE, 0));
+    }
+
+    private static ReferenceDataSnapshot casaTaAndConstructie() {
+        ReferenceDataSnapshot snapshot = ReferenceDataSnapshots.casaTa();
+        snapshot.setProducts(List.of(
+                LoanProduct.builder().idLoan(1).productLoan("CasaTa").build(),
+                LoanProduct.builder().idLoan(1).productLoan("Constructie").build()));
+        return snapshot;
+    }
+}
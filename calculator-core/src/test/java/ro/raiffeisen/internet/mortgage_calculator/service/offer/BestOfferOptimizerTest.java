@@ -0,0 +1,146 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.offer;
+
+import org.junit.jupiter.api.Test;
+import ro.raiffeisen.internet.mortgage_calculator.model.InterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.model.MixedInterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.SpecialOfferRequirements;
+import ro.raiffeisen.internet.mortgage_calculator.model.VariableInterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.Discount;
+import ro.raiffeisen.internet.mortgage_calculator.model.offer.BestOfferRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.offer.BestOfferResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.offer.DiscountOffer;
+import ro.raiffeisen.internet.mortgage_calculator.model.offer.OfferRanking;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataSnapshot;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataSnapshots;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.SnapshotReferenceDataProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BestOfferOptimizerTest {
+
+    private final CalculatorEngine engine = CalculatorEngine.create(new SnapshotReferenceDataProvider(snapshotWithAllDiscounts()));
+    private final BestOfferOptimizer optimizer = new BestOfferOptimizer(engine);
+
+    @Test
+    void optimize_allOptionsConsidered_returnsEveryCombinationRanked() {
+        BestOfferResponse response = optimizer.optimize(allOptions(variableRequest(), OfferRanking.TOTAL_PAYMENT_AMOUNT), ForkJoinPool.commonPool());
+
+        List<DiscountOffer> offers = response.getOffers();
+        assertThat(offers).hasSize(8);
+        assertThat(offers).extracting(DiscountOffer::getRank).containsExactly(1, 2, 3, 4, 5, 6, 7, 8);
+        assertThat(offers).extracting(offer -> offer.getTotalPaymentAmount().getAmount()).isSorted();
+        assertThat(offers).filteredOn(DiscountOffer::isRequested).singleElement()
+                .satisfies(offer -> {
+                    assertThat(offer.isHasSalaryInTheBank()).isFalse();
+                    assertThat(offer.isCasaVerde()).isFalse();
+                    assertThat(offer.isHasInsurance()).isFalse();
+                });
+    }
+
+    @Test
+    void optimize_variableRate_everyOfferMatchesPlainCalculation() {
+        assertOffersMatchPlainCalculation(variableRequest());
+    }
+
+    @Test
+    void optimize_mixedRate_everyOfferMatchesPlainCalculation() {
+        assertOffersMatchPlainCalculation(ReferenceDataSnapshots.casaTaRequest(new MixedInterestRateType(MixedInterestRateType.Type.MIXED, 0, 3)));
+    }
+
+    @Test
+    void optimize_rankByAnnualPercentageRate_sortsByDae() {
+        BestOfferResponse response = optimizer.optimize(allOptions(variableRequest(), OfferRanking.ANNUAL_PERCENTAGE_RATE), Runnable::run);
+
+        assertThat(response.getRankBy()).isEqualTo(OfferRanking.ANNUAL_PERCENTAGE_RATE);
+        assertThat(response.getOffers()).extracting(DiscountOffer::getAnnualPercentageRate).isSorted();
+        DiscountOffer best = response.getOffers().get(0);
+        assertThat(best.isHasSalaryInTheBank()).isTrue();
+        assertThat(best.isCasaVerde()).isTrue();
+    }
+
+    @Test
+    void optimize_optionsNotConsidered_keepRequestedValues() {
+        MortgageCalculationRequest request = variableRequest().toBuilder()
+                .specialOfferRequirements(new SpecialOfferRequirements(true, false))
+                .hasInsurance(true)
+                .build();
+        BestOfferRequest bestOfferRequest = BestOfferRequest.builder()
+                .calculationRequest(request)
+                .considerCasaVerde(true)
+                .build();
+
+        BestOfferResponse response = optimizer.optimize(bestOfferRequest, Runnable::run);
+
+        assertThat(response.getRankBy()).isEqualTo(OfferRanking.TOTAL_PAYMENT_AMOUNT);
+        assertThat(response.getOffers()).hasSize(2)
+                .allSatisfy(offer -> {
+                    assertThat(offer.isHasSalaryInTheBank()).isTrue();
+                    assertThat(offer.isHasInsurance()).isTrue();
+                });
+        assertThat(response.getOffers().get(0).isCasaVerde()).isTrue();
+        assertThat(response.getOffers().get(1).isRequested()).isTrue();
+    }
+
+    private void assertOffersMatchPlainCalculation(MortgageCalculationRequest request) {
+        BestOfferResponse response = optimizer.optimize(allOptions(request, OfferRanking.TOTAL_PAYMENT_AMOUNT), ForkJoinPool.commonPool());
+
+        assertThat(response.getOffers()).hasSize(8).allSatisfy(offer -> {
+            MortgageCalculationResponse plain = engine.calculate(request.toBuilder()
+                    .specialOfferRequirements(new SpecialOfferRequirements(offer.isHasSalaryInTheBank(), offer.isCasaVerde()))
+                    .hasInsurance(offer.isHasInsurance())
+                    .build());
+            assertThat(offer.getNominalInterestRate()).isEqualByComparingTo(plain.getNominalInterestRate());
+            assertThat(offer.getMonthlyInstallment()).isEqualTo(plain.getMonthlyInstallment());
+            assertThat(offer.getAnnualPercentageRate()).isEqualByComparingTo(plain.getAnnualPercentageRate());
+            assertThat(offer.getTotalPaymentAmount()).isEqualTo(plain.getTotalPaymentAmount());
+        });
+    }
+
+    private static BestOfferRequest allOptions(MortgageCalculationRequest request, OfferRanking rankBy) {
+        return BestOfferRequest.builder()
+                .calculationRequest(request)
+                .rankBy(rankBy)
+                .considerSalaryInTheBank(true)
+                .considerCasaVerde(true)
+                .considerInsurance(true)
+                .build();
+    }
+
+    private static MortgageCalculationRequest variableRequest() {
+        InterestRateType variable = new VariableInterestRateType(VariableInterestRateType.Type.VARIABLE, 0);
+        return ReferenceDataSnapshots.casaTaRequest(variable);
+    }
+
+    private static ReferenceDataSnapshot snapshotWithAllDiscounts() {
+        ReferenceDataSnapshot snapshot = ReferenceDataSnapshots.casaTa();
+        List<ReferenceDataSnapshot.LoanParametersEntry> loanParameters = new ArrayList<>(snapshot.getLoanParameters());
+        snapshot.getLoanParameters().forEach(entry -> loanParameters.add(ReferenceDataSnapshot.LoanParametersEntry.builder()
+                .loanProductId(entry.getLoanProductId())
+                .ourClient(true)
+                .currency(entry.getCurrency())
+                .interestRateType(entry.getInterestRateType())
+                .parameters(entry.getParameters())
+                .build()));
+        List<ReferenceDataSnapshot.InterestRatesEntry> interestRates = new ArrayList<>(snapshot.getInterestRates());
+        snapshot.getInterestRates().forEach(entry -> interestRates.add(ReferenceDataSnapshot.InterestRatesEntry.builder()
+                .loanProductId(entry.getLoanProductId())
+                .ourClient(true)
+                .rates(entry.getRates())
+                .build()));
+        snapshot.setLoanParameters(loanParameters);
+        snapshot.setInterestRates(interestRates);
+        snapshot.setDiscounts(Map.of(1, List.of(
+                Discount.builder().discountName("client").discountValue(0.2).build(),
+                Discount.builder().discountName("green house").discountValue(0.1).build(),
+                Discount.builder().discountName("asigurare").discountValue(0.3).build())));
+        return snapshot;
+    }
+}
@@ -0,0 +1,163 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.prepayment;
+
+import org.junit.jupiter.api.Test;
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+import ro.raiffeisen.internet.mortgage_calculator.model.InstallmentType;
+import ro.raiffeisen.internet.mortgage_calculator.model.MixedInterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.VariableInterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.model.prepayment.EarlyRepaymentResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.prepayment.Prepayment;
+import ro.raiffeisen.internet.mortgage_calculator.model.prepayment.PrepaymentResult;
+import ro.raiffeisen.internet.mortgage_calculator.model.prepayment.PrepaymentStrategy;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.ColumnarRepaymentPlan;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataSnapshot;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataSnapshots;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.SnapshotReferenceDataProvider;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class EarlyRepaymentSimulatorTest {
+
+    private final CalculatorEngine engine = CalculatorEngine.create(new SnapshotReferenceDataProvider(snapshotWithCommission()));
+    private final EarlyRepaymentSimulator simulator = new EarlyRepaymentSimulator(engine);
+
+    @Test
+    void simulate_negligiblePrepayment_reproducesBaselinePlan() {
+        EarlyRepaymentResponse response = simulator.simulate(variableRequest(),
+                List.of(new Prepayment(12, new BigDecimal("0.01"), PrepaymentStrategy.REDUCE_INSTALLMENT)));
+
+        assertThat(response.getLastMonth()).isEqualTo(300);
+        assertThat(response.getInterestSaved().doubleValue()).isCloseTo(0, within(1.0));
+        assertThat(response.getNetSavings().doubleValue()).isCloseTo(0, within(1.0));
+    }
+
+    @Test
+    void simulate_mixedRateNegligiblePrepayment_reproducesBaselinePlanAcrossRateChange() {
+        MortgageCalculationRequest request = ReferenceDataSnapshots.casaTaRequest(new MixedInterestRateType(MixedInterestRateType.Type.MIXED, 0, 3));
+
+        EarlyRepaymentResponse response = simulator.simulate(request,
+                List.of(new Prepayment(12, new BigDecimal("0.01"), PrepaymentStrategy.REDUCE_INSTALLMENT)));
+
+        assertThat(response.getInterestSaved().doubleValue()).isCloseTo(0, within(1.0));
+    }
+
+    @Test
+    void simulate_reduceInstallment_keepsTenorAndLowersInstallment() {
+        MortgageCalculationResponse baseline = engine.calculate(variableRequest());
+
+        EarlyRepaymentResponse response = simulator.simulate(variableRequest(),
+                List.of(new Prepayment(24, BigDecimal.valueOf(50000), PrepaymentStrategy.REDUCE_INSTALLMENT)));
+
+        PrepaymentResult result = response.getPrepayments().get(0);
+        assertThat(result.getAmount()).isEqualByComparingTo("50000");
+        assertThat(result.getCommission()).isEqualByComparingTo("500");
+        assertThat(result.getLastMonth()).isEqualTo(300);
+        assertThat(result.getNextInstallment()).isLessThan(baseline.getRepaymentPlan().getEntry(25).getInstallmentAmount().getAmount());
+        assertThat(response.getTotalCommission()).isEqualByComparingTo("500");
+        assertThat(response.getInterestSaved()).isPositive();
+        assertThat(response.getNetSavings()).isPositive().isLessThan(response.getInterestSaved());
+        assertThat(response.getBaselineTotalPaymentAmount()).isEqualTo(baseline.getTotalPaymentAmount());
+        assertThat(response.getTotalPaymentAmount().getAmount())
+                .isEqualByComparingTo(baseline.getTotalPaymentAmount().getAmount().subtract(response.getNetSavings()));
+        assertThat(response.getEarlyRepaymentCommissionDescription()).isEqualTo("1% din suma rambursata anticipat");
+    }
+
+    @Test
+    void simulate_reduceTenor_keepsInstallmentAndSavesMoreInterest() {
+        MortgageCalculationResponse baseline = engine.calculate(variableRequest());
+        Prepayment reduceTenor = new Prepayment(24, BigDecimal.valueOf(50000), PrepaymentStrategy.REDUCE_TENOR);
+        Prepayment reduceInstallment = new Prepayment(24, BigDecimal.valueOf(50000), PrepaymentStrategy.REDUCE_INSTALLMENT);
+
+        EarlyRepaymentResponse shorter = simulator.simulate(variableRequest(), List.of(reduceTenor));
+        EarlyRepaymentResponse lower = simulator.simulate(variableRequest(), List.of(reduceInstallment));
+
+        BigDecimal baselineInstallment = baseline.getRepaymentPlan().getEntry(25).getInstallmentAmount().getAmount();
+        assertThat(shorter.getLastMonth()).isLessThan(300);
+        assertThat(shorter.getPrepayments().get(0).getNextInstallment().doubleValue())
+                .isCloseTo(baselineInstallment.doubleValue(), within(25.0))
+                .isLessThanOrEqualTo(baselineInstallment.doubleValue());
+        assertThat(shorter.getInterestSaved()).isGreaterThan(lower.getInterestSaved());
+    }
+
+    @Test
+    void simulate_fullRepayment_endsLoanAndSavesRemainingCosts() {
+        MortgageCalculationResponse baseline = engine.calculate(variableRequest());
+        ColumnarRepaymentPlan plan = baseline.getRepaymentPlan();
+
+        EarlyRepaymentResponse response = simulator.simulate(variableRequest(), List.of(new Prepayment(60, null, null)));
+
+        BigDecimal remaining = plan.getRemainingLoanAmount(60);
+        BigDecimal commission = remaining.multiply(BigDecimal.valueOf(0.01)).setScale(2, java.math.RoundingMode.HALF_UP);
+        PrepaymentResult result = response.getPrepayments().get(0);
+        assertThat(result.getAmount()).isEqualByComparingTo(remaining);
+        assertThat(result.getRemainingLoanAmount()).isEqualByComparingTo("0");
+        assertThat(result.getNextInstallment()).isEqualByComparingTo("0");
+        assertThat(response.getLastMonth()).isEqualTo(60);
+        assertThat(response.getInterestSaved()).isEqualByComparingTo(plan.sumInterestAmounts(61, 300));
+        assertThat(response.getNetSavings()).isEqualByComparingTo(
+                plan.sumTotalPaymentAmounts(61, 300).subtract(remaining).subtract(commission));
+    }
+
+    @Test
+    void simulate_decreasingInstallments_reduceTenorKeepsPrincipal() {
+        MortgageCalculationRequest request = variableRequest().toBuilder().installmentType(InstallmentType.DECREASING_INSTALLMENTS).build();
+
+        EarlyRepaymentResponse response = simulator.simulate(request,
+                List.of(new Prepayment(12, BigDecimal.valueOf(30000), PrepaymentStrategy.REDUCE_TENOR)));
+
+        assertThat(response.getLastMonth()).isLessThan(300);
+        assertThat(response.getInterestSaved()).isPositive();
+    }
+
+    @Test
+    void simulate_severalPrepayments_appliesThemInOrder() {
+        EarlyRepaymentResponse response = simulator.simulate(variableRequest(), List.of(
+                new Prepayment(12, BigDecimal.valueOf(20000), PrepaymentStrategy.REDUCE_TENOR),
+                new Prepayment(48, BigDecimal.valueOf(20000), PrepaymentStrategy.REDUCE_TENOR)));
+
+        List<PrepaymentResult> results = response.getPrepayments();
+        assertThat(results).hasSize(2);
+        assertThat(results.get(1).getLastMonth()).isLessThan(results.get(0).getLastMonth());
+        assertThat(results.get(1).getRemainingLoanAmount()).isLessThan(results.get(0).getRemainingLoanAmount());
+        assertThat(response.getLastMonth()).isEqualTo(results.get(1).getLastMonth());
+    }
+
+    @Test
+    void simulate_invalidPrepayments_throwBadRequest() {
+        assertThatThrownBy(() -> simulator.simulate(variableRequest(), List.of()))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> simulator.simulate(variableRequest(), List.of(new Prepayment(300, BigDecimal.TEN, null))))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> simulator.simulate(variableRequest(), List.of(
+                new Prepayment(24, BigDecimal.TEN, null),
+                new Prepayment(12, BigDecimal.TEN, null))))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("increasing");
+        assertThatThrownBy(() -> simulator.simulate(variableRequest(), List.of(
+                new Prepayment(12, null, null),
+                new Prepayment(24, BigDecimal.TEN, null))))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("already repaid");
+    }
+
+    private static MortgageCalculationRequest variableRequest() {
+        return ReferenceDataSnapshots.casaTaRequest(new VariableInterestRateType(VariableInterestRateType.Type.VARIABLE, 0));
+    }
+
+    private static ReferenceDataSnapshot snapshotWithCommission() {
+        ReferenceDataSnapshot snapshot = ReferenceDataSnapshots.casaTa();
+        snapshot.getLoanParameters().forEach(entry -> {
+            entry.getParameters().setEarlyRepaymentCommissionVariableInterest(1f);
+            entry.getParameters().setEarlyRepaymentCommissionDescription("1% din suma rambursata anticipat");
+        });
+        return snapshot;
+    }
+}
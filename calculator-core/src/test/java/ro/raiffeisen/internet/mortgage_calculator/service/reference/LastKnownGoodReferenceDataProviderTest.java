@@ -0,0 +1,196 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.reference;
+
+import org.junit.jupiter.api.Test;
+import ro.raiffeisen.internet.mortgage_calculator.exception.InternalServerException;
+import ro.raiffeisen.internet.mortgage_calculator.model.InterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.model.MixedInterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.Discount;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.ExchangeRate;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanProduct;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class LastKnownGoodReferenceDataProviderTest {
+
+    private static final InterestRateType MIXED = new MixedInterestRateType(MixedInterestRateType.Type.MIXED, 0, 3);
+
+    @Test
+    void lookups_delegateDown_areAnsweredWithLastGoodData() {
+        SnapshotReferenceDataProvider live = spy(new SnapshotReferenceDataProvider(ReferenceDataSnapshots.casaTa()));
+        LastKnownGoodReferenceDataProvider provider = new LastKnownGoodReferenceDataProvider(live);
+        MortgageCalculationResponse expected = CalculatorEngine.create(provider).calculate(ReferenceDataSnapshots.casaTaRequest(MIXED));
+
+        failAllLookups(live);
+
+        MortgageCalculationResponse duringOutage = CalculatorEngine.create(provider).calculate(ReferenceDataSnapshots.casaTaRequest(MIXED));
+        assertThat(duringOutage).isEqualTo(expected);
+        assertThat(provider.getFallbacks()).isPositive();
+    }
+
+    @Test
+    void lookups_neverRecorded_failLikeTheDelegate() {
+        ReferenceDataProvider live = mock(ReferenceDataProvider.class);
+        when(live.getLoanProduct("CasaTa")).thenThrow(new InternalServerException("admin service unavailable"));
+        LastKnownGoodReferenceDataProvider provider = new LastKnownGoodReferenceDataProvider(live);
+
+        assertThatThrownBy(() -> provider.getLoanProduct("CasaTa")).isInstanceOf(InternalServerException.class);
+        assertThat(provider.getFallbacks()).isZero();
+    }
+
+    @Test
+    void seed_fromSnapshot_isServedWithoutRemoteCallsUntilRevalidated() {
+        LastKnownGoodReferenceDataProvider recorder = new LastKnownGoodReferenceDataProvider(
+                new SnapshotReferenceDataProvider(ReferenceDataSnapshots.casaTa()));
+        MortgageCalculationResponse expected = CalculatorEngine.create(recorder).calculate(ReferenceDataSnapshots.casaTaRequest(MIXED));
+
+        SnapshotReferenceDataProvider live = spy(new SnapshotReferenceDataProvider(ReferenceDataSnapshots.casaTa()));
+        LastKnownGoodReferenceDataProvider restarted = new LastKnownGoodReferenceDataProvider(live);
+        restarted.seed(recorder.toSnapshot());
+
+        assertThat(CalculatorEngine.create(restarted).calculate(ReferenceDataSnapshots.casaTaRequest(MIXED))).isEqualTo(expected);
+        verifyNoInteractions(live);
+        assertThat(restarted.isRevalidated()).isFalse();
+
+        assertThat(restarted.revalidate()).isZero();
+        assertThat(restarted.isRevalidated()).isTrue();
+        clearInvocations(live);
+        restarted.getDistricts();
+        verify(live).getDistricts();
+    }
+
+    @Test
+    void revalidate_delegateDown_keepsServingSeededData() {
+        LastKnownGoodReferenceDataProvider recorder = new LastKnownGoodReferenceDataProvider(
+                new SnapshotReferenceDataProvider(ReferenceDataSnapshots.casaTa()));
+        CalculatorEngine.create(recorder).calculate(ReferenceDataSnapshots.casaTaRequest(MIXED));
+        ReferenceDataProvider live = mock(ReferenceDataProvider.class, invocation -> {
+            throw new InternalServerException("admin service unavailable");
+        });
+        LastKnownGoodReferenceDataProvider restarted = new LastKnownGoodReferenceDataProvider(live);
+        restarted.seed(recorder.toSnapshot());
+
+        assertThat(restarted.revalidate()).isPositive();
+        assertThat(restarted.isRevalidated()).isFalse();
+        assertThat(restarted.getLoanProduct("CasaTa").getIdLoan()).isEqualTo(1);
+    }
+
+    @Test
+    void getLtv_unrecordedAmountDuringOutage_usesNextLargerRecordedAmount() {
+        ReferenceDataProvider live = mock(ReferenceDataProvider.class);
+        when(live.getLtv(400000d, false, 1, 1)).thenReturn(85);
+        when(live.getLtv(700000d, false, 1, 1)).thenReturn(75);
+        LastKnownGoodReferenceDataProvider provider = new LastKnownGoodReferenceDataProvider(live);
+        provider.getLtv(400000d, false, 1, 1);
+        provider.getLtv(700000d, false, 1, 1);
+        long version = provider.getVersion();
+
+        when(live.getLtv(any(), any(), any(), any())).thenThrow(new InternalServerException("admin service unavailable"));
+
+        assertThat(provider.getLtv(300000d, false, 1, 1)).isEqualTo(85);
+        assertThat(provider.getLtv(500000d, false, 1, 1)).isEqualTo(75);
+        assertThatThrownBy(() -> provider.getLtv(800000d, false, 1, 1)).isInstanceOf(InternalServerException.class);
+        assertThat(provider.getVersion()).isEqualTo(version);
+    }
+
+    @Test
+    void getLtv_manyAmounts_areRecordedAndRevalidatedAsBands() {
+        ReferenceDataProvider live = mock(ReferenceDataProvider.class);
+        when(live.getLtv(any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Double>getArgument(0) <= 500000d ? 85 : 75);
+        LastKnownGoodReferenceDataProvider provider = new LastKnownGoodReferenceDataProvider(live);
+
+        for (int amount = 1000; amount <= 1000000; amount += 1000) {
+            provider.getLtv((double) amount, false, 1, 1);
+        }
+
+        assertThat(provider.toSnapshot().getLtvBands())
+                .extracting(ReferenceDataSnapshot.LtvBand::getMaxAmount, ReferenceDataSnapshot.LtvBand::getLtv)
+                .containsExactlyInAnyOrder(tuple(500000d, 85), tuple(1000000d, 75));
+        clearInvocations(live);
+        assertThat(provider.revalidate()).isZero();
+        verify(live, times(2)).getLtv(any(), any(), any(), any());
+
+        doThrow(new InternalServerException("admin service unavailable")).when(live).getLtv(any(), any(), any(), any());
+        assertThat(provider.getLtv(123456d, false, 1, 1)).isEqualTo(85);
+        assertThat(provider.getLtv(654321d, false, 1, 1)).isEqualTo(75);
+    }
+
+    @Test
+    void getContentVersion_changesOnlyWhenAnAnswerOfTheProductChanges() {
+        ReferenceDataProvider live = mock(ReferenceDataProvider.class);
+        when(live.getLoanProduct("CasaTa")).thenReturn(LoanProduct.builder().idLoan(1).productLoan("CasaTa").build());
+        when(live.getLoanProduct("CreditVenit")).thenReturn(LoanProduct.builder().idLoan(2).productLoan("CreditVenit").build());
+        when(live.getDiscounts(1)).thenReturn(List.of(Discount.builder().id(1).discountValue(0.5).build()));
+        when(live.getLtv(400000d, false, 1, 1)).thenReturn(85);
+        when(live.getLtv(500000d, false, 1, 1)).thenReturn(85);
+        LastKnownGoodReferenceDataProvider provider = new LastKnownGoodReferenceDataProvider(live);
+        AtomicInteger notifications = new AtomicInteger();
+        provider.addChangeListener(notifications::incrementAndGet);
+        provider.getLoanProduct("CasaTa");
+        provider.getLoanProduct("CreditVenit");
+        long casaTa = provider.getContentVersion("CasaTa");
+        long creditVenit = provider.getContentVersion("CreditVenit");
+
+        provider.getDiscounts(1);
+        provider.getLtv(400000d, false, 1, 1);
+        provider.getLtv(500000d, false, 1, 1);
+        provider.getDiscounts(1);
+        assertThat(provider.getContentVersion("CasaTa")).isEqualTo(casaTa);
+        assertThat(notifications).hasValue(0);
+
+        when(live.getDiscounts(1)).thenReturn(List.of(Discount.builder().id(1).discountValue(0.25).build()));
+        provider.getDiscounts(1);
+
+        assertThat(provider.getContentVersion("CasaTa")).isNotEqualTo(casaTa);
+        assertThat(provider.getContentVersion("CreditVenit")).isEqualTo(creditVenit);
+        assertThat(notifications).hasValue(1);
+    }
+
+    @Test
+    void getContentVersion_sharedDataChanged_changesForAllProducts() {
+        ReferenceDataProvider live = mock(ReferenceDataProvider.class);
+        when(live.getLoanProduct("CasaTa")).thenReturn(LoanProduct.builder().idLoan(1).productLoan("CasaTa").build());
+        when(live.getExchangeRates("EUR")).thenReturn(List.of(ExchangeRate.builder().currency("EUR").buyRate(new BigDecimal("4.97")).build()));
+        LastKnownGoodReferenceDataProvider provider = new LastKnownGoodReferenceDataProvider(live);
+        provider.getLoanProduct("CasaTa");
+        provider.getExchangeRates("EUR");
+        long casaTa = provider.getContentVersion("CasaTa");
+        long unknown = provider.getContentVersion("CreditVenit");
+
+        when(live.getExchangeRates("EUR")).thenReturn(List.of(ExchangeRate.builder().currency("EUR").buyRate(new BigDecimal("4.98")).build()));
+        assertThat(provider.revalidate()).isZero();
+
+        assertThat(provider.getContentVersion("CasaTa")).isNotEqualTo(casaTa);
+        assertThat(provider.getContentVersion("CreditVenit")).isNotEqualTo(unknown);
+    }
+
+    private static void failAllLookups(ReferenceDataProvider live) {
+        InternalServerException outage = new InternalServerException("admin service unavailable");
+        doThrow(outage).when(live).getLoanProduct(anyString());
+        doThrow(outage).when(live).getLoanAllParameters(any(), anyBoolean(), any(), any(), anyBoolean());
+        doThrow(outage).when(live).getLoanInterestRates(any(), anyBoolean(), anyBoolean());
+        doThrow(outage).when(live).getDistricts();
+        doThrow(outage).when(live).getLtv(any(), any(), any(), any());
+        doThrow(outage).when(live).getDiscounts(any());
+        doThrow(outage).when(live).getExchangeRates(any());
+    }
+}
@@ -0,0 +1,112 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.reference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ro.raiffeisen.internet.mortgage_calculator.exception.InternalServerException;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanProduct;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.NomenclatureDistrict;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MemoizingReferenceDataProviderTest {
+
+    @Mock
+    private ReferenceDataProvider delegate;
+
+    @Test
+    void lookups_sameArguments_callDelegateOnce() {
+        List<NomenclatureDistrict> districts = List.of(NomenclatureDistrict.builder().city("Bucuresti").build());
+        when(delegate.getDistricts()).thenReturn(districts);
+        when(delegate.getLtv(300000d, true, 1, 1)).thenReturn(85);
+        when(delegate.getLtv(600000d, true, 1, 1)).thenReturn(75);
+        MemoizingReferenceDataProvider provider = new MemoizingReferenceDataProvider(delegate);
+
+        assertThat(provider.getDistricts()).isSameAs(districts);
+        assertThat(provider.getDistricts()).isSameAs(districts);
+        assertThat(provider.getLtv(300000d, true, 1, 1)).isEqualTo(85);
+        assertThat(provider.getLtv(600000d, true, 1, 1)).isEqualTo(75);
+        assertThat(provider.getLtv(300000d, true, 1, 1)).isEqualTo(85);
+
+        verify(delegate, times(1)).getDistricts();
+        verify(delegate, times(1)).getLtv(300000d, true, 1, 1);
+        verify(delegate, times(1)).getLtv(600000d, true, 1, 1);
+    }
+
+    @Test
+    void lookups_nullAnswer_isRemembered() {
+        MemoizingReferenceDataProvider provider = new MemoizingReferenceDataProvider(delegate);
+
+        assertThat(provider.getLoanProduct("CasaTa")).isNull();
+        assertThat(provider.getLoanProduct("CasaTa")).isNull();
+
+        verify(delegate, times(1)).getLoanProduct("CasaTa");
+    }
+
+    @Test
+    void lookups_failure_isRetried() {
+        LoanProduct product = LoanProduct.builder().idLoan(1).productLoan("CasaTa").build();
+        when(delegate.getLoanProduct("CasaTa"))
+                .thenThrow(new InternalServerException("admin service unavailable"))
+                .thenReturn(product);
+        MemoizingReferenceDataProvider provider = new MemoizingReferenceDataProvider(delegate);
+
+        assertThatThrownBy(() -> provider.getLoanProduct("CasaTa")).isInstanceOf(InternalServerException.class);
+        assertThat(provider.getLoanProduct("CasaTa")).isSameAs(product);
+        assertThat(provider.getLoanProduct("CasaTa")).isSameAs(product);
+
+        verify(delegate, times(2)).getLoanProduct("CasaTa");
+    }
+
+    @Test
+    void lookups_whileTheFirstIsLoading_waitForItWithoutBlockingOtherKeys() throws Exception {
+        List<NomenclatureDistrict> districts = List.of(NomenclatureDistrict.builder().city("Bucuresti").build());
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getDistricts()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return districts;
+        });
+        when(delegate.getLtv(300000d, true, 1, 1)).thenReturn(85);
+        MemoizingReferenceDataProvider provider = new MemoizingReferenceDataProvider(delegate);
+
+        CompletableFuture<List<NomenclatureDistrict>> first = CompletableFuture.supplyAsync(provider::getDistricts);
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<List<NomenclatureDistrict>> second = CompletableFuture.supplyAsync(provider::getDistricts);
+
+        assertThat(provider.getLtv(300000d, true, 1, 1)).isEqualTo(85);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(districts);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(districts);
+        verify(delegate, times(1)).getDistricts();
+    }
+
+    @Test
+    void lookups_answeredFromMemory_areCountedByKind() {
+        MemoizingReferenceDataProvider provider = new MemoizingReferenceDataProvider(delegate);
+
+        provider.getDistricts();
+        provider.getDistricts();
+        provider.getDistricts();
+        provider.getLtv(300000d, true, 1, 1);
+        provider.getLtv(600000d, true, 1, 1);
+        provider.getLtv(300000d, true, 1, 1);
+
+        assertThat(provider.getLoads()).isEqualTo(3);
+        assertThat(provider.getDuplicates()).containsExactly(entry("districts", 2L), entry("ltv", 1L));
+    }
+}
@@ -0,0 +1,80 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.reference;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ro.raiffeisen.internet.mortgage_calculator.model.InterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.model.MixedInterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReferenceDataSnapshotCodecTest {
+
+    private static final InterestRateType MIXED = new MixedInterestRateType(MixedInterestRateType.Type.MIXED, 0, 3);
+
+    private final ReferenceDataSnapshotCodec codec = new ReferenceDataSnapshotCodec();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void read_writtenSnapshot_calculatesLikeTheOriginal() throws IOException {
+        ReferenceDataSnapshot snapshot = ReferenceDataSnapshots.casaTa();
+        snapshot.setCreatedAt(LocalDateTime.of(2026, 10, 1, 12, 0));
+        Path path = directory.resolve("reference-data.bin");
+
+        codec.write(snapshot, path);
+        ReferenceDataSnapshot read = codec.read(path);
+
+        assertThat(read).isEqualTo(snapshot);
+        assertThat(Files.size(path)).isLessThan(new ObjectMapper()
+                .findAndRegisterModules().writeValueAsBytes(snapshot).length);
+        MortgageCalculationResponse expected = CalculatorEngine.create(new SnapshotReferenceDataProvider(snapshot))
+                .calculate(ReferenceDataSnapshots.casaTaRequest(MIXED));
+        MortgageCalculationResponse actual = CalculatorEngine.create(new SnapshotReferenceDataProvider(read))
+                .calculate(ReferenceDataSnapshots.casaTaRequest(MIXED));
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void read_corruptedPayload_isRejected() throws IOException {
+        Path path = directory.resolve("reference-data.bin");
+        codec.write(ReferenceDataSnapshots.casaTa(), path);
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 5] ^= 0x40;
+        Files.write(path, bytes);
+
+        assertThatThrownBy(() -> codec.read(path)).isInstanceOf(IOException.class).hasMessageContaining("checksum");
+    }
+
+    @Test
+    void read_truncatedFile_isRejected() throws IOException {
+        Path path = directory.resolve("reference-data.bin");
+        codec.write(ReferenceDataSnapshots.casaTa(), path);
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 10));
+
+        assertThatThrownBy(() -> codec.read(path)).isInstanceOf(IOException.class).hasMessageContaining("truncated");
+    }
+
+    @Test
+    void read_unknownFormatVersion_isRejected() throws IOException {
+        Path path = directory.resolve("reference-data.bin");
+        codec.write(ReferenceDataSnapshots.casaTa(), path);
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer.wrap(bytes).putInt(4, ReferenceDataSnapshotCodec.FORMAT_VERSION + 1);
+        Files.write(path, bytes);
+
+        assertThatThrownBy(() -> codec.read(path)).isInstanceOf(IOException.class).hasMessageContaining("format version");
+    }
+}
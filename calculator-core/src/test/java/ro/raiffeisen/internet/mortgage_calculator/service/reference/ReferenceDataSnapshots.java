@@ -0,0 +1,85 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.reference;
+
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+import ro.raiffeisen.internet.mortgage_calculator.model.Area;
+import ro.raiffeisen.internet.mortgage_calculator.model.Income;
+import ro.raiffeisen.internet.mortgage_calculator.model.InstallmentType;
+import ro.raiffeisen.internet.mortgage_calculator.model.InterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.SpecialOfferRequirements;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.Discount;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.ExchangeRate;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanAllParameters;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanInterestRate;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanProduct;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.NomenclatureDistrict;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reference data for CasaTa loans in RON, enough to run complete calculations in tests.
+ */
+public final class ReferenceDataSnapshots {
+
+    private ReferenceDataSnapshots() {
+    }
+
+    public static ReferenceDataSnapshot casaTa() {
+        return ReferenceDataSnapshot.builder()
+                .products(List.of(LoanProduct.builder().idLoan(1).productLoan("CasaTa").build()))
+                .loanParameters(List.of(
+                        loanParameters("Dobanda variabila"),
+                        loanParameters("Dobanda mixta")))
+                .interestRates(List.of(ReferenceDataSnapshot.InterestRatesEntry.builder()
+                        .loanProductId(1)
+                        .rates(List.of(
+                                LoanInterestRate.builder().interestRateType("Dobanda variabila").interestRate(7.5f).margin(1.95f).year(0).build(),
+                                LoanInterestRate.builder().interestRateType("Dobanda fixa").interestRate(6.5f).margin(1.95f).year(3).build(),
+                                LoanInterestRate.builder().interestRateType("Dobanda variabila").interestRate(7.5f).margin(1.95f).year(3).build()))
+                        .build()))
+                .districts(List.of(NomenclatureDistrict.builder().city("Bucuresti").county("Bucuresti").zone(1).build()))
+                .ltvBands(List.of(
+                        ReferenceDataSnapshot.LtvBand.builder().loanProductId(1).financingZone(1).ltv(75).build(),
+                        ReferenceDataSnapshot.LtvBand.builder().loanProductId(1).financingZone(1).maxAmount(500000d).ltv(85).build()))
+                .discounts(Map.of(1, List.of(Discount.builder().discountName("client").discountValue(0.2).build())))
+                .exchangeRates(Map.of("EUR", List.of(ExchangeRate.builder().currencyPair("EURRON").referenceRate("4.97").build())))
+                .build();
+    }
+
+    public static MortgageCalculationRequest casaTaRequest(InterestRateType interestRateType) {
+        return MortgageCalculationRequest.builder()
+                .productCode("CasaTa")
+                .loanAmount(new Amount("RON", BigDecimal.valueOf(300000)))
+                .tenor(25)
+                .age(35)
+                .area(new Area("Bucuresti", "Bucuresti"))
+                .income(new Income(BigDecimal.valueOf(20000), BigDecimal.valueOf(1000)))
+                .downPayment(BigDecimal.valueOf(60000))
+                .interestRateType(interestRateType)
+                .installmentType(InstallmentType.EQUAL_INSTALLMENTS)
+                .specialOfferRequirements(new SpecialOfferRequirements(false, false))
+                .build();
+    }
+
+    private static ReferenceDataSnapshot.LoanParametersEntry loanParameters(String interestRateType) {
+        LoanAllParameters parameters = LoanAllParameters.builder()
+                .currency("RON")
+                .analysisCommission(500)
+                .compulsoryPremiumInsuranceRate(0.1f)
+                .lifeInsurance(BigDecimal.valueOf(0.03))
+                .buildingPADInsurancePremiumRateEuro(BigDecimal.valueOf(20))
+                .monthlyInsuranceCostCalculationFormula(0.03f)
+                .oneTimeInsuranceCostCalculationFormula(0.1f)
+                .ircc(5.55f)
+                .build();
+
+        return ReferenceDataSnapshot.LoanParametersEntry.builder()
+                .loanProductId(1)
+                .currency("RON")
+                .interestRateType(interestRateType)
+                .parameters(parameters)
+                .build();
+    }
+}
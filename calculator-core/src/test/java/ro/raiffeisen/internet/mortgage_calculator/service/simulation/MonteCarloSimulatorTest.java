@@ -0,0 +1,126 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.simulation;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import ro.raiffeisen.internet.mortgage_calculator.model.MixedInterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.VariableInterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.model.simulation.PercentileBand;
+import ro.raiffeisen.internet.mortgage_calculator.model.simulation.SimulationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataSnapshots;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.SnapshotReferenceDataProvider;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MonteCarloSimulatorTest {
+
+    private static ForkJoinPool pool;
+
+    private final CalculatorEngine engine = CalculatorEngine.create(new SnapshotReferenceDataProvider(ReferenceDataSnapshots.casaTa()));
+    private final MonteCarloSimulator simulator = new MonteCarloSimulator(engine);
+
+    @BeforeAll
+    static void createPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    void simulate_withoutVolatilityAtCurrentIrcc_reproducesBaseline() {
+        SimulationResponse response = simulator.simulate(variableRequest(), 2000, 1L, new IrccModel(0.5, 5.55, 0), pool);
+
+        assertCollapsed(response.getMaxMonthlyInstallment());
+        assertCollapsed(response.getTotalPaymentAmount());
+        assertCollapsed(response.getAnnualPercentageRate());
+
+        BigDecimal baselineInstallment = response.getBaseline().getRepaymentPlan().getEntry(1).getInstallmentAmount().getAmount();
+        assertThat(response.getMaxMonthlyInstallment().getP50().doubleValue())
+                .isCloseTo(baselineInstallment.doubleValue(), within(1.0));
+        assertThat(response.getTotalPaymentAmount().getP50().doubleValue())
+                .isCloseTo(response.getBaseline().getTotalPaymentAmount().getAmount().doubleValue(), within(50.0));
+        assertThat(response.getAnnualPercentageRate().getP50().doubleValue())
+                .isCloseTo(response.getBaseline().getAnnualPercentageRate().doubleValue(), within(0.02));
+    }
+
+    @Test
+    void simulate_sameSeed_sameBandsWhateverThePool() {
+        IrccModel model = new IrccModel(0.5, 4.5, 1.2);
+
+        SimulationResponse first = simulator.simulate(variableRequest(), 5000, 42L, model, pool);
+        ForkJoinPool singleThread = new ForkJoinPool(1);
+        SimulationResponse second;
+        try {
+            second = simulator.simulate(variableRequest(), 5000, 42L, model, singleThread);
+        } finally {
+            singleThread.shutdown();
+        }
+
+        assertThat(second.getMaxMonthlyInstallment()).isEqualTo(first.getMaxMonthlyInstallment());
+        assertThat(second.getTotalPaymentAmount()).isEqualTo(first.getTotalPaymentAmount());
+        assertThat(second.getAnnualPercentageRate()).isEqualTo(first.getAnnualPercentageRate());
+        assertThat(first.getSeed()).isEqualTo(42L);
+        assertThat(first.getPaths()).isEqualTo(5000);
+    }
+
+    @Test
+    void simulate_higherVolatility_widensBands() {
+        SimulationResponse calm = simulator.simulate(variableRequest(), 5000, 7L, new IrccModel(0.5, 5.55, 0.5), pool);
+        SimulationResponse volatile_ = simulator.simulate(variableRequest(), 5000, 7L, new IrccModel(0.5, 5.55, 2), pool);
+
+        assertThat(width(volatile_.getTotalPaymentAmount())).isGreaterThan(width(calm.getTotalPaymentAmount()));
+        assertThat(width(volatile_.getMaxMonthlyInstallment())).isGreaterThan(width(calm.getMaxMonthlyInstallment()));
+        assertThat(calm.getTotalPaymentAmount().getP5()).isLessThan(calm.getTotalPaymentAmount().getP95());
+    }
+
+    @Test
+    void simulate_mixedRate_fixedPeriodBoundsTheInstallment() {
+        MixedInterestRateType mixed = new MixedInterestRateType(MixedInterestRateType.Type.MIXED, 0, 3);
+        MortgageCalculationRequest request = ReferenceDataSnapshots.casaTaRequest(mixed);
+
+        SimulationResponse response = simulator.simulate(request, 2000, 3L, new IrccModel(0.5, 5.55, 1), pool);
+
+        BigDecimal fixedInstallment = response.getBaseline().getRepaymentPlan().getEntry(1).getInstallmentAmount().getAmount();
+        assertThat(response.getMaxMonthlyInstallment().getP5()).isGreaterThanOrEqualTo(fixedInstallment.setScale(2));
+        assertThat(response.getAnnualPercentageRate().getP95()).isGreaterThan(response.getAnnualPercentageRate().getP5());
+    }
+
+    @Test
+    void toBand_readsPercentilesByNearestRank() {
+        double[] values = new double[100];
+        double sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 100 - i;
+            sum += values[i];
+        }
+
+        PercentileBand band = MonteCarloSimulator.toBand(values, sum);
+
+        assertThat(band.getP5()).isEqualByComparingTo("5");
+        assertThat(band.getP50()).isEqualByComparingTo("50");
+        assertThat(band.getP95()).isEqualByComparingTo("95");
+        assertThat(band.getMean()).isEqualByComparingTo("50.5");
+    }
+
+    private static void assertCollapsed(PercentileBand band) {
+        assertThat(band.getP5()).isEqualByComparingTo(band.getP95());
+        assertThat(band.getP50()).isEqualByComparingTo(band.getMean());
+    }
+
+    private static BigDecimal width(PercentileBand band) {
+        return band.getP95().subtract(band.getP5());
+    }
+
+    private static MortgageCalculationRequest variableRequest() {
+        return ReferenceDataSnapshots.casaTaRequest(new VariableInterestRateType(VariableInterestRateType.Type.VARIABLE, 0));
+    }
+}
@@ -0,0 +1,23 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.solver;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BisectionTest {
+
+    @Test
+    void lastSatisfying_upwards_returnsHighestSatisfyingValue() {
+        assertThat(Bisection.lastSatisfying(value -> value <= 1234, 0, 1_000_000)).isEqualTo(1234);
+    }
+
+    @Test
+    void lastSatisfying_downwards_returnsLowestSatisfyingValue() {
+        assertThat(Bisection.lastSatisfying(value -> value >= 120, 360, 1)).isEqualTo(120);
+    }
+
+    @Test
+    void lastSatisfying_adjacentBounds_returnsSatisfiedBound() {
+        assertThat(Bisection.lastSatisfying(value -> value <= 5, 5, 6)).isEqualTo(5);
+    }
+}
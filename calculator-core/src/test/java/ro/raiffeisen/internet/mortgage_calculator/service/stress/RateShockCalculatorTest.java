@@ -0,0 +1,69 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.stress;
+
+import org.junit.jupiter.api.Test;
+import ro.raiffeisen.internet.mortgage_calculator.model.MixedInterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.VariableInterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.model.stress.RateShockScenario;
+import ro.raiffeisen.internet.mortgage_calculator.model.stress.StressTestResponse;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataSnapshots;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.SnapshotReferenceDataProvider;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateShockCalculatorTest {
+
+    private final CalculatorEngine engine = CalculatorEngine.create(new SnapshotReferenceDataProvider(ReferenceDataSnapshots.casaTa()));
+    private final RateShockCalculator calculator = new RateShockCalculator(engine);
+
+    @Test
+    void calculate_variableRate_baselineMatchesPlainCalculation() {
+        StressTestResponse response = calculator.calculate(variableRequest(), List.of(BigDecimal.ONE), ForkJoinPool.commonPool());
+
+        MortgageCalculationResponse plain = engine.calculate(variableRequest());
+        assertThat(response.getBaseline().getMonthlyInstallment()).isEqualTo(plain.getMonthlyInstallment());
+        assertThat(response.getBaseline().getAnnualPercentageRate()).isEqualByComparingTo(plain.getAnnualPercentageRate());
+        assertThat(response.getBaseline().getTotalPaymentAmount()).isEqualTo(plain.getTotalPaymentAmount());
+    }
+
+    @Test
+    void calculate_variableRate_higherShocksCostMore() {
+        StressTestResponse response = calculator.calculate(variableRequest(),
+                List.of(BigDecimal.ONE, BigDecimal.valueOf(2), BigDecimal.valueOf(3)), ForkJoinPool.commonPool());
+
+        List<RateShockScenario> scenarios = response.getScenarios();
+        assertThat(scenarios).extracting(RateShockScenario::getIrccShock)
+                .containsExactly(BigDecimal.ONE, BigDecimal.valueOf(2), BigDecimal.valueOf(3));
+        assertThat(scenarios.get(0).getIrccRate()).isEqualByComparingTo("6.55");
+        assertThat(scenarios.get(0).getVariableInterestRate()).isEqualByComparingTo("8.50");
+        assertThat(scenarios.get(0).getMonthlyInstallmentDelta()).isPositive();
+        assertThat(scenarios.get(1).getMonthlyInstallmentDelta()).isGreaterThan(scenarios.get(0).getMonthlyInstallmentDelta());
+        assertThat(scenarios.get(2).getMonthlyInstallmentDelta()).isGreaterThan(scenarios.get(1).getMonthlyInstallmentDelta());
+        assertThat(scenarios.get(2).getAnnualPercentageRateDelta()).isPositive();
+        assertThat(scenarios.get(2).getTotalPaymentAmountDelta()).isPositive();
+    }
+
+    @Test
+    void calculate_mixedRate_onlyShocksVariablePeriod() {
+        MixedInterestRateType mixed = new MixedInterestRateType(MixedInterestRateType.Type.MIXED, 0, 3);
+
+        StressTestResponse response = calculator.calculate(ReferenceDataSnapshots.casaTaRequest(mixed),
+                List.of(BigDecimal.valueOf(2)), Runnable::run);
+
+        RateShockScenario scenario = response.getScenarios().get(0);
+        assertThat(scenario.getMonthlyInstallment().getAmountFixedInterest())
+                .isEqualByComparingTo(response.getBaseline().getMonthlyInstallment().getAmountFixedInterest());
+        assertThat(scenario.getMonthlyInstallmentDelta()).isPositive();
+        assertThat(scenario.getVariableInterestRate()).isEqualByComparingTo("9.50");
+    }
+
+    private static MortgageCalculationRequest variableRequest() {
+        return ReferenceDataSnapshots.casaTaRequest(new VariableInterestRateType(VariableInterestRateType.Type.VARIABLE, 0));
+    }
+}
@@ -0,0 +1,132 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.target;
+
+import org.junit.jupiter.api.Test;
+import ro.raiffeisen.internet.mortgage_calculator.exception.UnprocessableEntityException;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+import ro.raiffeisen.internet.mortgage_calculator.model.MixedInterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.model.MonthlyInstallment;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.VariableInterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.model.target.SolveFor;
+import ro.raiffeisen.internet.mortgage_calculator.model.target.TargetInstallmentResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.utils.CalculationContext;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+import ro.raiffeisen.internet.mortgage_calculator.service.PreparedCalculation;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataSnapshots;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.SnapshotReferenceDataProvider;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TargetInstallmentSolverTest {
+
+    private static final BigDecimal TARGET = BigDecimal.valueOf(1500);
+
+    private final CalculatorEngine engine = CalculatorEngine.create(new SnapshotReferenceDataProvider(ReferenceDataSnapshots.casaTa()));
+    private final TargetInstallmentSolver solver = new TargetInstallmentSolver(engine);
+
+    @Test
+    void solve_loanAmount_returnsHighestAmountWithinTarget() {
+        TargetInstallmentResponse response = solver.solve(variableRequest(), TARGET, SolveFor.LOAN_AMOUNT);
+
+        assertThat(response.getSolveFor()).isEqualTo(SolveFor.LOAN_AMOUNT);
+        assertThat(response.getTenor()).isEqualTo(25);
+        assertThat(response.getMonthlyInstallment()).isLessThanOrEqualTo(TARGET);
+        assertThat(response.getMonthlyInstallment()).isGreaterThan(TARGET.subtract(BigDecimal.ONE));
+
+        // The full calculation of the returned amount matches, and one cent more exceeds the target
+        assertThat(installment(withLoanAmount(response.getLoanAmount()))).isEqualByComparingTo(response.getMonthlyInstallment());
+        assertThat(installment(withLoanAmount(response.getLoanAmount().add(new BigDecimal("0.01"))))).isGreaterThan(TARGET);
+    }
+
+    @Test
+    void solve_loanAmount_mixedRate_boundsTheHigherPeriodInstallment() {
+        MortgageCalculationRequest request = ReferenceDataSnapshots.casaTaRequest(new MixedInterestRateType(MixedInterestRateType.Type.MIXED, 0, 3));
+
+        TargetInstallmentResponse response = solver.solve(request, TARGET, SolveFor.LOAN_AMOUNT);
+
+        assertThat(response.getCalculation().getMonthlyInstallment().getAmountFixedInterest()).isLessThanOrEqualTo(TARGET);
+        assertThat(response.getCalculation().getMonthlyInstallment().getAmountVariableInterest()).isLessThanOrEqualTo(TARGET);
+    }
+
+    @Test
+    void solve_loanAmount_rateChangingEveryRound_continuesUntilACandidateFitsItsOwnRate() {
+        // Every candidate falls into a higher rate band, so the first three rounds exceed the target
+        CalculatorEngine bandedEngine = mock(CalculatorEngine.class);
+        when(bandedEngine.prepare(any())).thenAnswer(invocation -> bandedPreparation(invocation.getArgument(0)));
+
+        TargetInstallmentResponse response = new TargetInstallmentSolver(bandedEngine)
+                .solve(variableRequest(), BigDecimal.valueOf(2750), SolveFor.LOAN_AMOUNT);
+
+        assertThat(response.getLoanAmount()).isEqualByComparingTo("229166.66");
+        assertThat(response.getMonthlyInstallment()).isLessThanOrEqualTo(BigDecimal.valueOf(2750));
+        verify(bandedEngine, times(5)).prepare(any());
+    }
+
+    @Test
+    void solve_tenor_returnsShortestTenorWithinTarget() {
+        BigDecimal target = BigDecimal.valueOf(2000);
+
+        TargetInstallmentResponse response = solver.solve(variableRequest(), target, SolveFor.TENOR);
+
+        assertThat(response.getSolveFor()).isEqualTo(SolveFor.TENOR);
+        assertThat(response.getLoanAmount()).isEqualByComparingTo("300000");
+        assertThat(response.getMonthlyInstallment()).isLessThanOrEqualTo(target);
+        assertThat(installment(withTenor(response.getTenor() - 1))).isGreaterThan(target);
+    }
+
+    @Test
+    void solve_tenor_targetBelowLongestTenorInstallment_throws() {
+        assertThatThrownBy(() -> solver.solve(variableRequest(), BigDecimal.valueOf(500), SolveFor.TENOR))
+                .isInstanceOf(UnprocessableEntityException.class);
+    }
+
+    /**
+     * A preparation whose rate depends on the amount it was prepared at: 1% from 280000, 1.1% from 260000,
+     * 1.15% from 240000 and 1.2% below; the installment is the amount times the rate.
+     */
+    private static PreparedCalculation bandedPreparation(MortgageCalculationRequest request) {
+        BigDecimal amount = request.getLoanAmount().getAmount();
+        BigDecimal rate = amount.compareTo(BigDecimal.valueOf(280000)) >= 0 ? new BigDecimal("0.01")
+                : amount.compareTo(BigDecimal.valueOf(260000)) >= 0 ? new BigDecimal("0.011")
+                : amount.compareTo(BigDecimal.valueOf(240000)) >= 0 ? new BigDecimal("0.0115")
+                : new BigDecimal("0.012");
+        CalculationContext context = CalculationContext.builder().request(request).build();
+        return new PreparedCalculation(null, context, MortgageCalculationResponse.builder().tenor(25).build()) {
+            @Override
+            public CalculationContext copyContext() {
+                return context.toBuilder().build();
+            }
+
+            @Override
+            public MortgageCalculationResponse complete(CalculationContext variant) {
+                BigDecimal installment = variant.getRequest().getLoanAmount().getAmount().multiply(rate);
+                return getResponse().toBuilder().monthlyInstallment(new MonthlyInstallment(null, installment)).build();
+            }
+        };
+    }
+
+    private BigDecimal installment(MortgageCalculationRequest request) {
+        return TargetInstallmentSolver.highestInstallment(engine.calculate(request));
+    }
+
+    private static MortgageCalculationRequest variableRequest() {
+        return ReferenceDataSnapshots.casaTaRequest(new VariableInterestRateType(VariableInterestRateType.Type.VARIABLE, 0));
+    }
+
+    private static MortgageCalculationRequest withLoanAmount(BigDecimal amount) {
+        return variableRequest().toBuilder().loanAmount(new Amount("RON", amount)).build();
+    }
+
+    private static MortgageCalculationRequest withTenor(int tenor) {
+        return variableRequest().toBuilder().tenor(tenor).build();
+    }
+}
@@ -0,0 +1,204 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.whatif;
+
+import org.junit.jupiter.api.Test;
+import ro.raiffeisen.internet.mortgage_calculator.exception.UnprocessableEntityException;
+import ro.raiffeisen.internet.mortgage_calculator.model.MixedInterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.SpecialOfferRequirements;
+import ro.raiffeisen.internet.mortgage_calculator.model.VariableInterestRateType;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.Discount;
+import ro.raiffeisen.internet.mortgage_calculator.model.whatif.WhatIfChanges;
+import ro.raiffeisen.internet.mortgage_calculator.model.whatif.WhatIfRecomputation;
+import ro.raiffeisen.internet.mortgage_calculator.model.whatif.WhatIfResponse;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataProvider;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataSnapshot;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataSnapshots;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.SnapshotReferenceDataProvider;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class WhatIfSessionTest {
+
+    private final AtomicLong referenceDataVersion = new AtomicLong();
+
+    @Test
+    void start_runsFullCalculation() {
+        ReferenceDataSnapshot snapshot = snapshotWithClientEntries(List.of());
+        WhatIfSession session = factory(new SnapshotReferenceDataProvider(snapshot)).start(variableRequest());
+
+        WhatIfResponse response = session.getResponse();
+
+        assertThat(response.getSessionId()).isEqualTo(session.getId());
+        assertThat(response.getRecomputation()).isEqualTo(WhatIfRecomputation.FULL);
+        assertMatchesPlainCalculation(snapshot, response.getCalculation(), variableRequest());
+    }
+
+    @Test
+    void apply_insuranceWithoutDiscount_onlyUpdatesInsuranceCosts() {
+        ReferenceDataSnapshot snapshot = snapshotWithClientEntries(List.of());
+        ReferenceDataProvider provider = spy(new SnapshotReferenceDataProvider(snapshot));
+        WhatIfSession session = factory(provider).start(variableRequest());
+        clearInvocations(provider);
+
+        WhatIfResponse insured = session.apply(WhatIfChanges.builder().hasInsurance(true).build());
+
+        assertThat(insured.getRecomputation()).isEqualTo(WhatIfRecomputation.INSURANCE_COSTS);
+        assertMatchesPlainCalculation(snapshot, insured.getCalculation(), variableRequest().toBuilder().hasInsurance(true).build());
+
+        WhatIfResponse uninsured = session.apply(WhatIfChanges.builder().hasInsurance(false).build());
+
+        assertThat(uninsured.getRecomputation()).isEqualTo(WhatIfRecomputation.INSURANCE_COSTS);
+        assertMatchesPlainCalculation(snapshot, uninsured.getCalculation(), variableRequest());
+        verifyNoInteractions(provider);
+    }
+
+    @Test
+    void apply_mixedRateInsurance_matchesPlainCalculation() {
+        ReferenceDataSnapshot snapshot = snapshotWithClientEntries(List.of());
+        MortgageCalculationRequest request = ReferenceDataSnapshots.casaTaRequest(new MixedInterestRateType(MixedInterestRateType.Type.MIXED, 0, 3));
+        WhatIfSession session = factory(new SnapshotReferenceDataProvider(snapshot)).start(request);
+
+        WhatIfResponse insured = session.apply(WhatIfChanges.builder().hasInsurance(true).build());
+
+        assertThat(insured.getRecomputation()).isEqualTo(WhatIfRecomputation.INSURANCE_COSTS);
+        assertMatchesPlainCalculation(snapshot, insured.getCalculation(), request.toBuilder().hasInsurance(true).build());
+    }
+
+    @Test
+    void apply_rateChange_recomputesPlan() {
+        ReferenceDataSnapshot snapshot = snapshotWithClientEntries(List.of(
+                Discount.builder().discountName("green house").discountValue(0.1).build(),
+                Discount.builder().discountName("asigurare").discountValue(0.3).build()));
+        WhatIfSession session = factory(new SnapshotReferenceDataProvider(snapshot)).start(variableRequest());
+
+        WhatIfResponse greenHouse = session.apply(WhatIfChanges.builder().casaVerde(true).build());
+        WhatIfResponse insured = session.apply(WhatIfChanges.builder().hasInsurance(true).build());
+
+        assertThat(greenHouse.getRecomputation()).isEqualTo(WhatIfRecomputation.REPAYMENT_PLAN);
+        assertMatchesPlainCalculation(snapshot, greenHouse.getCalculation(), variableRequest().toBuilder()
+                .specialOfferRequirements(new SpecialOfferRequirements(false, true))
+                .build());
+        assertThat(insured.getRecomputation()).isEqualTo(WhatIfRecomputation.REPAYMENT_PLAN);
+        assertMatchesPlainCalculation(snapshot, insured.getCalculation(), variableRequest().toBuilder()
+                .specialOfferRequirements(new SpecialOfferRequirements(false, true))
+                .hasInsurance(true)
+                .build());
+    }
+
+    @Test
+    void apply_salaryAndDownPayment_recomputePlan() {
+        ReferenceDataSnapshot snapshot = snapshotWithClientEntries(List.of());
+        WhatIfSession session = factory(new SnapshotReferenceDataProvider(snapshot)).start(variableRequest());
+
+        WhatIfResponse response = session.apply(WhatIfChanges.builder()
+                .hasSalaryInTheBank(true)
+                .downPayment(BigDecimal.valueOf(90000))
+                .build());
+
+        assertThat(response.getRecomputation()).isEqualTo(WhatIfRecomputation.REPAYMENT_PLAN);
+        assertMatchesPlainCalculation(snapshot, response.getCalculation(), variableRequest().toBuilder()
+                .specialOfferRequirements(new SpecialOfferRequirements(true, false))
+                .downPayment(BigDecimal.valueOf(90000))
+                .build());
+    }
+
+    @Test
+    void apply_sameValues_recomputesNothing() {
+        WhatIfSession session = factory(new SnapshotReferenceDataProvider(snapshotWithClientEntries(List.of()))).start(variableRequest());
+        MortgageCalculationResponse calculation = session.getResponse().getCalculation();
+
+        WhatIfResponse response = session.apply(WhatIfChanges.builder()
+                .hasInsurance(false)
+                .downPayment(new BigDecimal("60000.00"))
+                .build());
+
+        assertThat(response.getRecomputation()).isEqualTo(WhatIfRecomputation.NONE);
+        assertThat(response.getCalculation()).isSameAs(calculation);
+    }
+
+    @Test
+    void apply_failingChange_keepsSessionUnchanged() {
+        WhatIfSession session = factory(new SnapshotReferenceDataProvider(snapshotWithClientEntries(List.of()))).start(variableRequest());
+        MortgageCalculationResponse calculation = session.getResponse().getCalculation();
+
+        assertThatThrownBy(() -> session.apply(WhatIfChanges.builder().downPayment(BigDecimal.valueOf(400000)).build()))
+                .isInstanceOf(UnprocessableEntityException.class);
+
+        WhatIfResponse response = session.apply(WhatIfChanges.builder().build());
+        assertThat(response.getRecomputation()).isEqualTo(WhatIfRecomputation.NONE);
+        assertThat(response.getCalculation()).isSameAs(calculation);
+    }
+
+    @Test
+    void apply_afterReferenceDataChanged_recalculatesInFull() {
+        ReferenceDataSnapshot snapshot = snapshotWithClientEntries(List.of());
+        ReferenceDataProvider provider = spy(new SnapshotReferenceDataProvider(snapshot));
+        WhatIfSession session = factory(provider).start(variableRequest());
+        clearInvocations(provider);
+        referenceDataVersion.incrementAndGet();
+
+        WhatIfResponse insured = session.apply(WhatIfChanges.builder().hasInsurance(true).build());
+        WhatIfResponse uninsured = session.apply(WhatIfChanges.builder().hasInsurance(false).build());
+
+        assertThat(insured.getRecomputation()).isEqualTo(WhatIfRecomputation.FULL);
+        assertMatchesPlainCalculation(snapshot, insured.getCalculation(), variableRequest().toBuilder().hasInsurance(true).build());
+        verify(provider).getDiscounts(1);
+        assertThat(uninsured.getRecomputation()).isEqualTo(WhatIfRecomputation.INSURANCE_COSTS);
+    }
+
+    private WhatIfSessionFactory factory(ReferenceDataProvider provider) {
+        return new WhatIfSessionFactory(CalculatorEngine.create(provider), productCode -> referenceDataVersion.get());
+    }
+
+    private static void assertMatchesPlainCalculation(ReferenceDataSnapshot snapshot, MortgageCalculationResponse calculation, MortgageCalculationRequest request) {
+        MortgageCalculationResponse plain = CalculatorEngine.create(new SnapshotReferenceDataProvider(snapshot)).calculate(request.toBuilder().build());
+
+        assertThat(calculation.getNominalInterestRate()).isEqualByComparingTo(plain.getNominalInterestRate());
+        assertThat(calculation.getMonthlyInstallment()).isEqualTo(plain.getMonthlyInstallment());
+        assertThat(calculation.getAnnualPercentageRate()).isEqualByComparingTo(plain.getAnnualPercentageRate());
+        assertThat(calculation.getTotalPaymentAmount()).isEqualTo(plain.getTotalPaymentAmount());
+        assertThat(calculation.getLoanAmount()).isEqualTo(plain.getLoanAmount());
+        assertThat(calculation.getRepaymentPlan().getTotalPaymentAmounts()).isEqualTo(plain.getRepaymentPlan().getTotalPaymentAmounts());
+    }
+
+    private static MortgageCalculationRequest variableRequest() {
+        return ReferenceDataSnapshots.casaTaRequest(new VariableInterestRateType(VariableInterestRateType.Type.VARIABLE, 0));
+    }
+
+    private static ReferenceDataSnapshot snapshotWithClientEntries(List<Discount> extraDiscounts) {
+        ReferenceDataSnapshot snapshot = ReferenceDataSnapshots.casaTa();
+        List<ReferenceDataSnapshot.LoanParametersEntry> loanParameters = new ArrayList<>(snapshot.getLoanParameters());
+        snapshot.getLoanParameters().forEach(entry -> loanParameters.add(ReferenceDataSnapshot.LoanParametersEntry.builder()
+                .loanProductId(entry.getLoanProductId())
+                .ourClient(true)
+                .currency(entry.getCurrency())
+                .interestRateType(entry.getInterestRateType())
+                .parameters(entry.getParameters())
+                .build()));
+        List<ReferenceDataSnapshot.InterestRatesEntry> interestRates = new ArrayList<>(snapshot.getInterestRates());
+        snapshot.getInterestRates().forEach(entry -> interestRates.add(ReferenceDataSnapshot.InterestRatesEntry.builder()
+                .loanProductId(entry.getLoanProductId())
+                .ourClient(true)
+                .rates(entry.getRates())
+                .build()));
+        List<Discount> discounts = new ArrayList<>(snapshot.getDiscounts().get(1));
+        discounts.addAll(extraDiscounts);
+        snapshot.setLoanParameters(loanParameters);
+        snapshot.setInterestRates(interestRates);
+        snapshot.setDiscounts(Map.of(1, discounts));
+        return snapshot;
+    }
+}
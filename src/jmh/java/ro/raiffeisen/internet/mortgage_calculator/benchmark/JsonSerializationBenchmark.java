@@ -0,0 +1,74 @@
+package ro.raiffeisen.internet.mortgage_calculator.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.json.CalculatorJsonModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request deserialization and response serialization of a CasaTa calculation, with the plain
+ * Spring ObjectMapper and with the modules registered by JacksonConfig.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"default", "tuned"})
+    public String mapper;
+
+    private ObjectMapper objectMapper;
+    private byte[] request;
+    private MortgageCalculationResponse response;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if ("tuned".equals(mapper)) {
+            builder.modulesToInstall(new BlackbirdModule(), new CalculatorJsonModule());
+        }
+        objectMapper = builder.build();
+
+        request = readResource("/benchmark/calculation-request.json");
+        response = objectMapper.readValue(readResource("/benchmark/calculation-response.json"), MortgageCalculationResponse.class);
+    }
+
+    @Benchmark
+    public MortgageCalculationRequest deserializeRequest() throws IOException {
+        return objectMapper.readValue(request, MortgageCalculationRequest.class);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    private static byte[] readResource(String name) throws IOException {
+        try (InputStream input = JsonSerializationBenchmark.class.getResourceAsStream(name)) {
+            if (input == null) {
+                throw new IOException("Missing benchmark resource " + name);
+            }
+            return input.readAllBytes();
+        }
+    }
+}
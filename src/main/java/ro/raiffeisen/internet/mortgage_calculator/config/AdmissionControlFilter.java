@@ -0,0 +1,227 @@
+package ro.raiffeisen.internet.mortgage_calculator.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+import ro.raiffeisen.internet.mortgage_calculator.model.Error;
+import ro.raiffeisen.internet.mortgage_calculator.model.ErrorReason;
+import ro.raiffeisen.internet.mortgage_calculator.service.admission.AdaptiveConcurrencyLimiter;
+import ro.raiffeisen.internet.mortgage_calculator.service.admission.RequestPriority;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static ro.raiffeisen.internet.mortgage_calculator.helper.MarkerFields.CONTEXT_CORRELATION_ID;
+import static ro.raiffeisen.internet.mortgage_calculator.helper.MarkerFields.CONTEXT_REQUEST_ID;
+import static ro.raiffeisen.internet.mortgage_calculator.model.StandardHttpHeaders.X_CORRELATION_ID;
+import static ro.raiffeisen.internet.mortgage_calculator.model.StandardHttpHeaders.X_REQUEST_ID;
+import static ro.raiffeisen.internet.mortgage_calculator.model.StandardHttpHeaders.X_REQUEST_PRIORITY;
+
+/**
+ * Admission control for the calculator API: requests are processed only within the adaptive concurrency limit
+ * of an {@link AdaptiveConcurrencyLimiter}, instead of piling up in the Tomcat queue until they time out.
+ * <p>
+ * The priority of a request follows from its endpoint: the configured interactive paths, the calculations a
+ * customer waits for, are interactive and every other endpoint is batch, so that the analyses computing many
+ * calculations per request are shed first. Clients may lower the priority of their requests with
+ * {@code X-Request-Priority: batch}, but cannot raise it. A request that is not admitted in time is answered at once
+ * with {@code Retry-After}: 503 for interactive requests, as the instance is overloaded, and 429 for batch
+ * requests, which are expected to slow down.
+ * <p>
+ * The filter runs after the {@link IdempotencyFilter}, so replayed responses are not limited and a retry waiting
+ * for its first attempt holds no slot. Streamed responses free their slot when the stream ends, but do not
+ * adapt the limit, as their duration depends on the client.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    static final String SERVICE_OVERLOADED = "SERVICE_OVERLOADED";
+    static final String TOO_MANY_REQUESTS = "TOO_MANY_REQUESTS";
+    private static final String API_PATH = "/calculator/";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final List<String> interactivePaths;
+    private final Duration retryAfter;
+    private final Map<RequestPriority, Counter> shed = new EnumMap<>(RequestPriority.class);
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public AdmissionControlFilter(ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${admission.enabled:true}") boolean enabled,
+                                  @Value("${admission.initial-limit:20}") int initialLimit,
+                                  @Value("${admission.min-limit:4}") int minLimit,
+                                  @Value("${admission.max-limit:200}") int maxLimit,
+                                  @Value("${admission.backoff-ratio:0.9}") double backoffRatio,
+                                  @Value("${admission.batch-share:0.5}") double batchShare,
+                                  @Value("${admission.interactive.latency-target:1s}") Duration interactiveLatencyTarget,
+                                  @Value("${admission.interactive.max-queue-time:200ms}") Duration interactiveQueueTime,
+                                  @Value("${admission.interactive.max-queue-length:100}") int interactiveQueueLength,
+                                  @Value("${admission.batch.latency-target:10s}") Duration batchLatencyTarget,
+                                  @Value("${admission.batch.max-queue-time:50ms}") Duration batchQueueTime,
+                                  @Value("${admission.batch.max-queue-length:20}") int batchQueueLength,
+                                  @Value("${admission.interactive-paths:/calculator/mortgage-calculator,/calculator/mortgage-calculator/repayment-plan,/calculator/mortgage-calculator/what-if/**}")
+                                  List<String> interactivePaths,
+                                  @Value("${admission.retry-after:1s}") Duration retryAfter) {
+        this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                Map.of(RequestPriority.INTERACTIVE, interactiveLatencyTarget, RequestPriority.BATCH, batchLatencyTarget),
+                backoffRatio, batchShare,
+                Map.of(RequestPriority.INTERACTIVE, interactiveQueueTime, RequestPriority.BATCH, batchQueueTime),
+                Map.of(RequestPriority.INTERACTIVE, interactiveQueueLength, RequestPriority.BATCH, batchQueueLength));
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.interactivePaths = interactivePaths;
+        this.retryAfter = retryAfter;
+
+        Gauge.builder("admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Calculator API requests that may be processed at once")
+                .register(meterRegistry);
+        Gauge.builder("admission.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Calculator API requests being processed")
+                .register(meterRegistry);
+        for (RequestPriority priority : RequestPriority.values()) {
+            String tag = priority.name().toLowerCase();
+            Gauge.builder("admission.queue-depth", limiter, l -> l.getQueueDepth(priority))
+                    .description("Calculator API requests waiting for admission")
+                    .tag("priority", tag)
+                    .register(meterRegistry);
+            shed.put(priority, Counter.builder("admission.shed")
+                    .description("Calculator API requests rejected because they could not be admitted in time")
+                    .tag("priority", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !urlPathHelper.getPathWithinApplication(request).startsWith(API_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RequestPriority priority = priorityOf(request);
+        AdaptiveConcurrencyLimiter.Permit permit;
+        try {
+            permit = limiter.acquire(priority);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrupted while waiting for admission", e);
+        }
+        if (permit == null) {
+            shed.get(priority).increment();
+            reject(request, response, priority);
+            return;
+        }
+
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(permit));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                permit.release();
+            }
+        }
+    }
+
+    RequestPriority priorityOf(HttpServletRequest request) {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        boolean interactive = interactivePaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+        if (!interactive) {
+            return RequestPriority.BATCH;
+        }
+        String requested = request.getHeader(X_REQUEST_PRIORITY);
+        return requested != null && RequestPriority.BATCH.name().equalsIgnoreCase(requested.trim())
+                ? RequestPriority.BATCH
+                : RequestPriority.INTERACTIVE;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, RequestPriority priority) throws IOException {
+        boolean interactive = priority == RequestPriority.INTERACTIVE;
+        HttpStatus status = interactive ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.TOO_MANY_REQUESTS;
+        String message = interactive
+                ? "The service is overloaded, please retry later"
+                : "Too many batch requests, please retry later";
+
+        // Filters run outside the controller advice, so the error body is built here in the same format
+        String correlationId = MDC.get(CONTEXT_CORRELATION_ID);
+        String requestId = MDC.get(CONTEXT_REQUEST_ID);
+        Error error = Error.builder()
+                .errorId(UUID.randomUUID().toString())
+                .correlationId(correlationId != null ? correlationId : request.getHeader(X_CORRELATION_ID))
+                .requestId(requestId != null ? requestId : request.getHeader(X_REQUEST_ID))
+                .status(status.value())
+                .reasons(List.of(ErrorReason.builder()
+                        .code(interactive ? SERVICE_OVERLOADED : TOO_MANY_REQUESTS)
+                        .message(message)
+                        .severity(ErrorReason.SeverityType.ERROR)
+                        .build()))
+                .build();
+
+        log.warn("Shed {} request {} {} at concurrency limit {}", priority, request.getMethod(), request.getRequestURI(),
+                limiter.getLimit());
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * Frees the slot of a streamed response when its asynchronous processing ends, however it ends.
+     */
+    private record ReleasingAsyncListener(AdaptiveConcurrencyLimiter.Permit permit) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.releaseUnmeasured();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.releaseUnmeasured();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.releaseUnmeasured();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
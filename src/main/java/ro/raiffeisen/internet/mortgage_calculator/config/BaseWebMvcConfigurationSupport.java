@@ -1,7 +1,10 @@
 package ro.raiffeisen.internet.mortgage_calculator.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -9,11 +12,19 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class BaseWebMvcConfigurationSupport implements WebMvcConfigurer {
 
   LoggerRequestInterceptorAdapter loggerRequestInterceptorAdapter;
+  ThreadPoolTaskExecutor streamingExecutor;
 
   @Autowired
   public BaseWebMvcConfigurationSupport(
-      LoggerRequestInterceptorAdapter loggerRequestInterceptorAdapter) {
+      LoggerRequestInterceptorAdapter loggerRequestInterceptorAdapter,
+      @Qualifier(CalculationExecutorConfig.STREAMING_EXECUTOR) ThreadPoolTaskExecutor streamingExecutor) {
     this.loggerRequestInterceptorAdapter = loggerRequestInterceptorAdapter;
+    this.streamingExecutor = streamingExecutor;
+  }
+
+  @Override
+  public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+    configurer.setTaskExecutor(streamingExecutor);
   }
 
   @Override
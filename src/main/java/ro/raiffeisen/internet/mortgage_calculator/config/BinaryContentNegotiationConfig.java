@@ -0,0 +1,52 @@
+package ro.raiffeisen.internet.mortgage_calculator.config;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Compact binary formats for machine-to-machine clients, chosen through the Accept and Content-Type headers:
+ * CBOR ({@code application/cbor}), Smile ({@code application/x-jackson-smile}) and, for the calculation request
+ * and response, Protobuf ({@code application/x-protobuf}, schema in {@code proto/mortgage_calculation.proto}).
+ * <p>
+ * The converters are appended after the default ones, so JSON stays the format for clients that accept anything.
+ * Their ObjectMappers come from the builder Spring Boot configures, so they share the modules and settings of the JSON one.
+ */
+@Configuration
+public class BinaryContentNegotiationConfig implements WebMvcConfigurer {
+
+    static final String PROTO_SCHEMA = "proto/mortgage_calculation.proto";
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    public BinaryContentNegotiationConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.getObject().factory(new CBORFactory()).build()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(objectMapperBuilder.getObject().factory(new SmileFactory()).build()));
+
+        ObjectMapper protobufMapper = objectMapperBuilder.getObject().factory(new ProtobufFactory()).build();
+        // Decimal strings keep the scale of amounts, which Protobuf doubles would lose
+        protobufMapper.configOverride(BigDecimal.class).setFormat(JsonFormat.Value.forShape(JsonFormat.Shape.STRING));
+        converters.add(new JacksonProtobufHttpMessageConverter(protobufMapper, new ClassPathResource(PROTO_SCHEMA),
+                MortgageCalculationRequest.class, MortgageCalculationResponse.class));
+    }
+}
@@ -1,20 +1,22 @@
 package ro.raiffeisen.internet.mortgage_calculator.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
 
 /**
  * Cache configuration for mortgage calculator.
  * Uses Caffeine as the cache provider for high-performance in-memory caching.
  * 
  * Cache strategy: Only cache final calculation results.
- * All intermediate data (products, rates, districts, etc.) are fetched fresh on each calculation.
+ * Results are keyed by the version of the reference data they were calculated with
+ * (see {@link CalculationCacheKeyGenerator}), so a change of rates or parameters takes effect immediately.
  */
 @Configuration
 @EnableCaching
@@ -26,29 +28,29 @@ public class CacheConfig {
      * Configure Caffeine cache manager with specific settings.
      * 
      * Single Cache Strategy:
-     * - mortgageCalculations: 24 hours TTL, max 1000 entries - caches complete calculation results
+     * - mortgageCalculations: 7 days TTL, max 1000 entries by default - caches complete calculation results
      */
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(@Value("${calculation-cache.ttl:7d}") Duration ttl,
+                                     @Value("${calculation-cache.max-entries:1000}") long maxEntries) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager(
                 MORTGAGE_CALCULATION_CACHE
         );
 
-        cacheManager.setCaffeine(caffeineCacheBuilder());
+        cacheManager.setCaffeine(caffeineCacheBuilder(ttl, maxEntries));
         return cacheManager;
     }
 
     /**
      * Caffeine cache builder configuration.
-     * TTL: 24 hours (1 day) - maximizes cache hit rate while ensuring daily refresh
-     * Max Size: 1000 entries - sufficient for typical daily load
+     * TTL: as results are evicted when their reference data changes, it only bounds how long unused results are kept
+     * Max Size: sufficient for typical load, least recently used results go first
      */
-    private Caffeine<Object, Object> caffeineCacheBuilder() {
+    private Caffeine<Object, Object> caffeineCacheBuilder(Duration ttl, long maxEntries) {
         return Caffeine.newBuilder()
-                .expireAfterWrite(24, TimeUnit.HOURS)    // 24 hours (1 day) TTL
-                .maximumSize(1000)                        // Max 1000 entries
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
                 .recordStats();                           // Enable cache statistics for monitoring
     }
 
 }
-
@@ -0,0 +1,12 @@
+package ro.raiffeisen.internet.mortgage_calculator.config;
+
+/**
+ * Key of a result in the {@link CacheConfig#MORTGAGE_CALCULATION_CACHE mortgage calculation cache}:
+ * the request together with the content version of the product's reference data it was calculated with.
+ *
+ * @param productCode          product of the request, to look up its current content version
+ * @param referenceDataVersion content version of the product's reference data when the key was taken
+ * @param request              the request, as text
+ */
+public record CalculationCacheKey(String productCode, long referenceDataVersion, String request) {
+}
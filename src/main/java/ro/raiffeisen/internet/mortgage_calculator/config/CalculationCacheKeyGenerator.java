@@ -0,0 +1,94 @@
+package ro.raiffeisen.internet.mortgage_calculator.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.stereotype.Component;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.LastKnownGoodReferenceDataProvider;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import static ro.raiffeisen.internet.mortgage_calculator.config.CacheConfig.MORTGAGE_CALCULATION_CACHE;
+
+/**
+ * Keys calculation results by the request and the content version of its product's reference data,
+ * so a result is only served while the rates, parameters, discounts and LTVs it was calculated with are current.
+ * <p>
+ * When reference data changes, results of older versions can no longer be hit; they are also evicted right away
+ * instead of waiting for their time to live, which is why that can be long.
+ */
+@Slf4j
+@Component(CalculationCacheKeyGenerator.BEAN_NAME)
+public class CalculationCacheKeyGenerator implements KeyGenerator {
+
+    public static final String BEAN_NAME = "calculationCacheKeyGenerator";
+
+    private final LastKnownGoodReferenceDataProvider referenceDataProvider;
+    private final CacheManager cacheManager;
+    private final Counter evictions;
+
+    public CalculationCacheKeyGenerator(LastKnownGoodReferenceDataProvider referenceDataProvider,
+                                        CacheManager cacheManager,
+                                        MeterRegistry meterRegistry) {
+        this.referenceDataProvider = referenceDataProvider;
+        this.cacheManager = cacheManager;
+        this.evictions = Counter.builder("calculation.cache.reference-data-evictions")
+                .description("Cached calculation results evicted because their reference data changed")
+                .register(meterRegistry);
+        referenceDataProvider.addChangeListener(this::evictStale);
+    }
+
+    /**
+     * Takes the key before the calculation runs, as the calculation adjusts fields of the request.
+     */
+    public CalculationCacheKey keyFor(MortgageCalculationRequest request) {
+        return new CalculationCacheKey(request.getProductCode(),
+                referenceDataProvider.getContentVersion(request.getProductCode()),
+                request.toString());
+    }
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        return keyFor((MortgageCalculationRequest) params[0]);
+    }
+
+    /**
+     * Removes the results whose product's reference data changed since they were calculated.
+     */
+    void evictStale() {
+        Cache cache = cacheManager.getCache(MORTGAGE_CALCULATION_CACHE);
+        if (cache == null) {
+            return;
+        }
+        Map<?, ?> entries = nativeEntries(cache);
+        if (entries == null) {
+            cache.clear();
+            return;
+        }
+        int evicted = 0;
+        for (Object key : entries.keySet().toArray()) {
+            if (key instanceof CalculationCacheKey calculationKey
+                    && calculationKey.referenceDataVersion() != referenceDataProvider.getContentVersion(calculationKey.productCode())
+                    && entries.remove(key) != null) {
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            evictions.increment(evicted);
+            log.info("Reference data changed, evicted {} cached calculation results", evicted);
+        }
+    }
+
+    private static Map<?, ?> nativeEntries(Cache cache) {
+        Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache) {
+            return caffeineCache.asMap();
+        }
+        return nativeCache instanceof Map<?, ?> map ? map : null;
+    }
+}
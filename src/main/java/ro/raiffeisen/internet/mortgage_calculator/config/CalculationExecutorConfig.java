@@ -0,0 +1,63 @@
+package ro.raiffeisen.internet.mortgage_calculator.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Executor shared by the endpoints that compute several variants of one calculation in parallel.
+ * A bounded pool keeps a burst of such requests from starving the servlet threads.
+ */
+@Configuration
+public class CalculationExecutorConfig {
+
+    public static final String CALCULATION_EXECUTOR = "calculationExecutor";
+    public static final String SIMULATION_POOL = "simulationPool";
+    public static final String STREAMING_EXECUTOR = "streamingExecutor";
+
+    @Bean(name = CALCULATION_EXECUTOR)
+    public ThreadPoolTaskExecutor calculationExecutor(
+            @Value("${calculation-executor.pool-size:8}") int poolSize,
+            @Value("${calculation-executor.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("calculation-");
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    /**
+     * Executor writing the streamed responses, such as the repayment plan. The executors above make Spring Boot
+     * skip its default task executor, and Spring MVC would otherwise start a new thread for every stream.
+     * The request has already left the controller when a stream is written, so its attributes are not carried over.
+     */
+    @Bean(name = STREAMING_EXECUTOR)
+    public ThreadPoolTaskExecutor streamingExecutor(
+            @Value("${streaming-executor.pool-size:16}") int poolSize,
+            @Value("${streaming-executor.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("streaming-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    /**
+     * Fork-join pool of the Monte Carlo simulations, kept apart from the common pool
+     * so that a large simulation does not slow down parallel streams elsewhere.
+     */
+    @Bean(name = SIMULATION_POOL, destroyMethod = "shutdown")
+    public ForkJoinPool simulationPool(@Value("${simulation.parallelism:4}") int parallelism) {
+        return new ForkJoinPool(parallelism);
+    }
+}
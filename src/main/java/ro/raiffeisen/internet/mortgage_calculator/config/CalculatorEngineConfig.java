@@ -0,0 +1,161 @@
+package ro.raiffeisen.internet.mortgage_calculator.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ro.raiffeisen.internet.mortgage_calculator.helper.MortgageCalculatorMapper;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+import ro.raiffeisen.internet.mortgage_calculator.service.ServiceUtil;
+import ro.raiffeisen.internet.mortgage_calculator.service.ValidationService;
+import ro.raiffeisen.internet.mortgage_calculator.service.affordability.AffordabilityGate;
+import ro.raiffeisen.internet.mortgage_calculator.service.calculator.CasaTaCalculator;
+import ro.raiffeisen.internet.mortgage_calculator.service.calculator.ConstructieCalculator;
+import ro.raiffeisen.internet.mortgage_calculator.service.calculator.CreditVenitCalculator;
+import ro.raiffeisen.internet.mortgage_calculator.service.calculator.FlexiIntegralCalculator;
+import ro.raiffeisen.internet.mortgage_calculator.service.calculator.MortgageCalculator;
+import ro.raiffeisen.internet.mortgage_calculator.service.calculator.MortgageCalculatorFactory;
+import ro.raiffeisen.internet.mortgage_calculator.service.prepayment.EarlyRepaymentSimulator;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.LastKnownGoodReferenceDataProvider;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataProvider;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataSnapshotCodec;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataSnapshotStore;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.RemoteReferenceDataProvider;
+import ro.raiffeisen.internet.mortgage_calculator.service.simulation.MonteCarloSimulator;
+import ro.raiffeisen.internet.mortgage_calculator.service.comparison.ProductComparator;
+import ro.raiffeisen.internet.mortgage_calculator.service.offer.BestOfferOptimizer;
+import ro.raiffeisen.internet.mortgage_calculator.service.stress.RateShockCalculator;
+import ro.raiffeisen.internet.mortgage_calculator.service.target.TargetInstallmentSolver;
+import ro.raiffeisen.internet.mortgage_calculator.service.whatif.WhatIfSessionFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Wires the framework-free calculator-core classes as Spring beans.
+ * Reference data comes from the {@link ReferenceDataProvider} bean backed by the admin and FX services.
+ */
+@Configuration
+public class CalculatorEngineConfig {
+
+    @Bean
+    public MortgageCalculatorMapper mortgageCalculatorMapper() {
+        return new MortgageCalculatorMapper();
+    }
+
+    /**
+     * Admin and FX service lookups with the last good answers kept for outages; see {@link ReferenceDataSnapshotStore}.
+     */
+    @Bean
+    public LastKnownGoodReferenceDataProvider lastKnownGoodReferenceDataProvider(RemoteReferenceDataProvider remoteReferenceDataProvider) {
+        return new LastKnownGoodReferenceDataProvider(remoteReferenceDataProvider);
+    }
+
+    @Bean
+    public ReferenceDataSnapshotCodec referenceDataSnapshotCodec() {
+        return new ReferenceDataSnapshotCodec();
+    }
+
+    @Bean
+    public ServiceUtil serviceUtil(ReferenceDataProvider referenceDataProvider, MortgageCalculatorMapper mortgageCalculatorMapper) {
+        return new ServiceUtil(referenceDataProvider, mortgageCalculatorMapper);
+    }
+
+    @Bean
+    public ValidationService validationService() {
+        return new ValidationService();
+    }
+
+    @Bean
+    public CasaTaCalculator casaTaCalculator(ServiceUtil serviceUtil) {
+        return new CasaTaCalculator(serviceUtil);
+    }
+
+    @Bean
+    public ConstructieCalculator constructieCalculator(ServiceUtil serviceUtil) {
+        return new ConstructieCalculator(serviceUtil);
+    }
+
+    @Bean
+    public CreditVenitCalculator creditVenitCalculator(ServiceUtil serviceUtil) {
+        return new CreditVenitCalculator(serviceUtil);
+    }
+
+    @Bean
+    public FlexiIntegralCalculator flexiIntegralCalculator(ServiceUtil serviceUtil) {
+        return new FlexiIntegralCalculator(serviceUtil);
+    }
+
+    @Bean
+    public MortgageCalculatorFactory mortgageCalculatorFactory(List<MortgageCalculator> calculators) {
+        return new MortgageCalculatorFactory(calculators);
+    }
+
+    @Bean
+    public AffordabilityGate affordabilityGate(ReferenceDataProvider referenceDataProvider,
+                                               ServiceUtil serviceUtil,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${affordability-gate.rate-ttl:1h}") Duration rateTtl,
+                                               @Value("${affordability-gate.rate-margin:0.5}") double rateMargin,
+                                               @Value("${affordability-gate.minimum-ltv:60}") int minimumLtv,
+                                               @Value("${affordability-gate.enforce:false}") boolean enforce) {
+        AffordabilityGate affordabilityGate = new AffordabilityGate(referenceDataProvider, serviceUtil, rateTtl, rateMargin, minimumLtv, enforce);
+        FunctionCounter.builder("calculation.affordability.checked", affordabilityGate, AffordabilityGate::getChecked)
+                .description("Calculations checked by the affordability gate")
+                .register(meterRegistry);
+        FunctionCounter.builder("calculation.affordability.unaffordable", affordabilityGate, AffordabilityGate::getUnaffordable)
+                .description("Calculations the affordability gate found clearly unaffordable, whether rejected or not")
+                .register(meterRegistry);
+        FunctionCounter.builder("calculation.affordability.rejected", affordabilityGate, AffordabilityGate::getRejected)
+                .description("Calculations rejected by the affordability gate before retrieving reference data")
+                .register(meterRegistry);
+        return affordabilityGate;
+    }
+
+    @Bean
+    public CalculatorEngine calculatorEngine(ServiceUtil serviceUtil,
+                                             ValidationService validationService,
+                                             MortgageCalculatorFactory mortgageCalculatorFactory,
+                                             AffordabilityGate affordabilityGate,
+                                             @Value("${affordability-gate.enabled:true}") boolean affordabilityGateEnabled) {
+        return new CalculatorEngine(serviceUtil, validationService, mortgageCalculatorFactory,
+                affordabilityGateEnabled ? affordabilityGate : null);
+    }
+
+    @Bean
+    public RateShockCalculator rateShockCalculator(CalculatorEngine calculatorEngine) {
+        return new RateShockCalculator(calculatorEngine);
+    }
+
+    @Bean
+    public MonteCarloSimulator monteCarloSimulator(CalculatorEngine calculatorEngine) {
+        return new MonteCarloSimulator(calculatorEngine);
+    }
+
+    @Bean
+    public TargetInstallmentSolver targetInstallmentSolver(CalculatorEngine calculatorEngine) {
+        return new TargetInstallmentSolver(calculatorEngine);
+    }
+
+    @Bean
+    public BestOfferOptimizer bestOfferOptimizer(CalculatorEngine calculatorEngine) {
+        return new BestOfferOptimizer(calculatorEngine);
+    }
+
+    @Bean
+    public ProductComparator productComparator(CalculatorEngine calculatorEngine) {
+        return new ProductComparator(calculatorEngine);
+    }
+
+    @Bean
+    public EarlyRepaymentSimulator earlyRepaymentSimulator(CalculatorEngine calculatorEngine) {
+        return new EarlyRepaymentSimulator(calculatorEngine);
+    }
+
+    @Bean
+    public WhatIfSessionFactory whatIfSessionFactory(CalculatorEngine calculatorEngine,
+                                                     LastKnownGoodReferenceDataProvider lastKnownGoodReferenceDataProvider) {
+        return new WhatIfSessionFactory(calculatorEngine, lastKnownGoodReferenceDataProvider::getContentVersion);
+    }
+}
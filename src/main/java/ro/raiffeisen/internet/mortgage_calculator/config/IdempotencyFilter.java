@@ -0,0 +1,387 @@
+package ro.raiffeisen.internet.mortgage_calculator.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ro.raiffeisen.internet.mortgage_calculator.model.Error;
+import ro.raiffeisen.internet.mortgage_calculator.model.ErrorReason;
+import ro.raiffeisen.internet.mortgage_calculator.service.idempotency.IdempotencyStore;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static ro.raiffeisen.internet.mortgage_calculator.helper.MarkerFields.CONTEXT_CORRELATION_ID;
+import static ro.raiffeisen.internet.mortgage_calculator.helper.MarkerFields.CONTEXT_REQUEST_ID;
+import static ro.raiffeisen.internet.mortgage_calculator.model.StandardHttpHeaders.X_CORRELATION_ID;
+import static ro.raiffeisen.internet.mortgage_calculator.model.StandardHttpHeaders.X_IDEMPOTENCY_KEY;
+import static ro.raiffeisen.internet.mortgage_calculator.model.StandardHttpHeaders.X_REQUEST_ID;
+
+/**
+ * Answers retried POST and PATCH requests carrying {@code X-Idempotency-Key} from the {@link IdempotencyStore}.
+ * <p>
+ * The first request with a key is processed normally and its encoded response, with its headers, is stored.
+ * A retry that arrives while the first request runs waits for it, a later one gets the stored response. A key
+ * reused with a different method, path, Accept header or body is rejected with 422, as the stored response would
+ * not answer it. Server errors and 429 are handed to the waiting retries but not kept, so the next retry computes
+ * again. Streamed responses, such as the repayment plan, are passed through without being kept.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final String IDEMPOTENCY_KEY_REUSED = "IDEMPOTENCY_KEY_REUSED";
+    static final String IDEMPOTENCY_REQUEST_IN_PROGRESS = "IDEMPOTENCY_REQUEST_IN_PROGRESS";
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Duration waitTimeout;
+    private final Counter replayed;
+    private final Counter rejected;
+
+    public IdempotencyFilter(ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${idempotency.ttl:24h}") Duration ttl,
+                             @Value("${idempotency.max-entries:10000}") long maxEntries,
+                             @Value("${idempotency.wait-timeout:30s}") Duration waitTimeout) {
+        this.store = new IdempotencyStore(ttl, maxEntries);
+        this.objectMapper = objectMapper;
+        this.waitTimeout = waitTimeout;
+        this.replayed = Counter.builder("idempotency.replayed")
+                .description("Requests answered with the response of an earlier request with the same idempotency key")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("idempotency.rejected")
+                .description("Requests rejected because their idempotency key was used for a different request")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String key = request.getHeader(X_IDEMPOTENCY_KEY);
+        return key == null || key.isBlank()
+                || !(HttpMethod.POST.matches(request.getMethod()) || HttpMethod.PATCH.matches(request.getMethod()));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        byte[] body = request.getInputStream().readAllBytes();
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request, body);
+        byte[] fingerprint = fingerprint(request, body);
+        IdempotencyStore.Claim claim = store.claim(request.getHeader(X_IDEMPOTENCY_KEY), fingerprint);
+
+        if (claim.owner()) {
+            process(cachedRequest, response, filterChain, claim);
+        } else if (!claim.matches(fingerprint)) {
+            rejected.increment();
+            writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY, IDEMPOTENCY_KEY_REUSED,
+                    "Idempotency key was already used for a different request");
+        } else {
+            replay(cachedRequest, response, filterChain, claim);
+        }
+    }
+
+    private void process(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         IdempotencyStore.Claim claim) throws ServletException, IOException {
+        CapturingResponse capturingResponse = new CapturingResponse(response);
+        try {
+            filterChain.doFilter(request, capturingResponse);
+        } catch (ServletException | IOException | RuntimeException e) {
+            store.abandon(claim, e);
+            throw e;
+        }
+
+        if (request.isAsyncStarted()) {
+            // Streamed responses are written after this returns and may be large, so they are passed through
+            // and not kept; retries compute again
+            capturingResponse.stopCapturing();
+            store.abandon(claim, new IllegalStateException("Streamed responses are not stored"));
+            return;
+        }
+
+        capturingResponse.flushBuffer();
+        int status = capturingResponse.getStatus();
+        store.complete(claim,
+                new IdempotencyStore.StoredResponse(status, capturingResponse.getContentType(),
+                        capturingResponse.getStoredHeaders(), capturingResponse.getCapturedBody()),
+                status < 500 && status != HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    private void replay(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                        IdempotencyStore.Claim claim) throws ServletException, IOException {
+        IdempotencyStore.StoredResponse stored;
+        try {
+            stored = claim.entry().response().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            writeError(request, response, HttpStatus.CONFLICT, IDEMPOTENCY_REQUEST_IN_PROGRESS,
+                    "A request with this idempotency key is still being processed");
+            return;
+        } catch (ExecutionException e) {
+            // The first attempt failed without a response and released the key, so this one runs on its own
+            filterChain.doFilter(request, response);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrupted while waiting for an idempotent request", e);
+        }
+
+        replayed.increment();
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        stored.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                            String code, String message) throws IOException {
+        // Filters run outside the controller advice, so the error body is built here in the same format
+        String correlationId = MDC.get(CONTEXT_CORRELATION_ID);
+        String requestId = MDC.get(CONTEXT_REQUEST_ID);
+        Error error = Error.builder()
+                .errorId(UUID.randomUUID().toString())
+                .correlationId(correlationId != null ? correlationId : request.getHeader(X_CORRELATION_ID))
+                .requestId(requestId != null ? requestId : request.getHeader(X_REQUEST_ID))
+                .status(status.value())
+                .reasons(List.of(ErrorReason.builder()
+                        .code(code)
+                        .message(message)
+                        .severity(ErrorReason.SeverityType.ERROR)
+                        .build()))
+                .build();
+
+        log.warn("{} for idempotency key {}", message, request.getHeader(X_IDEMPOTENCY_KEY));
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * SHA-256 over method, path, Accept header and body, so a key cannot be replayed against another operation
+     * or in another format.
+     */
+    static byte[] fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            String accept = request.getHeader(HttpHeaders.ACCEPT);
+            digest.update((accept != null ? accept : "").getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            return digest.digest(body);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Request whose body was read by the filter and can be read again by the controller.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // The whole body is already in memory, so it can be read at once
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Response written through to the client while a copy of its body is kept for the idempotency store.
+     * The copy can be stopped, for streamed responses that are not stored.
+     */
+    private static class CapturingResponse extends HttpServletResponseWrapper {
+
+        private static final Set<String> NOT_STORED_HEADERS = Set.of(
+                HttpHeaders.CONTENT_TYPE.toLowerCase(), HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+                HttpHeaders.TRANSFER_ENCODING.toLowerCase(), HttpHeaders.DATE.toLowerCase());
+
+        private ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        CapturingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream target = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public boolean isReady() {
+                        return target.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        target.setWriteListener(writeListener);
+                    }
+
+                    @Override
+                    public void write(int b) throws IOException {
+                        target.write(b);
+                        capture(b);
+                    }
+
+                    @Override
+                    public void write(byte[] buffer, int offset, int length) throws IOException {
+                        target.write(buffer, offset, length);
+                        capture(buffer, offset, length);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        target.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        target.close();
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            } else if (outputStream != null) {
+                outputStream.flush();
+            }
+            super.flushBuffer();
+        }
+
+        synchronized void stopCapturing() {
+            captured = null;
+        }
+
+        synchronized byte[] getCapturedBody() {
+            return captured != null ? captured.toByteArray() : new byte[0];
+        }
+
+        Map<String, List<String>> getStoredHeaders() {
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            for (String name : getHeaderNames()) {
+                if (!NOT_STORED_HEADERS.contains(name.toLowerCase())) {
+                    headers.putIfAbsent(name, List.copyOf(getHeaders(name)));
+                }
+            }
+            return headers;
+        }
+
+        private synchronized void capture(int b) {
+            if (captured != null) {
+                captured.write(b);
+            }
+        }
+
+        private synchronized void capture(byte[] buffer, int offset, int length) {
+            if (captured != null) {
+                captured.write(buffer, offset, length);
+            }
+        }
+    }
+}
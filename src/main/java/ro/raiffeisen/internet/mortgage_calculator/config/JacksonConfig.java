@@ -0,0 +1,28 @@
+package ro.raiffeisen.internet.mortgage_calculator.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ro.raiffeisen.internet.mortgage_calculator.model.json.CalculatorJsonModule;
+
+/**
+ * Modules of the shared ObjectMapper, used for requests, responses, warm-up and the repayment plan writers.
+ * Spring Boot registers every {@link Module} bean with it.
+ * <p>
+ * Blackbird replaces the reflective property access of the bean (de)serializers with generated lambdas;
+ * see the JsonSerializationBenchmark in src/jmh ({@code gradle jmh}) for the effect.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public Module calculatorJsonModule() {
+        return new CalculatorJsonModule();
+    }
+}
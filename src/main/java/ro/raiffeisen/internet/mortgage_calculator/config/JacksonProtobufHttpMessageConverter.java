@@ -0,0 +1,81 @@
+package ro.raiffeisen.internet.mortgage_calculator.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads and writes the models that have a message in a .proto schema as Protobuf, through Jackson,
+ * so they need no generated classes. Messages are looked up by the simple name of the model class;
+ * other types are left to the remaining converters.
+ */
+public class JacksonProtobufHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private final Map<Class<?>, ProtobufSchema> schemas = new HashMap<>();
+
+    /**
+     * @param objectMapper an ObjectMapper with a {@link com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory}
+     * @param proto        the .proto schema
+     * @param types        the models to convert; each needs a message of its simple name in the schema
+     */
+    public JacksonProtobufHttpMessageConverter(ObjectMapper objectMapper, Resource proto, Class<?>... types) {
+        super(objectMapper, APPLICATION_PROTOBUF);
+        String source;
+        try (InputStream input = proto.getInputStream()) {
+            source = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read Protobuf schema " + proto, e);
+        }
+        for (Class<?> type : types) {
+            try {
+                schemas.put(type, ProtobufSchemaLoader.std.parse(source).withRootType(type.getSimpleName()));
+            } catch (IOException | IllegalArgumentException e) {
+                throw new IllegalStateException("No Protobuf message for " + type.getName() + " in " + proto, e);
+            }
+        }
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return type instanceof Class<?> clazz && schemas.containsKey(clazz) && super.canRead(type, contextClass, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+        return schemas.containsKey(clazz) && super.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        // The schema is chosen by the runtime class, whatever type the handler method declares
+        super.writeInternal(object, object.getClass(), outputMessage);
+    }
+
+    @Override
+    protected ObjectReader customizeReader(ObjectReader reader, JavaType javaType) {
+        return reader.with(schemas.get(javaType.getRawClass()));
+    }
+
+    @Override
+    protected ObjectWriter customizeWriter(ObjectWriter writer, @Nullable JavaType javaType, @Nullable MediaType contentType) {
+        return writer.with(schemas.get(javaType.getRawClass()));
+    }
+}
@@ -1,60 +1,77 @@
 package ro.raiffeisen.internet.mortgage_calculator.config;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
-import org.springframework.web.bind.annotation.ResponseStatus;
-import org.springframework.web.servlet.HandlerInterceptor;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
 
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 import static ro.raiffeisen.internet.mortgage_calculator.helper.MarkerFields.*;
 import static ro.raiffeisen.internet.mortgage_calculator.model.StandardHttpHeaders.*;
 
-
+/**
+ * Puts the tracing identifiers of a request in the MDC and logs its start and end.
+ * <p>
+ * A streamed response is written after the servlet thread that started it was released: the MDC is then taken
+ * off that thread and put back on the async dispatch that ends the request, so the logged execution time covers
+ * the whole stream.
+ */
 @Component
-public class LoggerRequestInterceptorAdapter implements HandlerInterceptor {
+public class LoggerRequestInterceptorAdapter implements AsyncHandlerInterceptor {
+
+  private static final String START_TIME_ATTRIBUTE = "startTime";
+  private static final String SAMPLED_ATTRIBUTE = "requestLogSampled";
+  private static final String MDC_ATTRIBUTE = "requestLogMdc";
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
 
   private final Logger log = LoggerFactory.getLogger("AUDIT_REQUESTS");
 
+  private final double logSampleRate;
+
+  public LoggerRequestInterceptorAdapter(
+      @Value("${telemetry.request-log.sample-rate:1.0}") double logSampleRate) {
+    this.logSampleRate = logSampleRate;
+  }
+
   @Override
   public boolean preHandle(
       final HttpServletRequest request,
       @NonNull final HttpServletResponse response,
       @NonNull final Object handler) {
 
-    LocalDateTime startTime = LocalDateTime.now();
-    request.setAttribute("startTime", startTime);
-    final String urlPath = ServletUriComponentsBuilder.fromCurrentRequest().build().getPath();
-    final String queryParams = request.getQueryString();
-
-    MDC.put(CONTEXT_REQUEST_ID, request.getHeader(X_REQUEST_ID));
-
-    if (null == request.getHeader(X_CORRELATION_ID)) {
-      MDC.put(CONTEXT_TRACE_ID, UUID.randomUUID().toString());
-    } else {
-      MDC.put(CONTEXT_TRACE_ID, request.getHeader(X_CORRELATION_ID));
+    if (request.getDispatcherType() == DispatcherType.ASYNC) {
+      restoreMdc(request);
+      return true;
     }
 
-    MDC.put(CONTEXT_CORRELATION_ID, request.getHeader(X_CORRELATION_ID));
-    MDC.put(CONTEXT_SPAN_ID, UUID.randomUUID().toString());
-    MDC.put(CONTEXT_PARENT_SPAN_ID, request.getHeader(X_CORRELATION_ID));
-    MDC.put(CONTEXT_NWU_ID, request.getHeader(RICE_NWU_ID));
-    MDC.put(CONTEXT_API_VERSION, request.getHeader(ACCEPT_VERSION));
+    // Nothing of an earlier request on this thread may stay, as only the headers present are put below
+    MDC.clear();
+    request.setAttribute(START_TIME_ATTRIBUTE, System.nanoTime());
+    final String queryParams = request.getQueryString();
+    final String correlationId = request.getHeader(X_CORRELATION_ID);
+
+    putIfPresent(CONTEXT_REQUEST_ID, request.getHeader(X_REQUEST_ID));
+    // Tracing identifiers only need to be unique, not unpredictable, so SecureRandom-backed UUIDs are not used
+    MDC.put(CONTEXT_TRACE_ID, correlationId != null ? correlationId : randomHex(2));
+    putIfPresent(CONTEXT_CORRELATION_ID, correlationId);
+    MDC.put(CONTEXT_SPAN_ID, randomHex(1));
+    putIfPresent(CONTEXT_PARENT_SPAN_ID, correlationId);
+    putIfPresent(CONTEXT_NWU_ID, request.getHeader(RICE_NWU_ID));
+    putIfPresent(CONTEXT_IDEMPOTENCY_KEY, request.getHeader(X_IDEMPOTENCY_KEY));
+    putIfPresent(CONTEXT_API_VERSION, request.getHeader(ACCEPT_VERSION));
 
-    MDC.put(CONTEXT_REQUEST_URL, urlPath);
+    MDC.put(CONTEXT_REQUEST_URL, request.getRequestURI());
 
     if (request.getMethod().equals(HttpMethod.POST.name())) {
       MDC.put(CONTEXT_OPERATION, "create");
@@ -67,11 +84,16 @@ public class LoggerRequestInterceptorAdapter implements HandlerInterceptor {
     }
 
     MDC.put(CONTEXT_HTTP_METHOD, request.getMethod());
-    if (queryParams != null) {
-      MDC.put(CONTEXT_DATA, queryParams);
+
+    boolean sampled = isSampled();
+    request.setAttribute(SAMPLED_ATTRIBUTE, sampled);
+    if (sampled) {
+      if (queryParams != null) {
+        MDC.put(CONTEXT_DATA, queryParams);
+      }
+      log.info("Request processing started...");
+      MDC.remove(CONTEXT_DATA);
     }
-    log.info("Request processing started...");
-    MDC.remove("data");
 
     return true;
   }
@@ -84,14 +106,66 @@ public class LoggerRequestInterceptorAdapter implements HandlerInterceptor {
       @Nullable final Exception ex) {
 
     try {
-      final LocalDateTime startTime = (LocalDateTime) request.getAttribute("startTime");
-      MDC.put(
-          CONTEXT_EXECUTION_TIME, ChronoUnit.MILLIS.between(startTime, LocalDateTime.now()) + "");
-      MDC.put(CONTEXT_HTTP_STATUS, String.valueOf(response.getStatus()));
-      log.info("Request processing ended.");
+      final Long startTime = (Long) request.getAttribute(START_TIME_ATTRIBUTE);
+      if (startTime == null) {
+        return;
+      }
+      final long elapsedNanos = System.nanoTime() - startTime;
+      final int status = response.getStatus();
+
+      // Failures are always logged; successful requests only when sampled
+      if (Boolean.TRUE.equals(request.getAttribute(SAMPLED_ATTRIBUTE)) || status >= 400 || ex != null) {
+        MDC.put(CONTEXT_EXECUTION_TIME, String.valueOf(TimeUnit.NANOSECONDS.toMillis(elapsedNanos)));
+        MDC.put(CONTEXT_EXECUTION_TIME_MICROS, String.valueOf(TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+        MDC.put(CONTEXT_HTTP_STATUS, String.valueOf(status));
+        log.info("Request processing ended.");
+      }
     } finally {
       MDC.clear();
     }
   }
-  
+
+  @Override
+  public void afterConcurrentHandlingStarted(
+      @NonNull final HttpServletRequest request,
+      @NonNull final HttpServletResponse response,
+      @NonNull final Object handler) {
+    // The servlet thread goes back to the pool while the response is streamed; the async dispatch restores the MDC
+    request.setAttribute(MDC_ATTRIBUTE, MDC.getCopyOfContextMap());
+    MDC.clear();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void restoreMdc(HttpServletRequest request) {
+    Map<String, String> context = (Map<String, String>) request.getAttribute(MDC_ATTRIBUTE);
+    if (context != null) {
+      MDC.setContextMap(context);
+    }
+  }
+
+  private boolean isSampled() {
+    return logSampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < logSampleRate;
+  }
+
+  private static void putIfPresent(String key, String value) {
+    if (value != null) {
+      MDC.put(key, value);
+    }
+  }
+
+  /**
+   * Random lowercase hex identifier of {@code longs} * 64 bits, as used for B3 span (64-bit) and trace (128-bit) ids.
+   */
+  static String randomHex(int longs) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    char[] chars = new char[longs * 16];
+    for (int l = 0; l < longs; l++) {
+      long value = random.nextLong();
+      for (int i = 15; i >= 0; i--) {
+        chars[l * 16 + i] = HEX_DIGITS[(int) (value & 0xF)];
+        value >>>= 4;
+      }
+    }
+    return new String(chars);
+  }
 }
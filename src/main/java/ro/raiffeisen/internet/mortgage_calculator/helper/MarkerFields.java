@@ -3,6 +3,7 @@ package ro.raiffeisen.internet.mortgage_calculator.helper;
 public final class MarkerFields {
 
     public static final String CONTEXT_EXECUTION_TIME = "execution_time";
+    public static final String CONTEXT_EXECUTION_TIME_MICROS = "execution_time_us";
     public static final String CONTEXT_REQUEST_ID = "request_id";
     public static final String CONTEXT_DATA = "data";
     public static final String CONTEXT_SPAN_ID = "span_id";
@@ -10,8 +11,10 @@ public final class MarkerFields {
     public static final String CONTEXT_OPERATION = "operation";
     public static final String CONTEXT_CORRELATION_ID = "correlation_id";
     public static final String CONTEXT_NWU_ID = "nwu_id";
+    public static final String CONTEXT_IDEMPOTENCY_KEY = "idempotency_key";
     public static final String CONTEXT_API_VERSION = "api_version";
     public static final String CONTEXT_TRACE_ID = "trace_id";
+    public static final String CONTEXT_EVENT_TIME = "event_time";
 
     public static final String CONTEXT_HTTP_STATUS = "http_status";
     public static final String CONTEXT_CLIENT_IP = "client_ip";
@@ -11,6 +11,7 @@ public class StandardHttpHeaders {
   public static final String ACCEPT_VERSION = "Accept-Version";
   public static final String DEVICE_SESSION_PROVIDER = "Device-Session-Provider";
   public static final String DEVICE_SESSION_ID = "Device-Session-ID";
+  public static final String X_REQUEST_PRIORITY = "X-Request-Priority";
 
   private StandardHttpHeaders() {
     throw new IllegalStateException("Utility class");
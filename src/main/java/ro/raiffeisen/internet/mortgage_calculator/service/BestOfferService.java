@@ -0,0 +1,51 @@
+package ro.raiffeisen.internet.mortgage_calculator.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+import ro.raiffeisen.internet.mortgage_calculator.model.offer.BestOfferRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.offer.BestOfferResponse;
+import ro.raiffeisen.internet.mortgage_calculator.service.audit.AuditLogger;
+import ro.raiffeisen.internet.mortgage_calculator.service.offer.BestOfferOptimizer;
+
+import java.util.concurrent.Executor;
+
+import static ro.raiffeisen.internet.mortgage_calculator.config.CalculationExecutorConfig.CALCULATION_EXECUTOR;
+
+/**
+ * Compares the loan under every combination of the discounts the client could choose,
+ * in place of one call to the calculation endpoint per combination.
+ */
+@Service
+public class BestOfferService {
+
+    private final BestOfferOptimizer bestOfferOptimizer;
+    private final Executor calculationExecutor;
+    private final AuditLogger auditLogger;
+
+    public BestOfferService(BestOfferOptimizer bestOfferOptimizer,
+                            @Qualifier(CALCULATION_EXECUTOR) Executor calculationExecutor,
+                            AuditLogger auditLogger) {
+        this.bestOfferOptimizer = bestOfferOptimizer;
+        this.calculationExecutor = calculationExecutor;
+        this.auditLogger = auditLogger;
+    }
+
+    public BestOfferResponse findBestOffer(BestOfferRequest request) {
+        validate(request);
+        auditLogger.log("/calculator/mortgage-calculator/best-offer", request.getCalculationRequest().toBuilder().build());
+
+        return bestOfferOptimizer.optimize(request, calculationExecutor);
+    }
+
+    private void validate(BestOfferRequest request) {
+        if (request.getCalculationRequest() == null)
+            throw new BadRequestException("CalculationRequest should not be null");
+
+        if (request.getCalculationRequest().getSpecialOfferRequirements() == null)
+            throw new BadRequestException("SpecialOfferRequirements should not be null");
+
+        if (!request.isConsiderSalaryInTheBank() && !request.isConsiderCasaVerde() && !request.isConsiderInsurance())
+            throw new BadRequestException("At least one discount should be considered");
+    }
+}
@@ -0,0 +1,38 @@
+package ro.raiffeisen.internet.mortgage_calculator.service;
+
+import org.springframework.stereotype.Service;
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+import ro.raiffeisen.internet.mortgage_calculator.model.prepayment.EarlyRepaymentRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.prepayment.EarlyRepaymentResponse;
+import ro.raiffeisen.internet.mortgage_calculator.service.audit.AuditLogger;
+import ro.raiffeisen.internet.mortgage_calculator.service.prepayment.EarlyRepaymentSimulator;
+
+/**
+ * Simulates early repayments of a loan and the savings they bring, net of the early repayment commission.
+ */
+@Service
+public class EarlyRepaymentService {
+
+    private final EarlyRepaymentSimulator earlyRepaymentSimulator;
+    private final AuditLogger auditLogger;
+
+    public EarlyRepaymentService(EarlyRepaymentSimulator earlyRepaymentSimulator, AuditLogger auditLogger) {
+        this.earlyRepaymentSimulator = earlyRepaymentSimulator;
+        this.auditLogger = auditLogger;
+    }
+
+    public EarlyRepaymentResponse simulate(EarlyRepaymentRequest request) {
+        validate(request);
+        auditLogger.log("/calculator/mortgage-calculator/early-repayment", request.getCalculationRequest().toBuilder().build());
+
+        return earlyRepaymentSimulator.simulate(request.getCalculationRequest(), request.getPrepayments());
+    }
+
+    private void validate(EarlyRepaymentRequest request) {
+        if (request.getCalculationRequest() == null)
+            throw new BadRequestException("CalculationRequest should not be null");
+
+        if (request.getPrepayments() == null || request.getPrepayments().isEmpty())
+            throw new BadRequestException("At least one prepayment should be provided");
+    }
+}
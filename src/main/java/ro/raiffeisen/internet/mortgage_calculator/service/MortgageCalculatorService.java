@@ -1,60 +1,58 @@
 package ro.raiffeisen.internet.mortgage_calculator.service;
 
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import ro.raiffeisen.internet.mortgage_calculator.helper.MortgageCalculatorMapper;
+import ro.raiffeisen.internet.mortgage_calculator.config.CalculationCacheKeyGenerator;
 import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
 import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
-import ro.raiffeisen.internet.mortgage_calculator.service.calculator.MortgageCalculator;
-import ro.raiffeisen.internet.mortgage_calculator.service.calculator.MortgageCalculatorFactory;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.RepaymentPlanEntry;
+import ro.raiffeisen.internet.mortgage_calculator.service.audit.AuditLogger;
+
+import java.util.Iterator;
 
 import static ro.raiffeisen.internet.mortgage_calculator.config.CacheConfig.MORTGAGE_CALCULATION_CACHE;
 
 /**
  * Main service for mortgage calculation orchestration.
- * This service has been refactored to use the Strategy pattern with specific calculators
- * for each credit type, eliminating code duplication and improving maintainability.
+ * The calculation itself runs in the framework-free {@link CalculatorEngine};
+ * this service adds caching and audit logging around it.
  */
-@Slf4j
 @Service
 @RequiredArgsConstructor
 public class MortgageCalculatorService {
 
-    private final ServiceUtil serviceUtil;
-    private final MortgageCalculatorMapper mapper;
-    private final ValidationService validationService;
-    private final MortgageCalculatorFactory calculatorFactory;
+    private final CalculatorEngine calculatorEngine;
+    private final AuditLogger auditLogger;
 
     /**
      * Creates a mortgage calculation based on the request.
-     * Uses the factory to delegate to the appropriate calculator based on product code.
+     * The engine delegates to the appropriate calculator based on product code.
      * 
-     * Results are cached for 24 hours (1 day) to maximize performance for repeated calculations.
-     * Cache key is based on the entire request object.
+     * Results are cached to maximize performance for repeated calculations.
+     * Cache key is based on the entire request object and the version of the product's reference data,
+     * so results are recalculated as soon as rates, discounts or parameters change.
      * 
      * @param request the mortgage calculation request
      * @return the calculated mortgage response
      */
-    @Cacheable(value = MORTGAGE_CALCULATION_CACHE, key = "#request.toString()")
+    @Cacheable(value = MORTGAGE_CALCULATION_CACHE, keyGenerator = CalculationCacheKeyGenerator.BEAN_NAME)
     public MortgageCalculationResponse createCalculation(MortgageCalculationRequest request) {
-        log.info("/calculator/mortgage-calculator request body:" + mapper.mapToJson(request));
-        validationService.validateRequest(request);
-
-        // Calculate maximum tenor based on age
-        int maxTenor = serviceUtil.calculateMaxPeriod(request.getAge(), request.getTenor());
-        request.setTenor(maxTenor * 12);
-        
-        // Initialize response
-        MortgageCalculationResponse response = MortgageCalculationResponse.builder()
-                .tenor(maxTenor)
-                .build();
-
-        // Get the appropriate calculator and perform calculation
-        MortgageCalculator calculator = calculatorFactory.getCalculator(request.getProductCode());
-        calculator.calculate(request, response);
+        // Shallow copy: the calculation replaces top-level fields (tenor, loan amount) while the audit entry is queued
+        auditLogger.log("/calculator/mortgage-calculator", request.toBuilder().build());
+        return calculatorEngine.calculate(request);
+    }
 
-        return response;
+    /**
+     * Prepares the calculation and returns its repayment plan as a lazy iterator.
+     * All reference data is retrieved before returning; the entries themselves are only
+     * computed while the caller iterates, so the full plan is never held in memory.
+     *
+     * @param request the mortgage calculation request
+     * @return the repayment plan entries, starting with month 0
+     */
+    public Iterator<RepaymentPlanEntry> createRepaymentPlan(MortgageCalculationRequest request) {
+        auditLogger.log("/calculator/mortgage-calculator/repayment-plan", request.toBuilder().build());
+        return calculatorEngine.createRepaymentPlan(request);
     }
 }
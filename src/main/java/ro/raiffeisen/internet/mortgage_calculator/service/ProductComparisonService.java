@@ -0,0 +1,59 @@
+package ro.raiffeisen.internet.mortgage_calculator.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+import ro.raiffeisen.internet.mortgage_calculator.model.comparison.ProductComparisonRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.comparison.ProductComparisonResponse;
+import ro.raiffeisen.internet.mortgage_calculator.service.audit.AuditLogger;
+import ro.raiffeisen.internet.mortgage_calculator.service.comparison.ProductComparator;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static ro.raiffeisen.internet.mortgage_calculator.config.CalculationExecutorConfig.CALCULATION_EXECUTOR;
+
+/**
+ * Side-by-side pricing of one loan with every product, in place of one call to the calculation endpoint per product.
+ */
+@Service
+public class ProductComparisonService {
+
+    private final ProductComparator productComparator;
+    private final Executor calculationExecutor;
+    private final AuditLogger auditLogger;
+    private final int maxProducts;
+
+    public ProductComparisonService(ProductComparator productComparator,
+                                    @Qualifier(CALCULATION_EXECUTOR) Executor calculationExecutor,
+                                    AuditLogger auditLogger,
+                                    @Value("${comparison.max-products:10}") int maxProducts) {
+        this.productComparator = productComparator;
+        this.calculationExecutor = calculationExecutor;
+        this.auditLogger = auditLogger;
+        this.maxProducts = maxProducts;
+    }
+
+    public ProductComparisonResponse compare(ProductComparisonRequest request) {
+        validate(request);
+        auditLogger.log("/calculator/mortgage-calculator/comparison", request.getCalculationRequest().toBuilder().build());
+
+        return productComparator.compare(request.getCalculationRequest(), request.getProductCodes(), calculationExecutor);
+    }
+
+    private void validate(ProductComparisonRequest request) {
+        if (request.getCalculationRequest() == null)
+            throw new BadRequestException("CalculationRequest should not be null");
+
+        List<String> productCodes = request.getProductCodes();
+        if (productCodes == null)
+            return;
+
+        if (productCodes.size() > maxProducts)
+            throw new BadRequestException("At most " + maxProducts + " products can be compared in one request");
+
+        if (productCodes.stream().anyMatch(productCode -> productCode == null || productCode.isBlank()))
+            throw new BadRequestException("ProductCodes should not contain empty values");
+    }
+}
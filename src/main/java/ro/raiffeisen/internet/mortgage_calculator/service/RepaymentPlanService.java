@@ -0,0 +1,88 @@
+package ro.raiffeisen.internet.mortgage_calculator.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import ro.raiffeisen.internet.mortgage_calculator.config.CalculationCacheKeyGenerator;
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.ColumnarRepaymentPlan;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.RepaymentPlanEntry;
+
+import java.util.Iterator;
+
+import static ro.raiffeisen.internet.mortgage_calculator.config.CacheConfig.MORTGAGE_CALCULATION_CACHE;
+
+/**
+ * Serves the repayment plan, in full or as a range of months.
+ * Plans cached next to a calculation result are sliced directly, without recomputation.
+ * A ranged request that misses the cache goes through the cached calculation, so the next page is a hit;
+ * a full plan that misses the cache is streamed lazily instead.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RepaymentPlanService {
+
+    private final MortgageCalculatorService mortgageCalculatorService;
+    private final CacheManager cacheManager;
+    private final CalculationCacheKeyGenerator cacheKeyGenerator;
+
+    /**
+     * @param request   the mortgage calculation request
+     * @param fromMonth first month to return, inclusive; {@code null} means month 0
+     * @param toMonth   last month to return, inclusive; {@code null} means the end of the plan
+     * @return the requested repayment plan entries, in month order
+     */
+    public Iterator<RepaymentPlanEntry> getRepaymentPlan(MortgageCalculationRequest request, Integer fromMonth, Integer toMonth) {
+        validateRange(fromMonth, toMonth);
+
+        // Same key as MortgageCalculatorService#createCalculation, taken before the calculation adjusts the tenor
+        ColumnarRepaymentPlan cachedPlan = getCachedPlan(cacheKeyGenerator.keyFor(request));
+        if (cachedPlan != null) {
+            log.debug("Serving repayment plan from cache");
+            return slice(cachedPlan, fromMonth, toMonth);
+        }
+
+        if (fromMonth == null && toMonth == null) {
+            return mortgageCalculatorService.createRepaymentPlan(request);
+        }
+
+        MortgageCalculationResponse response = mortgageCalculatorService.createCalculation(request);
+        return slice(response.getRepaymentPlan(), fromMonth, toMonth);
+    }
+
+    private ColumnarRepaymentPlan getCachedPlan(Object key) {
+        Cache cache = cacheManager.getCache(MORTGAGE_CALCULATION_CACHE);
+        if (cache == null) {
+            return null;
+        }
+        MortgageCalculationResponse response = cache.get(key, MortgageCalculationResponse.class);
+        return response != null ? response.getRepaymentPlan() : null;
+    }
+
+    private Iterator<RepaymentPlanEntry> slice(ColumnarRepaymentPlan plan, Integer fromMonth, Integer toMonth) {
+        int from = fromMonth != null ? fromMonth : 0;
+        int to = toMonth != null ? Math.min(toMonth, plan.getLastMonth()) : plan.getLastMonth();
+
+        if (from > plan.getLastMonth()) {
+            throw new BadRequestException("fromMonth " + from + " is after the last month of the repayment plan (" + plan.getLastMonth() + ")");
+        }
+        return plan.iterator(from, to);
+    }
+
+    private void validateRange(Integer fromMonth, Integer toMonth) {
+        if (fromMonth != null && fromMonth < 0) {
+            throw new BadRequestException("fromMonth must not be negative");
+        }
+        if (toMonth != null && toMonth < 0) {
+            throw new BadRequestException("toMonth must not be negative");
+        }
+        if (fromMonth != null && toMonth != null && fromMonth > toMonth) {
+            throw new BadRequestException("fromMonth must not be after toMonth");
+        }
+    }
+}
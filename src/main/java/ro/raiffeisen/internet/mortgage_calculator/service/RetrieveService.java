@@ -5,7 +5,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
@@ -102,7 +101,6 @@ public class RetrieveService {
         httpHeaders.set("X-Idempotency-Key", MDC.get("idempotency_key"));
         httpHeaders.set("X-RBRO-ApplicationName", applicationName);
         httpHeaders.set("X-RBRO-ApplicationUsername", "APP_USER");
-        httpHeaders.set("X-Idempotency-Key", MDC.get("idempotency_key"));
         httpHeaders.set("RICE-NWU-ID", MDC.get("nwu_id"));
 
         return httpHeaders;
@@ -0,0 +1,79 @@
+package ro.raiffeisen.internet.mortgage_calculator.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+import ro.raiffeisen.internet.mortgage_calculator.model.simulation.SimulationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.simulation.SimulationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.service.audit.AuditLogger;
+import ro.raiffeisen.internet.mortgage_calculator.service.simulation.IrccModel;
+import ro.raiffeisen.internet.mortgage_calculator.service.simulation.MonteCarloSimulator;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static ro.raiffeisen.internet.mortgage_calculator.config.CalculationExecutorConfig.SIMULATION_POOL;
+
+/**
+ * Monte Carlo simulation of the loan cost over random IRCC paths. Model parameters missing
+ * from the request fall back to the configured ones.
+ */
+@Service
+public class SimulationService {
+
+    private final MonteCarloSimulator monteCarloSimulator;
+    private final ForkJoinPool simulationPool;
+    private final AuditLogger auditLogger;
+    private final int defaultPaths;
+    private final int maxPaths;
+    private final double meanReversionSpeed;
+    private final double longTermMean;
+    private final double volatility;
+
+    public SimulationService(MonteCarloSimulator monteCarloSimulator,
+                             @Qualifier(SIMULATION_POOL) ForkJoinPool simulationPool,
+                             AuditLogger auditLogger,
+                             @Value("${simulation.default-paths:10000}") int defaultPaths,
+                             @Value("${simulation.max-paths:100000}") int maxPaths,
+                             @Value("${simulation.mean-reversion-speed:0.5}") double meanReversionSpeed,
+                             @Value("${simulation.long-term-mean:4.5}") double longTermMean,
+                             @Value("${simulation.volatility:1.0}") double volatility) {
+        this.monteCarloSimulator = monteCarloSimulator;
+        this.simulationPool = simulationPool;
+        this.auditLogger = auditLogger;
+        this.defaultPaths = defaultPaths;
+        this.maxPaths = maxPaths;
+        this.meanReversionSpeed = meanReversionSpeed;
+        this.longTermMean = longTermMean;
+        this.volatility = volatility;
+    }
+
+    public SimulationResponse simulate(SimulationRequest request) {
+        validate(request);
+        auditLogger.log("/calculator/mortgage-calculator/simulation", request.getCalculationRequest().toBuilder().build());
+
+        IrccModel model = new IrccModel(
+                request.getMeanReversionSpeed() != null ? request.getMeanReversionSpeed() : meanReversionSpeed,
+                request.getLongTermMean() != null ? request.getLongTermMean() : longTermMean,
+                request.getVolatility() != null ? request.getVolatility() : volatility);
+        int paths = request.getPaths() != null ? request.getPaths() : defaultPaths;
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+
+        return monteCarloSimulator.simulate(request.getCalculationRequest(), paths, seed, model, simulationPool);
+    }
+
+    private void validate(SimulationRequest request) {
+        if (request.getCalculationRequest() == null)
+            throw new BadRequestException("CalculationRequest should not be null");
+
+        if (request.getPaths() != null && (request.getPaths() < 1 || request.getPaths() > maxPaths))
+            throw new BadRequestException("Paths should be between 1 and " + maxPaths);
+
+        if (request.getMeanReversionSpeed() != null && request.getMeanReversionSpeed() < 0)
+            throw new BadRequestException("MeanReversionSpeed should not be negative");
+
+        if (request.getVolatility() != null && request.getVolatility() < 0)
+            throw new BadRequestException("Volatility should not be negative");
+    }
+}
@@ -0,0 +1,63 @@
+package ro.raiffeisen.internet.mortgage_calculator.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+import ro.raiffeisen.internet.mortgage_calculator.model.stress.StressTestRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.stress.StressTestResponse;
+import ro.raiffeisen.internet.mortgage_calculator.service.audit.AuditLogger;
+import ro.raiffeisen.internet.mortgage_calculator.service.stress.RateShockCalculator;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static ro.raiffeisen.internet.mortgage_calculator.config.CalculationExecutorConfig.CALCULATION_EXECUTOR;
+
+/**
+ * IRCC stress test: the loan is calculated once at the current IRCC and once per requested shock,
+ * all from a single retrieval of the reference data.
+ */
+@Service
+public class StressTestService {
+
+    private static final BigDecimal MAX_SHOCK = BigDecimal.valueOf(20);
+
+    private final RateShockCalculator rateShockCalculator;
+    private final Executor calculationExecutor;
+    private final AuditLogger auditLogger;
+    private final int maxScenarios;
+
+    public StressTestService(RateShockCalculator rateShockCalculator,
+                             @Qualifier(CALCULATION_EXECUTOR) Executor calculationExecutor,
+                             AuditLogger auditLogger,
+                             @Value("${stress-test.max-scenarios:10}") int maxScenarios) {
+        this.rateShockCalculator = rateShockCalculator;
+        this.calculationExecutor = calculationExecutor;
+        this.auditLogger = auditLogger;
+        this.maxScenarios = maxScenarios;
+    }
+
+    public StressTestResponse stressTest(StressTestRequest request) {
+        validate(request);
+        auditLogger.log("/calculator/mortgage-calculator/stress-test", request.getCalculationRequest().toBuilder().build());
+
+        return rateShockCalculator.calculate(request.getCalculationRequest(), request.getIrccShocks(), calculationExecutor);
+    }
+
+    private void validate(StressTestRequest request) {
+        if (request.getCalculationRequest() == null)
+            throw new BadRequestException("CalculationRequest should not be null");
+
+        List<BigDecimal> shocks = request.getIrccShocks();
+        if (shocks == null || shocks.isEmpty())
+            throw new BadRequestException("IrccShocks should not be null or empty");
+
+        if (shocks.size() > maxScenarios)
+            throw new BadRequestException("At most " + maxScenarios + " IRCC shocks can be simulated in one request");
+
+        if (shocks.stream().anyMatch(shock -> shock == null || shock.abs().compareTo(MAX_SHOCK) > 0))
+            throw new BadRequestException("IRCC shocks should be between -" + MAX_SHOCK + " and " + MAX_SHOCK + " percentage points");
+    }
+}
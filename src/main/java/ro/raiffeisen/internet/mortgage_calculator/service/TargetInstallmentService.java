@@ -0,0 +1,46 @@
+package ro.raiffeisen.internet.mortgage_calculator.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+import ro.raiffeisen.internet.mortgage_calculator.model.target.SolveFor;
+import ro.raiffeisen.internet.mortgage_calculator.model.target.TargetInstallmentRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.target.TargetInstallmentResponse;
+import ro.raiffeisen.internet.mortgage_calculator.service.audit.AuditLogger;
+import ro.raiffeisen.internet.mortgage_calculator.service.target.TargetInstallmentSolver;
+
+/**
+ * Reverse calculation from the installment the customer can afford, in place of repeated
+ * calls to the calculation endpoint with different amounts or tenors.
+ */
+@Service
+@RequiredArgsConstructor
+public class TargetInstallmentService {
+
+    private final TargetInstallmentSolver targetInstallmentSolver;
+    private final AuditLogger auditLogger;
+
+    public TargetInstallmentResponse solve(TargetInstallmentRequest request) {
+        validate(request);
+        auditLogger.log("/calculator/mortgage-calculator/target-installment", request.getCalculationRequest().toBuilder().build());
+
+        return targetInstallmentSolver.solve(request.getCalculationRequest(), request.getTargetInstallment(), request.getSolveFor());
+    }
+
+    private void validate(TargetInstallmentRequest request) {
+        if (request.getCalculationRequest() == null)
+            throw new BadRequestException("CalculationRequest should not be null");
+
+        if (request.getTargetInstallment() == null || request.getTargetInstallment().signum() <= 0)
+            throw new BadRequestException("TargetInstallment should be a positive amount");
+
+        if (request.getSolveFor() == null)
+            throw new BadRequestException("SolveFor should be LOAN_AMOUNT or TENOR");
+
+        if (request.getCalculationRequest().getLoanAmount() == null || request.getCalculationRequest().getLoanAmount().getAmount() == null)
+            throw new BadRequestException(request.getSolveFor() == SolveFor.TENOR ?
+                    "Amount should not be null or empty"
+                    :
+                    "Amount is required as the starting point of the search");
+    }
+}
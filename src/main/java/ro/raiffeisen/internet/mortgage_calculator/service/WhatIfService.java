@@ -0,0 +1,63 @@
+package ro.raiffeisen.internet.mortgage_calculator.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+import ro.raiffeisen.internet.mortgage_calculator.exception.NotFoundException;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.whatif.WhatIfChanges;
+import ro.raiffeisen.internet.mortgage_calculator.model.whatif.WhatIfResponse;
+import ro.raiffeisen.internet.mortgage_calculator.service.audit.AuditLogger;
+import ro.raiffeisen.internet.mortgage_calculator.service.whatif.WhatIfSession;
+import ro.raiffeisen.internet.mortgage_calculator.service.whatif.WhatIfSessionFactory;
+
+import java.time.Duration;
+
+/**
+ * What-if sessions for the calculator UI: the first call runs the full calculation and keeps it server-side,
+ * later calls change one input at a time and only recompute what the change affects.
+ * Sessions live in memory and expire when they are not used for the configured time.
+ */
+@Service
+public class WhatIfService {
+
+    private final WhatIfSessionFactory whatIfSessionFactory;
+    private final AuditLogger auditLogger;
+    private final Cache<String, WhatIfSession> sessions;
+
+    public WhatIfService(WhatIfSessionFactory whatIfSessionFactory,
+                         AuditLogger auditLogger,
+                         @Value("${what-if.session-ttl:15m}") Duration sessionTtl,
+                         @Value("${what-if.max-sessions:10000}") long maxSessions) {
+        this.whatIfSessionFactory = whatIfSessionFactory;
+        this.auditLogger = auditLogger;
+        this.sessions = Caffeine.newBuilder()
+                .expireAfterAccess(sessionTtl)
+                .maximumSize(maxSessions)
+                .build();
+    }
+
+    public WhatIfResponse startSession(MortgageCalculationRequest request) {
+        if (request.getSpecialOfferRequirements() == null)
+            throw new BadRequestException("SpecialOfferRequirements should not be null");
+
+        auditLogger.log("/calculator/mortgage-calculator/what-if", request.toBuilder().build());
+
+        WhatIfSession session = whatIfSessionFactory.start(request);
+        sessions.put(session.getId(), session);
+        return session.getResponse();
+    }
+
+    public WhatIfResponse applyChanges(String sessionId, WhatIfChanges changes) {
+        if (changes == null)
+            throw new BadRequestException("Changes should not be null");
+
+        WhatIfSession session = sessions.getIfPresent(sessionId);
+        if (session == null)
+            throw new NotFoundException("What-if session " + sessionId + " was not found or has expired");
+
+        return session.apply(changes);
+    }
+}
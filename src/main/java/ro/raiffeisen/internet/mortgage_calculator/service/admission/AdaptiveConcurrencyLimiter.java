@@ -0,0 +1,212 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.admission;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounds the requests processed at once, with a limit adapted to the observed latency (AIMD): every request
+ * that finishes within the latency target of its priority while the limit was in use raises the limit by one,
+ * every slower one lowers it by the backoff ratio. The limit stays between a minimum and a maximum. Each
+ * priority has its own target, as batch analyses take far longer than a single calculation even when idle.
+ * <p>
+ * Interactive requests may use the whole limit, batch requests only their share of it, and batch requests
+ * are not admitted while interactive ones wait. A request that cannot start right away waits in the short
+ * queue of its priority, bounded in length and time; when either bound is hit it is rejected, so that the
+ * caller can answer quickly instead of letting it time out.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final Map<RequestPriority, Long> latencyTargetNanos = new EnumMap<>(RequestPriority.class);
+    private final double backoffRatio;
+    private final double batchShare;
+    private final Map<RequestPriority, Long> maxQueueTimeNanos = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Integer> maxQueueLength = new EnumMap<>(RequestPriority.class);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<RequestPriority, Condition> turns = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Integer> waiting = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Integer> inFlight = new EnumMap<>(RequestPriority.class);
+    private double limit;
+
+    /**
+     * @param initialLimit   limit before any latency was observed
+     * @param latencyTarget  requests slower than this lower the limit, by priority
+     * @param backoffRatio   factor applied to the limit for a slow request, between 0 and 1
+     * @param batchShare     fraction of the limit batch requests may use, between 0 and 1
+     * @param maxQueueTime   longest wait for admission, by priority
+     * @param maxQueueLength most requests waiting for admission, by priority
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      Map<RequestPriority, Duration> latencyTarget,
+                                      double backoffRatio, double batchShare,
+                                      Map<RequestPriority, Duration> maxQueueTime,
+                                      Map<RequestPriority, Integer> maxQueueLength) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.backoffRatio = backoffRatio;
+        this.batchShare = batchShare;
+        for (RequestPriority priority : RequestPriority.values()) {
+            this.latencyTargetNanos.put(priority, latencyTarget.get(priority).toNanos());
+            this.maxQueueTimeNanos.put(priority, maxQueueTime.getOrDefault(priority, Duration.ZERO).toNanos());
+            this.maxQueueLength.put(priority, maxQueueLength.getOrDefault(priority, 0));
+            turns.put(priority, lock.newCondition());
+            waiting.put(priority, 0);
+            inFlight.put(priority, 0);
+        }
+    }
+
+    /**
+     * Admits a request, waiting in the queue of its priority when the limit is reached.
+     *
+     * @return the permit of the admitted request, to be released when it finished, or {@code null} when
+     * the queue is full or the request waited for its longest queue time
+     */
+    public Permit acquire(RequestPriority priority) throws InterruptedException {
+        lock.lock();
+        try {
+            if (canAdmit(priority)) {
+                return admit(priority);
+            }
+            if (waiting.get(priority) >= maxQueueLength.get(priority)) {
+                return null;
+            }
+            waiting.merge(priority, 1, Integer::sum);
+            try {
+                long remaining = maxQueueTimeNanos.get(priority);
+                while (!canAdmit(priority)) {
+                    if (remaining <= 0) {
+                        return null;
+                    }
+                    remaining = turns.get(priority).awaitNanos(remaining);
+                }
+                return admit(priority);
+            } finally {
+                waiting.merge(priority, -1, Integer::sum);
+                if (priority == RequestPriority.INTERACTIVE && waiting.get(priority) == 0) {
+                    turns.get(RequestPriority.BATCH).signalAll();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight.get(RequestPriority.INTERACTIVE) + inFlight.get(RequestPriority.BATCH);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueueDepth(RequestPriority priority) {
+        lock.lock();
+        try {
+            return waiting.get(priority);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean canAdmit(RequestPriority priority) {
+        int total = inFlight.get(RequestPriority.INTERACTIVE) + inFlight.get(RequestPriority.BATCH);
+        if (total >= (int) limit) {
+            return false;
+        }
+        return priority == RequestPriority.INTERACTIVE
+                || waiting.get(RequestPriority.INTERACTIVE) == 0
+                && inFlight.get(RequestPriority.BATCH) < Math.max(1, (int) (limit * batchShare));
+    }
+
+    private Permit admit(RequestPriority priority) {
+        inFlight.merge(priority, 1, Integer::sum);
+        int total = inFlight.get(RequestPriority.INTERACTIVE) + inFlight.get(RequestPriority.BATCH);
+        return new Permit(priority, total, System.nanoTime());
+    }
+
+    private void release(Permit permit, boolean measured) {
+        long latency = System.nanoTime() - permit.startNanos;
+        lock.lock();
+        try {
+            inFlight.merge(permit.priority, -1, Integer::sum);
+            if (measured) {
+                if (latency > latencyTargetNanos.get(permit.priority)) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                } else if (permit.inFlight * 2 >= limit) {
+                    // Only raised while the limit is actually in use, so it does not grow while idle
+                    limit = Math.min(maxLimit, limit + 1);
+                }
+            }
+            if (waiting.get(RequestPriority.INTERACTIVE) > 0) {
+                turns.get(RequestPriority.INTERACTIVE).signalAll();
+            } else {
+                turns.get(RequestPriority.BATCH).signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Slot of an admitted request. It must be released when the request finished; releasing it again has no effect.
+     */
+    public final class Permit {
+
+        private final RequestPriority priority;
+        private final int inFlight;
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(RequestPriority priority, int inFlight, long startNanos) {
+            this.priority = priority;
+            this.inFlight = inFlight;
+            this.startNanos = startNanos;
+        }
+
+        public RequestPriority getPriority() {
+            return priority;
+        }
+
+        /**
+         * Frees the slot and adapts the limit to the latency of the request.
+         */
+        public void release() {
+            release(true);
+        }
+
+        /**
+         * Frees the slot without adapting the limit, for requests whose duration does not reflect the load
+         * of this instance, such as responses streamed to a slow client.
+         */
+        public void releaseUnmeasured() {
+            release(false);
+        }
+
+        private synchronized void release(boolean measured) {
+            if (released) {
+                return;
+            }
+            released = true;
+            AdaptiveConcurrencyLimiter.this.release(this, measured);
+        }
+    }
+}
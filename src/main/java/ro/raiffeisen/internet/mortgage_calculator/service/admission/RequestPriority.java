@@ -0,0 +1,11 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.admission;
+
+/**
+ * Admission class of an API request. Interactive requests are the calculations a customer waits for and are
+ * admitted first; batch requests, the analyses computing many calculations at once, get a share of the capacity.
+ */
+public enum RequestPriority {
+
+    INTERACTIVE,
+    BATCH
+}
@@ -0,0 +1,24 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * An audit entry captured on the request thread. The MDC is thread-bound and the payload may still be changed
+ * by the request, so the tracing identifiers and the payload are copied here before the event is handed to the
+ * background writer.
+ */
+@Value
+@Builder
+public class AuditEvent {
+    String operation;
+    String requestId;
+    String correlationId;
+    String traceId;
+    long timestamp;
+    /**
+     * Copy of the audited data, serialised on the background thread; owned by the event.
+     */
+    JsonNode payload;
+}
@@ -0,0 +1,142 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ro.raiffeisen.internet.mortgage_calculator.helper.MortgageCalculatorMapper;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static ro.raiffeisen.internet.mortgage_calculator.helper.MarkerFields.*;
+
+/**
+ * Writes audit entries off the request thread.
+ * Callers only capture the tracing identifiers and a copy of the payload and enqueue the event into a bounded
+ * ring buffer; a single daemon thread serialises the payload and logs it with structured key-value fields.
+ * When the buffer is full the new event is dropped and counted, so logging never slows down a request.
+ */
+@Slf4j
+@Component
+public class AuditLogger {
+
+    private static final String WRITER_THREAD_NAME = "audit-logger";
+
+    private final Logger auditLog = LoggerFactory.getLogger("AUDIT_REQUESTS");
+
+    private final MortgageCalculatorMapper mapper;
+    private final AuditRingBuffer<AuditEvent> buffer;
+    private final long idleWaitNanos;
+    private final Counter publishedEvents;
+    private final Counter droppedEvents;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public AuditLogger(MortgageCalculatorMapper mapper,
+                       MeterRegistry meterRegistry,
+                       @Value("${audit.buffer-capacity:8192}") int bufferCapacity,
+                       @Value("${audit.idle-wait-ms:5}") long idleWaitMs) {
+        this.mapper = mapper;
+        this.buffer = new AuditRingBuffer<>(bufferCapacity);
+        this.idleWaitNanos = TimeUnit.MILLISECONDS.toNanos(idleWaitMs);
+        this.publishedEvents = Counter.builder("audit.events.published")
+                .description("Audit events written to the audit log")
+                .register(meterRegistry);
+        this.droppedEvents = Counter.builder("audit.events.dropped")
+                .description("Audit events dropped because the audit buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("audit.buffer.size", buffer, AuditRingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::drainLoop, WRITER_THREAD_NAME);
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Publishes an audit entry for the current request.
+     *
+     * @param operation the audited operation, e.g. the endpoint path
+     * @param payload   the data to log; it is copied, so the caller may change it afterwards
+     * @return {@code false} if the event was dropped because the buffer is full
+     */
+    public boolean log(String operation, Object payload) {
+        AuditEvent event = AuditEvent.builder()
+                .operation(operation)
+                .requestId(MDC.get(CONTEXT_REQUEST_ID))
+                .correlationId(MDC.get(CONTEXT_CORRELATION_ID))
+                .traceId(MDC.get(CONTEXT_TRACE_ID))
+                .timestamp(System.currentTimeMillis())
+                .payload(mapper.mapToTree(payload))
+                .build();
+
+        if (buffer.offer(event)) {
+            return true;
+        }
+        droppedEvents.increment();
+        return false;
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (!drain()) {
+                LockSupport.parkNanos(this, idleWaitNanos);
+            }
+        }
+        // Flush whatever is left on shutdown
+        drain();
+    }
+
+    /**
+     * @return whether at least one event was written
+     */
+    private boolean drain() {
+        boolean written = false;
+        AuditEvent event;
+        while ((event = buffer.poll()) != null) {
+            write(event);
+            written = true;
+        }
+        return written;
+    }
+
+    private void write(AuditEvent event) {
+        try {
+            auditLog.atInfo()
+                    .setMessage("Audit {}")
+                    .addArgument(event.getOperation())
+                    .addKeyValue(CONTEXT_OPERATION, event.getOperation())
+                    .addKeyValue(CONTEXT_REQUEST_ID, event.getRequestId())
+                    .addKeyValue(CONTEXT_CORRELATION_ID, event.getCorrelationId())
+                    .addKeyValue(CONTEXT_TRACE_ID, event.getTraceId())
+                    .addKeyValue(CONTEXT_EVENT_TIME, event.getTimestamp())
+                    .addKeyValue(CONTEXT_DATA, mapper.mapToJson(event.getPayload()))
+                    .log();
+            publishedEvents.increment();
+        } catch (RuntimeException e) {
+            // The writer thread must survive a bad event
+            log.error("Failed to write audit event for {}", event.getOperation(), e);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.cluster;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jgroups.EmptyMessage;
+import org.jgroups.JChannel;
+import org.jgroups.Message;
+import org.jgroups.Receiver;
+import org.jgroups.View;
+import org.jgroups.protocols.FD_ALL3;
+import org.jgroups.protocols.FD_SOCK2;
+import org.jgroups.protocols.FRAG2;
+import org.jgroups.protocols.MERGE3;
+import org.jgroups.protocols.MFC;
+import org.jgroups.protocols.TCP;
+import org.jgroups.protocols.TCPPING;
+import org.jgroups.protocols.UNICAST3;
+import org.jgroups.protocols.VERIFY_SUSPECT2;
+import org.jgroups.protocols.dns.DNS_PING;
+import org.jgroups.protocols.pbcast.GMS;
+import org.jgroups.protocols.pbcast.NAKACK2;
+import org.jgroups.protocols.pbcast.STABLE;
+import org.jgroups.stack.Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.LastKnownGoodReferenceDataProvider;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Optional cluster mode: instances tell each other when reference data changed, so every instance
+ * revalidates its reference data, and evicts the affected cached results, right away instead of at its next
+ * scheduled revalidation.
+ * <p>
+ * The instances form an embedded JGroups cluster over TCP. Members are found through DNS (e.g. a headless
+ * service) when a DNS query is configured, otherwise through a static list of hosts, which is also how
+ * several instances are clustered on one machine. Notifications carry no data; receivers ask the admin and
+ * FX services themselves. Notifications are coalesced over a short delay in both directions, and changes found
+ * while revalidating for a peer are not announced again.
+ */
+@Slf4j
+@Component
+public class ReferenceDataInvalidationBroadcaster implements Receiver {
+
+    private static final String CLUSTER_THREAD_NAME = "reference-data-cluster";
+    private static final Duration COALESCE_DELAY = Duration.ofSeconds(1);
+
+    private final LastKnownGoodReferenceDataProvider provider;
+    private final boolean enabled;
+    private final String clusterName;
+    private final String bindAddress;
+    private final int port;
+    private final String dnsQuery;
+    private final List<String> initialHosts;
+    private final Counter sent;
+    private final Counter received;
+
+    private final AtomicBoolean broadcastPending = new AtomicBoolean();
+    private final AtomicBoolean revalidationPending = new AtomicBoolean();
+    private final ThreadLocal<Boolean> revalidatingForPeer = ThreadLocal.withInitial(() -> false);
+    private ScheduledExecutorService scheduler;
+    private volatile JChannel channel;
+    private volatile int members;
+
+    public ReferenceDataInvalidationBroadcaster(LastKnownGoodReferenceDataProvider provider,
+                                                MeterRegistry meterRegistry,
+                                                @Value("${cluster.enabled:false}") boolean enabled,
+                                                @Value("${cluster.name:mortgage-calculator}") String clusterName,
+                                                @Value("${cluster.bind-address:}") String bindAddress,
+                                                @Value("${cluster.port:7800}") int port,
+                                                @Value("${cluster.dns-query:}") String dnsQuery,
+                                                @Value("${cluster.initial-hosts:}") List<String> initialHosts) {
+        this.provider = provider;
+        this.enabled = enabled;
+        this.clusterName = clusterName;
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.dnsQuery = dnsQuery;
+        this.initialHosts = initialHosts;
+        this.sent = Counter.builder("cluster.reference-data-invalidations.sent")
+                .description("Reference data changes announced to the other instances")
+                .register(meterRegistry);
+        this.received = Counter.builder("cluster.reference-data-invalidations.received")
+                .description("Reference data changes announced by other instances")
+                .register(meterRegistry);
+        Gauge.builder("cluster.members", this, broadcaster -> broadcaster.members)
+                .description("Instances in the cluster, including this one")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws Exception {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, CLUSTER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        channel = new JChannel(protocols())
+                .setDiscardOwnMessages(true)
+                .setReceiver(this);
+        channel.connect(clusterName);
+        provider.addChangeListener(this::referenceDataChanged);
+        log.info("Joined cluster {} as {}", clusterName, channel.getAddress());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (channel != null) {
+            channel.close();
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public void receive(Message message) {
+        received.increment();
+        if (revalidationPending.compareAndSet(false, true)) {
+            scheduler.schedule(this::revalidate, COALESCE_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void viewAccepted(View view) {
+        members = view.size();
+        log.info("Cluster {} members: {}", clusterName, view.getMembers());
+    }
+
+    void referenceDataChanged() {
+        if (revalidatingForPeer.get()) {
+            return;
+        }
+        if (broadcastPending.compareAndSet(false, true)) {
+            scheduler.schedule(this::broadcast, COALESCE_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void broadcast() {
+        broadcastPending.set(false);
+        try {
+            channel.send(new EmptyMessage(null));
+            sent.increment();
+        } catch (Exception e) {
+            log.warn("Could not announce the reference data change to cluster {}: {}", clusterName, e.getMessage());
+        }
+    }
+
+    private void revalidate() {
+        revalidationPending.set(false);
+        revalidatingForPeer.set(true);
+        try {
+            int failures = provider.revalidate();
+            if (failures > 0) {
+                log.warn("Reference data revalidation announced by the cluster failed for {} lookups", failures);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Reference data revalidation announced by the cluster failed: {}", e.getMessage(), e);
+        } finally {
+            revalidatingForPeer.set(false);
+        }
+    }
+
+    private List<Protocol> protocols() throws Exception {
+        TCP transport = new TCP();
+        if (!bindAddress.isBlank()) {
+            transport.setBindAddress(InetAddress.getByName(bindAddress));
+        }
+        transport.setBindPort(port);
+        transport.setPortRange(0);
+
+        List<Protocol> protocols = new ArrayList<>();
+        protocols.add(transport);
+        protocols.add(dnsQuery.isBlank() ? new TCPPING().setInitialHosts(initialHosts()) : new DNS_PING().setDNSQuery(dnsQuery));
+        protocols.add(new MERGE3().setMinInterval(10_000).setMaxInterval(30_000));
+        protocols.add(new FD_SOCK2());
+        protocols.add(new FD_ALL3().setTimeout(40_000).setInterval(5_000));
+        protocols.add(new VERIFY_SUSPECT2());
+        protocols.add(new NAKACK2().useMcastXmit(false));
+        protocols.add(new UNICAST3());
+        protocols.add(new STABLE());
+        protocols.add(new GMS().setJoinTimeout(2_000));
+        protocols.add(new MFC());
+        protocols.add(new FRAG2());
+        return protocols;
+    }
+
+    /**
+     * @return the configured {@code host:port} entries; entries without a port use the cluster port
+     */
+    private List<InetSocketAddress> initialHosts() {
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        for (String host : initialHosts) {
+            if (host.isBlank()) {
+                continue;
+            }
+            int separator = host.lastIndexOf(':');
+            addresses.add(separator < 0
+                    ? new InetSocketAddress(host.trim(), port)
+                    : new InetSocketAddress(host.substring(0, separator).trim(), Integer.parseInt(host.substring(separator + 1).trim())));
+        }
+        return addresses;
+    }
+}
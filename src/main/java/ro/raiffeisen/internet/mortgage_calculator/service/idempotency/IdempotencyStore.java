@@ -0,0 +1,85 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Responses by idempotency key, so that a client retrying after a gateway timeout gets the response
+ * of its first attempt instead of starting the computation again.
+ * <p>
+ * An entry is created when the first request with a key starts and holds the fingerprint of that request
+ * and a future completed with its response. Retries arriving while it runs attach to the future,
+ * later ones get the stored response. Entries expire a fixed time after they were created and the store
+ * is bounded in size; an evicted key is simply computed again.
+ */
+public class IdempotencyStore {
+
+    private final Cache<String, Entry> entries;
+
+    public IdempotencyStore(Duration ttl, long maxEntries) {
+        this.entries = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    /**
+     * Registers a request with {@code key}. When the key is new the returned claim owns the entry
+     * and must be {@link #complete completed} or {@link #abandon abandoned}; otherwise it points at
+     * the entry of the first request.
+     */
+    public Claim claim(String key, byte[] fingerprint) {
+        Entry candidate = new Entry(fingerprint, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(key, candidate);
+        if (existing == null) {
+            return new Claim(key, candidate, true);
+        }
+        return new Claim(key, existing, false);
+    }
+
+    /**
+     * Publishes the response of an owned claim to waiting retries. The response is kept for later
+     * retries only when {@code keep} is set; otherwise the key is released so the next retry computes again.
+     */
+    public void complete(Claim claim, StoredResponse response, boolean keep) {
+        if (!keep) {
+            entries.asMap().remove(claim.key(), claim.entry());
+        }
+        claim.entry().response().complete(response);
+    }
+
+    /**
+     * Releases an owned claim whose computation failed without a response.
+     */
+    public void abandon(Claim claim, Throwable cause) {
+        entries.asMap().remove(claim.key(), claim.entry());
+        claim.entry().response().completeExceptionally(cause);
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    public record Claim(String key, Entry entry, boolean owner) {
+
+        public boolean matches(byte[] fingerprint) {
+            return Arrays.equals(entry.fingerprint(), fingerprint);
+        }
+    }
+
+    public record Entry(byte[] fingerprint, CompletableFuture<StoredResponse> response) {
+    }
+
+    /**
+     * Encoded response as written to the client by the first request, with its headers other than
+     * the content type and length.
+     */
+    public record StoredResponse(int status, String contentType, Map<String, List<String>> headers, byte[] body) {
+    }
+}
@@ -0,0 +1,132 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.reference;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists the last good reference data to disk, so that a new instance can calculate even when
+ * the admin service is down during a rollout.
+ * <p>
+ * At startup the snapshot file, if any, is read and seeded into the {@link LastKnownGoodReferenceDataProvider},
+ * which serves it until it has been revalidated against the live services. Revalidation runs in the background
+ * right away and again every interval, which also refreshes the recorded data, so changes of reference data
+ * reach cached calculation results even when no calculation asks the live services. Every interval the recorded
+ * data is also written back to the file when it changed. The file is written once more on shutdown.
+ * <p>
+ * With snapshots disabled no file is read or written, but the periodic revalidation still runs, as the
+ * calculation cache relies on it to evict results of changed reference data.
+ */
+@Slf4j
+@Component
+public class ReferenceDataSnapshotStore {
+
+    private static final String SNAPSHOT_THREAD_NAME = "reference-data-snapshot";
+
+    private final LastKnownGoodReferenceDataProvider provider;
+    private final ReferenceDataSnapshotCodec codec;
+    private final boolean enabled;
+    private final Path path;
+    private final Duration interval;
+
+    private ScheduledExecutorService scheduler;
+    private volatile long writtenVersion = -1;
+
+    public ReferenceDataSnapshotStore(LastKnownGoodReferenceDataProvider provider,
+                                      ReferenceDataSnapshotCodec codec,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${reference-data-snapshot.enabled:true}") boolean enabled,
+                                      @Value("${reference-data-snapshot.path:/tmp/mortgage-calculator/reference-data.bin}") Path path,
+                                      @Value("${reference-data-snapshot.interval:5m}") Duration interval) {
+        this.provider = provider;
+        this.codec = codec;
+        this.enabled = enabled;
+        this.path = path;
+        this.interval = interval;
+        FunctionCounter.builder("reference-data.fallbacks", provider, LastKnownGoodReferenceDataProvider::getFallbacks)
+                .description("Reference data lookups answered with the last good data because the remote service failed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            load();
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, SNAPSHOT_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::maintain, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            if (enabled) {
+                persist();
+            }
+        }
+    }
+
+    void load() {
+        if (!Files.exists(path)) {
+            log.info("No reference data snapshot at {}, starting without one", path);
+            return;
+        }
+        try {
+            ReferenceDataSnapshot snapshot = codec.read(path);
+            provider.seed(snapshot);
+            writtenVersion = provider.getVersion();
+            log.info("Loaded reference data snapshot of {} from {}", snapshot.getCreatedAt(), path);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable reference data snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    void maintain() {
+        try {
+            boolean revalidated = provider.isRevalidated();
+            int failures = provider.revalidate();
+            if (failures > 0) {
+                log.warn("Reference data revalidation failed for {} lookups, retrying in {}", failures, interval);
+            } else if (!revalidated) {
+                log.info("Reference data snapshot revalidated against the live services");
+            }
+            if (enabled) {
+                persist();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Reference data snapshot maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    void persist() {
+        long version = provider.getVersion();
+        // Version 0 means nothing was recorded yet, which must not replace a snapshot from an earlier run
+        if (version == 0 || version == writtenVersion) {
+            return;
+        }
+        try {
+            codec.write(provider.toSnapshot(), path);
+            writtenVersion = version;
+        } catch (IOException e) {
+            log.warn("Could not write reference data snapshot {}: {}", path, e.getMessage());
+        }
+    }
+}
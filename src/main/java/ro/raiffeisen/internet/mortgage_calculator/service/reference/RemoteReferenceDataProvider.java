@@ -0,0 +1,64 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.reference;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.Discount;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.ExchangeRate;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanAllParameters;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanInterestRate;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanProduct;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.NomenclatureDistrict;
+import ro.raiffeisen.internet.mortgage_calculator.service.FxClientRetrieve;
+import ro.raiffeisen.internet.mortgage_calculator.service.RetrieveService;
+
+import java.util.List;
+
+/**
+ * Reference data served by the loan admin service and the FX rates service.
+ */
+@Component
+@RequiredArgsConstructor
+public class RemoteReferenceDataProvider implements ReferenceDataProvider {
+
+    private final RetrieveService retrieveService;
+    private final FxClientRetrieve fxClientRetrieve;
+
+    @Override
+    public LoanProduct getLoanProduct(String productCode) {
+        return retrieveService.getLoanProduct(productCode);
+    }
+
+    @Override
+    public LoanAllParameters getLoanAllParameters(Integer loanProductId,
+                                                  boolean ourClient,
+                                                  String currency,
+                                                  String interestRateType,
+                                                  boolean isDigital) {
+        return retrieveService.getLoanAllParametersByMultipleArguments(loanProductId, ourClient, currency, interestRateType, isDigital);
+    }
+
+    @Override
+    public List<LoanInterestRate> getLoanInterestRates(Integer loanProductId, boolean ourClient, boolean isDigital) {
+        return retrieveService.getAllLoanInterestRatesByLoanProduct(loanProductId, ourClient, isDigital);
+    }
+
+    @Override
+    public List<NomenclatureDistrict> getDistricts() {
+        return retrieveService.getDistricts();
+    }
+
+    @Override
+    public Integer getLtv(Double amount, Boolean isOwner, Integer financingZone, Integer loanProductId) {
+        return retrieveService.getLtvByAreaOwnerAndSum(amount, isOwner, financingZone, loanProductId);
+    }
+
+    @Override
+    public List<Discount> getDiscounts(Integer loanProductId) {
+        return retrieveService.getDiscounts(loanProductId);
+    }
+
+    @Override
+    public List<ExchangeRate> getExchangeRates(String currency) {
+        return fxClientRetrieve.getExchangeRates(currency);
+    }
+}
@@ -0,0 +1,113 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.reference;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.Discount;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.ExchangeRate;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanAllParameters;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanInterestRate;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanProduct;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.NomenclatureDistrict;
+
+import java.util.List;
+
+/**
+ * Reference data of the admin and FX services, memoized for the duration of the incoming request.
+ * Lookups go through the {@link LastKnownGoodReferenceDataProvider}, so they survive outages of those services.
+ * <p>
+ * Each request gets its own {@link MemoizingReferenceDataProvider}, kept as a request attribute, so a
+ * calculation never makes the same round-trip twice while nothing outlives the request. When the request
+ * completes, the remote calls it made and the lookups answered from memory are recorded as metrics.
+ * Outside a request (startup, background threads) lookups are not memoized.
+ */
+@Primary
+@Component
+public class RequestScopedReferenceDataProvider implements ReferenceDataProvider {
+
+    static final String LOOKUP_CONTEXT_ATTRIBUTE = RequestScopedReferenceDataProvider.class.getName() + ".lookupContext";
+
+    private final LastKnownGoodReferenceDataProvider lastKnownGoodReferenceDataProvider;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary remoteCalls;
+
+    public RequestScopedReferenceDataProvider(LastKnownGoodReferenceDataProvider lastKnownGoodReferenceDataProvider, MeterRegistry meterRegistry) {
+        this.lastKnownGoodReferenceDataProvider = lastKnownGoodReferenceDataProvider;
+        this.meterRegistry = meterRegistry;
+        this.remoteCalls = DistributionSummary.builder("calculation.reference-data.remote-calls")
+                .description("Reference data calls made to the admin and FX services per request")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public LoanProduct getLoanProduct(String productCode) {
+        return current().getLoanProduct(productCode);
+    }
+
+    @Override
+    public LoanAllParameters getLoanAllParameters(Integer loanProductId,
+                                                  boolean ourClient,
+                                                  String currency,
+                                                  String interestRateType,
+                                                  boolean isDigital) {
+        return current().getLoanAllParameters(loanProductId, ourClient, currency, interestRateType, isDigital);
+    }
+
+    @Override
+    public List<LoanInterestRate> getLoanInterestRates(Integer loanProductId, boolean ourClient, boolean isDigital) {
+        return current().getLoanInterestRates(loanProductId, ourClient, isDigital);
+    }
+
+    @Override
+    public List<NomenclatureDistrict> getDistricts() {
+        return current().getDistricts();
+    }
+
+    @Override
+    public Integer getLtv(Double amount, Boolean isOwner, Integer financingZone, Integer loanProductId) {
+        return current().getLtv(amount, isOwner, financingZone, loanProductId);
+    }
+
+    @Override
+    public List<Discount> getDiscounts(Integer loanProductId) {
+        return current().getDiscounts(loanProductId);
+    }
+
+    @Override
+    public List<ExchangeRate> getExchangeRates(String currency) {
+        return current().getExchangeRates(currency);
+    }
+
+    private ReferenceDataProvider current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return lastKnownGoodReferenceDataProvider;
+        }
+        // Worker threads of one request share its attributes, so creation is serialized on them
+        synchronized (attributes) {
+            Object context = attributes.getAttribute(LOOKUP_CONTEXT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (context == null) {
+                MemoizingReferenceDataProvider lookupContext = new MemoizingReferenceDataProvider(lastKnownGoodReferenceDataProvider);
+                attributes.setAttribute(LOOKUP_CONTEXT_ATTRIBUTE, lookupContext, RequestAttributes.SCOPE_REQUEST);
+                attributes.registerDestructionCallback(LOOKUP_CONTEXT_ATTRIBUTE,
+                        () -> record(lookupContext), RequestAttributes.SCOPE_REQUEST);
+                context = lookupContext;
+            }
+            return (ReferenceDataProvider) context;
+        }
+    }
+
+    void record(MemoizingReferenceDataProvider lookupContext) {
+        remoteCalls.record(lookupContext.getLoads());
+        lookupContext.getDuplicates().forEach((lookup, count) ->
+                Counter.builder("calculation.reference-data.duplicate-calls")
+                        .description("Reference data lookups repeated within a request and answered from memory")
+                        .tag("lookup", lookup)
+                        .register(meterRegistry)
+                        .increment(count));
+    }
+}
@@ -0,0 +1,49 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.repayment;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.http.MediaType;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.RepaymentPlanEntry;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * Writes the repayment plan as a single array in a binary Jackson format. The array is streamed
+ * without a length up front, so entries are still written one at a time.
+ */
+abstract class BinaryRepaymentPlanWriter implements RepaymentPlanWriter {
+
+    private final JsonFactory factory;
+    private final MediaType mediaType;
+    private final String fileExtension;
+
+    BinaryRepaymentPlanWriter(JsonFactory factory, MediaType mediaType, String fileExtension) {
+        this.factory = factory;
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    @Override
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    @Override
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    @Override
+    public void write(Iterator<RepaymentPlanEntry> entries, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = factory.createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            while (entries.hasNext()) {
+                RepaymentPlanEntryJson.write(generator, entries.next());
+            }
+            generator.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.repayment;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the repayment plan as a CBOR array of entries.
+ */
+@Component
+public class CborRepaymentPlanWriter extends BinaryRepaymentPlanWriter {
+
+    public CborRepaymentPlanWriter() {
+        super(new CBORFactory(), MediaType.APPLICATION_CBOR, "cbor");
+    }
+}
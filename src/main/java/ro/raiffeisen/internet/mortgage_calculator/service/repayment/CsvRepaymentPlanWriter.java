@@ -0,0 +1,61 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.repayment;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.RepaymentPlanEntry;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * Writes the repayment plan as CSV with a header row and one line per month.
+ */
+@Component
+public class CsvRepaymentPlanWriter implements RepaymentPlanWriter {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final String HEADER = "month,currency,reimbursedCapitalAmount,interestAmount,feeAmount," +
+            "installmentAmount,totalPaymentAmount,remainingLoanAmount";
+
+    @Override
+    public MediaType getMediaType() {
+        return TEXT_CSV;
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "csv";
+    }
+
+    @Override
+    public void write(Iterator<RepaymentPlanEntry> entries, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(HEADER);
+        writer.write('\n');
+        while (entries.hasNext()) {
+            RepaymentPlanEntry entry = entries.next();
+            writer.write(Integer.toString(entry.getMonth()));
+            writer.write(',');
+            writer.write(entry.getTotalPaymentAmount().getCurrency());
+            writeAmount(writer, entry.getReimbursedCapitalAmount());
+            writeAmount(writer, entry.getInterestAmount());
+            writeAmount(writer, entry.getFeeAmount());
+            writeAmount(writer, entry.getInstallmentAmount());
+            writeAmount(writer, entry.getTotalPaymentAmount());
+            writeAmount(writer, entry.getRemainingLoanAmount());
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private void writeAmount(Writer writer, Amount amount) throws IOException {
+        writer.write(',');
+        writer.write(amount.getAmount().toPlainString());
+    }
+}
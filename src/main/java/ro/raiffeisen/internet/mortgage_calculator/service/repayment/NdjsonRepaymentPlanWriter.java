@@ -0,0 +1,43 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.repayment;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.RepaymentPlanEntry;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * Writes the repayment plan as newline-delimited JSON, one {@link RepaymentPlanEntry} per line.
+ */
+@Component
+@RequiredArgsConstructor
+public class NdjsonRepaymentPlanWriter implements RepaymentPlanWriter {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public MediaType getMediaType() {
+        return MediaType.APPLICATION_NDJSON;
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "ndjson";
+    }
+
+    @Override
+    public void write(Iterator<RepaymentPlanEntry> entries, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (entries.hasNext()) {
+                RepaymentPlanEntryJson.write(generator, entries.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+}
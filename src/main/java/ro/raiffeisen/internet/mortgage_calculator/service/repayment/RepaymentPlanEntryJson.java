@@ -0,0 +1,35 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.repayment;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.RepaymentPlanEntry;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link RepaymentPlanEntry} field by field to a Jackson generator of any format.
+ */
+final class RepaymentPlanEntryJson {
+
+    private RepaymentPlanEntryJson() {
+    }
+
+    static void write(JsonGenerator generator, RepaymentPlanEntry entry) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("month", entry.getMonth());
+        writeAmount(generator, "reimbursedCapitalAmount", entry.getReimbursedCapitalAmount());
+        writeAmount(generator, "interestAmount", entry.getInterestAmount());
+        writeAmount(generator, "feeAmount", entry.getFeeAmount());
+        writeAmount(generator, "installmentAmount", entry.getInstallmentAmount());
+        writeAmount(generator, "totalPaymentAmount", entry.getTotalPaymentAmount());
+        writeAmount(generator, "remainingLoanAmount", entry.getRemainingLoanAmount());
+        generator.writeEndObject();
+    }
+
+    private static void writeAmount(JsonGenerator generator, String fieldName, Amount amount) throws IOException {
+        generator.writeObjectFieldStart(fieldName);
+        generator.writeStringField("currency", amount.getCurrency());
+        generator.writeNumberField("amount", amount.getAmount());
+        generator.writeEndObject();
+    }
+}
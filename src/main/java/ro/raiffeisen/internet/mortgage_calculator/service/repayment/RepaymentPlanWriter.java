@@ -0,0 +1,33 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.repayment;
+
+import org.springframework.http.MediaType;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.RepaymentPlanEntry;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * Strategy for writing a repayment plan in a given download format.
+ * Implementations must consume the entries one at a time and never collect them.
+ */
+public interface RepaymentPlanWriter {
+
+    /**
+     * @return the media type written by this implementation
+     */
+    MediaType getMediaType();
+
+    /**
+     * @return the file extension used for the downloaded file
+     */
+    String getFileExtension();
+
+    /**
+     * Writes every remaining entry to the output stream. The stream is flushed but not closed.
+     *
+     * @param entries the repayment plan entries, starting with month 0
+     * @param outputStream the response body
+     */
+    void write(Iterator<RepaymentPlanEntry> entries, OutputStream outputStream) throws IOException;
+}
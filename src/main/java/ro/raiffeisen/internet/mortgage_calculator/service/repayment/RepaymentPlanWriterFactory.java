@@ -0,0 +1,56 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.repayment;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+
+import java.util.List;
+
+/**
+ * Selects the repayment plan writer matching the Accept header of the request.
+ * Uses Spring's dependency injection to collect all RepaymentPlanWriter implementations.
+ */
+@Component
+@RequiredArgsConstructor
+public class RepaymentPlanWriterFactory {
+
+    private final List<RepaymentPlanWriter> writers;
+    private final NdjsonRepaymentPlanWriter defaultWriter;
+
+    /**
+     * Returns the writer for the most preferred acceptable media type.
+     * Missing or wildcard Accept headers get NDJSON.
+     *
+     * @param acceptHeader the raw Accept header, may be null
+     * @return the matching writer
+     * @throws BadRequestException if no writer produces an acceptable media type
+     */
+    public RepaymentPlanWriter getWriter(String acceptHeader) {
+        if (acceptHeader == null || acceptHeader.isBlank()) {
+            return defaultWriter;
+        }
+
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = MediaType.parseMediaTypes(acceptHeader);
+        } catch (InvalidMediaTypeException e) {
+            throw new BadRequestException("Invalid Accept header: " + acceptHeader);
+        }
+        MimeTypeUtils.sortBySpecificity(acceptedTypes);
+
+        for (MediaType acceptedType : acceptedTypes) {
+            if (acceptedType.isWildcardType()) {
+                return defaultWriter;
+            }
+            for (RepaymentPlanWriter writer : writers) {
+                if (acceptedType.includes(writer.getMediaType())) {
+                    return writer;
+                }
+            }
+        }
+        throw new BadRequestException("Unsupported repayment plan format: " + acceptHeader);
+    }
+}
@@ -0,0 +1,18 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.repayment;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the repayment plan as a Smile array of entries.
+ */
+@Component
+public class SmileRepaymentPlanWriter extends BinaryRepaymentPlanWriter {
+
+    static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    public SmileRepaymentPlanWriter() {
+        super(new SmileFactory(), APPLICATION_SMILE, "sml");
+    }
+}
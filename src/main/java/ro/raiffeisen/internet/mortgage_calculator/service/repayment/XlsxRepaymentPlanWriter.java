@@ -0,0 +1,116 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.repayment;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.RepaymentPlanEntry;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * Writes the repayment plan as an Excel workbook using POI's streaming SXSSF API.
+ * Only {@code rowWindow} rows are kept in memory; older rows are flushed to a compressed temp file,
+ * so the memory used does not depend on the tenor.
+ */
+@Component
+public class XlsxRepaymentPlanWriter implements RepaymentPlanWriter {
+
+    private static final MediaType APPLICATION_XLSX =
+            MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+    private static final String SHEET_NAME = "Grafic de rambursare";
+    private static final String[] HEADERS = {
+            "Luna", "Moneda", "Principal", "Dobanda", "Comisioane", "Rata lunara", "Total de plata", "Sold"
+    };
+    private static final String MONEY_FORMAT = "#,##0.00";
+
+    private final int rowWindow;
+
+    public XlsxRepaymentPlanWriter(@Value("${repayment-plan.xlsx.row-window:100}") int rowWindow) {
+        this.rowWindow = rowWindow;
+    }
+
+    @Override
+    public MediaType getMediaType() {
+        return APPLICATION_XLSX;
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "xlsx";
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void write(Iterator<RepaymentPlanEntry> entries, OutputStream outputStream) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowWindow);
+        workbook.setCompressTempFiles(true);
+        try {
+            // Styles are created once per workbook; creating one per cell would exceed Excel's style limit
+            CellStyle headerStyle = createHeaderStyle(workbook);
+            CellStyle monthStyle = workbook.createCellStyle();
+            monthStyle.setDataFormat(workbook.createDataFormat().getFormat("0"));
+            CellStyle moneyStyle = workbook.createCellStyle();
+            moneyStyle.setDataFormat(workbook.createDataFormat().getFormat(MONEY_FORMAT));
+
+            SXSSFSheet sheet = workbook.createSheet(SHEET_NAME);
+            writeHeader(sheet, headerStyle);
+
+            int rowIndex = 1;
+            while (entries.hasNext()) {
+                RepaymentPlanEntry entry = entries.next();
+                Row row = sheet.createRow(rowIndex++);
+
+                Cell monthCell = row.createCell(0);
+                monthCell.setCellValue(entry.getMonth());
+                monthCell.setCellStyle(monthStyle);
+                row.createCell(1).setCellValue(entry.getTotalPaymentAmount().getCurrency());
+
+                writeAmount(row, 2, entry.getReimbursedCapitalAmount(), moneyStyle);
+                writeAmount(row, 3, entry.getInterestAmount(), moneyStyle);
+                writeAmount(row, 4, entry.getFeeAmount(), moneyStyle);
+                writeAmount(row, 5, entry.getInstallmentAmount(), moneyStyle);
+                writeAmount(row, 6, entry.getTotalPaymentAmount(), moneyStyle);
+                writeAmount(row, 7, entry.getRemainingLoanAmount(), moneyStyle);
+            }
+
+            workbook.write(outputStream);
+            outputStream.flush();
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private CellStyle createHeaderStyle(SXSSFWorkbook workbook) {
+        Font font = workbook.createFont();
+        font.setBold(true);
+        CellStyle headerStyle = workbook.createCellStyle();
+        headerStyle.setFont(font);
+        return headerStyle;
+    }
+
+    private void writeHeader(SXSSFSheet sheet, CellStyle headerStyle) {
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < HEADERS.length; i++) {
+            Cell cell = header.createCell(i);
+            cell.setCellValue(HEADERS[i]);
+            cell.setCellStyle(headerStyle);
+        }
+        sheet.createFreezePane(0, 1);
+    }
+
+    private void writeAmount(Row row, int column, Amount amount, CellStyle moneyStyle) {
+        Cell cell = row.createCell(column);
+        cell.setCellValue(amount.getAmount().doubleValue());
+        cell.setCellStyle(moneyStyle);
+    }
+}
@@ -0,0 +1,16 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.warmup;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+
+import java.util.List;
+
+/**
+ * Calculations run at startup, ordered from the most to the least frequent in production.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record WarmUpCorpus(List<Scenario> scenarios) {
+
+    public record Scenario(String name, MortgageCalculationRequest request) {
+    }
+}
@@ -0,0 +1,28 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.warmup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Out of service until {@link WarmUpRunner} has finished or timed out. Part of the readiness group,
+ * so traffic is only routed to an instance once its JIT and result cache are warm.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmUpHealthIndicator implements HealthIndicator {
+
+    private final WarmUpRunner warmUpRunner;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = warmUpRunner.isFinished() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("started", warmUpRunner.isStarted())
+                .withDetail("calculations", warmUpRunner.getCalculations())
+                .withDetail("cachedResults", warmUpRunner.getCached())
+                .withDetail("failedScenarios", warmUpRunner.getFailedScenarios())
+                .build();
+    }
+}
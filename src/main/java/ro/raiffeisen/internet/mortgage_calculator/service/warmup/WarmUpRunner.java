@@ -0,0 +1,203 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import ro.raiffeisen.internet.mortgage_calculator.config.CalculationCacheKeyGenerator;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.MemoizingReferenceDataProvider;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataProvider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static ro.raiffeisen.internet.mortgage_calculator.config.CacheConfig.MORTGAGE_CALCULATION_CACHE;
+
+/**
+ * Warms the JIT and the result cache after startup, before the instance is reported ready.
+ * <p>
+ * The scenarios of the corpus resource are calculated on an engine of their own over a
+ * {@link MemoizingReferenceDataProvider}: the first pass retrieves the reference data once, the following
+ * iterations only exercise the calculation and the JSON mapping of requests and responses. The most frequent
+ * scenarios are then put in the result cache under the key the calculation endpoint uses. Warm-up runs on a
+ * daemon thread and ends when the corpus is done or the timeout expires, whichever comes first;
+ * {@link WarmUpHealthIndicator} keeps the readiness group down until then.
+ */
+@Slf4j
+@Component
+public class WarmUpRunner {
+
+    private static final String WARM_UP_THREAD_NAME = "warm-up";
+
+    private final ObjectMapper objectMapper;
+    private final ReferenceDataProvider referenceDataProvider;
+    private final CacheManager cacheManager;
+    private final CalculationCacheKeyGenerator cacheKeyGenerator;
+    private final Function<ReferenceDataProvider, CalculatorEngine> engineFactory;
+    private final boolean enabled;
+    private final Resource corpus;
+    private final int iterations;
+    private final int cachedScenarios;
+    private final Duration timeout;
+
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private final AtomicLong calculations = new AtomicLong();
+    private final List<String> failedScenarios = new ArrayList<>();
+    private volatile boolean started;
+    private volatile int cached;
+
+    @Autowired
+    public WarmUpRunner(ObjectMapper objectMapper,
+                        ReferenceDataProvider referenceDataProvider,
+                        CacheManager cacheManager,
+                        CalculationCacheKeyGenerator cacheKeyGenerator,
+                        @Value("${warm-up.enabled:true}") boolean enabled,
+                        @Value("${warm-up.corpus:classpath:warmup/calculations.json}") Resource corpus,
+                        @Value("${warm-up.iterations:200}") int iterations,
+                        @Value("${warm-up.cached-scenarios:5}") int cachedScenarios,
+                        @Value("${warm-up.timeout:2m}") Duration timeout) {
+        this(objectMapper, referenceDataProvider, cacheManager, cacheKeyGenerator, CalculatorEngine::create,
+                enabled, corpus, iterations, cachedScenarios, timeout);
+    }
+
+    WarmUpRunner(ObjectMapper objectMapper,
+                 ReferenceDataProvider referenceDataProvider,
+                 CacheManager cacheManager,
+                 CalculationCacheKeyGenerator cacheKeyGenerator,
+                 Function<ReferenceDataProvider, CalculatorEngine> engineFactory,
+                 boolean enabled,
+                 Resource corpus,
+                 int iterations,
+                 int cachedScenarios,
+                 Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.referenceDataProvider = referenceDataProvider;
+        this.cacheManager = cacheManager;
+        this.cacheKeyGenerator = cacheKeyGenerator;
+        this.engineFactory = engineFactory;
+        this.enabled = enabled;
+        this.corpus = corpus;
+        this.iterations = iterations;
+        this.cachedScenarios = cachedScenarios;
+        this.timeout = timeout;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        started = true;
+        if (!enabled) {
+            completion.complete(null);
+            return;
+        }
+
+        completion.completeOnTimeout(null, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        Thread thread = new Thread(this::run, WARM_UP_THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * True once warm-up has finished, failed or timed out.
+     */
+    public boolean isFinished() {
+        return completion.isDone();
+    }
+
+    public long getCalculations() {
+        return calculations.get();
+    }
+
+    public int getCached() {
+        return cached;
+    }
+
+    public synchronized List<String> getFailedScenarios() {
+        return List.copyOf(failedScenarios);
+    }
+
+    void run() {
+        long startNanos = System.nanoTime();
+        try {
+            warmUp(readCorpus());
+            log.info("Warm-up finished in {} ms: {} calculations, {} results cached, failed scenarios {}",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), getCalculations(), cached, getFailedScenarios());
+        } catch (Exception e) {
+            log.warn("Warm-up stopped after {} calculations: {}", getCalculations(), e.getMessage(), e);
+        } finally {
+            if (!completion.complete(null)) {
+                log.warn("Warm-up exceeded its timeout of {}; the instance was reported ready before it finished", timeout);
+            }
+        }
+    }
+
+    private void warmUp(WarmUpCorpus warmUpCorpus) throws IOException {
+        CalculatorEngine engine = engineFactory.apply(new MemoizingReferenceDataProvider(referenceDataProvider));
+
+        // First pass retrieves the reference data; scenarios that cannot be calculated are left out afterwards
+        List<WarmUpCorpus.Scenario> scenarios = new ArrayList<>();
+        List<MortgageCalculationResponse> responses = new ArrayList<>();
+        for (WarmUpCorpus.Scenario scenario : warmUpCorpus.scenarios()) {
+            if (completion.isDone()) {
+                return;
+            }
+            try {
+                responses.add(calculate(engine, scenario.request()));
+                scenarios.add(scenario);
+            } catch (RuntimeException e) {
+                log.warn("Warm-up scenario {} failed: {}", scenario.name(), e.getMessage());
+                synchronized (this) {
+                    failedScenarios.add(scenario.name());
+                }
+            }
+        }
+
+        for (int iteration = 1; iteration < iterations && !completion.isDone(); iteration++) {
+            for (WarmUpCorpus.Scenario scenario : scenarios) {
+                MortgageCalculationRequest request = objectMapper.readValue(
+                        objectMapper.writeValueAsBytes(scenario.request()), MortgageCalculationRequest.class);
+                objectMapper.writeValueAsBytes(calculate(engine, request));
+            }
+        }
+
+        Cache cache = cacheManager.getCache(MORTGAGE_CALCULATION_CACHE);
+        int toCache = Math.min(cachedScenarios, scenarios.size());
+        for (int i = 0; i < toCache && cache != null && !completion.isDone(); i++) {
+            // Same key as MortgageCalculatorService.createCalculation, which is taken before the request is modified
+            cache.put(cacheKeyGenerator.keyFor(scenarios.get(i).request()), responses.get(i));
+            cached = i + 1;
+        }
+    }
+
+    private MortgageCalculationResponse calculate(CalculatorEngine engine, MortgageCalculationRequest request) {
+        // The engine replaces top-level fields of the request, so the corpus entry itself is never passed in
+        MortgageCalculationResponse response = engine.calculate(request.toBuilder().build());
+        calculations.incrementAndGet();
+        return response;
+    }
+
+    private WarmUpCorpus readCorpus() throws IOException {
+        try (InputStream input = corpus.getInputStream()) {
+            return objectMapper.readValue(input, WarmUpCorpus.class);
+        }
+    }
+}
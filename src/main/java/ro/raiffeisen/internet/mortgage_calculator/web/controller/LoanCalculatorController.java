@@ -2,20 +2,59 @@ package ro.raiffeisen.internet.mortgage_calculator.web.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
 import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.prepayment.EarlyRepaymentRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.prepayment.EarlyRepaymentResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.RepaymentPlanEntry;
+import ro.raiffeisen.internet.mortgage_calculator.model.simulation.SimulationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.simulation.SimulationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.comparison.ProductComparisonRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.comparison.ProductComparisonResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.offer.BestOfferRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.offer.BestOfferResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.stress.StressTestRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.stress.StressTestResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.target.TargetInstallmentRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.target.TargetInstallmentResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.whatif.WhatIfChanges;
+import ro.raiffeisen.internet.mortgage_calculator.model.whatif.WhatIfResponse;
+import ro.raiffeisen.internet.mortgage_calculator.service.BestOfferService;
+import ro.raiffeisen.internet.mortgage_calculator.service.EarlyRepaymentService;
 import ro.raiffeisen.internet.mortgage_calculator.service.MortgageCalculatorService;
+import ro.raiffeisen.internet.mortgage_calculator.service.ProductComparisonService;
+import ro.raiffeisen.internet.mortgage_calculator.service.RepaymentPlanService;
+import ro.raiffeisen.internet.mortgage_calculator.service.SimulationService;
+import ro.raiffeisen.internet.mortgage_calculator.service.StressTestService;
+import ro.raiffeisen.internet.mortgage_calculator.service.TargetInstallmentService;
+import ro.raiffeisen.internet.mortgage_calculator.service.WhatIfService;
+import ro.raiffeisen.internet.mortgage_calculator.service.repayment.RepaymentPlanWriter;
+import ro.raiffeisen.internet.mortgage_calculator.service.repayment.RepaymentPlanWriterFactory;
 import ro.raiffeisen.internet.mortgage_calculator.web.controller.api.LoanCalculatorApi;
 
+import java.util.Iterator;
+
 @Slf4j
 @Controller
 @RequiredArgsConstructor
 public class LoanCalculatorController implements LoanCalculatorApi {
 
     private final MortgageCalculatorService mortgageCalculatorService;
+    private final RepaymentPlanService repaymentPlanService;
+    private final RepaymentPlanWriterFactory repaymentPlanWriterFactory;
+    private final StressTestService stressTestService;
+    private final SimulationService simulationService;
+    private final TargetInstallmentService targetInstallmentService;
+    private final BestOfferService bestOfferService;
+    private final ProductComparisonService productComparisonService;
+    private final EarlyRepaymentService earlyRepaymentService;
+    private final WhatIfService whatIfService;
 
     @Override
     public ResponseEntity<MortgageCalculationResponse> createCalculation(String requestId,
@@ -28,4 +67,116 @@ public class LoanCalculatorController implements LoanCalculatorApi {
         return new ResponseEntity<>(mortgageCalculatorService.createCalculation(mortgageCalculationRequest), HttpStatus.OK);
     }
 
+    @Override
+    public ResponseEntity<StreamingResponseBody> createRepaymentPlan(String requestId,
+                                                                     String correlationId,
+                                                                     String xIdempotencyKey,
+                                                                     String riceNwuId,
+                                                                     String deviceSessionId,
+                                                                     String deviceSessionProvider,
+                                                                     String accept,
+                                                                     Integer fromMonth,
+                                                                     Integer toMonth,
+                                                                     MortgageCalculationRequest mortgageCalculationRequest) {
+        RepaymentPlanWriter writer = repaymentPlanWriterFactory.getWriter(accept);
+        // Reference data is retrieved here, on the request thread; the entries are generated while streaming
+        Iterator<RepaymentPlanEntry> entries = repaymentPlanService.getRepaymentPlan(mortgageCalculationRequest, fromMonth, toMonth);
+
+        return ResponseEntity.ok()
+                .contentType(writer.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("repayment-plan." + writer.getFileExtension())
+                        .build()
+                        .toString())
+                .body(outputStream -> writer.write(entries, outputStream));
+    }
+
+    @Override
+    public ResponseEntity<StressTestResponse> createStressTest(String requestId,
+                                                               String correlationId,
+                                                               String xIdempotencyKey,
+                                                               String riceNwuId,
+                                                               String deviceSessionId,
+                                                               String deviceSessionProvider,
+                                                               StressTestRequest stressTestRequest) {
+        return new ResponseEntity<>(stressTestService.stressTest(stressTestRequest), HttpStatus.OK);
+    }
+
+    @Override
+    public ResponseEntity<SimulationResponse> createSimulation(String requestId,
+                                                               String correlationId,
+                                                               String xIdempotencyKey,
+                                                               String riceNwuId,
+                                                               String deviceSessionId,
+                                                               String deviceSessionProvider,
+                                                               SimulationRequest simulationRequest) {
+        return new ResponseEntity<>(simulationService.simulate(simulationRequest), HttpStatus.OK);
+    }
+
+    @Override
+    public ResponseEntity<TargetInstallmentResponse> createTargetInstallmentCalculation(String requestId,
+                                                                                        String correlationId,
+                                                                                        String xIdempotencyKey,
+                                                                                        String riceNwuId,
+                                                                                        String deviceSessionId,
+                                                                                        String deviceSessionProvider,
+                                                                                        TargetInstallmentRequest targetInstallmentRequest) {
+        return new ResponseEntity<>(targetInstallmentService.solve(targetInstallmentRequest), HttpStatus.OK);
+    }
+
+    @Override
+    public ResponseEntity<BestOfferResponse> createBestOffer(String requestId,
+                                                             String correlationId,
+                                                             String xIdempotencyKey,
+                                                             String riceNwuId,
+                                                             String deviceSessionId,
+                                                             String deviceSessionProvider,
+                                                             BestOfferRequest bestOfferRequest) {
+        return new ResponseEntity<>(bestOfferService.findBestOffer(bestOfferRequest), HttpStatus.OK);
+    }
+
+    @Override
+    public ResponseEntity<ProductComparisonResponse> createProductComparison(String requestId,
+                                                                             String correlationId,
+                                                                             String xIdempotencyKey,
+                                                                             String riceNwuId,
+                                                                             String deviceSessionId,
+                                                                             String deviceSessionProvider,
+                                                                             ProductComparisonRequest productComparisonRequest) {
+        return new ResponseEntity<>(productComparisonService.compare(productComparisonRequest), HttpStatus.OK);
+    }
+
+    @Override
+    public ResponseEntity<EarlyRepaymentResponse> createEarlyRepaymentSimulation(String requestId,
+                                                                                 String correlationId,
+                                                                                 String xIdempotencyKey,
+                                                                                 String riceNwuId,
+                                                                                 String deviceSessionId,
+                                                                                 String deviceSessionProvider,
+                                                                                 EarlyRepaymentRequest earlyRepaymentRequest) {
+        return new ResponseEntity<>(earlyRepaymentService.simulate(earlyRepaymentRequest), HttpStatus.OK);
+    }
+
+    @Override
+    public ResponseEntity<WhatIfResponse> createWhatIfSession(String requestId,
+                                                              String correlationId,
+                                                              String xIdempotencyKey,
+                                                              String riceNwuId,
+                                                              String deviceSessionId,
+                                                              String deviceSessionProvider,
+                                                              MortgageCalculationRequest mortgageCalculationRequest) {
+        return new ResponseEntity<>(whatIfService.startSession(mortgageCalculationRequest), HttpStatus.OK);
+    }
+
+    @Override
+    public ResponseEntity<WhatIfResponse> updateWhatIfSession(String requestId,
+                                                              String correlationId,
+                                                              String xIdempotencyKey,
+                                                              String riceNwuId,
+                                                              String deviceSessionId,
+                                                              String deviceSessionProvider,
+                                                              String sessionId,
+                                                              WhatIfChanges whatIfChanges) {
+        return new ResponseEntity<>(whatIfService.applyChanges(sessionId, whatIfChanges), HttpStatus.OK);
+    }
 }
@@ -13,16 +13,36 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
 import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.comparison.ProductComparisonRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.comparison.ProductComparisonResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.offer.BestOfferRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.offer.BestOfferResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.prepayment.EarlyRepaymentRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.prepayment.EarlyRepaymentResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.RepaymentPlanEntry;
+import ro.raiffeisen.internet.mortgage_calculator.model.simulation.SimulationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.simulation.SimulationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.stress.StressTestRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.target.TargetInstallmentRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.target.TargetInstallmentResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.stress.StressTestResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.whatif.WhatIfChanges;
+import ro.raiffeisen.internet.mortgage_calculator.model.whatif.WhatIfResponse;
 
 import java.util.Optional;
 
@@ -167,124 +187,1139 @@ public interface LoanCalculatorApi {
         return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
     }
 
-//    @Operation(
-//            summary = "Calculates a loan's repayment plan for a given use case.",
-//            operationId = "/retail-loan-calculations/repayment-plans",
-//            tags = {"post"}
-//    )
-//    @PostMapping(value = "/retail-loan-calculations/repayment-plans")
-//    @ApiResponses(
-//            value = {
-//                    @ApiResponse(
-//                            responseCode = "201",
-//                            description = "Successful operation",
-//                            content =
-//                            @Content(
-//                                    schema =
-//                                    @Schema(
-//                                            implementation =
-//                                                    LoanRepaymentPlan.class),
-//                                    mediaType = MediaType.APPLICATION_JSON_VALUE)),
-//                    @ApiResponse(
-//                            responseCode = "400",
-//                            description = "Bad request",
-//                            content =
-//                            @Content(
-//                                    schema = @Schema(implementation = Error.class),
-//                                    mediaType = MediaType.APPLICATION_JSON_VALUE)),
-//                    @ApiResponse(
-//                            responseCode = "500",
-//                            description =
-//                                    "Unexpected condition encountered which prevented fulfilling the request.",
-//                            content =
-//                            @Content(
-//                                    schema = @Schema(implementation = Error.class),
-//                                    mediaType = MediaType.APPLICATION_JSON_VALUE))
-//            }
-//    )
-//    default ResponseEntity<LoanRepaymentPlan> createRepaymentPlan(
-//            @Parameter(
-//                    name = X_REQUEST_ID,
-//                    description =
-//                            """
-//                                                                                     ID of the request, unique to the call, as determined by the initiating party used to track requests in logs.
-//                                                                                     The server includes that ID in every log statement that it creates. If a client receives an error it can
-//                                                                                     include the ID in a bug report, allowing the server operator to look up the corresponding log statements
-//                                                                                     (without having to rely on timestamps, IPs, etc)
-//                                                                                     """,
-//                    example = "99391c7e-ad88-49ec-a2ad-99ddcb1f7721",
-//                    required = true)
-//            @NotNull
-//            @RequestHeader(name = X_REQUEST_ID)
-//            String requestId,
-//            @Parameter(
-//                    name = X_CORRELATION_ID,
-//                    description =
-//                            """
-//                                                                                     Will be used to track requests through all involved services to be able to graph request flows,
-//                                                                                     to track all upstream calls from the business perspective, from the client to the upstream.
-//                                                                                     (e.g. a customer fills out a form on 4 different pages, every GET/POST operation related to
-//                                                                                     this process would have the same X-Correlation-ID header value). The X-Correlation-ID must
-//                                                                                     be propagated unchanged in any and all upstream service calls (e.g. NWU services).
-//                                                                                     RICE doesn't recommend sending a traceId (or spanId or any other B3 header
-//                                                                                     https://github.com/openzipkin/b3-propagation) into X-Correlation-ID field, as this is not the intention.""",
-//                    example = "99391c7e-ad88-49ec-a2ad-99ddcb1f7721")
-//            @RequestHeader(name = X_CORRELATION_ID, required = false)
-//            String correlationId,
-//            @Parameter(
-//                    name = X_IDEMPOTENCY_KEY,
-//                    description =
-//                            """
-//                                                                                     A unique request identifier to support idempotency.
-//                                                                                     """,
-//                    example = "e457b5a2e4d86bd1198ee56343ba864fe8b2")
-//            @RequestHeader(name = X_IDEMPOTENCY_KEY, required = false)
-//            @Size(max = 40)
-//            String xIdempotencyKey,
-//            @Parameter(
-//                    name = ACCEPT_VERSION,
-//                    description =
-//                            """
-//                                                                                     Versioning is supported in API requests via the recommended, but optional.
-//                                                                                     Accept-Version: header. It allows API consumers to call the intended version of the API.
-//                                                                                     If no Accept-Version header is present, it implies that the newest version of the entity
-//                                                                                     should be retrieved.
-//                                                                                     More details about API versioning could be found on the RICE confluence page.
-//                                                                                     """,
-//                    example = "1.2")
-//            @NotBlank
-//            @RequestHeader(name = RICE_NWU_ID)
-//            @Size(max = 10)
-//            String riceNwuId,
-//            @Parameter(
-//                    name = DEVICE_SESSION_ID,
-//                    description =
-//                            """
-//                                Device session identifier assigned by implemented in RBI group solution for device security and
-//                                user behavior analytics.
-//                                """,
-//                    example = "HP3WR49WZsP8T5eboyHQ==_8I0gbpi3Mw/A1hAdYRZqRwAAcR0DCY2B")
-//            @RequestHeader(name = DEVICE_SESSION_ID, required = false)
-//            @Size(max = 128)
-//            String deviceSessionId,
-//            @Parameter(
-//                    name = DEVICE_SESSION_PROVIDER,
-//                    description =
-//                            """
-//                                The header paired with Device-Session-ID holding identifier of device session provider.
-//                                The identifier is used  when additional information connected with the session needs to
-//                                be retrieved from the provider.
-//                                """,
-//                    example = "Precognitive")
-//            @RequestHeader(name = DEVICE_SESSION_PROVIDER, required = false)
-//            @Size(max = 128)
-//            String deviceSessionProvider,
-//            @Validated @RequestBody
-//            LoanCalculationRequest loanCalculationRequest) {
-//        if (!(getObjectMapper().isPresent() && getAcceptHeader().isPresent())) {
-//            log.warn("ObjectMapper or HttpServletRequest not configured in default Account Api interface so no example is generated");
-//        }
-//
-//        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
-//    }
+    @Operation(
+            summary = "Streams the repayment plan of a loan calculation as NDJSON, CSV, XLSX, CBOR or Smile, selected by the Accept header. An optional month range returns a single page of the plan.",
+            operationId = "createRepaymentPlan",
+            tags = {"post"}
+    )
+    @PostMapping(value = "/calculator/mortgage-calculator/repayment-plan")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Successful operation",
+                            content = {
+                                    @Content(
+                                            schema = @Schema(implementation = RepaymentPlanEntry.class),
+                                            mediaType = MediaType.APPLICATION_NDJSON_VALUE),
+                                    @Content(mediaType = "text/csv"),
+                                    @Content(mediaType = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+                                    @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE),
+                                    @Content(mediaType = "application/x-jackson-smile")
+                            }),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad request",
+                            content =
+                            @Content(
+                                    schema = @Schema(implementation = Error.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE)),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description =
+                                    "Unexpected condition encountered which prevented fulfilling the request.",
+                            content =
+                            @Content(
+                                    schema = @Schema(implementation = Error.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE))
+            }
+    )
+    default ResponseEntity<StreamingResponseBody> createRepaymentPlan(
+            @Parameter(
+                    name = X_REQUEST_ID,
+                    description =
+                            """
+                                                                                     ID of the request, unique to the call, as determined by the initiating party used to track requests in logs.
+                                                                                     The server includes that ID in every log statement that it creates. If a client receives an error it can
+                                                                                     include the ID in a bug report, allowing the server operator to look up the corresponding log statements
+                                                                                     (without having to rely on timestamps, IPs, etc)
+                                                                                     """,
+                    example = "99391c7e-ad88-49ec-a2ad-99ddcb1f7721",
+                    required = true)
+            @NotNull
+            @RequestHeader(name = X_REQUEST_ID)
+            String requestId,
+            @Parameter(
+                    name = X_CORRELATION_ID,
+                    description =
+                            """
+                                                                                     Will be used to track requests through all involved services to be able to graph request flows,
+                                                                                     to track all upstream calls from the business perspective, from the client to the upstream.
+                                                                                     (e.g. a customer fills out a form on 4 different pages, every GET/POST operation related to
+                                                                                     this process would have the same X-Correlation-ID header value). The X-Correlation-ID must
+                                                                                     be propagated unchanged in any and all upstream service calls (e.g. NWU services).
+                                                                                     RICE doesn't recommend sending a traceId (or spanId or any other B3 header
+                                                                                     https://github.com/openzipkin/b3-propagation) into X-Correlation-ID field, as this is not the intention.""",
+                    example = "99391c7e-ad88-49ec-a2ad-99ddcb1f7721")
+            @RequestHeader(name = X_CORRELATION_ID, required = false)
+            String correlationId,
+            @Parameter(
+                    name = X_IDEMPOTENCY_KEY,
+                    description =
+                            """
+                                                                                     A unique request identifier to support idempotency.
+                                                                                     """,
+                    example = "e457b5a2e4d86bd1198ee56343ba864fe8b2")
+            @RequestHeader(name = X_IDEMPOTENCY_KEY, required = false)
+            @Size(max = 40)
+            String xIdempotencyKey,
+            @Parameter(
+                    name = ACCEPT_VERSION,
+                    description =
+                            """
+                                                                                     Versioning is supported in API requests via the recommended, but optional.
+                                                                                     Accept-Version: header. It allows API consumers to call the intended version of the API.
+                                                                                     If no Accept-Version header is present, it implies that the newest version of the entity
+                                                                                     should be retrieved.
+                                                                                     More details about API versioning could be found on the RICE confluence page.
+                                                                                     """,
+                    example = "1.2")
+            @NotBlank
+            @RequestHeader(name = RICE_NWU_ID)
+            @Size(max = 10)
+            String riceNwuId,
+            @Parameter(
+                    name = DEVICE_SESSION_ID,
+                    description =
+                            """
+                                Device session identifier assigned by implemented in RBI group solution for device security and
+                                user behavior analytics.
+                                """,
+                    example = "HP3WR49WZsP8T5eboyHQ==_8I0gbpi3Mw/A1hAdYRZqRwAAcR0DCY2B")
+            @RequestHeader(name = DEVICE_SESSION_ID, required = false)
+            @Size(max = 128)
+            String deviceSessionId,
+            @Parameter(
+                    name = DEVICE_SESSION_PROVIDER,
+                    description =
+                            """
+                                The header paired with Device-Session-ID holding identifier of device session provider.
+                                The identifier is used  when additional information connected with the session needs to
+                                be retrieved from the provider.
+                                """,
+                    example = "Precognitive")
+            @RequestHeader(name = DEVICE_SESSION_PROVIDER, required = false)
+            @Size(max = 128)
+            String deviceSessionProvider,
+            @Parameter(
+                    name = HttpHeaders.ACCEPT,
+                    description = "The download format: application/x-ndjson (default), text/csv, application/vnd.openxmlformats-officedocument.spreadsheetml.sheet, application/cbor or application/x-jackson-smile.",
+                    example = "text/csv")
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false)
+            String accept,
+            @Parameter(
+                    name = "fromMonth",
+                    description = "First month of the page, inclusive. Month 0 holds the analysis commission.",
+                    example = "121")
+            @RequestParam(name = "fromMonth", required = false)
+            Integer fromMonth,
+            @Parameter(
+                    name = "toMonth",
+                    description = "Last month of the page, inclusive. Values past the end of the plan are capped to the last month.",
+                    example = "180")
+            @RequestParam(name = "toMonth", required = false)
+            Integer toMonth,
+            @Validated @RequestBody
+            MortgageCalculationRequest loanCalculationRequest) {
+        if (!(getObjectMapper().isPresent() && getAcceptHeader().isPresent())) {
+            log.warn("ObjectMapper or HttpServletRequest not configured in default Account Api interface so no example is generated");
+        }
+
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    @Operation(
+            summary = "Calculates the loan at the current IRCC and under each requested IRCC increase, returning installment, DAE and total cost differences per scenario.",
+            operationId = "createStressTest",
+            tags = {"post"}
+    )
+    @PostMapping(value = "/calculator/mortgage-calculator/stress-test")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Successful operation",
+                            content =
+                            @Content(
+                                    schema =
+                                    @Schema(
+                                            implementation =
+                                                    StressTestResponse.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE)),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad request",
+                            content =
+                            @Content(
+                                    schema = @Schema(implementation = Error.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE)),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description =
+                                    "Unexpected condition encountered which prevented fulfilling the request.",
+                            content =
+                            @Content(
+                                    schema = @Schema(implementation = Error.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE))
+            }
+    )
+    default ResponseEntity<StressTestResponse> createStressTest(
+            @Parameter(
+                    name = X_REQUEST_ID,
+                    description =
+                            """
+                                                                                     ID of the request, unique to the call, as determined by the initiating party used to track requests in logs.
+                                                                                     The server includes that ID in every log statement that it creates. If a client receives an error it can
+                                                                                     include the ID in a bug report, allowing the server operator to look up the corresponding log statements
+                                                                                     (without having to rely on timestamps, IPs, etc)
+                                                                                     """,
+                    example = "99391c7e-ad88-49ec-a2ad-99ddcb1f7721",
+                    required = true)
+            @NotNull
+            @RequestHeader(name = X_REQUEST_ID)
+            String requestId,
+            @Parameter(
+                    name = X_CORRELATION_ID,
+                    description =
+                            """
+                                                                                     Will be used to track requests through all involved services to be able to graph request flows,
+                                                                                     to track all upstream calls from the business perspective, from the client to the upstream.
+                                                                                     (e.g. a customer fills out a form on 4 different pages, every GET/POST operation related to
+                                                                                     this process would have the same X-Correlation-ID header value). The X-Correlation-ID must
+                                                                                     be propagated unchanged in any and all upstream service calls (e.g. NWU services).
+                                                                                     RICE doesn't recommend sending a traceId (or spanId or any other B3 header
+                                                                                     https://github.com/openzipkin/b3-propagation) into X-Correlation-ID field, as this is not the intention.""",
+                    example = "99391c7e-ad88-49ec-a2ad-99ddcb1f7721")
+            @RequestHeader(name = X_CORRELATION_ID, required = false)
+            String correlationId,
+            @Parameter(
+                    name = X_IDEMPOTENCY_KEY,
+                    description =
+                            """
+                                                                                     A unique request identifier to support idempotency.
+                                                                                     """,
+                    example = "e457b5a2e4d86bd1198ee56343ba864fe8b2")
+            @RequestHeader(name = X_IDEMPOTENCY_KEY, required = false)
+            @Size(max = 40)
+            String xIdempotencyKey,
+            @Parameter(
+                    name = ACCEPT_VERSION,
+                    description =
+                            """
+                                                                                     Versioning is supported in API requests via the recommended, but optional.
+                                                                                     Accept-Version: header. It allows API consumers to call the intended version of the API.
+                                                                                     If no Accept-Version header is present, it implies that the newest version of the entity
+                                                                                     should be retrieved.
+                                                                                     More details about API versioning could be found on the RICE confluence page.
+                                                                                     """,
+                    example = "1.2")
+            @NotBlank
+            @RequestHeader(name = RICE_NWU_ID)
+            @Size(max = 10)
+            String riceNwuId,
+            @Parameter(
+                    name = DEVICE_SESSION_ID,
+                    description =
+                            """
+                                Device session identifier assigned by implemented in RBI group solution for device security and
+                                user behavior analytics.
+                                """,
+                    example = "HP3WR49WZsP8T5eboyHQ==_8I0gbpi3Mw/A1hAdYRZqRwAAcR0DCY2B")
+            @RequestHeader(name = DEVICE_SESSION_ID, required = false)
+            @Size(max = 128)
+            String deviceSessionId,
+            @Parameter(
+                    name = DEVICE_SESSION_PROVIDER,
+                    description =
+                            """
+                                The header paired with Device-Session-ID holding identifier of device session provider.
+                                The identifier is used  when additional information connected with the session needs to
+                                be retrieved from the provider.
+                                """,
+                    example = "Precognitive")
+            @RequestHeader(name = DEVICE_SESSION_PROVIDER, required = false)
+            @Size(max = 128)
+            String deviceSessionProvider,
+            @Validated @RequestBody
+            StressTestRequest stressTestRequest) {
+        if (!(getObjectMapper().isPresent() && getAcceptHeader().isPresent())) {
+            log.warn("ObjectMapper or HttpServletRequest not configured in default Account Api interface so no example is generated");
+        }
+
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    @Operation(
+            summary = "Simulates random IRCC paths over the loan life-time with a mean-reverting model, returning P5/P50/P95 bands of the peak installment, total cost and DAE.",
+            operationId = "createSimulation",
+            tags = {"post"}
+    )
+    @PostMapping(value = "/calculator/mortgage-calculator/simulation")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Successful operation",
+                            content =
+                            @Content(
+                                    schema =
+                                    @Schema(
+                                            implementation =
+                                                    SimulationResponse.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE)),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad request",
+                            content =
+                            @Content(
+                                    schema = @Schema(implementation = Error.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE)),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description =
+                                    "Unexpected condition encountered which prevented fulfilling the request.",
+                            content =
+                            @Content(
+                                    schema = @Schema(implementation = Error.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE))
+            }
+    )
+    default ResponseEntity<SimulationResponse> createSimulation(
+            @Parameter(
+                    name = X_REQUEST_ID,
+                    description =
+                            """
+                                                                                     ID of the request, unique to the call, as determined by the initiating party used to track requests in logs.
+                                                                                     The server includes that ID in every log statement that it creates. If a client receives an error it can
+                                                                                     include the ID in a bug report, allowing the server operator to look up the corresponding log statements
+                                                                                     (without having to rely on timestamps, IPs, etc)
+                                                                                     """,
+                    example = "99391c7e-ad88-49ec-a2ad-99ddcb1f7721",
+                    required = true)
+            @NotNull
+            @RequestHeader(name = X_REQUEST_ID)
+            String requestId,
+            @Parameter(
+                    name = X_CORRELATION_ID,
+                    description =
+                            """
+                                                                                     Will be used to track requests through all involved services to be able to graph request flows,
+                                                                                     to track all upstream calls from the business perspective, from the client to the upstream.
+                                                                                     (e.g. a customer fills out a form on 4 different pages, every GET/POST operation related to
+                                                                                     this process would have the same X-Correlation-ID header value). The X-Correlation-ID must
+                                                                                     be propagated unchanged in any and all upstream service calls (e.g. NWU services).
+                                                                                     RICE doesn't recommend sending a traceId (or spanId or any other B3 header
+                                                                                     https://github.com/openzipkin/b3-propagation) into X-Correlation-ID field, as this is not the intention.""",
+                    example = "99391c7e-ad88-49ec-a2ad-99ddcb1f7721")
+            @RequestHeader(name = X_CORRELATION_ID, required = false)
+            String correlationId,
+            @Parameter(
+                    name = X_IDEMPOTENCY_KEY,
+                    description =
+                            """
+                                                                                     A unique request identifier to support idempotency.
+                                                                                     """,
+                    example = "e457b5a2e4d86bd1198ee56343ba864fe8b2")
+            @RequestHeader(name = X_IDEMPOTENCY_KEY, required = false)
+            @Size(max = 40)
+            String xIdempotencyKey,
+            @Parameter(
+                    name = ACCEPT_VERSION,
+                    description =
+                            """
+                                                                                     Versioning is supported in API requests via the recommended, but optional.
+                                                                                     Accept-Version: header. It allows API consumers to call the intended version of the API.
+                                                                                     If no Accept-Version header is present, it implies that the newest version of the entity
+                                                                                     should be retrieved.
+                                                                                     More details about API versioning could be found on the RICE confluence page.
+                                                                                     """,
+                    example = "1.2")
+            @NotBlank
+            @RequestHeader(name = RICE_NWU_ID)
+            @Size(max = 10)
+            String riceNwuId,
+            @Parameter(
+                    name = DEVICE_SESSION_ID,
+                    description =
+                            """
+                                Device session identifier assigned by implemented in RBI group solution for device security and
+                                user behavior analytics.
+                                """,
+                    example = "HP3WR49WZsP8T5eboyHQ==_8I0gbpi3Mw/A1hAdYRZqRwAAcR0DCY2B")
+            @RequestHeader(name = DEVICE_SESSION_ID, required = false)
+            @Size(max = 128)
+            String deviceSessionId,
+            @Parameter(
+                    name = DEVICE_SESSION_PROVIDER,
+                    description =
+                            """
+                                The header paired with Device-Session-ID holding identifier of device session provider.
+                                The identifier is used  when additional information connected with the session needs to
+                                be retrieved from the provider.
+                                """,
+                    example = "Precognitive")
+            @RequestHeader(name = DEVICE_SESSION_PROVIDER, required = false)
+            @Size(max = 128)
+            String deviceSessionProvider,
+            @Validated @RequestBody
+            SimulationRequest simulationRequest) {
+        if (!(getObjectMapper().isPresent() && getAcceptHeader().isPresent())) {
+            log.warn("ObjectMapper or HttpServletRequest not configured in default Account Api interface so no example is generated");
+        }
+
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    @Operation(
+            summary = "Solves for the loan amount (given the tenor) or the tenor (given the loan amount) whose monthly installment does not exceed a target, returning the full calculation of the solution.",
+            operationId = "createTargetInstallmentCalculation",
+            tags = {"post"}
+    )
+    @PostMapping(value = "/calculator/mortgage-calculator/target-installment")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Successful operation",
+                            content =
+                            @Content(
+                                    schema =
+                                    @Schema(
+                                            implementation =
+                                                    TargetInstallmentResponse.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE)),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad request",
+                            content =
+                            @Content(
+                                    schema = @Schema(implementation = Error.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE)),
+                    @ApiResponse(
+                            responseCode = "422",
+                            description = "No loan amount or tenor meets the target installment",
+                            content =
+                            @Content(
+                                    schema = @Schema(implementation = Error.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE)),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description =
+                                    "Unexpected condition encountered which prevented fulfilling the request.",
+                            content =
+                            @Content(
+                                    schema = @Schema(implementation = Error.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE))
+            }
+    )
+    default ResponseEntity<TargetInstallmentResponse> createTargetInstallmentCalculation(
+            @Parameter(
+                    name = X_REQUEST_ID,
+                    description =
+                            """
+                                                                                     ID of the request, unique to the call, as determined by the initiating party used to track requests in logs.
+                                                                                     The server includes that ID in every log statement that it creates. If a client receives an error it can
+                                                                                     include the ID in a bug report, allowing the server operator to look up the corresponding log statements
+                                                                                     (without having to rely on timestamps, IPs, etc)
+                                                                                     """,
+                    example = "99391c7e-ad88-49ec-a2ad-99ddcb1f7721",
+                    required = true)
+            @NotNull
+            @RequestHeader(name = X_REQUEST_ID)
+            String requestId,
+            @Parameter(
+                    name = X_CORRELATION_ID,
+                    description =
+                            """
+                                                                                     Will be used to track requests through all involved services to be able to graph request flows,
+                                                                                     to track all upstream calls from the business perspective, from the client to the upstream.
+                                                                                     (e.g. a customer fills out a form on 4 different pages, every GET/POST operation related to
+                                                                                     this process would have the same X-Correlation-ID header value). The X-Correlation-ID must
+                                                                                     be propagated unchanged in any and all upstream service calls (e.g. NWU services).
+                                                                                     RICE doesn't recommend sending a traceId (or spanId or any other B3 header
+                                                                                     https://github.com/openzipkin/b3-propagation) into X-Correlation-ID field, as this is not the intention.""",
+                    example = "99391c7e-ad88-49ec-a2ad-99ddcb1f7721")
+            @RequestHeader(name = X_CORRELATION_ID, required = false)
+            String correlationId,
+            @Parameter(
+                    name = X_IDEMPOTENCY_KEY,
+                    description =
+                            """
+                                                                                     A unique request identifier to support idempotency.
+                                                                                     """,
+                    example = "e457b5a2e4d86bd1198ee56343ba864fe8b2")
+            @RequestHeader(name = X_IDEMPOTENCY_KEY, required = false)
+            @Size(max = 40)
+            String xIdempotencyKey,
+            @Parameter(
+                    name = ACCEPT_VERSION,
+                    description =
+                            """
+                                                                                     Versioning is supported in API requests via the recommended, but optional.
+                                                                                     Accept-Version: header. It allows API consumers to call the intended version of the API.
+                                                                                     If no Accept-Version header is present, it implies that the newest version of the entity
+                                                                                     should be retrieved.
+                                                                                     More details about API versioning could be found on the RICE confluence page.
+                                                                                     """,
+                    example = "1.2")
+            @NotBlank
+            @RequestHeader(name = RICE_NWU_ID)
+            @Size(max = 10)
+            String riceNwuId,
+            @Parameter(
+                    name = DEVICE_SESSION_ID,
+                    description =
+                            """
+                                Device session identifier assigned by implemented in RBI group solution for device security and
+                                user behavior analytics.
+                                """,
+                    example = "HP3WR49WZsP8T5eboyHQ==_8I0gbpi3Mw/A1hAdYRZqRwAAcR0DCY2B")
+            @RequestHeader(name = DEVICE_SESSION_ID, required = false)
+            @Size(max = 128)
+            String deviceSessionId,
+            @Parameter(
+                    name = DEVICE_SESSION_PROVIDER,
+                    description =
+                            """
+                                The header paired with Device-Session-ID holding identifier of device session provider.
+                                The identifier is used  when additional information connected with the session needs to
+                                be retrieved from the provider.
+                                """,
+                    example = "Precognitive")
+            @RequestHeader(name = DEVICE_SESSION_PROVIDER, required = false)
+            @Size(max = 128)
+            String deviceSessionProvider,
+            @Validated @RequestBody
+            TargetInstallmentRequest targetInstallmentRequest) {
+        if (!(getObjectMapper().isPresent() && getAcceptHeader().isPresent())) {
+            log.warn("ObjectMapper or HttpServletRequest not configured in default Account Api interface so no example is generated");
+        }
+
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    @Operation(
+            summary = "Calculates the loan under every combination of the chosen discounts (salary in the bank, green house, life insurance) and ranks the offers by total payment or DAE.",
+            operationId = "createBestOffer",
+            tags = {"post"}
+    )
+    @PostMapping(value = "/calculator/mortgage-calculator/best-offer")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Successful operation",
+                            content =
+                            @Content(
+                                    schema =
+                                    @Schema(
+                                            implementation =
+                                                    BestOfferResponse.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE)),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad request",
+                            content =
+                            @Content(
+                                    schema = @Schema(implementation = Error.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE)),
+                    @ApiResponse(
+                            responseCode = "422",
+                            description = "No loan amount or tenor meets the target installment",
+                            content =
+                            @Content(
+                                    schema = @Schema(implementation = Error.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE)),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description =
+                                    "Unexpected condition encountered which prevented fulfilling the request.",
+                            content =
+                            @Content(
+                                    schema = @Schema(implementation = Error.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE))
+            }
+    )
+    default ResponseEntity<BestOfferResponse> createBestOffer(
+            @Parameter(
+                    name = X_REQUEST_ID,
+                    description =
+                            """
+                                                                                     ID of the request, unique to the call, as determined by the initiating party used to track requests in logs.
+                                                                                     The server includes that ID in every log statement that it creates. If a client receives an error it can
+                                                                                     include the ID in a bug report, allowing the server operator to look up the corresponding log statements
+                                                                                     (without having to rely on timestamps, IPs, etc)
+                                                                                     """,
+                    example = "99391c7e-ad88-49ec-a2ad-99ddcb1f7721",
+                    required = true)
+            @NotNull
+            @RequestHeader(name = X_REQUEST_ID)
+            String requestId,
+            @Parameter(
+                    name = X_CORRELATION_ID,
+                    description =
+                            """
+                                                                                     Will be used to track requests through all involved services to be able to graph request flows,
+                                                                                     to track all upstream calls from the business perspective, from the client to the upstream.
+                                                                                     (e.g. a customer fills out a form on 4 different pages, every GET/POST operation related to
+                                                                                     this process would have the same X-Correlation-ID header value). The X-Correlation-ID must
+                                                                                     be propagated unchanged in any and all upstream service calls (e.g. NWU services).
+                                                                                     RICE doesn't recommend sending a traceId (or spanId or any other B3 header
+                                                                                     https://github.com/openzipkin/b3-propagation) into X-Correlation-ID field, as this is not the intention.""",
+                    example = "99391c7e-ad88-49ec-a2ad-99ddcb1f7721")
+            @RequestHeader(name = X_CORRELATION_ID, required = false)
+            String correlationId,
+            @Parameter(
+                    name = X_IDEMPOTENCY_KEY,
+                    description =
+                            """
+                                                                                     A unique request identifier to support idempotency.
+                                                                                     """,
+                    example = "e457b5a2e4d86bd1198ee56343ba864fe8b2")
+            @RequestHeader(name = X_IDEMPOTENCY_KEY, required = false)
+            @Size(max = 40)
+            String xIdempotencyKey,
+            @Parameter(
+                    name = ACCEPT_VERSION,
+                    description =
+                            """
+                                                                                     Versioning is supported in API requests via the recommended, but optional.
+                                                                                     Accept-Version: header. It allows API consumers to call the intended version of the API.
+                                                                                     If no Accept-Version header is present, it implies that the newest version of the entity
+                                                                                     should be retrieved.
+                                                                                     More details about API versioning could be found on the RICE confluence page.
+                                                                                     """,
+                    example = "1.2")
+            @NotBlank
+            @RequestHeader(name = RICE_NWU_ID)
+            @Size(max = 10)
+            String riceNwuId,
+            @Parameter(
+                    name = DEVICE_SESSION_ID,
+                    description =
+                            """
+                                Device session identifier assigned by implemented in RBI group solution for device security and
+                                user behavior analytics.
+                                """,
+                    example = "HP3WR49WZsP8T5eboyHQ==_8I0gbpi3Mw/A1hAdYRZqRwAAcR0DCY2B")
+            @RequestHeader(name = DEVICE_SESSION_ID, required = false)
+            @Size(max = 128)
+            String deviceSessionId,
+            @Parameter(
+                    name = DEVICE_SESSION_PROVIDER,
+                    description =
+                            """
+                                The header paired with Device-Session-ID holding identifier of device session provider.
+                                The identifier is used  when additional information connected with the session needs to
+                                be retrieved from the provider.
+                                """,
+                    example = "Precognitive")
+            @RequestHeader(name = DEVICE_SESSION_PROVIDER, required = false)
+            @Size(max = 128)
+            String deviceSessionProvider,
+            @Validated @RequestBody
+            BestOfferRequest bestOfferRequest) {
+        if (!(getObjectMapper().isPresent() && getAcceptHeader().isPresent())) {
+            log.warn("ObjectMapper or HttpServletRequest not configured in default Account Api interface so no example is generated");
+        }
+
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    @Operation(
+            summary = "Prices the loan with every requested product concurrently and returns a side-by-side summary, with the errors of the products that cannot price it.",
+            operationId = "createProductComparison",
+            tags = {"post"}
+    )
+    @PostMapping(value = "/calculator/mortgage-calculator/comparison")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Successful operation",
+                            content =
+                            @Content(
+                                    schema =
+                                    @Schema(
+                                            implementation =
+                                                    ProductComparisonResponse.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE)),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad request",
+                            content =
+                            @Content(
+                                    schema = @Schema(implementation = Error.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE)),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description =
+                                    "Unexpected condition encountered which prevented fulfilling the request.",
+                            content =
+                            @Content(
+                                    schema = @Schema(implementation = Error.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE))
+            }
+    )
+    default ResponseEntity<ProductComparisonResponse> createProductComparison(
+            @Parameter(
+                    name = X_REQUEST_ID,
+                    description =
+                            """
+                                                                                     ID of the request, unique to the call, as determined by the initiating party used to track requests in logs.
+                                                                                     The server includes that ID in every log statement that it creates. If a client receives an error it can
+                                                                                     include the ID in a bug report, allowing the server operator to look up the corresponding log statements
+                                                                                     (without having to rely on timestamps, IPs, etc)
+                                                                                     """,
+                    example = "99391c7e-ad88-49ec-a2ad-99ddcb1f7721",
+                    required = true)
+            @NotNull
+            @RequestHeader(name = X_REQUEST_ID)
+            String requestId,
+            @Parameter(
+                    name = X_CORRELATION_ID,
+                    description =
+                            """
+                                                                                     Will be used to track requests through all involved services to be able to graph request flows,
+                                                                                     to track all upstream calls from the business perspective, from the client to the upstream.
+                                                                                     (e.g. a customer fills out a form on 4 different pages, every GET/POST operation related to
+                                                                                     this process would have the same X-Correlation-ID header value). The X-Correlation-ID must
+                                                                                     be propagated unchanged in any and all upstream service calls (e.g. NWU services).
+                                                                                     RICE doesn't recommend sending a traceId (or spanId or any other B3 header
+                                                                                     https://github.com/openzipkin/b3-propagation) into X-Correlation-ID field, as this is not the intention.""",
+                    example = "99391c7e-ad88-49ec-a2ad-99ddcb1f7721")
+            @RequestHeader(name = X_CORRELATION_ID, required = false)
+            String correlationId,
+            @Parameter(
+                    name = X_IDEMPOTENCY_KEY,
+                    description =
+                            """
+                                                                                     A unique request identifier to support idempotency.
+                                                                                     """,
+                    example = "e457b5a2e4d86bd1198ee56343ba864fe8b2")
+            @RequestHeader(name = X_IDEMPOTENCY_KEY, required = false)
+            @Size(max = 40)
+            String xIdempotencyKey,
+            @Parameter(
+                    name = ACCEPT_VERSION,
+                    description =
+                            """
+                                                                                     Versioning is supported in API requests via the recommended, but optional.
+                                                                                     Accept-Version: header. It allows API consumers to call the intended version of the API.
+                                                                                     If no Accept-Version header is present, it implies that the newest version of the entity
+                                                                                     should be retrieved.
+                                                                                     More details about API versioning could be found on the RICE confluence page.
+                                                                                     """,
+                    example = "1.2")
+            @NotBlank
+            @RequestHeader(name = RICE_NWU_ID)
+            @Size(max = 10)
+            String riceNwuId,
+            @Parameter(
+                    name = DEVICE_SESSION_ID,
+                    description =
+                            """
+                                Device session identifier assigned by implemented in RBI group solution for device security and
+                                user behavior analytics.
+                                """,
+                    example = "HP3WR49WZsP8T5eboyHQ==_8I0gbpi3Mw/A1hAdYRZqRwAAcR0DCY2B")
+            @RequestHeader(name = DEVICE_SESSION_ID, required = false)
+            @Size(max = 128)
+            String deviceSessionId,
+            @Parameter(
+                    name = DEVICE_SESSION_PROVIDER,
+                    description =
+                            """
+                                The header paired with Device-Session-ID holding identifier of device session provider.
+                                The identifier is used  when additional information connected with the session needs to
+                                be retrieved from the provider.
+                                """,
+                    example = "Precognitive")
+            @RequestHeader(name = DEVICE_SESSION_PROVIDER, required = false)
+            @Size(max = 128)
+            String deviceSessionProvider,
+            @Validated @RequestBody
+            ProductComparisonRequest productComparisonRequest) {
+        if (!(getObjectMapper().isPresent() && getAcceptHeader().isPresent())) {
+            log.warn("ObjectMapper or HttpServletRequest not configured in default Account Api interface so no example is generated");
+        }
+
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    @Operation(
+            summary = "Simulates partial or full early repayments at given months, re-amortizing the remaining schedule, and returns the savings net of the early repayment commission.",
+            operationId = "createEarlyRepaymentSimulation",
+            tags = {"post"}
+    )
+    @PostMapping(value = "/calculator/mortgage-calculator/early-repayment")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Successful operation",
+                            content =
+                            @Content(
+                                    schema =
+                                    @Schema(
+                                            implementation =
+                                                    EarlyRepaymentResponse.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE)),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad request",
+                            content =
+                            @Content(
+                                    schema = @Schema(implementation = Error.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE)),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description =
+                                    "Unexpected condition encountered which prevented fulfilling the request.",
+                            content =
+                            @Content(
+                                    schema = @Schema(implementation = Error.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE))
+            }
+    )
+    default ResponseEntity<EarlyRepaymentResponse> createEarlyRepaymentSimulation(
+            @Parameter(
+                    name = X_REQUEST_ID,
+                    description =
+                            """
+                                                                                     ID of the request, unique to the call, as determined by the initiating party used to track requests in logs.
+                                                                                     The server includes that ID in every log statement that it creates. If a client receives an error it can
+                                                                                     include the ID in a bug report, allowing the server operator to look up the corresponding log statements
+                                                                                     (without having to rely on timestamps, IPs, etc)
+                                                                                     """,
+                    example = "99391c7e-ad88-49ec-a2ad-99ddcb1f7721",
+                    required = true)
+            @NotNull
+            @RequestHeader(name = X_REQUEST_ID)
+            String requestId,
+            @Parameter(
+                    name = X_CORRELATION_ID,
+                    description =
+                            """
+                                                                                     Will be used to track requests through all involved services to be able to graph request flows,
+                                                                                     to track all upstream calls from the business perspective, from the client to the upstream.
+                                                                                     (e.g. a customer fills out a form on 4 different pages, every GET/POST operation related to
+                                                                                     this process would have the same X-Correlation-ID header value). The X-Correlation-ID must
+                                                                                     be propagated unchanged in any and all upstream service calls (e.g. NWU services).
+                                                                                     RICE doesn't recommend sending a traceId (or spanId or any other B3 header
+                                                                                     https://github.com/openzipkin/b3-propagation) into X-Correlation-ID field, as this is not the intention.""",
+                    example = "99391c7e-ad88-49ec-a2ad-99ddcb1f7721")
+            @RequestHeader(name = X_CORRELATION_ID, required = false)
+            String correlationId,
+            @Parameter(
+                    name = X_IDEMPOTENCY_KEY,
+                    description =
+                            """
+                                                                                     A unique request identifier to support idempotency.
+                                                                                     """,
+                    example = "e457b5a2e4d86bd1198ee56343ba864fe8b2")
+            @RequestHeader(name = X_IDEMPOTENCY_KEY, required = false)
+            @Size(max = 40)
+            String xIdempotencyKey,
+            @Parameter(
+                    name = ACCEPT_VERSION,
+                    description =
+                            """
+                                                                                     Versioning is supported in API requests via the recommended, but optional.
+                                                                                     Accept-Version: header. It allows API consumers to call the intended version of the API.
+                                                                                     If no Accept-Version header is present, it implies that the newest version of the entity
+                                                                                     should be retrieved.
+                                                                                     More details about API versioning could be found on the RICE confluence page.
+                                                                                     """,
+                    example = "1.2")
+            @NotBlank
+            @RequestHeader(name = RICE_NWU_ID)
+            @Size(max = 10)
+            String riceNwuId,
+            @Parameter(
+                    name = DEVICE_SESSION_ID,
+                    description =
+                            """
+                                Device session identifier assigned by implemented in RBI group solution for device security and
+                                user behavior analytics.
+                                """,
+                    example = "HP3WR49WZsP8T5eboyHQ==_8I0gbpi3Mw/A1hAdYRZqRwAAcR0DCY2B")
+            @RequestHeader(name = DEVICE_SESSION_ID, required = false)
+            @Size(max = 128)
+            String deviceSessionId,
+            @Parameter(
+                    name = DEVICE_SESSION_PROVIDER,
+                    description =
+                            """
+                                The header paired with Device-Session-ID holding identifier of device session provider.
+                                The identifier is used  when additional information connected with the session needs to
+                                be retrieved from the provider.
+                                """,
+                    example = "Precognitive")
+            @RequestHeader(name = DEVICE_SESSION_PROVIDER, required = false)
+            @Size(max = 128)
+            String deviceSessionProvider,
+            @Validated @RequestBody
+            EarlyRepaymentRequest earlyRepaymentRequest) {
+        if (!(getObjectMapper().isPresent() && getAcceptHeader().isPresent())) {
+            log.warn("ObjectMapper or HttpServletRequest not configured in default Account Api interface so no example is generated");
+        }
+
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    @Operation(
+            summary = "Runs the calculation and keeps it in a short-lived session, so that later changes of single inputs only recompute what they affect.",
+            operationId = "createWhatIfSession",
+            tags = {"post"}
+    )
+    @PostMapping(value = "/calculator/mortgage-calculator/what-if")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Successful operation",
+                            content =
+                            @Content(
+                                    schema =
+                                    @Schema(
+                                            implementation =
+                                                    WhatIfResponse.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE)),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad request",
+                            content =
+                            @Content(
+                                    schema = @Schema(implementation = Error.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE)),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description =
+                                    "Unexpected condition encountered which prevented fulfilling the request.",
+                            content =
+                            @Content(
+                                    schema = @Schema(implementation = Error.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE))
+            }
+    )
+    default ResponseEntity<WhatIfResponse> createWhatIfSession(
+            @Parameter(
+                    name = X_REQUEST_ID,
+                    description =
+                            """
+                                                                                     ID of the request, unique to the call, as determined by the initiating party used to track requests in logs.
+                                                                                     The server includes that ID in every log statement that it creates. If a client receives an error it can
+                                                                                     include the ID in a bug report, allowing the server operator to look up the corresponding log statements
+                                                                                     (without having to rely on timestamps, IPs, etc)
+                                                                                     """,
+                    example = "99391c7e-ad88-49ec-a2ad-99ddcb1f7721",
+                    required = true)
+            @NotNull
+            @RequestHeader(name = X_REQUEST_ID)
+            String requestId,
+            @Parameter(
+                    name = X_CORRELATION_ID,
+                    description =
+                            """
+                                                                                     Will be used to track requests through all involved services to be able to graph request flows,
+                                                                                     to track all upstream calls from the business perspective, from the client to the upstream.
+                                                                                     (e.g. a customer fills out a form on 4 different pages, every GET/POST operation related to
+                                                                                     this process would have the same X-Correlation-ID header value). The X-Correlation-ID must
+                                                                                     be propagated unchanged in any and all upstream service calls (e.g. NWU services).
+                                                                                     RICE doesn't recommend sending a traceId (or spanId or any other B3 header
+                                                                                     https://github.com/openzipkin/b3-propagation) into X-Correlation-ID field, as this is not the intention.""",
+                    example = "99391c7e-ad88-49ec-a2ad-99ddcb1f7721")
+            @RequestHeader(name = X_CORRELATION_ID, required = false)
+            String correlationId,
+            @Parameter(
+                    name = X_IDEMPOTENCY_KEY,
+                    description =
+                            """
+                                                                                     A unique request identifier to support idempotency.
+                                                                                     """,
+                    example = "e457b5a2e4d86bd1198ee56343ba864fe8b2")
+            @RequestHeader(name = X_IDEMPOTENCY_KEY, required = false)
+            @Size(max = 40)
+            String xIdempotencyKey,
+            @Parameter(
+                    name = ACCEPT_VERSION,
+                    description =
+                            """
+                                                                                     Versioning is supported in API requests via the recommended, but optional.
+                                                                                     Accept-Version: header. It allows API consumers to call the intended version of the API.
+                                                                                     If no Accept-Version header is present, it implies that the newest version of the entity
+                                                                                     should be retrieved.
+                                                                                     More details about API versioning could be found on the RICE confluence page.
+                                                                                     """,
+                    example = "1.2")
+            @NotBlank
+            @RequestHeader(name = RICE_NWU_ID)
+            @Size(max = 10)
+            String riceNwuId,
+            @Parameter(
+                    name = DEVICE_SESSION_ID,
+                    description =
+                            """
+                                Device session identifier assigned by implemented in RBI group solution for device security and
+                                user behavior analytics.
+                                """,
+                    example = "HP3WR49WZsP8T5eboyHQ==_8I0gbpi3Mw/A1hAdYRZqRwAAcR0DCY2B")
+            @RequestHeader(name = DEVICE_SESSION_ID, required = false)
+            @Size(max = 128)
+            String deviceSessionId,
+            @Parameter(
+                    name = DEVICE_SESSION_PROVIDER,
+                    description =
+                            """
+                                The header paired with Device-Session-ID holding identifier of device session provider.
+                                The identifier is used  when additional information connected with the session needs to
+                                be retrieved from the provider.
+                                """,
+                    example = "Precognitive")
+            @RequestHeader(name = DEVICE_SESSION_PROVIDER, required = false)
+            @Size(max = 128)
+            String deviceSessionProvider,
+            @Validated @RequestBody
+            MortgageCalculationRequest mortgageCalculationRequest) {
+        if (!(getObjectMapper().isPresent() && getAcceptHeader().isPresent())) {
+            log.warn("ObjectMapper or HttpServletRequest not configured in default Account Api interface so no example is generated");
+        }
+
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    @Operation(
+            summary = "Applies changes of single inputs to a what-if session and recomputes only the stages they affect.",
+            operationId = "updateWhatIfSession",
+            tags = {"patch"}
+    )
+    @PatchMapping(value = "/calculator/mortgage-calculator/what-if/{sessionId}")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Successful operation",
+                            content =
+                            @Content(
+                                    schema =
+                                    @Schema(
+                                            implementation =
+                                                    WhatIfResponse.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE)),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad request",
+                            content =
+                            @Content(
+                                    schema = @Schema(implementation = Error.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE)),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Session not found or expired",
+                            content =
+                            @Content(
+                                    schema = @Schema(implementation = Error.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE)),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description =
+                                    "Unexpected condition encountered which prevented fulfilling the request.",
+                            content =
+                            @Content(
+                                    schema = @Schema(implementation = Error.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE))
+            }
+    )
+    default ResponseEntity<WhatIfResponse> updateWhatIfSession(
+            @Parameter(
+                    name = X_REQUEST_ID,
+                    description =
+                            """
+                                                                                     ID of the request, unique to the call, as determined by the initiating party used to track requests in logs.
+                                                                                     The server includes that ID in every log statement that it creates. If a client receives an error it can
+                                                                                     include the ID in a bug report, allowing the server operator to look up the corresponding log statements
+                                                                                     (without having to rely on timestamps, IPs, etc)
+                                                                                     """,
+                    example = "99391c7e-ad88-49ec-a2ad-99ddcb1f7721",
+                    required = true)
+            @NotNull
+            @RequestHeader(name = X_REQUEST_ID)
+            String requestId,
+            @Parameter(
+                    name = X_CORRELATION_ID,
+                    description =
+                            """
+                                                                                     Will be used to track requests through all involved services to be able to graph request flows,
+                                                                                     to track all upstream calls from the business perspective, from the client to the upstream.
+                                                                                     (e.g. a customer fills out a form on 4 different pages, every GET/POST operation related to
+                                                                                     this process would have the same X-Correlation-ID header value). The X-Correlation-ID must
+                                                                                     be propagated unchanged in any and all upstream service calls (e.g. NWU services).
+                                                                                     RICE doesn't recommend sending a traceId (or spanId or any other B3 header
+                                                                                     https://github.com/openzipkin/b3-propagation) into X-Correlation-ID field, as this is not the intention.""",
+                    example = "99391c7e-ad88-49ec-a2ad-99ddcb1f7721")
+            @RequestHeader(name = X_CORRELATION_ID, required = false)
+            String correlationId,
+            @Parameter(
+                    name = X_IDEMPOTENCY_KEY,
+                    description =
+                            """
+                                                                                     A unique request identifier to support idempotency.
+                                                                                     """,
+                    example = "e457b5a2e4d86bd1198ee56343ba864fe8b2")
+            @RequestHeader(name = X_IDEMPOTENCY_KEY, required = false)
+            @Size(max = 40)
+            String xIdempotencyKey,
+            @Parameter(
+                    name = ACCEPT_VERSION,
+                    description =
+                            """
+                                                                                     Versioning is supported in API requests via the recommended, but optional.
+                                                                                     Accept-Version: header. It allows API consumers to call the intended version of the API.
+                                                                                     If no Accept-Version header is present, it implies that the newest version of the entity
+                                                                                     should be retrieved.
+                                                                                     More details about API versioning could be found on the RICE confluence page.
+                                                                                     """,
+                    example = "1.2")
+            @NotBlank
+            @RequestHeader(name = RICE_NWU_ID)
+            @Size(max = 10)
+            String riceNwuId,
+            @Parameter(
+                    name = DEVICE_SESSION_ID,
+                    description =
+                            """
+                                Device session identifier assigned by implemented in RBI group solution for device security and
+                                user behavior analytics.
+                                """,
+                    example = "HP3WR49WZsP8T5eboyHQ==_8I0gbpi3Mw/A1hAdYRZqRwAAcR0DCY2B")
+            @RequestHeader(name = DEVICE_SESSION_ID, required = false)
+            @Size(max = 128)
+            String deviceSessionId,
+            @Parameter(
+                    name = DEVICE_SESSION_PROVIDER,
+                    description =
+                            """
+                                The header paired with Device-Session-ID holding identifier of device session provider.
+                                The identifier is used  when additional information connected with the session needs to
+                                be retrieved from the provider.
+                                """,
+                    example = "Precognitive")
+            @RequestHeader(name = DEVICE_SESSION_PROVIDER, required = false)
+            @Size(max = 128)
+            String deviceSessionProvider,
+            @Parameter(
+                    name = "sessionId",
+                    description = "Identifier of the session, as returned when it was started.",
+                    example = "5f0c6a4e-2b1d-4c8e-9a57-0d3f1b7e6c21")
+            @PathVariable(name = "sessionId")
+            String sessionId,
+            @Validated @RequestBody
+            WhatIfChanges whatIfChanges) {
+        if (!(getObjectMapper().isPresent() && getAcceptHeader().isPresent())) {
+            log.warn("ObjectMapper or HttpServletRequest not configured in default Account Api interface so no example is generated");
+        }
+
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+    }
 }
@@ -0,0 +1,104 @@
+package ro.raiffeisen.internet.mortgage_calculator.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ro.raiffeisen.internet.mortgage_calculator.service.admission.RequestPriority;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ro.raiffeisen.internet.mortgage_calculator.model.StandardHttpHeaders.X_REQUEST_PRIORITY;
+
+class AdmissionControlFilterTest {
+
+    private static final String PATH = "/calculator/mortgage-calculator";
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new AdmissionControlFilter(new ObjectMapper(), meterRegistry, true, 1, 1, 1, 0.9, 1.0,
+                Duration.ofMinutes(1), Duration.ZERO, 0, Duration.ofMinutes(1), Duration.ZERO, 0, List.of(PATH, PATH + "/what-if/**"), Duration.ofSeconds(2));
+    }
+
+    @Test
+    void requestOverLimit_isShedWithRetryAfter() throws Exception {
+        AtomicReference<MockHttpServletResponse> interactive = new AtomicReference<>();
+        AtomicReference<MockHttpServletResponse> batch = new AtomicReference<>();
+
+        MockHttpServletResponse admitted = execute(request(PATH, null), (request, response) -> {
+            interactive.set(execute(request(PATH, null), ok()));
+            batch.set(execute(request(PATH + "/simulation", null), ok()));
+            ((MockHttpServletResponse) response).setStatus(200);
+        });
+
+        assertThat(admitted.getStatus()).isEqualTo(200);
+        assertThat(interactive.get().getStatus()).isEqualTo(503);
+        assertThat(interactive.get().getHeader("Retry-After")).isEqualTo("2");
+        assertThat(interactive.get().getContentAsString()).contains(AdmissionControlFilter.SERVICE_OVERLOADED);
+        assertThat(batch.get().getStatus()).isEqualTo(429);
+        assertThat(batch.get().getContentAsString()).contains(AdmissionControlFilter.TOO_MANY_REQUESTS);
+        assertThat(meterRegistry.counter("admission.shed", "priority", "interactive").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("admission.shed", "priority", "batch").count()).isEqualTo(1);
+    }
+
+    @Test
+    void slot_isReleasedAfterTheRequest() throws Exception {
+        execute(request(PATH, null), ok());
+        MockHttpServletResponse next = execute(request(PATH, null), ok());
+
+        assertThat(next.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("admission.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void requestsOutsideTheCalculatorApi_areNotLimited() throws Exception {
+        AtomicReference<MockHttpServletResponse> health = new AtomicReference<>();
+
+        execute(request(PATH, null), (request, response) ->
+                health.set(execute(request("/management/health", null), ok())));
+
+        assertThat(health.get().getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void priorityOf_followsTheEndpointAndCanOnlyBeLoweredByTheClient() {
+        assertThat(filter.priorityOf(request(PATH, null))).isEqualTo(RequestPriority.INTERACTIVE);
+        assertThat(filter.priorityOf(request(PATH + "/what-if/session-1", null))).isEqualTo(RequestPriority.INTERACTIVE);
+        assertThat(filter.priorityOf(request(PATH, "unknown"))).isEqualTo(RequestPriority.INTERACTIVE);
+        assertThat(filter.priorityOf(request(PATH, "BATCH"))).isEqualTo(RequestPriority.BATCH);
+        assertThat(filter.priorityOf(request(PATH + "/simulation", null))).isEqualTo(RequestPriority.BATCH);
+        assertThat(filter.priorityOf(request(PATH + "/simulation", "interactive"))).isEqualTo(RequestPriority.BATCH);
+    }
+
+    private MockHttpServletResponse execute(MockHttpServletRequest request, FilterChain chain) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+
+    private static FilterChain ok() {
+        return (request, response) -> ((MockHttpServletResponse) response).setStatus(200);
+    }
+
+    private static MockHttpServletRequest request(String path, String priority) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        if (priority != null) {
+            request.addHeader(X_REQUEST_PRIORITY, priority);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,76 @@
+package ro.raiffeisen.internet.mortgage_calculator.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.Discount;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanProduct;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.LastKnownGoodReferenceDataProvider;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataProvider;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static ro.raiffeisen.internet.mortgage_calculator.config.CacheConfig.MORTGAGE_CALCULATION_CACHE;
+
+@ExtendWith(MockitoExtension.class)
+class CalculationCacheKeyGeneratorTest {
+
+    @Mock
+    private ReferenceDataProvider liveReferenceDataProvider;
+
+    private LastKnownGoodReferenceDataProvider referenceDataProvider;
+    private SimpleMeterRegistry meterRegistry;
+    private Cache cache;
+    private CalculationCacheKeyGenerator keyGenerator;
+
+    @BeforeEach
+    void setUp() {
+        referenceDataProvider = new LastKnownGoodReferenceDataProvider(liveReferenceDataProvider);
+        meterRegistry = new SimpleMeterRegistry();
+        CacheManager cacheManager = new CacheConfig().cacheManager(Duration.ofDays(7), 1000);
+        cache = cacheManager.getCache(MORTGAGE_CALCULATION_CACHE);
+        keyGenerator = new CalculationCacheKeyGenerator(referenceDataProvider, cacheManager, meterRegistry);
+    }
+
+    @Test
+    void changedReferenceData_evictsOnlyResultsOfTheAffectedProduct() {
+        when(liveReferenceDataProvider.getLoanProduct("CasaTa")).thenReturn(LoanProduct.builder().idLoan(1).productLoan("CasaTa").build());
+        when(liveReferenceDataProvider.getLoanProduct("CreditVenit")).thenReturn(LoanProduct.builder().idLoan(2).productLoan("CreditVenit").build());
+        when(liveReferenceDataProvider.getDiscounts(1)).thenReturn(List.of(Discount.builder().id(1).discountValue(0.5).build()));
+        referenceDataProvider.getLoanProduct("CasaTa");
+        referenceDataProvider.getLoanProduct("CreditVenit");
+        referenceDataProvider.getDiscounts(1);
+        MortgageCalculationRequest casaTa = MortgageCalculationRequest.builder().productCode("CasaTa").tenor(360).build();
+        MortgageCalculationRequest creditVenit = MortgageCalculationRequest.builder().productCode("CreditVenit").tenor(60).build();
+        cache.put(keyGenerator.keyFor(casaTa), MortgageCalculationResponse.builder().build());
+        cache.put(keyGenerator.keyFor(creditVenit), MortgageCalculationResponse.builder().build());
+        CalculationCacheKey staleKey = keyGenerator.keyFor(casaTa);
+
+        when(liveReferenceDataProvider.getDiscounts(1)).thenReturn(List.of(Discount.builder().id(1).discountValue(0.25).build()));
+        referenceDataProvider.getDiscounts(1);
+
+        assertThat(keyGenerator.keyFor(casaTa)).isNotEqualTo(staleKey);
+        assertThat(cache.get(staleKey)).isNull();
+        assertThat(cache.get(keyGenerator.keyFor(creditVenit))).isNotNull();
+        assertThat(meterRegistry.counter("calculation.cache.reference-data-evictions").count()).isEqualTo(1);
+    }
+
+    @Test
+    void generate_usesTheRequestAndItsContentVersion() throws NoSuchMethodException {
+        MortgageCalculationRequest request = MortgageCalculationRequest.builder().productCode("CasaTa").tenor(360).build();
+
+        Object key = keyGenerator.generate(this, Object.class.getMethod("toString"), request);
+
+        assertThat(key).isEqualTo(new CalculationCacheKey("CasaTa", referenceDataProvider.getContentVersion("CasaTa"), request.toString()));
+    }
+}
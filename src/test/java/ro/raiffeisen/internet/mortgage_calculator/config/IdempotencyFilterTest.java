@@ -0,0 +1,282 @@
+package ro.raiffeisen.internet.mortgage_calculator.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.RepaymentPlanEntry;
+import ro.raiffeisen.internet.mortgage_calculator.service.BestOfferService;
+import ro.raiffeisen.internet.mortgage_calculator.service.EarlyRepaymentService;
+import ro.raiffeisen.internet.mortgage_calculator.service.MortgageCalculatorService;
+import ro.raiffeisen.internet.mortgage_calculator.service.ProductComparisonService;
+import ro.raiffeisen.internet.mortgage_calculator.service.RepaymentPlanService;
+import ro.raiffeisen.internet.mortgage_calculator.service.SimulationService;
+import ro.raiffeisen.internet.mortgage_calculator.service.StressTestService;
+import ro.raiffeisen.internet.mortgage_calculator.service.TargetInstallmentService;
+import ro.raiffeisen.internet.mortgage_calculator.service.WhatIfService;
+import ro.raiffeisen.internet.mortgage_calculator.service.repayment.NdjsonRepaymentPlanWriter;
+import ro.raiffeisen.internet.mortgage_calculator.service.repayment.RepaymentPlanWriterFactory;
+import ro.raiffeisen.internet.mortgage_calculator.web.controller.LoanCalculatorController;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ro.raiffeisen.internet.mortgage_calculator.model.StandardHttpHeaders.RICE_NWU_ID;
+import static ro.raiffeisen.internet.mortgage_calculator.model.StandardHttpHeaders.X_IDEMPOTENCY_KEY;
+import static ro.raiffeisen.internet.mortgage_calculator.model.StandardHttpHeaders.X_REQUEST_ID;
+
+class IdempotencyFilterTest {
+
+    private static final String PATH = "/calculator/mortgage-calculator";
+    private static final String BODY = "{\"productCode\":\"CasaTa\"}";
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyFilter filter;
+    private AtomicInteger computations;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new IdempotencyFilter(new ObjectMapper(), meterRegistry, Duration.ofHours(1), 100, Duration.ofSeconds(5));
+        computations = new AtomicInteger();
+    }
+
+    @Test
+    void retry_withSameKeyAndBody_replaysStoredResponse() throws Exception {
+        MockHttpServletResponse first = execute(request("key-1", BODY), echo(200));
+        MockHttpServletResponse retry = execute(request("key-1", BODY), echo(200));
+
+        assertThat(computations).hasValue(1);
+        assertThat(retry.getStatus()).isEqualTo(200);
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString()).isEqualTo("1:" + BODY);
+        assertThat(retry.getContentType()).isEqualTo("application/json");
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(meterRegistry.counter("idempotency.replayed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void reusedKey_withDifferentBody_isRejected() throws Exception {
+        execute(request("key-1", BODY), echo(200));
+        MockHttpServletResponse reused = execute(request("key-1", "{\"productCode\":\"Flexi\"}"), echo(200));
+
+        assertThat(computations).hasValue(1);
+        assertThat(reused.getStatus()).isEqualTo(422);
+        assertThat(reused.getContentAsString()).contains(IdempotencyFilter.IDEMPOTENCY_KEY_REUSED);
+        assertThat(meterRegistry.counter("idempotency.rejected").count()).isEqualTo(1);
+    }
+
+    @Test
+    void requestsWithoutKey_areAlwaysComputed() throws Exception {
+        execute(request(null, BODY), echo(200));
+        execute(request(null, BODY), echo(200));
+
+        assertThat(computations).hasValue(2);
+    }
+
+    @Test
+    void serverErrors_areNotKept() throws Exception {
+        execute(request("key-1", BODY), echo(500));
+        MockHttpServletResponse retry = execute(request("key-1", BODY), echo(200));
+
+        assertThat(computations).hasValue(2);
+        assertThat(retry.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void tooManyRequests_areNotKept() throws Exception {
+        execute(request("key-1", BODY), echo(429));
+        MockHttpServletResponse retry = execute(request("key-1", BODY), echo(200));
+
+        assertThat(computations).hasValue(2);
+        assertThat(retry.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void concurrentRetry_attachesToRunningRequest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            echo(200).doFilter(request, response);
+        };
+
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> executeUnchecked(request("key-1", BODY), slow));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<MockHttpServletResponse> retry = CompletableFuture.supplyAsync(() -> executeUnchecked(request("key-1", BODY), echo(200)));
+
+        Thread.sleep(50);
+        assertThat(retry).isNotDone();
+        release.countDown();
+
+        assertThat(retry.get(5, TimeUnit.SECONDS).getContentAsString()).isEqualTo(first.get(5, TimeUnit.SECONDS).getContentAsString());
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    void replay_keepsResponseHeaders() throws Exception {
+        FilterChain attachment = (request, response) -> {
+            ((HttpServletResponse) response).setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"plan.csv\"");
+            echo(200).doFilter(request, response);
+        };
+        execute(request("key-1", BODY), attachment);
+        MockHttpServletResponse retry = execute(request("key-1", BODY), attachment);
+
+        assertThat(computations).hasValue(1);
+        assertThat(retry.getHeader(HttpHeaders.CONTENT_DISPOSITION)).isEqualTo("attachment; filename=\"plan.csv\"");
+    }
+
+    @Test
+    void reusedKey_withDifferentAcceptHeader_isRejected() throws Exception {
+        execute(request("key-1", BODY), echo(200));
+        MockHttpServletRequest csvRequest = request("key-1", BODY);
+        csvRequest.addHeader(HttpHeaders.ACCEPT, "text/csv");
+        MockHttpServletResponse reused = execute(csvRequest, echo(200));
+
+        assertThat(computations).hasValue(1);
+        assertThat(reused.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    void streamedRepaymentPlan_isPassedThroughAndNotKept() throws Exception {
+        RepaymentPlanService repaymentPlanService = mock(RepaymentPlanService.class);
+        when(repaymentPlanService.getRepaymentPlan(any(), any(), any()))
+                .thenAnswer(invocation -> List.of(RepaymentPlanEntry.builder()
+                        .month(1)
+                        .reimbursedCapitalAmount(new Amount("RON", new BigDecimal("500.00")))
+                        .interestAmount(new Amount("RON", new BigDecimal("1000.25")))
+                        .feeAmount(new Amount("RON", new BigDecimal("10.00")))
+                        .installmentAmount(new Amount("RON", new BigDecimal("1500.25")))
+                        .totalPaymentAmount(new Amount("RON", new BigDecimal("1510.25")))
+                        .remainingLoanAmount(new Amount("RON", new BigDecimal("99500.00")))
+                        .build()).iterator());
+        NdjsonRepaymentPlanWriter ndjsonWriter = new NdjsonRepaymentPlanWriter(new ObjectMapper());
+        LoanCalculatorController controller = new LoanCalculatorController(mock(MortgageCalculatorService.class),
+                repaymentPlanService, new RepaymentPlanWriterFactory(List.of(ndjsonWriter), ndjsonWriter),
+                mock(StressTestService.class), mock(SimulationService.class), mock(TargetInstallmentService.class),
+                mock(BestOfferService.class), mock(ProductComparisonService.class), mock(EarlyRepaymentService.class),
+                mock(WhatIfService.class));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller).addFilters(filter).build();
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            MvcResult started = mockMvc.perform(post(PATH + "/repayment-plan")
+                            .header(X_IDEMPOTENCY_KEY, "key-1")
+                            .header(X_REQUEST_ID, "request-1")
+                            .header(RICE_NWU_ID, "nwu-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(BODY))
+                    .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("repayment-plan.ndjson")))
+                    .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+                    .andExpect(content().string(containsString("\"month\":1")));
+        }
+        verify(repaymentPlanService, times(2)).getRepaymentPlan(any(), any(), any());
+    }
+
+    @Test
+    void cachedBody_canBeReadWithAReadListener() throws Exception {
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicInteger allDataRead = new AtomicInteger();
+
+        execute(request("key-1", BODY), (request, response) -> {
+            ServletInputStream input = request.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (input.isReady() && !input.isFinished()) {
+                        read.write(input.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allDataRead.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    throw new IllegalStateException(t);
+                }
+            });
+        });
+
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+        assertThat(allDataRead).hasValue(1);
+    }
+
+    private FilterChain echo(int status) {
+        return (request, response) -> {
+            String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            response.setContentType("application/json");
+            ((HttpServletResponse) response).setStatus(status);
+            response.getWriter().write(computations.incrementAndGet() + ":" + body);
+            response.getWriter().flush();
+        };
+    }
+
+    private MockHttpServletResponse execute(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private MockHttpServletResponse executeUnchecked(MockHttpServletRequest request, FilterChain chain) {
+        try {
+            return execute(request, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", PATH);
+        if (key != null) {
+            request.addHeader(X_IDEMPOTENCY_KEY, key);
+        }
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
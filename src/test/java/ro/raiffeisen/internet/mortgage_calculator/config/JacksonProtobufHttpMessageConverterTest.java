@@ -0,0 +1,68 @@
+package ro.raiffeisen.internet.mortgage_calculator.config;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+import ro.raiffeisen.internet.mortgage_calculator.model.InstallmentType;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.VariableInterestRateType;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ro.raiffeisen.internet.mortgage_calculator.config.JacksonProtobufHttpMessageConverter.APPLICATION_PROTOBUF;
+
+class JacksonProtobufHttpMessageConverterTest {
+
+    private JacksonProtobufHttpMessageConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new ParameterNamesModule())
+                .factory(new ProtobufFactory())
+                .build();
+        objectMapper.configOverride(BigDecimal.class).setFormat(JsonFormat.Value.forShape(JsonFormat.Shape.STRING));
+        converter = new JacksonProtobufHttpMessageConverter(objectMapper,
+                new ClassPathResource(BinaryContentNegotiationConfig.PROTO_SCHEMA),
+                MortgageCalculationRequest.class, MortgageCalculationResponse.class);
+    }
+
+    @Test
+    void request_roundTripsAndKeepsTheScaleOfAmounts() throws Exception {
+        MortgageCalculationRequest request = MortgageCalculationRequest.builder()
+                .productCode("CasaTa")
+                .loanAmount(new Amount("RON", new BigDecimal("240500.00")))
+                .tenor(360)
+                .age(35)
+                .downPayment(new BigDecimal("45000.50"))
+                .interestRateType(new VariableInterestRateType(VariableInterestRateType.Type.VARIABLE, 6.25))
+                .installmentType(InstallmentType.EQUAL_INSTALLMENTS)
+                .build();
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+
+        converter.write(request, APPLICATION_PROTOBUF, outputMessage);
+        Object read = converter.read(MortgageCalculationRequest.class,
+                new MockHttpInputMessage(outputMessage.getBodyAsBytes()));
+
+        assertThat(read).isEqualTo(request);
+        assertThat(((MortgageCalculationRequest) read).getLoanAmount().getAmount()).hasToString("240500.00");
+    }
+
+    @Test
+    void canReadAndWrite_onlyTypesWithAMessageInTheSchema() {
+        assertThat(converter.canWrite(MortgageCalculationResponse.class, APPLICATION_PROTOBUF)).isTrue();
+        assertThat(converter.canRead(MortgageCalculationRequest.class, APPLICATION_PROTOBUF)).isTrue();
+        assertThat(converter.canWrite(Amount.class, APPLICATION_PROTOBUF)).isFalse();
+        assertThat(converter.canRead(Amount.class, APPLICATION_PROTOBUF)).isFalse();
+    }
+}
@@ -0,0 +1,115 @@
+package ro.raiffeisen.internet.mortgage_calculator.config;
+
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ro.raiffeisen.internet.mortgage_calculator.helper.MarkerFields.*;
+import static ro.raiffeisen.internet.mortgage_calculator.model.StandardHttpHeaders.X_CORRELATION_ID;
+import static ro.raiffeisen.internet.mortgage_calculator.model.StandardHttpHeaders.X_REQUEST_ID;
+
+class LoggerRequestInterceptorAdapterTest {
+
+    private LoggerRequestInterceptorAdapter interceptor;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new LoggerRequestInterceptorAdapter(0.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void preHandle_populatesMdcWithGeneratedIds() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/calculator/mortgage-calculator");
+        request.addHeader(X_REQUEST_ID, "request-1");
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+
+        assertThat(MDC.get(CONTEXT_REQUEST_ID)).isEqualTo("request-1");
+        assertThat(MDC.get(CONTEXT_REQUEST_URL)).isEqualTo("/calculator/mortgage-calculator");
+        assertThat(MDC.get(CONTEXT_OPERATION)).isEqualTo("create");
+        assertThat(MDC.get(CONTEXT_SPAN_ID)).matches("[0-9a-f]{16}");
+        assertThat(MDC.get(CONTEXT_TRACE_ID)).matches("[0-9a-f]{32}");
+        assertThat(MDC.get(CONTEXT_CORRELATION_ID)).isNull();
+    }
+
+    @Test
+    void preHandle_withCorrelationId_usesItAsTraceId() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/calculator/mortgage-calculator");
+        request.addHeader(X_CORRELATION_ID, "correlation-1");
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+
+        assertThat(MDC.get(CONTEXT_TRACE_ID)).isEqualTo("correlation-1");
+        assertThat(MDC.get(CONTEXT_PARENT_SPAN_ID)).isEqualTo("correlation-1");
+    }
+
+    @Test
+    void preHandle_dropsIdsOfAnEarlierRequestOnTheThread() {
+        MDC.put(CONTEXT_CORRELATION_ID, "correlation-0");
+        MDC.put(CONTEXT_PARENT_SPAN_ID, "correlation-0");
+        MDC.put(CONTEXT_IDEMPOTENCY_KEY, "key-0");
+        MDC.put(CONTEXT_NWU_ID, "nwu-0");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/calculator/mortgage-calculator");
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+
+        assertThat(MDC.get(CONTEXT_CORRELATION_ID)).isNull();
+        assertThat(MDC.get(CONTEXT_PARENT_SPAN_ID)).isNull();
+        assertThat(MDC.get(CONTEXT_IDEMPOTENCY_KEY)).isNull();
+        assertThat(MDC.get(CONTEXT_NWU_ID)).isNull();
+        assertThat(MDC.get(CONTEXT_OPERATION)).isNull();
+    }
+
+    @Test
+    void afterCompletion_clearsMdc() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/calculator/mortgage-calculator");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(422);
+
+        interceptor.preHandle(request, response, new Object());
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+    }
+
+    @Test
+    void streamedResponse_movesMdcFromTheReleasedThreadToTheAsyncDispatch() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/calculator/mortgage-calculator/repayment-plan");
+        request.addHeader(X_REQUEST_ID, "request-1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, new Object());
+        String traceId = MDC.get(CONTEXT_TRACE_ID);
+        Object startTime = request.getAttribute("startTime");
+        interceptor.afterConcurrentHandlingStarted(request, response, new Object());
+
+        assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, response, new Object());
+
+        assertThat(MDC.get(CONTEXT_REQUEST_ID)).isEqualTo("request-1");
+        assertThat(MDC.get(CONTEXT_TRACE_ID)).isEqualTo(traceId);
+        assertThat(request.getAttribute("startTime")).isSameAs(startTime);
+
+        interceptor.afterCompletion(request, response, new Object(), null);
+        assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+    }
+
+    @Test
+    void randomHex_returnsSixteenCharactersPerLong() {
+        assertThat(LoggerRequestInterceptorAdapter.randomHex(1)).hasSize(16);
+        assertThat(LoggerRequestInterceptorAdapter.randomHex(2)).hasSize(32);
+        assertThat(LoggerRequestInterceptorAdapter.randomHex(1)).isNotEqualTo(LoggerRequestInterceptorAdapter.randomHex(1));
+    }
+}
@@ -0,0 +1,91 @@
+package ro.raiffeisen.internet.mortgage_calculator.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.SpecialOfferRequirements;
+import ro.raiffeisen.internet.mortgage_calculator.model.offer.BestOfferRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.offer.BestOfferResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.offer.OfferRanking;
+import ro.raiffeisen.internet.mortgage_calculator.service.audit.AuditLogger;
+import ro.raiffeisen.internet.mortgage_calculator.service.offer.BestOfferOptimizer;
+
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BestOfferServiceTest {
+
+    @Mock
+    private BestOfferOptimizer bestOfferOptimizer;
+    @Mock
+    private AuditLogger auditLogger;
+
+    private final Executor executor = Runnable::run;
+    private BestOfferService bestOfferService;
+
+    @BeforeEach
+    void setUp() {
+        bestOfferService = new BestOfferService(bestOfferOptimizer, executor, auditLogger);
+    }
+
+    @Test
+    void findBestOffer_delegatesWithSharedExecutor() {
+        BestOfferRequest request = BestOfferRequest.builder()
+                .calculationRequest(calculationRequest())
+                .considerInsurance(true)
+                .build();
+        BestOfferResponse expected = BestOfferResponse.builder().rankBy(OfferRanking.TOTAL_PAYMENT_AMOUNT).build();
+        when(bestOfferOptimizer.optimize(same(request), same(executor))).thenReturn(expected);
+
+        BestOfferResponse response = bestOfferService.findBestOffer(request);
+
+        assertThat(response).isSameAs(expected);
+        verify(auditLogger).log(eq("/calculator/mortgage-calculator/best-offer"), any());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideInvalidRequests")
+    void findBestOffer_invalidRequest_isRejected(BestOfferRequest request, String expectedMessage) {
+        assertThatThrownBy(() -> bestOfferService.findBestOffer(request))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(expectedMessage);
+        verifyNoInteractions(bestOfferOptimizer);
+    }
+
+    private static Stream<Arguments> provideInvalidRequests() {
+        return Stream.of(
+                Arguments.of(BestOfferRequest.builder().considerInsurance(true).build(),
+                        "CalculationRequest should not be null"),
+                Arguments.of(BestOfferRequest.builder()
+                                .calculationRequest(MortgageCalculationRequest.builder().productCode("CasaTa").build())
+                                .considerInsurance(true)
+                                .build(),
+                        "SpecialOfferRequirements should not be null"),
+                Arguments.of(BestOfferRequest.builder().calculationRequest(calculationRequest()).build(),
+                        "At least one discount should be considered"));
+    }
+
+    private static MortgageCalculationRequest calculationRequest() {
+        return MortgageCalculationRequest.builder()
+                .productCode("CasaTa")
+                .specialOfferRequirements(new SpecialOfferRequirements(false, false))
+                .build();
+    }
+}
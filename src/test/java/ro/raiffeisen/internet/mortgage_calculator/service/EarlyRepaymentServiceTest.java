@@ -0,0 +1,80 @@
+package ro.raiffeisen.internet.mortgage_calculator.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.prepayment.EarlyRepaymentRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.prepayment.EarlyRepaymentResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.prepayment.Prepayment;
+import ro.raiffeisen.internet.mortgage_calculator.model.prepayment.PrepaymentStrategy;
+import ro.raiffeisen.internet.mortgage_calculator.service.audit.AuditLogger;
+import ro.raiffeisen.internet.mortgage_calculator.service.prepayment.EarlyRepaymentSimulator;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EarlyRepaymentServiceTest {
+
+    @Mock
+    private EarlyRepaymentSimulator earlyRepaymentSimulator;
+    @Mock
+    private AuditLogger auditLogger;
+
+    private EarlyRepaymentService earlyRepaymentService;
+
+    @BeforeEach
+    void setUp() {
+        earlyRepaymentService = new EarlyRepaymentService(earlyRepaymentSimulator, auditLogger);
+    }
+
+    @Test
+    void simulate_delegatesToSimulator() {
+        MortgageCalculationRequest calculationRequest = MortgageCalculationRequest.builder().productCode("CasaTa").build();
+        List<Prepayment> prepayments = List.of(new Prepayment(12, BigDecimal.valueOf(10000), PrepaymentStrategy.REDUCE_TENOR));
+        EarlyRepaymentResponse expected = EarlyRepaymentResponse.builder().lastMonth(250).build();
+        when(earlyRepaymentSimulator.simulate(same(calculationRequest), same(prepayments))).thenReturn(expected);
+
+        EarlyRepaymentResponse response = earlyRepaymentService.simulate(new EarlyRepaymentRequest(calculationRequest, prepayments));
+
+        assertThat(response).isSameAs(expected);
+        verify(auditLogger).log(eq("/calculator/mortgage-calculator/early-repayment"), any());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideInvalidRequests")
+    void simulate_invalidRequest_isRejected(EarlyRepaymentRequest request, String expectedMessage) {
+        assertThatThrownBy(() -> earlyRepaymentService.simulate(request))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(expectedMessage);
+        verifyNoInteractions(earlyRepaymentSimulator);
+    }
+
+    private static Stream<Arguments> provideInvalidRequests() {
+        MortgageCalculationRequest calculationRequest = MortgageCalculationRequest.builder().productCode("CasaTa").build();
+        return Stream.of(
+                Arguments.of(new EarlyRepaymentRequest(null, List.of(new Prepayment(12, null, null))),
+                        "CalculationRequest should not be null"),
+                Arguments.of(new EarlyRepaymentRequest(calculationRequest, null),
+                        "At least one prepayment should be provided"),
+                Arguments.of(new EarlyRepaymentRequest(calculationRequest, List.of()),
+                        "At least one prepayment should be provided"));
+    }
+}
@@ -1,17 +1,18 @@
 package ro.raiffeisen.internet.mortgage_calculator.service;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ro.raiffeisen.internet.mortgage_calculator.exception.UnprocessableEntityException;
-import ro.raiffeisen.internet.mortgage_calculator.helper.MortgageCalculatorMapper;
 import ro.raiffeisen.internet.mortgage_calculator.model.*;
 import ro.raiffeisen.internet.mortgage_calculator.model.client.Discount;
 import ro.raiffeisen.internet.mortgage_calculator.model.utils.AdditionalCalculationInfo;
 import ro.raiffeisen.internet.mortgage_calculator.model.utils.InterestRateAdditionalInfo;
+import ro.raiffeisen.internet.mortgage_calculator.service.audit.AuditLogger;
+import ro.raiffeisen.internet.mortgage_calculator.service.calculator.*;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -28,13 +29,23 @@ public class MortgageCalculatorServiceTest {
     @Mock
     private ServiceUtil initialCalculationService;
     @Mock
-    private MortgageCalculatorMapper mapper;
+    private AuditLogger auditLogger;
     @Mock
     private ValidationService validationService;
 
-    @InjectMocks
     private MortgageCalculatorService mortgageService;
 
+    @BeforeEach
+    public void setUp() {
+        MortgageCalculatorFactory calculatorFactory = new MortgageCalculatorFactory(List.of(
+                new CasaTaCalculator(initialCalculationService),
+                new ConstructieCalculator(initialCalculationService),
+                new CreditVenitCalculator(initialCalculationService),
+                new FlexiIntegralCalculator(initialCalculationService)));
+        mortgageService = new MortgageCalculatorService(
+                new CalculatorEngine(initialCalculationService, validationService, calculatorFactory), auditLogger);
+    }
+
     @Test
     public void createCalculationTest_forCasaTa_successfullyCase() {
         lenient().doNothing().when(validationService).validateRequest(any());
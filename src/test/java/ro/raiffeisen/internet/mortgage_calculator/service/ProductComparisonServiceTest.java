@@ -0,0 +1,72 @@
+package ro.raiffeisen.internet.mortgage_calculator.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.comparison.ProductComparisonRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.comparison.ProductComparisonResponse;
+import ro.raiffeisen.internet.mortgage_calculator.service.audit.AuditLogger;
+import ro.raiffeisen.internet.mortgage_calculator.service.comparison.ProductComparator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductComparisonServiceTest {
+
+    @Mock
+    private ProductComparator productComparator;
+    @Mock
+    private AuditLogger auditLogger;
+
+    private final Executor executor = Runnable::run;
+    private ProductComparisonService productComparisonService;
+
+    @BeforeEach
+    void setUp() {
+        productComparisonService = new ProductComparisonService(productComparator, executor, auditLogger, 2);
+    }
+
+    @Test
+    void compare_delegatesWithSharedExecutor() {
+        MortgageCalculationRequest calculationRequest = MortgageCalculationRequest.builder().productCode("CasaTa").build();
+        ProductComparisonResponse expected = ProductComparisonResponse.builder().products(List.of()).build();
+        when(productComparator.compare(same(calculationRequest), isNull(), same(executor))).thenReturn(expected);
+
+        ProductComparisonResponse response = productComparisonService.compare(new ProductComparisonRequest(calculationRequest, null));
+
+        assertThat(response).isSameAs(expected);
+        verify(auditLogger).log(eq("/calculator/mortgage-calculator/comparison"), any());
+    }
+
+    @Test
+    void compare_rejectsInvalidRequests() {
+        MortgageCalculationRequest calculationRequest = MortgageCalculationRequest.builder().build();
+
+        assertThatThrownBy(() -> productComparisonService.compare(new ProductComparisonRequest(null, null)))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> productComparisonService.compare(
+                new ProductComparisonRequest(calculationRequest, List.of("CasaTa", "Constructie", "CreditVenit"))))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("At most 2");
+        assertThatThrownBy(() -> productComparisonService.compare(
+                new ProductComparisonRequest(calculationRequest, Arrays.asList("CasaTa", null))))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(productComparator);
+    }
+}
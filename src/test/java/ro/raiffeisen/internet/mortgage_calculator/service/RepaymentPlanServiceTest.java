@@ -0,0 +1,135 @@
+package ro.raiffeisen.internet.mortgage_calculator.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import ro.raiffeisen.internet.mortgage_calculator.config.CalculationCacheKeyGenerator;
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.ColumnarRepaymentPlan;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.RepaymentPlanEntry;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.LastKnownGoodReferenceDataProvider;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ro.raiffeisen.internet.mortgage_calculator.config.CacheConfig.MORTGAGE_CALCULATION_CACHE;
+
+@ExtendWith(MockitoExtension.class)
+class RepaymentPlanServiceTest {
+
+    @Mock
+    private MortgageCalculatorService mortgageCalculatorService;
+    @Mock
+    private LastKnownGoodReferenceDataProvider referenceDataProvider;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private CalculationCacheKeyGenerator cacheKeyGenerator;
+    private RepaymentPlanService repaymentPlanService;
+    private MortgageCalculationRequest request;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(MORTGAGE_CALCULATION_CACHE);
+        cacheKeyGenerator = new CalculationCacheKeyGenerator(referenceDataProvider, cacheManager, new SimpleMeterRegistry());
+        repaymentPlanService = new RepaymentPlanService(mortgageCalculatorService, cacheManager, cacheKeyGenerator);
+        request = MortgageCalculationRequest.builder()
+                .productCode("CASA_TA")
+                .loanAmount(new Amount("RON", BigDecimal.valueOf(100000)))
+                .tenor(30)
+                .build();
+    }
+
+    @Test
+    void getRepaymentPlan_withCachedPlan_slicesWithoutRecalculation() {
+        cacheManager.getCache(MORTGAGE_CALCULATION_CACHE).put(cacheKeyGenerator.keyFor(request), responseWithPlan(360));
+
+        List<RepaymentPlanEntry> entries = toList(repaymentPlanService.getRepaymentPlan(request, 121, 180));
+
+        assertThat(entries).hasSize(60);
+        assertThat(entries.get(0).getMonth()).isEqualTo(121);
+        assertThat(entries.get(59).getMonth()).isEqualTo(180);
+        assertThat(entries.get(0).getTotalPaymentAmount().getAmount()).isEqualByComparingTo("1122.21");
+        verify(mortgageCalculatorService, never()).createCalculation(request);
+    }
+
+    @Test
+    void getRepaymentPlan_withRangePastTheEnd_capsToLastMonth() {
+        cacheManager.getCache(MORTGAGE_CALCULATION_CACHE).put(cacheKeyGenerator.keyFor(request), responseWithPlan(360));
+
+        List<RepaymentPlanEntry> entries = toList(repaymentPlanService.getRepaymentPlan(request, 350, 400));
+
+        assertThat(entries).hasSize(11);
+        assertThat(entries.get(10).getMonth()).isEqualTo(360);
+    }
+
+    @Test
+    void getRepaymentPlan_withRangeAndCacheMiss_usesCalculation() {
+        when(mortgageCalculatorService.createCalculation(request)).thenReturn(responseWithPlan(120));
+
+        List<RepaymentPlanEntry> entries = toList(repaymentPlanService.getRepaymentPlan(request, 0, 11));
+
+        assertThat(entries).hasSize(12);
+        assertThat(entries.get(0).getRemainingLoanAmount().getAmount()).isEqualByComparingTo("100000.00");
+    }
+
+    @Test
+    void getRepaymentPlan_withoutRangeAndCacheMiss_streamsLazily() {
+        Iterator<RepaymentPlanEntry> lazyPlan = Collections.emptyIterator();
+        when(mortgageCalculatorService.createRepaymentPlan(request)).thenReturn(lazyPlan);
+
+        assertThat(repaymentPlanService.getRepaymentPlan(request, null, null)).isSameAs(lazyPlan);
+        verify(mortgageCalculatorService, never()).createCalculation(request);
+    }
+
+    @Test
+    void getRepaymentPlan_withInvalidRange_throwsBadRequest() {
+        assertThatThrownBy(() -> repaymentPlanService.getRepaymentPlan(request, 10, 5))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> repaymentPlanService.getRepaymentPlan(request, -1, null))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private MortgageCalculationResponse responseWithPlan(int tenor) {
+        ColumnarRepaymentPlan.Builder builder = ColumnarRepaymentPlan.builder(tenor + 1);
+        for (int month = 0; month <= tenor; month++) {
+            builder.add(RepaymentPlanEntry.builder()
+                    .month(month)
+                    .reimbursedCapitalAmount(amount("250.00"))
+                    .interestAmount(amount("500.50"))
+                    .feeAmount(amount("10.00"))
+                    .installmentAmount(amount("750.50"))
+                    .totalPaymentAmount(amount(BigDecimal.valueOf(1000).add(BigDecimal.valueOf(month, 2).multiply(BigDecimal.valueOf(101))).toPlainString()))
+                    .remainingLoanAmount(amount(BigDecimal.valueOf(100000).subtract(BigDecimal.valueOf(250L * month)).toPlainString()))
+                    .build());
+        }
+        return MortgageCalculationResponse.builder()
+                .tenor(tenor / 12)
+                .repaymentPlan(builder.build())
+                .build();
+    }
+
+    private Amount amount(String value) {
+        return new Amount("RON", new BigDecimal(value));
+    }
+
+    private List<RepaymentPlanEntry> toList(Iterator<RepaymentPlanEntry> iterator) {
+        List<RepaymentPlanEntry> entries = new ArrayList<>();
+        iterator.forEachRemaining(entries::add);
+        return entries;
+    }
+}
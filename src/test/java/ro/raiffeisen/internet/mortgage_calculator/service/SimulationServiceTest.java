@@ -0,0 +1,97 @@
+package ro.raiffeisen.internet.mortgage_calculator.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.simulation.SimulationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.simulation.SimulationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.service.audit.AuditLogger;
+import ro.raiffeisen.internet.mortgage_calculator.service.simulation.IrccModel;
+import ro.raiffeisen.internet.mortgage_calculator.service.simulation.MonteCarloSimulator;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SimulationServiceTest {
+
+    @Mock
+    private MonteCarloSimulator monteCarloSimulator;
+    @Mock
+    private AuditLogger auditLogger;
+
+    private final ForkJoinPool pool = new ForkJoinPool(1);
+    private SimulationService simulationService;
+
+    @BeforeEach
+    void setUp() {
+        simulationService = new SimulationService(monteCarloSimulator, pool, auditLogger, 1000, 5000, 0.5, 4.5, 1.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void simulate_appliesConfiguredDefaultsAndRequestOverrides() {
+        MortgageCalculationRequest calculationRequest = MortgageCalculationRequest.builder().productCode("CasaTa").build();
+        SimulationResponse expected = SimulationResponse.builder().build();
+        ArgumentCaptor<IrccModel> model = ArgumentCaptor.forClass(IrccModel.class);
+        when(monteCarloSimulator.simulate(same(calculationRequest), eq(1000), eq(42L), model.capture(), same(pool))).thenReturn(expected);
+
+        SimulationResponse response = simulationService.simulate(SimulationRequest.builder()
+                .calculationRequest(calculationRequest)
+                .seed(42L)
+                .volatility(2.0)
+                .build());
+
+        assertThat(response).isSameAs(expected);
+        assertThat(model.getValue().getMeanReversionSpeed()).isEqualTo(0.5);
+        assertThat(model.getValue().getLongTermMean()).isEqualTo(4.5);
+        assertThat(model.getValue().getVolatility()).isEqualTo(2.0);
+        verify(auditLogger).log(eq("/calculator/mortgage-calculator/simulation"), any());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideInvalidRequests")
+    void simulate_invalidRequest_isRejected(SimulationRequest request, String expectedMessage) {
+        assertThatThrownBy(() -> simulationService.simulate(request))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(expectedMessage);
+        verifyNoInteractions(monteCarloSimulator);
+    }
+
+    private static Stream<Arguments> provideInvalidRequests() {
+        MortgageCalculationRequest calculationRequest = MortgageCalculationRequest.builder().productCode("CasaTa").build();
+        return Stream.of(
+                Arguments.of(SimulationRequest.builder().build(),
+                        "CalculationRequest should not be null"),
+                Arguments.of(SimulationRequest.builder().calculationRequest(calculationRequest).paths(0).build(),
+                        "Paths should be between 1 and 5000"),
+                Arguments.of(SimulationRequest.builder().calculationRequest(calculationRequest).paths(5001).build(),
+                        "Paths should be between 1 and 5000"),
+                Arguments.of(SimulationRequest.builder().calculationRequest(calculationRequest).meanReversionSpeed(-0.1).build(),
+                        "MeanReversionSpeed should not be negative"),
+                Arguments.of(SimulationRequest.builder().calculationRequest(calculationRequest).volatility(-1.0).build(),
+                        "Volatility should not be negative"));
+    }
+}
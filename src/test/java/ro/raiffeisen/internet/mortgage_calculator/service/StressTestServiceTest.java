@@ -0,0 +1,79 @@
+package ro.raiffeisen.internet.mortgage_calculator.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.stress.StressTestRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.stress.StressTestResponse;
+import ro.raiffeisen.internet.mortgage_calculator.service.audit.AuditLogger;
+import ro.raiffeisen.internet.mortgage_calculator.service.stress.RateShockCalculator;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StressTestServiceTest {
+
+    @Mock
+    private RateShockCalculator rateShockCalculator;
+    @Mock
+    private AuditLogger auditLogger;
+
+    private final Executor executor = Runnable::run;
+    private StressTestService stressTestService;
+
+    @BeforeEach
+    void setUp() {
+        stressTestService = new StressTestService(rateShockCalculator, executor, auditLogger, 3);
+    }
+
+    @Test
+    void stressTest_delegatesWithSharedExecutor() {
+        MortgageCalculationRequest calculationRequest = MortgageCalculationRequest.builder().productCode("CasaTa").build();
+        List<BigDecimal> shocks = List.of(BigDecimal.ONE, BigDecimal.valueOf(2));
+        StressTestResponse expected = StressTestResponse.builder().scenarios(List.of()).build();
+        when(rateShockCalculator.calculate(any(), any(), any())).thenReturn(expected);
+
+        StressTestResponse response = stressTestService.stressTest(new StressTestRequest(calculationRequest, shocks));
+
+        assertThat(response).isSameAs(expected);
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideInvalidRequests")
+    void stressTest_invalidRequest_isRejected(StressTestRequest request, String expectedMessage) {
+        assertThatThrownBy(() -> stressTestService.stressTest(request))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(expectedMessage);
+        verifyNoInteractions(rateShockCalculator);
+    }
+
+    private static Stream<Arguments> provideInvalidRequests() {
+        MortgageCalculationRequest calculationRequest = MortgageCalculationRequest.builder().productCode("CasaTa").build();
+        return Stream.of(
+                Arguments.of(new StressTestRequest(null, List.of(BigDecimal.ONE)),
+                        "CalculationRequest should not be null"),
+                Arguments.of(new StressTestRequest(calculationRequest, Collections.emptyList()),
+                        "IrccShocks should not be null or empty"),
+                Arguments.of(new StressTestRequest(calculationRequest, List.of(BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE)),
+                        "At most 3 IRCC shocks can be simulated in one request"),
+                Arguments.of(new StressTestRequest(calculationRequest, List.of(BigDecimal.valueOf(25))),
+                        "IRCC shocks should be between -20 and 20 percentage points"));
+    }
+}
@@ -0,0 +1,85 @@
+package ro.raiffeisen.internet.mortgage_calculator.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.target.SolveFor;
+import ro.raiffeisen.internet.mortgage_calculator.model.target.TargetInstallmentRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.target.TargetInstallmentResponse;
+import ro.raiffeisen.internet.mortgage_calculator.service.audit.AuditLogger;
+import ro.raiffeisen.internet.mortgage_calculator.service.target.TargetInstallmentSolver;
+
+import java.math.BigDecimal;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TargetInstallmentServiceTest {
+
+    @Mock
+    private TargetInstallmentSolver targetInstallmentSolver;
+    @Mock
+    private AuditLogger auditLogger;
+    @InjectMocks
+    private TargetInstallmentService targetInstallmentService;
+
+    @Test
+    void solve_delegatesToSolver() {
+        MortgageCalculationRequest calculationRequest = request();
+        TargetInstallmentResponse expected = TargetInstallmentResponse.builder().solveFor(SolveFor.TENOR).build();
+        when(targetInstallmentSolver.solve(same(calculationRequest), eq(BigDecimal.valueOf(2000)), eq(SolveFor.TENOR))).thenReturn(expected);
+
+        TargetInstallmentResponse response = targetInstallmentService.solve(
+                new TargetInstallmentRequest(calculationRequest, BigDecimal.valueOf(2000), SolveFor.TENOR));
+
+        assertThat(response).isSameAs(expected);
+        verify(auditLogger).log(eq("/calculator/mortgage-calculator/target-installment"), any());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideInvalidRequests")
+    void solve_invalidRequest_isRejected(TargetInstallmentRequest request, String expectedMessage) {
+        assertThatThrownBy(() -> targetInstallmentService.solve(request))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(expectedMessage);
+        verifyNoInteractions(targetInstallmentSolver);
+    }
+
+    private static Stream<Arguments> provideInvalidRequests() {
+        MortgageCalculationRequest withoutAmount = MortgageCalculationRequest.builder().productCode("CasaTa").build();
+        return Stream.of(
+                Arguments.of(new TargetInstallmentRequest(null, BigDecimal.TEN, SolveFor.TENOR),
+                        "CalculationRequest should not be null"),
+                Arguments.of(new TargetInstallmentRequest(request(), BigDecimal.ZERO, SolveFor.TENOR),
+                        "TargetInstallment should be a positive amount"),
+                Arguments.of(new TargetInstallmentRequest(request(), BigDecimal.TEN, null),
+                        "SolveFor should be LOAN_AMOUNT or TENOR"),
+                Arguments.of(new TargetInstallmentRequest(withoutAmount, BigDecimal.TEN, SolveFor.TENOR),
+                        "Amount should not be null or empty"),
+                Arguments.of(new TargetInstallmentRequest(withoutAmount, BigDecimal.TEN, SolveFor.LOAN_AMOUNT),
+                        "Amount is required as the starting point of the search"));
+    }
+
+    private static MortgageCalculationRequest request() {
+        return MortgageCalculationRequest.builder()
+                .productCode("CasaTa")
+                .loanAmount(new Amount("RON", BigDecimal.valueOf(300000)))
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package ro.raiffeisen.internet.mortgage_calculator.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+import ro.raiffeisen.internet.mortgage_calculator.exception.NotFoundException;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.SpecialOfferRequirements;
+import ro.raiffeisen.internet.mortgage_calculator.model.whatif.WhatIfChanges;
+import ro.raiffeisen.internet.mortgage_calculator.model.whatif.WhatIfRecomputation;
+import ro.raiffeisen.internet.mortgage_calculator.model.whatif.WhatIfResponse;
+import ro.raiffeisen.internet.mortgage_calculator.service.audit.AuditLogger;
+import ro.raiffeisen.internet.mortgage_calculator.service.whatif.WhatIfSession;
+import ro.raiffeisen.internet.mortgage_calculator.service.whatif.WhatIfSessionFactory;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WhatIfServiceTest {
+
+    @Mock
+    private WhatIfSessionFactory whatIfSessionFactory;
+    @Mock
+    private WhatIfSession session;
+    @Mock
+    private AuditLogger auditLogger;
+
+    private WhatIfService whatIfService;
+
+    @BeforeEach
+    void setUp() {
+        whatIfService = new WhatIfService(whatIfSessionFactory, auditLogger, Duration.ofMinutes(15), 100);
+    }
+
+    @Test
+    void startSession_keepsSessionForLaterChanges() {
+        MortgageCalculationRequest request = calculationRequest();
+        WhatIfChanges changes = WhatIfChanges.builder().hasInsurance(true).build();
+        WhatIfResponse started = WhatIfResponse.builder().sessionId("session-1").recomputation(WhatIfRecomputation.FULL).build();
+        WhatIfResponse changed = WhatIfResponse.builder().sessionId("session-1").recomputation(WhatIfRecomputation.INSURANCE_COSTS).build();
+        when(whatIfSessionFactory.start(same(request))).thenReturn(session);
+        when(session.getId()).thenReturn("session-1");
+        when(session.getResponse()).thenReturn(started);
+        when(session.apply(same(changes))).thenReturn(changed);
+
+        assertThat(whatIfService.startSession(request)).isSameAs(started);
+        assertThat(whatIfService.applyChanges("session-1", changes)).isSameAs(changed);
+        verify(auditLogger).log(eq("/calculator/mortgage-calculator/what-if"), any());
+    }
+
+    @Test
+    void applyChanges_unknownSession_throwsNotFound() {
+        assertThatThrownBy(() -> whatIfService.applyChanges("missing", WhatIfChanges.builder().build()))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining("missing");
+    }
+
+    @Test
+    void invalidRequests_throwBadRequest() {
+        assertThatThrownBy(() -> whatIfService.startSession(MortgageCalculationRequest.builder().productCode("CasaTa").build()))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> whatIfService.applyChanges("session-1", null))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(whatIfSessionFactory);
+    }
+
+    private static MortgageCalculationRequest calculationRequest() {
+        return MortgageCalculationRequest.builder()
+                .productCode("CasaTa")
+                .specialOfferRequirements(new SpecialOfferRequirements(false, false))
+                .build();
+    }
+}
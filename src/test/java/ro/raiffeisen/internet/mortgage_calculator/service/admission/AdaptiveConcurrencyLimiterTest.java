@@ -0,0 +1,122 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void acquire_atLimitWithoutQueue_isRejectedUntilASlotIsReleased() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, Duration.ofMinutes(1), Duration.ZERO, 0);
+
+        AdaptiveConcurrencyLimiter.Permit first = limiter.acquire(RequestPriority.INTERACTIVE);
+        AdaptiveConcurrencyLimiter.Permit second = limiter.acquire(RequestPriority.INTERACTIVE);
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(limiter.acquire(RequestPriority.INTERACTIVE)).isNull();
+
+        second.releaseUnmeasured();
+        second.releaseUnmeasured();
+
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        assertThat(limiter.acquire(RequestPriority.INTERACTIVE)).isNotNull();
+    }
+
+    @Test
+    void release_adaptsLimitToLatency() throws Exception {
+        AdaptiveConcurrencyLimiter fast = limiter(2, Duration.ofMinutes(1), Duration.ZERO, 0);
+        fast.acquire(RequestPriority.INTERACTIVE);
+        fast.acquire(RequestPriority.INTERACTIVE).release();
+        assertThat(fast.getLimit()).isEqualTo(3);
+
+        AdaptiveConcurrencyLimiter slow = limiter(10, Duration.ZERO, Duration.ZERO, 0);
+        AdaptiveConcurrencyLimiter.Permit permit = slow.acquire(RequestPriority.INTERACTIVE);
+        TimeUnit.MILLISECONDS.sleep(1);
+        permit.release();
+        assertThat(slow.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void release_measuresEachPriorityAgainstItsOwnTarget() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, Map.of(RequestPriority.INTERACTIVE, Duration.ZERO,
+                RequestPriority.BATCH, Duration.ofMinutes(1)), Duration.ZERO, 0);
+
+        AdaptiveConcurrencyLimiter.Permit batch = limiter.acquire(RequestPriority.BATCH);
+        TimeUnit.MILLISECONDS.sleep(1);
+        batch.release();
+        assertThat(limiter.getLimit()).isEqualTo(3);
+
+        AdaptiveConcurrencyLimiter.Permit interactive = limiter.acquire(RequestPriority.INTERACTIVE);
+        TimeUnit.MILLISECONDS.sleep(1);
+        interactive.release();
+        assertThat(limiter.getLimit()).isEqualTo(1);
+    }
+
+    @Test
+    void batchRequests_onlyUseTheirShareOfTheLimit() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, Duration.ofMinutes(1), Duration.ZERO, 0);
+
+        assertThat(limiter.acquire(RequestPriority.BATCH)).isNotNull();
+        assertThat(limiter.acquire(RequestPriority.BATCH)).isNotNull();
+        assertThat(limiter.acquire(RequestPriority.BATCH)).isNull();
+        assertThat(limiter.acquire(RequestPriority.INTERACTIVE)).isNotNull();
+        assertThat(limiter.acquire(RequestPriority.INTERACTIVE)).isNotNull();
+    }
+
+    @Test
+    void waitingInteractiveRequest_getsTheNextSlotBeforeWaitingBatchRequest() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, Duration.ofMinutes(1), Duration.ofSeconds(10), 10);
+        AdaptiveConcurrencyLimiter.Permit running = limiter.acquire(RequestPriority.INTERACTIVE);
+
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> batch = acquireAsync(limiter, RequestPriority.BATCH);
+        awaitQueueDepth(limiter, RequestPriority.BATCH);
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> interactive = acquireAsync(limiter, RequestPriority.INTERACTIVE);
+        awaitQueueDepth(limiter, RequestPriority.INTERACTIVE);
+        running.releaseUnmeasured();
+
+        AdaptiveConcurrencyLimiter.Permit admitted = interactive.get(5, TimeUnit.SECONDS);
+        assertThat(admitted.getPriority()).isEqualTo(RequestPriority.INTERACTIVE);
+        assertThat(batch).isNotDone();
+
+        admitted.releaseUnmeasured();
+        assertThat(batch.get(5, TimeUnit.SECONDS).getPriority()).isEqualTo(RequestPriority.BATCH);
+    }
+
+    private static CompletableFuture<AdaptiveConcurrencyLimiter.Permit> acquireAsync(AdaptiveConcurrencyLimiter limiter,
+                                                                                    RequestPriority priority) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.acquire(priority);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }, command -> new Thread(command).start());
+    }
+
+    private static void awaitQueueDepth(AdaptiveConcurrencyLimiter limiter, RequestPriority priority) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.getQueueDepth(priority) == 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        assertThat(limiter.getQueueDepth(priority)).isEqualTo(1);
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int limit, Duration latencyTarget, Duration queueTime, int queueLength) {
+        return limiter(limit, Map.of(RequestPriority.INTERACTIVE, latencyTarget, RequestPriority.BATCH, latencyTarget),
+                queueTime, queueLength);
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int limit, Map<RequestPriority, Duration> latencyTarget,
+                                                      Duration queueTime, int queueLength) {
+        return new AdaptiveConcurrencyLimiter(limit, 1, 100, latencyTarget, 0.5, 0.5,
+                Map.of(RequestPriority.INTERACTIVE, queueTime, RequestPriority.BATCH, queueTime),
+                Map.of(RequestPriority.INTERACTIVE, queueLength, RequestPriority.BATCH, queueLength));
+    }
+}
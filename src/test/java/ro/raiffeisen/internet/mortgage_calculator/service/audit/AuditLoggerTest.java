@@ -0,0 +1,88 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.audit;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ro.raiffeisen.internet.mortgage_calculator.helper.MarkerFields.CONTEXT_REQUEST_ID;
+
+/**
+ * Checks that audit entries, as formatted by the logging configuration of the application,
+ * contain the request payload and the tracing identifiers.
+ */
+@SpringBootTest
+class AuditLoggerTest {
+
+    @Autowired
+    private AuditLogger auditLogger;
+
+    private Logger auditLog;
+    private ListAppender<ILoggingEvent> captured;
+
+    @BeforeEach
+    void setUp() {
+        auditLog = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger("AUDIT_REQUESTS");
+        captured = new ListAppender<>();
+        captured.start();
+        auditLog.addAppender(captured);
+    }
+
+    @AfterEach
+    void tearDown() {
+        auditLog.detachAppender(captured);
+        MDC.clear();
+    }
+
+    @Test
+    void log_writesPayloadAndIdentifiersToTheAuditAppender() throws Exception {
+        MDC.put(CONTEXT_REQUEST_ID, "request-1");
+
+        assertThat(auditLogger.log("/calculator/mortgage-calculator", new Amount("RON", new BigDecimal("240500.00")))).isTrue();
+
+        ILoggingEvent event = awaitEvent();
+        @SuppressWarnings("unchecked")
+        Encoder<ILoggingEvent> encoder = ((OutputStreamAppender<ILoggingEvent>) auditLog.getAppender("AUDIT")).getEncoder();
+        String line = new String(encoder.encode(event), StandardCharsets.UTF_8);
+
+        assertThat(line)
+                .contains("Audit /calculator/mortgage-calculator")
+                .contains("request_id=\"request-1\"")
+                .contains("\"amount\":240500.00");
+    }
+
+    @Test
+    void log_payloadChangedAfterwards_writesTheLoggedValues() throws Exception {
+        Amount amount = new Amount("RON", new BigDecimal("240500.00"));
+
+        auditLogger.log("/calculator/mortgage-calculator", amount);
+        amount.setAmount(new BigDecimal("1.00"));
+
+        assertThat(awaitEvent().getKeyValuePairs())
+                .anySatisfy(pair -> assertThat(String.valueOf(pair.value)).contains("\"amount\":240500.00"));
+    }
+
+    private ILoggingEvent awaitEvent() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (captured.list.isEmpty() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        assertThat(captured.list).isNotEmpty();
+        return captured.list.get(0);
+    }
+}
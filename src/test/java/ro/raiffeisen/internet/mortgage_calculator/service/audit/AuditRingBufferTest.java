@@ -0,0 +1,86 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ro.raiffeisen.internet.mortgage_calculator.helper.MortgageCalculatorMapper;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditRingBufferTest {
+
+    @Test
+    void capacity_isRoundedUpToPowerOfTwo() {
+        assertThat(new AuditRingBuffer<>(1000).capacity()).isEqualTo(1024);
+        assertThat(new AuditRingBuffer<>(8).capacity()).isEqualTo(8);
+    }
+
+    @Test
+    void offerAndPoll_preserveOrderAndRejectWhenFull() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        assertThat(buffer.poll()).isZero();
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(buffer.poll()).isEqualTo(1);
+        assertThat(buffer.poll()).isEqualTo(2);
+        assertThat(buffer.poll()).isEqualTo(3);
+        assertThat(buffer.poll()).isEqualTo(4);
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    void concurrentProducers_loseNoElements() throws Exception {
+        int producers = 4;
+        int perProducer = 10_000;
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(producers * perProducer);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int p = 0; p < producers; p++) {
+            int offset = p * perProducer;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    buffer.offer(offset + i);
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        Set<Integer> polled = new HashSet<>();
+        Integer element;
+        while ((element = buffer.poll()) != null) {
+            polled.add(element);
+        }
+        assertThat(polled).hasSize(producers * perProducer);
+    }
+
+    @Test
+    void auditLogger_whenBufferIsFull_dropsAndCountsEvents() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // Writer thread not started, so nothing drains the buffer
+        AuditLogger auditLogger = new AuditLogger(new MortgageCalculatorMapper(), meterRegistry, 2, 5);
+
+        assertThat(auditLogger.log("/test", "first")).isTrue();
+        assertThat(auditLogger.log("/test", "second")).isTrue();
+        assertThat(auditLogger.log("/test", "third")).isFalse();
+
+        assertThat(meterRegistry.get("audit.events.dropped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("audit.buffer.size").gauge().value()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,83 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.cluster;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.LastKnownGoodReferenceDataProvider;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataInvalidationBroadcasterTest {
+
+    private static final String LOOPBACK = "127.0.0.1";
+
+    @Mock
+    private LastKnownGoodReferenceDataProvider firstProvider;
+    @Mock
+    private LastKnownGoodReferenceDataProvider secondProvider;
+
+    private ReferenceDataInvalidationBroadcaster first;
+    private ReferenceDataInvalidationBroadcaster second;
+
+    @AfterEach
+    void tearDown() {
+        if (first != null) {
+            first.stop();
+        }
+        if (second != null) {
+            second.stop();
+        }
+    }
+
+    @Test
+    void referenceDataChange_makesTheOtherInstancesRevalidate() throws Exception {
+        int firstPort = freePort();
+        int secondPort = freePort();
+        List<String> hosts = List.of(LOOPBACK + ":" + firstPort, LOOPBACK + ":" + secondPort);
+        first = broadcaster(firstProvider, firstPort, hosts);
+        second = broadcaster(secondProvider, secondPort, hosts);
+        first.start();
+        second.start();
+
+        ArgumentCaptor<Runnable> listener = ArgumentCaptor.forClass(Runnable.class);
+        verify(firstProvider).addChangeListener(listener.capture());
+        listener.getValue().run();
+        listener.getValue().run();
+
+        verify(secondProvider, timeout(15_000)).revalidate();
+        verify(firstProvider, never()).revalidate();
+    }
+
+    @Test
+    void start_disabled_doesNotJoin() throws Exception {
+        first = new ReferenceDataInvalidationBroadcaster(firstProvider, new SimpleMeterRegistry(),
+                false, "mortgage-calculator-test", LOOPBACK, freePort(), "", List.of());
+
+        first.start();
+
+        verify(firstProvider, never()).addChangeListener(any());
+    }
+
+    private static ReferenceDataInvalidationBroadcaster broadcaster(LastKnownGoodReferenceDataProvider provider, int port, List<String> hosts) {
+        return new ReferenceDataInvalidationBroadcaster(provider, new SimpleMeterRegistry(),
+                true, "mortgage-calculator-test", LOOPBACK, port, "", hosts);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
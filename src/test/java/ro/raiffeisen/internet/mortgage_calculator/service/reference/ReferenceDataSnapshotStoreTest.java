@@ -0,0 +1,101 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.reference;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ro.raiffeisen.internet.mortgage_calculator.exception.InternalServerException;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanProduct;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataSnapshotStoreTest {
+
+    @Mock
+    private ReferenceDataProvider remote;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void persistedSnapshot_isServedAfterRestartWhileServiceIsDown() throws IOException {
+        LoanProduct product = LoanProduct.builder().idLoan(1).productLoan("CasaTa").build();
+        when(remote.getLoanProduct("CasaTa")).thenReturn(product);
+        LastKnownGoodReferenceDataProvider running = new LastKnownGoodReferenceDataProvider(remote);
+        running.getLoanProduct("CasaTa");
+        store(running).persist();
+        assertThat(Files.exists(snapshotPath())).isTrue();
+
+        clearInvocations(remote);
+        when(remote.getLoanProduct("CasaTa")).thenThrow(new InternalServerException("admin service unavailable"));
+        LastKnownGoodReferenceDataProvider restarted = new LastKnownGoodReferenceDataProvider(remote);
+        ReferenceDataSnapshotStore restartedStore = store(restarted);
+        restartedStore.load();
+
+        assertThat(restarted.getLoanProduct("CasaTa")).isEqualTo(product);
+        verifyNoInteractions(remote);
+
+        restartedStore.maintain();
+        verify(remote).getLoanProduct("CasaTa");
+        assertThat(restarted.isRevalidated()).isFalse();
+        assertThat(restarted.getLoanProduct("CasaTa")).isEqualTo(product);
+    }
+
+    @Test
+    void unreadableSnapshot_isIgnored() throws IOException {
+        Files.writeString(snapshotPath(), "not a snapshot");
+        LastKnownGoodReferenceDataProvider provider = new LastKnownGoodReferenceDataProvider(remote);
+
+        store(provider).load();
+
+        assertThat(provider.isRevalidated()).isTrue();
+    }
+
+    @Test
+    void persist_nothingRecorded_keepsExistingFile() throws IOException {
+        Files.writeString(snapshotPath(), "earlier snapshot");
+
+        store(new LastKnownGoodReferenceDataProvider(remote)).persist();
+
+        assertThat(Files.readString(snapshotPath())).isEqualTo("earlier snapshot");
+    }
+
+    @Test
+    void maintain_snapshotsDisabled_revalidatesWithoutWritingTheFile() {
+        LoanProduct product = LoanProduct.builder().idLoan(1).productLoan("CasaTa").build();
+        when(remote.getLoanProduct("CasaTa")).thenReturn(product);
+        LastKnownGoodReferenceDataProvider provider = new LastKnownGoodReferenceDataProvider(remote);
+        provider.getLoanProduct("CasaTa");
+        clearInvocations(remote);
+
+        store(provider, false).maintain();
+
+        verify(remote).getLoanProduct("CasaTa");
+        assertThat(Files.exists(snapshotPath())).isFalse();
+    }
+
+    private ReferenceDataSnapshotStore store(LastKnownGoodReferenceDataProvider provider) {
+        return store(provider, true);
+    }
+
+    private ReferenceDataSnapshotStore store(LastKnownGoodReferenceDataProvider provider, boolean enabled) {
+        return new ReferenceDataSnapshotStore(provider, new ReferenceDataSnapshotCodec(), new SimpleMeterRegistry(),
+                enabled, snapshotPath(), Duration.ofMinutes(5));
+    }
+
+    private Path snapshotPath() {
+        return directory.resolve("reference-data.bin");
+    }
+}
@@ -0,0 +1,78 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.reference;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ro.raiffeisen.internet.mortgage_calculator.model.client.LoanProduct;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RequestScopedReferenceDataProviderTest {
+
+    @Mock
+    private LastKnownGoodReferenceDataProvider referenceDataProvider;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestScopedReferenceDataProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        provider = new RequestScopedReferenceDataProvider(referenceDataProvider, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void lookups_withinRequest_areMemoizedAndReportedOnCompletion() {
+        LoanProduct product = LoanProduct.builder().idLoan(1).productLoan("CasaTa").build();
+        when(referenceDataProvider.getLoanProduct("CasaTa")).thenReturn(product);
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+
+        assertThat(provider.getLoanProduct("CasaTa")).isSameAs(product);
+        assertThat(provider.getLoanProduct("CasaTa")).isSameAs(product);
+        provider.getDistricts();
+        provider.getDistricts();
+        provider.getDistricts();
+        attributes.requestCompleted();
+
+        verify(referenceDataProvider, times(1)).getLoanProduct("CasaTa");
+        verify(referenceDataProvider, times(1)).getDistricts();
+        assertThat(meterRegistry.summary("calculation.reference-data.remote-calls").totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.counter("calculation.reference-data.duplicate-calls", "lookup", "product").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("calculation.reference-data.duplicate-calls", "lookup", "districts").count()).isEqualTo(2);
+    }
+
+    @Test
+    void lookups_ofDifferentRequests_areNotShared() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        provider.getDistricts();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        provider.getDistricts();
+
+        verify(referenceDataProvider, times(2)).getDistricts();
+    }
+
+    @Test
+    void lookups_outsideRequest_areNotMemoized() {
+        provider.getDistricts();
+        provider.getDistricts();
+
+        verify(referenceDataProvider, times(2)).getDistricts();
+    }
+}
@@ -0,0 +1,147 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.repayment;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ro.raiffeisen.internet.mortgage_calculator.exception.BadRequestException;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+import ro.raiffeisen.internet.mortgage_calculator.model.repayment.RepaymentPlanEntry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RepaymentPlanWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private NdjsonRepaymentPlanWriter ndjsonWriter;
+    private CsvRepaymentPlanWriter csvWriter;
+    private XlsxRepaymentPlanWriter xlsxWriter;
+    private CborRepaymentPlanWriter cborWriter;
+    private RepaymentPlanWriterFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        ndjsonWriter = new NdjsonRepaymentPlanWriter(objectMapper);
+        csvWriter = new CsvRepaymentPlanWriter();
+        xlsxWriter = new XlsxRepaymentPlanWriter(1);
+        cborWriter = new CborRepaymentPlanWriter();
+        factory = new RepaymentPlanWriterFactory(List.of(ndjsonWriter, csvWriter, xlsxWriter, cborWriter), ndjsonWriter);
+    }
+
+    @Test
+    void ndjsonWriter_writesOneJsonObjectPerLine() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        ndjsonWriter.write(createEntries().iterator(), outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode secondEntry = objectMapper.readTree(lines[1]);
+        assertThat(secondEntry.get("month").asInt()).isEqualTo(1);
+        assertThat(secondEntry.get("totalPaymentAmount").get("currency").asText()).isEqualTo("RON");
+        assertThat(secondEntry.get("totalPaymentAmount").get("amount").decimalValue()).isEqualByComparingTo("1510.25");
+    }
+
+    @Test
+    void csvWriter_writesHeaderAndPlainAmounts() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        csvWriter.write(createEntries().iterator(), outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("month,currency,");
+        assertThat(lines[2]).isEqualTo("1,RON,500.00,1000.25,10.00,1500.25,1510.25,99500.00");
+    }
+
+    @Test
+    void xlsxWriter_writesNumericCells() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        xlsxWriter.write(createEntries().iterator(), outputStream);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getLastRowNum()).isEqualTo(2);
+            Row secondEntry = sheet.getRow(2);
+            assertThat(secondEntry.getCell(0).getNumericCellValue()).isEqualTo(1);
+            assertThat(secondEntry.getCell(1).getStringCellValue()).isEqualTo("RON");
+            assertThat(secondEntry.getCell(6).getNumericCellValue()).isEqualTo(1510.25);
+            assertThat(secondEntry.getCell(6).getCellStyle().getDataFormatString()).isEqualTo("#,##0.00");
+        }
+    }
+
+    @Test
+    void cborWriter_writesArrayOfEntries() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        cborWriter.write(createEntries().iterator(), outputStream);
+
+        JsonNode entries = new ObjectMapper(new CBORFactory()).readTree(outputStream.toByteArray());
+        assertThat(entries.isArray()).isTrue();
+        assertThat(entries).hasSize(2);
+        assertThat(entries.get(1).get("month").asInt()).isEqualTo(1);
+        assertThat(entries.get(1).get("totalPaymentAmount").get("amount").decimalValue()).isEqualByComparingTo("1510.25");
+    }
+
+    @Test
+    void getWriter_withoutAcceptHeader_returnsNdjson() {
+        assertThat(factory.getWriter(null)).isSameAs(ndjsonWriter);
+        assertThat(factory.getWriter("*/*")).isSameAs(ndjsonWriter);
+    }
+
+    @Test
+    void getWriter_withCsvAcceptHeader_returnsCsv() {
+        assertThat(factory.getWriter("text/csv")).isSameAs(csvWriter);
+        assertThat(factory.getWriter("application/json;q=0.5, text/csv")).isSameAs(csvWriter);
+    }
+
+    @Test
+    void getWriter_withXlsxAcceptHeader_returnsXlsx() {
+        assertThat(factory.getWriter("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                .isSameAs(xlsxWriter);
+    }
+
+    @Test
+    void getWriter_withCborAcceptHeader_returnsCbor() {
+        assertThat(factory.getWriter("application/cbor")).isSameAs(cborWriter);
+    }
+
+    @Test
+    void getWriter_withUnsupportedAcceptHeader_throwsBadRequest() {
+        assertThatThrownBy(() -> factory.getWriter("application/pdf"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Unsupported repayment plan format");
+    }
+
+    private List<RepaymentPlanEntry> createEntries() {
+        return List.of(
+                createEntry(0, "0.00", "0.00", "0.00", "0.00", "0.00", "100000.00"),
+                createEntry(1, "500.00", "1000.25", "10.00", "1500.25", "1510.25", "99500.00"));
+    }
+
+    private RepaymentPlanEntry createEntry(int month, String principal, String interest, String fee,
+                                           String installment, String total, String remaining) {
+        return RepaymentPlanEntry.builder()
+                .month(month)
+                .reimbursedCapitalAmount(new Amount("RON", new BigDecimal(principal)))
+                .interestAmount(new Amount("RON", new BigDecimal(interest)))
+                .feeAmount(new Amount("RON", new BigDecimal(fee)))
+                .installmentAmount(new Amount("RON", new BigDecimal(installment)))
+                .totalPaymentAmount(new Amount("RON", new BigDecimal(total)))
+                .remainingLoanAmount(new Amount("RON", new BigDecimal(remaining)))
+                .build();
+    }
+}
@@ -0,0 +1,138 @@
+package ro.raiffeisen.internet.mortgage_calculator.service.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ro.raiffeisen.internet.mortgage_calculator.config.CalculationCacheKeyGenerator;
+import ro.raiffeisen.internet.mortgage_calculator.exception.NotFoundException;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.service.CalculatorEngine;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.LastKnownGoodReferenceDataProvider;
+import ro.raiffeisen.internet.mortgage_calculator.service.reference.ReferenceDataProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ro.raiffeisen.internet.mortgage_calculator.config.CacheConfig.MORTGAGE_CALCULATION_CACHE;
+
+@ExtendWith(MockitoExtension.class)
+class WarmUpRunnerTest {
+
+    private static final ClassPathResource CORPUS = new ClassPathResource("warmup/calculations.json");
+
+    @Mock
+    private ReferenceDataProvider referenceDataProvider;
+    @Mock
+    private LastKnownGoodReferenceDataProvider lastKnownGoodReferenceDataProvider;
+    @Mock
+    private CalculatorEngine engine;
+
+    private ObjectMapper objectMapper;
+    private ConcurrentMapCacheManager cacheManager;
+    private CalculationCacheKeyGenerator cacheKeyGenerator;
+    private WarmUpCorpus corpus;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        cacheManager = new ConcurrentMapCacheManager(MORTGAGE_CALCULATION_CACHE);
+        cacheKeyGenerator = new CalculationCacheKeyGenerator(lastKnownGoodReferenceDataProvider, cacheManager, new SimpleMeterRegistry());
+        corpus = objectMapper.readValue(CORPUS.getInputStream(), WarmUpCorpus.class);
+    }
+
+    @Test
+    void run_calculatesCorpusAndCachesMostFrequentScenarios() {
+        lenient().when(engine.calculate(any())).thenAnswer(invocation -> MortgageCalculationResponse.builder().build());
+        WarmUpRunner runner = runner(3, 2, Duration.ofMinutes(1));
+
+        runner.run();
+
+        int scenarios = corpus.scenarios().size();
+        assertThat(scenarios).isGreaterThanOrEqualTo(8);
+        assertThat(runner.getCalculations()).isEqualTo(3L * scenarios);
+        assertThat(runner.getCached()).isEqualTo(2);
+        assertThat(cacheManager.getCache(MORTGAGE_CALCULATION_CACHE).get(cacheKeyGenerator.keyFor(corpus.scenarios().get(0).request()))).isNotNull();
+        assertThat(cacheManager.getCache(MORTGAGE_CALCULATION_CACHE).get(cacheKeyGenerator.keyFor(corpus.scenarios().get(1).request()))).isNotNull();
+        assertThat(cacheManager.getCache(MORTGAGE_CALCULATION_CACHE).get(cacheKeyGenerator.keyFor(corpus.scenarios().get(2).request()))).isNull();
+        assertThat(runner.isFinished()).isTrue();
+        assertThat(new WarmUpHealthIndicator(runner).health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void run_failingScenario_isReportedAndLeftOut() {
+        String failing = corpus.scenarios().get(0).name();
+        String failingProduct = corpus.scenarios().get(0).request().getProductCode();
+        when(engine.calculate(any())).thenAnswer(invocation -> {
+            MortgageCalculationRequest request = invocation.getArgument(0);
+            if (request.toString().equals(corpus.scenarios().get(0).request().toString())) {
+                throw new NotFoundException("Product " + failingProduct + " not found");
+            }
+            return MortgageCalculationResponse.builder().build();
+        });
+        WarmUpRunner runner = runner(2, 1, Duration.ofMinutes(1));
+
+        runner.run();
+
+        assertThat(runner.getFailedScenarios()).containsExactly(failing);
+        verify(engine, times(1)).calculate(argThat(request -> request.toString().equals(corpus.scenarios().get(0).request().toString())));
+        assertThat(cacheManager.getCache(MORTGAGE_CALCULATION_CACHE).get(cacheKeyGenerator.keyFor(corpus.scenarios().get(1).request()))).isNotNull();
+    }
+
+    @Test
+    void start_disabled_isFinishedImmediately() {
+        WarmUpRunner runner = new WarmUpRunner(objectMapper, referenceDataProvider, cacheManager, cacheKeyGenerator, provider -> engine,
+                false, CORPUS, 3, 2, Duration.ofMinutes(1));
+        WarmUpHealthIndicator healthIndicator = new WarmUpHealthIndicator(runner);
+
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        runner.start();
+
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void start_slowWarmUp_isReportedReadyAfterTimeout() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(engine.calculate(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return MortgageCalculationResponse.builder().build();
+        });
+        WarmUpRunner runner = runner(3, 2, Duration.ofMillis(100));
+        WarmUpHealthIndicator healthIndicator = new WarmUpHealthIndicator(runner);
+
+        runner.start();
+
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!runner.isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+        release.countDown();
+        Thread.sleep(50);
+        assertThat(runner.getCalculations()).isLessThanOrEqualTo(2);
+    }
+
+    private WarmUpRunner runner(int iterations, int cachedScenarios, Duration timeout) {
+        return new WarmUpRunner(objectMapper, referenceDataProvider, cacheManager, cacheKeyGenerator, provider -> engine,
+                true, CORPUS, iterations, cachedScenarios, timeout);
+    }
+}
@@ -0,0 +1,264 @@
+package ro.raiffeisen.internet.mortgage_calculator.web.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ro.raiffeisen.internet.mortgage_calculator.config.LoggerRequestInterceptorAdapter;
+import ro.raiffeisen.internet.mortgage_calculator.exception.UnprocessableEntityException;
+import ro.raiffeisen.internet.mortgage_calculator.model.Amount;
+import ro.raiffeisen.internet.mortgage_calculator.model.MortgageCalculationRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.json.CalculatorJsonModule;
+import ro.raiffeisen.internet.mortgage_calculator.model.offer.BestOfferRequest;
+import ro.raiffeisen.internet.mortgage_calculator.model.offer.BestOfferResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.offer.OfferRanking;
+import ro.raiffeisen.internet.mortgage_calculator.model.prepayment.EarlyRepaymentResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.prepayment.Prepayment;
+import ro.raiffeisen.internet.mortgage_calculator.model.prepayment.PrepaymentStrategy;
+import ro.raiffeisen.internet.mortgage_calculator.model.simulation.SimulationResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.stress.RateShockScenario;
+import ro.raiffeisen.internet.mortgage_calculator.model.stress.StressTestResponse;
+import ro.raiffeisen.internet.mortgage_calculator.model.target.SolveFor;
+import ro.raiffeisen.internet.mortgage_calculator.model.target.TargetInstallmentResponse;
+import ro.raiffeisen.internet.mortgage_calculator.service.BestOfferService;
+import ro.raiffeisen.internet.mortgage_calculator.service.EarlyRepaymentService;
+import ro.raiffeisen.internet.mortgage_calculator.service.MortgageCalculatorService;
+import ro.raiffeisen.internet.mortgage_calculator.service.ProductComparisonService;
+import ro.raiffeisen.internet.mortgage_calculator.service.RepaymentPlanService;
+import ro.raiffeisen.internet.mortgage_calculator.service.SimulationService;
+import ro.raiffeisen.internet.mortgage_calculator.service.StressTestService;
+import ro.raiffeisen.internet.mortgage_calculator.service.TargetInstallmentService;
+import ro.raiffeisen.internet.mortgage_calculator.service.WhatIfService;
+import ro.raiffeisen.internet.mortgage_calculator.service.audit.AuditLogger;
+import ro.raiffeisen.internet.mortgage_calculator.service.offer.BestOfferOptimizer;
+import ro.raiffeisen.internet.mortgage_calculator.service.prepayment.EarlyRepaymentSimulator;
+import ro.raiffeisen.internet.mortgage_calculator.service.repayment.RepaymentPlanWriterFactory;
+import ro.raiffeisen.internet.mortgage_calculator.service.simulation.MonteCarloSimulator;
+import ro.raiffeisen.internet.mortgage_calculator.service.stress.RateShockCalculator;
+import ro.raiffeisen.internet.mortgage_calculator.service.target.TargetInstallmentSolver;
+import ro.raiffeisen.internet.mortgage_calculator.web.exceptionHandler.CustomExceptionHandler;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ro.raiffeisen.internet.mortgage_calculator.model.StandardHttpHeaders.RICE_NWU_ID;
+import static ro.raiffeisen.internet.mortgage_calculator.model.StandardHttpHeaders.X_REQUEST_ID;
+import static ro.raiffeisen.internet.mortgage_calculator.web.exceptionHandler.CustomExceptionHandler.COMMON_INVALID_PARAMETER;
+
+/**
+ * Calls the calculator endpoints through the controller, the services validating their requests and the
+ * exception handler, with only the calculations themselves mocked.
+ */
+class LoanCalculatorControllerTest {
+
+    private static final String PATH = "/calculator/mortgage-calculator";
+    private static final String CALCULATION_REQUEST = """
+            {"productCode":"CasaTa","loanAmount":{"currency":"RON","amount":300000},\
+            "specialOfferRequirements":{"hasSalaryInTheBank":false,"casaVerde":false}}""";
+
+    private final RateShockCalculator rateShockCalculator = mock(RateShockCalculator.class);
+    private final MonteCarloSimulator monteCarloSimulator = mock(MonteCarloSimulator.class);
+    private final TargetInstallmentSolver targetInstallmentSolver = mock(TargetInstallmentSolver.class);
+    private final BestOfferOptimizer bestOfferOptimizer = mock(BestOfferOptimizer.class);
+    private final EarlyRepaymentSimulator earlyRepaymentSimulator = mock(EarlyRepaymentSimulator.class);
+    private final Executor executor = Runnable::run;
+    private final ForkJoinPool pool = new ForkJoinPool(1);
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        AuditLogger auditLogger = mock(AuditLogger.class);
+        LoanCalculatorController controller = new LoanCalculatorController(mock(MortgageCalculatorService.class),
+                mock(RepaymentPlanService.class), mock(RepaymentPlanWriterFactory.class),
+                new StressTestService(rateShockCalculator, executor, auditLogger, 3),
+                new SimulationService(monteCarloSimulator, pool, auditLogger, 1000, 5000, 0.5, 4.5, 1.0),
+                new TargetInstallmentService(targetInstallmentSolver, auditLogger),
+                new BestOfferService(bestOfferOptimizer, executor, auditLogger),
+                mock(ProductComparisonService.class),
+                new EarlyRepaymentService(earlyRepaymentSimulator, auditLogger),
+                mock(WhatIfService.class));
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new ParameterNamesModule(), new CalculatorJsonModule())
+                .build();
+
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new CustomExceptionHandler())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .addInterceptors(new LoggerRequestInterceptorAdapter(0.0))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideInvalidRequests")
+    void invalidRequest_isAnsweredWithBadRequest(String endpoint, String body, String expectedMessage) throws Exception {
+        perform(endpoint, body)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.requestId").value("request-1"))
+                .andExpect(jsonPath("$.reasons[0].code").value(COMMON_INVALID_PARAMETER))
+                .andExpect(jsonPath("$.reasons[0].message").value(expectedMessage));
+
+        verifyNoInteractions(rateShockCalculator, monteCarloSimulator, targetInstallmentSolver, bestOfferOptimizer, earlyRepaymentSimulator);
+    }
+
+    private static Stream<Arguments> provideInvalidRequests() {
+        return Stream.of(
+                Arguments.of("/stress-test", "{\"irccShocks\":[1]}",
+                        "CalculationRequest should not be null"),
+                Arguments.of("/stress-test", "{\"calculationRequest\":" + CALCULATION_REQUEST + ",\"irccShocks\":[1,2,3,4]}",
+                        "At most 3 IRCC shocks can be simulated in one request"),
+                Arguments.of("/simulation", "{\"calculationRequest\":" + CALCULATION_REQUEST + ",\"paths\":5001}",
+                        "Paths should be between 1 and 5000"),
+                Arguments.of("/target-installment", "{\"calculationRequest\":" + CALCULATION_REQUEST + ",\"targetInstallment\":0,\"solveFor\":\"TENOR\"}",
+                        "TargetInstallment should be a positive amount"),
+                Arguments.of("/best-offer", "{\"calculationRequest\":" + CALCULATION_REQUEST + "}",
+                        "At least one discount should be considered"),
+                Arguments.of("/early-repayment", "{\"calculationRequest\":" + CALCULATION_REQUEST + ",\"prepayments\":[]}",
+                        "At least one prepayment should be provided"));
+    }
+
+    @Test
+    void requestWithoutRequestId_isAnsweredWithBadRequest() throws Exception {
+        mockMvc.perform(post(PATH + "/stress-test")
+                        .header(RICE_NWU_ID, "nwu-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"calculationRequest\":" + CALCULATION_REQUEST + ",\"irccShocks\":[1]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.reasons[0].code").value(COMMON_INVALID_PARAMETER));
+
+        verifyNoInteractions(rateShockCalculator);
+    }
+
+    @Test
+    void unaffordableLoan_isAnsweredWithUnprocessableEntityAndDisplayedValue() throws Exception {
+        when(rateShockCalculator.calculate(any(), any(), any()))
+                .thenThrow(new UnprocessableEntityException("Valoarea creditului este prea mare", new BigDecimal("240500.00")));
+
+        perform("/stress-test", "{\"calculationRequest\":" + CALCULATION_REQUEST + ",\"irccShocks\":[1]}")
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.status").value(422))
+                .andExpect(jsonPath("$.displayedValue").value(240500.00))
+                .andExpect(jsonPath("$.reasons[0].message").value("Valoarea creditului este prea mare"));
+    }
+
+    @Test
+    void stressTest_returnsTheScenarios() throws Exception {
+        when(rateShockCalculator.calculate(any(), eq(List.of(BigDecimal.ONE, new BigDecimal("2.5"))), any()))
+                .thenReturn(StressTestResponse.builder()
+                        .scenarios(List.of(RateShockScenario.builder()
+                                .irccShock(BigDecimal.ONE)
+                                .totalPaymentAmount(new Amount("RON", new BigDecimal("612345.67")))
+                                .build()))
+                        .build());
+
+        perform("/stress-test", "{\"calculationRequest\":" + CALCULATION_REQUEST + ",\"irccShocks\":[1,2.5]}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.scenarios[0].irccShock").value(1))
+                .andExpect(jsonPath("$.scenarios[0].totalPaymentAmount.currency").value("RON"))
+                .andExpect(jsonPath("$.scenarios[0].totalPaymentAmount.amount").value(612345.67));
+    }
+
+    @Test
+    void simulation_returnsTheSimulation() throws Exception {
+        when(monteCarloSimulator.simulate(any(), anyInt(), anyLong(), any(), any()))
+                .thenReturn(SimulationResponse.builder().paths(2000).seed(42L).build());
+
+        perform("/simulation", "{\"calculationRequest\":" + CALCULATION_REQUEST + ",\"paths\":2000,\"seed\":42}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.paths").value(2000))
+                .andExpect(jsonPath("$.seed").value(42));
+
+        verify(monteCarloSimulator).simulate(any(), eq(2000), eq(42L), any(), eq(pool));
+    }
+
+    @Test
+    void targetInstallment_returnsTheSolution() throws Exception {
+        ArgumentCaptor<MortgageCalculationRequest> calculationRequest = ArgumentCaptor.forClass(MortgageCalculationRequest.class);
+        when(targetInstallmentSolver.solve(calculationRequest.capture(), eq(new BigDecimal("2500")), eq(SolveFor.LOAN_AMOUNT)))
+                .thenReturn(TargetInstallmentResponse.builder()
+                        .solveFor(SolveFor.LOAN_AMOUNT)
+                        .loanAmount(new BigDecimal("412350.25"))
+                        .tenor(25)
+                        .build());
+
+        perform("/target-installment", "{\"calculationRequest\":" + CALCULATION_REQUEST + ",\"targetInstallment\":2500,\"solveFor\":\"LOAN_AMOUNT\"}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.solveFor").value("LOAN_AMOUNT"))
+                .andExpect(jsonPath("$.loanAmount").value(412350.25))
+                .andExpect(jsonPath("$.tenor").value(25));
+
+        assertThat(calculationRequest.getValue().getLoanAmount().getAmount()).isEqualByComparingTo("300000");
+    }
+
+    @Test
+    void bestOffer_returnsTheRankedOffers() throws Exception {
+        ArgumentCaptor<BestOfferRequest> request = ArgumentCaptor.forClass(BestOfferRequest.class);
+        when(bestOfferOptimizer.optimize(request.capture(), eq(executor)))
+                .thenReturn(BestOfferResponse.builder().rankBy(OfferRanking.ANNUAL_PERCENTAGE_RATE).offers(List.of()).build());
+
+        perform("/best-offer", "{\"calculationRequest\":" + CALCULATION_REQUEST + ",\"rankBy\":\"ANNUAL_PERCENTAGE_RATE\",\"considerInsurance\":true}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rankBy").value("ANNUAL_PERCENTAGE_RATE"))
+                .andExpect(jsonPath("$.offers").isEmpty());
+
+        assertThat(request.getValue().isConsiderInsurance()).isTrue();
+        assertThat(request.getValue().isConsiderCasaVerde()).isFalse();
+    }
+
+    @Test
+    void earlyRepayment_returnsTheSavings() throws Exception {
+        when(earlyRepaymentSimulator.simulate(any(), eq(List.of(new Prepayment(36, new BigDecimal("50000"), PrepaymentStrategy.REDUCE_TENOR)))))
+                .thenReturn(EarlyRepaymentResponse.builder()
+                        .lastMonth(251)
+                        .netSavings(new BigDecimal("51930.12"))
+                        .totalPaymentAmount(new Amount("RON", new BigDecimal("498765.43")))
+                        .build());
+
+        perform("/early-repayment", "{\"calculationRequest\":" + CALCULATION_REQUEST
+                + ",\"prepayments\":[{\"month\":36,\"amount\":50000,\"strategy\":\"REDUCE_TENOR\"}]}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastMonth").value(251))
+                .andExpect(jsonPath("$.netSavings").value(51930.12))
+                .andExpect(jsonPath("$.totalPaymentAmount.amount").value(498765.43));
+    }
+
+    private ResultActions perform(String endpoint, String body) throws Exception {
+        return mockMvc.perform(post(PATH + endpoint)
+                .header(X_REQUEST_ID, "request-1")
+                .header(RICE_NWU_ID, "nwu-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+}